@@ -36,6 +36,13 @@ abstract class AbstractCompilerHandler extends NetworkHandlerAdaptor {
 
     protected static final String RANGE_INDEX_VARIABLE_NAME_PREFIX = "rangeIndex";
 
+    // suffixes of the members holding the thresholds of a range index compiled as a binary search
+    static final String RANGE_INDEX_READ_ACCESSOR_SUFFIX = "_readAccessor";
+    static final String RANGE_INDEX_KEYS_SUFFIX = "_keys";
+    static final String RANGE_INDEX_INCLUSIVE_SUFFIX = "_inclusive";
+    static final String RANGE_INDEX_NODE_IDS_SUFFIX = "_nodeIds";
+    static final String RANGE_INDEX_LOWER_BOUNDS_SIZE_SUFFIX = "_lowerBoundsSize";
+
     public static Class<?> getVariableType(AlphaNode alphaNode) {
 
         // for alphas, we use the constraint of the alpha for the declaration
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.ancompiler;
+
+import java.util.Collection;
+
+import org.drools.core.base.ValueType;
+import org.drools.core.reteoo.AlphaNode;
+import org.drools.core.rule.IndexableConstraint;
+import org.drools.core.spi.FieldValue;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.util.index.AlphaRangeIndex;
+import org.drools.core.util.index.IndexUtil.ConstraintType;
+
+/**
+ * The thresholds of the alpha nodes of an {@link AlphaRangeIndex} on a numeric field, flattened in primitive arrays
+ * so that a compiled alpha network can find the matching nodes with a binary search, without going through the
+ * TreeMap of the index nor allocating the collection of its results.
+ *
+ * The thresholds are in the same order of the index: first the &lt; and &lt;= ones, sorted by key, followed
+ * by the &gt;= and &gt; ones, again sorted by key. For a given value the matching nodes are then a suffix of the
+ * lower bounds followed by a prefix of the upper bounds, i.e. a single contiguous range of the arrays, so they are
+ * also propagated in the same order of the interpreted network.
+ */
+public class AlphaRangeIndexThresholds {
+
+    public enum KeyType {
+        INT("int", "Integer", "getIntKeys"),
+        LONG("long", "Long", "getLongKeys"),
+        DOUBLE("double", "Double", "getDoubleKeys");
+
+        private final String primitiveName;
+        private final String boxedName;
+        private final String keysGetter;
+
+        KeyType(String primitiveName, String boxedName, String keysGetter) {
+            this.primitiveName = primitiveName;
+            this.boxedName = boxedName;
+            this.keysGetter = keysGetter;
+        }
+
+        public String getPrimitiveName() {
+            return primitiveName;
+        }
+
+        /**
+         * The wrapper class whose static compare method has the same semantic of the compareTo used by the index
+         */
+        public String getBoxedName() {
+            return boxedName;
+        }
+
+        public String getKeysGetter() {
+            return keysGetter;
+        }
+    }
+
+    private final InternalReadAccessor readAccessor;
+    private final KeyType keyType;
+    private final int[] intKeys;
+    private final long[] longKeys;
+    private final double[] doubleKeys;
+    private final boolean[] inclusive;
+    private final int[] nodeIds;
+    private final int lowerBoundsSize;
+
+    public AlphaRangeIndexThresholds(AlphaRangeIndex alphaRangeIndex) {
+        this.readAccessor = alphaRangeIndex.getFieldIndex().getFieldExtractor();
+        ValueType valueType = readAccessor.getValueType();
+        this.keyType = keyType(valueType);
+        if (keyType == null) {
+            throw new CouldNotCreateAlphaNetworkCompilerException("Range index on a field of type " + valueType + " cannot be compiled");
+        }
+
+        Collection<AlphaNode> alphaNodes = alphaRangeIndex.getAllValues();
+        int size = alphaNodes.size();
+        this.intKeys = keyType == KeyType.INT ? new int[size] : null;
+        this.longKeys = keyType == KeyType.LONG ? new long[size] : null;
+        this.doubleKeys = keyType == KeyType.DOUBLE ? new double[size] : null;
+        this.inclusive = new boolean[size];
+        this.nodeIds = new int[size];
+
+        int lowerBounds = 0;
+        int i = 0;
+        for (AlphaNode alphaNode : alphaNodes) {
+            IndexableConstraint constraint = (IndexableConstraint) alphaNode.getConstraint();
+            ConstraintType constraintType = constraint.getConstraintType();
+            setKey(i, valueType, constraint.getField());
+            inclusive[i] = constraintType == ConstraintType.LESS_OR_EQUAL || constraintType == ConstraintType.GREATER_OR_EQUAL;
+            nodeIds[i] = alphaNode.getId();
+            if (constraintType == ConstraintType.LESS_THAN || constraintType == ConstraintType.LESS_OR_EQUAL) {
+                lowerBounds++;
+            }
+            i++;
+        }
+        this.lowerBoundsSize = lowerBounds;
+    }
+
+    private void setKey(int i, ValueType valueType, FieldValue field) {
+        // the keys are extracted as in AlphaRangeIndex and then widened, what doesn't change their ordering
+        if (valueType == ValueType.PCHAR_TYPE || valueType == ValueType.CHAR_TYPE) {
+            intKeys[i] = field.getCharValue();
+        } else if (valueType == ValueType.PBYTE_TYPE || valueType == ValueType.BYTE_TYPE) {
+            intKeys[i] = field.getByteValue();
+        } else if (valueType == ValueType.PSHORT_TYPE || valueType == ValueType.SHORT_TYPE) {
+            intKeys[i] = field.getShortValue();
+        } else if (valueType == ValueType.PINTEGER_TYPE || valueType == ValueType.INTEGER_TYPE) {
+            intKeys[i] = field.getIntValue();
+        } else if (valueType == ValueType.PLONG_TYPE || valueType == ValueType.LONG_TYPE) {
+            longKeys[i] = field.getLongValue();
+        } else if (valueType == ValueType.PFLOAT_TYPE || valueType == ValueType.FLOAT_TYPE) {
+            doubleKeys[i] = field.getFloatValue();
+        } else {
+            doubleKeys[i] = field.getDoubleValue();
+        }
+    }
+
+    public static boolean canBeCompiled(AlphaRangeIndex alphaRangeIndex) {
+        return keyType(alphaRangeIndex.getFieldIndex().getFieldExtractor().getValueType()) != null;
+    }
+
+    public static KeyType keyType(ValueType valueType) {
+        if (valueType == ValueType.PCHAR_TYPE || valueType == ValueType.CHAR_TYPE ||
+                valueType == ValueType.PBYTE_TYPE || valueType == ValueType.BYTE_TYPE ||
+                valueType == ValueType.PSHORT_TYPE || valueType == ValueType.SHORT_TYPE ||
+                valueType == ValueType.PINTEGER_TYPE || valueType == ValueType.INTEGER_TYPE) {
+            return KeyType.INT;
+        }
+        if (valueType == ValueType.PLONG_TYPE || valueType == ValueType.LONG_TYPE) {
+            return KeyType.LONG;
+        }
+        if (valueType == ValueType.PFLOAT_TYPE || valueType == ValueType.FLOAT_TYPE ||
+                valueType == ValueType.PDOUBLE_TYPE || valueType == ValueType.DOUBLE_TYPE) {
+            return KeyType.DOUBLE;
+        }
+        return null;
+    }
+
+    /**
+     * The name of the method of the {@link InternalReadAccessor} reading the value of the field without boxing it
+     */
+    public static String valueGetter(ValueType valueType) {
+        if (valueType == ValueType.PCHAR_TYPE || valueType == ValueType.CHAR_TYPE) {
+            return "getCharValue";
+        } else if (valueType == ValueType.PBYTE_TYPE || valueType == ValueType.BYTE_TYPE) {
+            return "getByteValue";
+        } else if (valueType == ValueType.PSHORT_TYPE || valueType == ValueType.SHORT_TYPE) {
+            return "getShortValue";
+        } else if (valueType == ValueType.PINTEGER_TYPE || valueType == ValueType.INTEGER_TYPE) {
+            return "getIntValue";
+        } else if (valueType == ValueType.PLONG_TYPE || valueType == ValueType.LONG_TYPE) {
+            return "getLongValue";
+        } else if (valueType == ValueType.PFLOAT_TYPE || valueType == ValueType.FLOAT_TYPE) {
+            return "getFloatValue";
+        }
+        return "getDoubleValue";
+    }
+
+    public InternalReadAccessor getReadAccessor() {
+        return readAccessor;
+    }
+
+    public KeyType getKeyType() {
+        return keyType;
+    }
+
+    public int[] getIntKeys() {
+        return intKeys;
+    }
+
+    public long[] getLongKeys() {
+        return longKeys;
+    }
+
+    public double[] getDoubleKeys() {
+        return doubleKeys;
+    }
+
+    /**
+     * For each threshold, true if the constraint is a &lt;= or a &gt;=
+     */
+    public boolean[] getInclusive() {
+        return inclusive;
+    }
+
+    public int[] getNodeIds() {
+        return nodeIds;
+    }
+
+    /**
+     * The number of &lt; and &lt;= thresholds, that is the index of the first &gt;= or &gt; one
+     */
+    public int getLowerBoundsSize() {
+        return lowerBoundsSize;
+    }
+
+    public int size() {
+        return nodeIds.length;
+    }
+}
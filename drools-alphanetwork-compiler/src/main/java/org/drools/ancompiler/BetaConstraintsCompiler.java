@@ -0,0 +1,341 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.ancompiler;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.github.javaparser.printer.PrettyPrinter;
+import org.drools.core.common.BetaConstraints;
+import org.drools.core.common.DefaultBetaConstraints;
+import org.drools.core.common.DoubleBetaConstraints;
+import org.drools.core.common.MultipleBetaConstraint;
+import org.drools.core.common.QuadroupleBetaConstraints;
+import org.drools.core.common.SingleBetaConstraints;
+import org.drools.core.common.TripleBetaConstraints;
+import org.drools.core.reteoo.BetaNode;
+import org.drools.core.reteoo.LeftTupleSource;
+import org.drools.core.reteoo.ObjectSource;
+import org.drools.core.reteoo.Rete;
+import org.drools.core.reteoo.RightInputAdapterNode;
+import org.drools.core.reteoo.TerminalNode;
+import org.drools.core.rule.Declaration;
+import org.drools.core.spi.BetaNodeFieldConstraint;
+import org.drools.model.functions.Predicate1;
+import org.drools.model.functions.Predicate2;
+import org.drools.model.functions.PredicateN;
+import org.drools.modelcompiler.constraints.BindingEvaluator;
+import org.drools.modelcompiler.constraints.ConstraintEvaluator;
+import org.drools.modelcompiler.constraints.LambdaConstraint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.github.javaparser.StaticJavaParser.parse;
+
+/**
+ * Generates a subclass of {@link CompiledBetaConstraints} specialized for the constraints of a beta node.
+ *
+ * The lambda constraints of an executable model are unrolled in the generated class: the arguments are read
+ * from the tuple and the fact handle and the predicate is invoked directly, from a call site that is only used
+ * by that constraint. The other constraints are invoked through a field having their concrete type.
+ * The constraints skipped by the original implementation because already guaranteed by the indexes
+ * are skipped by the generated one as well.
+ */
+public class BetaConstraintsCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BetaConstraintsCompiler.class);
+
+    private static final String NEWLINE = "\n";
+
+    private static final String LAMBDA_CONTEXT_ENTRY = LambdaConstraint.LambdaContextEntry.class.getCanonicalName();
+    private static final String INTERNAL_FACT_HANDLE = "org.drools.core.common.InternalFactHandle";
+    private static final String INTERNAL_WORKING_MEMORY = "org.drools.core.common.InternalWorkingMemory";
+    private static final String CONTEXT_ENTRY = "org.drools.core.rule.ContextEntry";
+    private static final String TUPLE = "org.drools.core.spi.Tuple";
+
+    private final BetaNode betaNode;
+    private final BetaConstraints constraints;
+    private final String generatedClassSimpleName;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    private final boolean prettyPrint;
+
+    public BetaConstraintsCompiler(BetaNode betaNode) {
+        this(betaNode, false);
+    }
+
+    public BetaConstraintsCompiler(BetaNode betaNode, boolean prettyPrint) {
+        this.betaNode = betaNode;
+        this.constraints = betaNode.getRawConstraints();
+        this.prettyPrint = prettyPrint;
+        final String nodeHash = String.valueOf(betaNode.hashCode()).replace("-", "");
+        this.generatedClassSimpleName = String.format("Compiled%sConstraints%d%s",
+                                                      betaNode.getClass().getSimpleName(),
+                                                      betaNode.getId(),
+                                                      nodeHash);
+    }
+
+    public BetaNode getBetaNode() {
+        return betaNode;
+    }
+
+    /**
+     * Returns the fully qualified name of the generated subclass of {@link CompiledBetaConstraints}
+     */
+    public String getName() {
+        return ObjectTypeNodeCompiler.PACKAGE_NAME + "." + generatedClassSimpleName;
+    }
+
+    public String generateSource() {
+        BetaNodeFieldConstraint[] betaConstraints = constraints.getConstraints();
+
+        builder.append("package ").append(ObjectTypeNodeCompiler.PACKAGE_NAME).append(";").append(NEWLINE);
+        builder.append("public class ").append(generatedClassSimpleName).append(" extends ")
+                .append(CompiledBetaConstraints.class.getName()).append(" {").append(NEWLINE);
+
+        for (int i = 0; i < betaConstraints.length; i++) {
+            createFields(i, betaConstraints[i]);
+        }
+        createConstructor(betaConstraints);
+
+        builder.append("public boolean isAllowedCachedLeft(").append(CONTEXT_ENTRY).append("[] context, ")
+                .append(INTERNAL_FACT_HANDLE).append(" handle) {").append(NEWLINE);
+        for (int i = 0; i < betaConstraints.length; i++) {
+            if (!isSkippedOnLeft(i)) {
+                createLeftEvaluation(i, betaConstraints[i]);
+            }
+        }
+        builder.append("return true;").append(NEWLINE).append("}").append(NEWLINE);
+
+        builder.append("public boolean isAllowedCachedRight(").append(CONTEXT_ENTRY).append("[] context, ")
+                .append(TUPLE).append(" tuple) {").append(NEWLINE);
+        for (int i = 0; i < betaConstraints.length; i++) {
+            if (!isSkippedOnRight(i)) {
+                createRightEvaluation(i, betaConstraints[i]);
+            }
+        }
+        builder.append("return true;").append(NEWLINE).append("}").append(NEWLINE);
+
+        for (int i = 0; i < betaConstraints.length; i++) {
+            if (canBeInlined(betaConstraints[i])) {
+                createTestMethod(i, (LambdaConstraint) betaConstraints[i]);
+            }
+        }
+
+        builder.append("}").append(NEWLINE);
+
+        String sourceCode = builder.toString();
+        if (prettyPrint) {
+            sourceCode = new PrettyPrinter().print(parse(sourceCode));
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("Generated Compiled Beta Constraints %s", sourceCode));
+        }
+        return sourceCode;
+    }
+
+    public CompiledBetaConstraints createInstanceAndSet(Class<?> compiledBetaConstraintsClass) {
+        CompiledBetaConstraints compiledConstraints;
+        try {
+            compiledConstraints = (CompiledBetaConstraints) compiledBetaConstraintsClass.getDeclaredConstructor(BetaConstraints.class)
+                    .newInstance(constraints);
+        } catch (Exception e) {
+            throw new CouldNotCreateAlphaNetworkCompilerException(e);
+        }
+        betaNode.replaceConstraints(compiledConstraints);
+        logger.debug("Setting {} as constraints of: {}", compiledBetaConstraintsClass.getName(), betaNode);
+        return compiledConstraints;
+    }
+
+    private void createFields(int i, BetaNodeFieldConstraint constraint) {
+        if (canBeInlined(constraint)) {
+            ConstraintEvaluator evaluator = ((LambdaConstraint) constraint).getEvaluator();
+            builder.append("private final ").append(LambdaConstraint.class.getCanonicalName()).append(" constraint").append(i).append(";").append(NEWLINE);
+            builder.append("private final ").append(predicateType(evaluator).getCanonicalName()).append(" predicate").append(i).append(";").append(NEWLINE);
+            builder.append("private final ").append(Declaration.class.getCanonicalName()).append("[] declarations").append(i).append(";").append(NEWLINE);
+        } else {
+            builder.append("private final ").append(constraintType(constraint)).append(" constraint").append(i).append(";").append(NEWLINE);
+        }
+    }
+
+    private void createConstructor(BetaNodeFieldConstraint[] betaConstraints) {
+        builder.append("public ").append(generatedClassSimpleName).append("(").append(BetaConstraints.class.getCanonicalName()).append(" original) {").append(NEWLINE);
+        builder.append("super(original);").append(NEWLINE);
+        builder.append(BetaNodeFieldConstraint.class.getCanonicalName()).append("[] constraints = original.getConstraints();").append(NEWLINE);
+        for (int i = 0; i < betaConstraints.length; i++) {
+            if (canBeInlined(betaConstraints[i])) {
+                ConstraintEvaluator evaluator = ((LambdaConstraint) betaConstraints[i]).getEvaluator();
+                builder.append(String.format("this.constraint%d = (%s) constraints[%d];%n", i, LambdaConstraint.class.getCanonicalName(), i));
+                builder.append(String.format("this.predicate%d = constraint%d.getEvaluator().getConstraint().%s();%n", i, i, predicateGetter(evaluator)));
+                // the declarations can be replaced in place in the array of the evaluator, so it is referenced rather than copied
+                builder.append(String.format("this.declarations%d = constraint%d.getEvaluator().getDeclarations();%n", i, i));
+            } else {
+                builder.append(String.format("this.constraint%d = (%s) constraints[%d];%n", i, constraintType(betaConstraints[i]), i));
+            }
+        }
+        builder.append("}").append(NEWLINE);
+    }
+
+    private void createLeftEvaluation(int i, BetaNodeFieldConstraint constraint) {
+        if (canBeInlined(constraint)) {
+            builder.append(String.format("%s context%d = (%s) context[%d];%n", LAMBDA_CONTEXT_ENTRY, i, LAMBDA_CONTEXT_ENTRY, i));
+            builder.append(String.format("if (!test%d(handle, context%d.getTuple(), context%d.getWorkingMemory())) { return false; }%n", i, i, i));
+        } else {
+            builder.append(String.format("if (!constraint%d.isAllowedCachedLeft(context[%d], handle)) { return false; }%n", i, i));
+        }
+    }
+
+    private void createRightEvaluation(int i, BetaNodeFieldConstraint constraint) {
+        if (canBeInlined(constraint)) {
+            builder.append(String.format("%s context%d = (%s) context[%d];%n", LAMBDA_CONTEXT_ENTRY, i, LAMBDA_CONTEXT_ENTRY, i));
+            builder.append(String.format("if (!test%d(context%d.getHandle(), tuple, context%d.getWorkingMemory())) { return false; }%n", i, i, i));
+        } else {
+            builder.append(String.format("if (!constraint%d.isAllowedCachedRight(tuple, context[%d])) { return false; }%n", i, i));
+        }
+    }
+
+    private void createTestMethod(int i, LambdaConstraint constraint) {
+        ConstraintEvaluator evaluator = constraint.getEvaluator();
+        Declaration[] declarations = evaluator.getDeclarations();
+        Declaration patternDeclaration = evaluator.getPatternDeclaration();
+
+        List<String> arguments = new ArrayList<>();
+        for (int j = 0; j < declarations.length; j++) {
+            arguments.add(declarations[j] == patternDeclaration ?
+                                  "handle.getObject()" :
+                                  String.format("%s.getArgument(handle, wm, declarations%d[%d], tuple)", BindingEvaluator.class.getCanonicalName(), i, j));
+        }
+        String argumentsList = String.join(", ", arguments);
+        if (declarations.length > 2) {
+            argumentsList = "new Object[] { " + argumentsList + " }";
+        }
+
+        builder.append(String.format("private boolean test%d(%s handle, %s tuple, %s wm) {%n", i, INTERNAL_FACT_HANDLE, TUPLE, INTERNAL_WORKING_MEMORY));
+        builder.append("try {").append(NEWLINE);
+        builder.append(String.format("return predicate%d.test(%s);%n", i, argumentsList));
+        builder.append("} catch (Exception e) {").append(NEWLINE);
+        builder.append(String.format("throw evaluationException(constraint%d, e);%n", i));
+        builder.append("}").append(NEWLINE);
+        builder.append("}").append(NEWLINE);
+    }
+
+    private boolean isSkippedOnLeft(int i) {
+        Class<?> constraintsClass = constraints.getClass();
+        if (constraintsClass == SingleBetaConstraints.class) {
+            return constraints.isIndexed();
+        }
+        if (constraintsClass == DoubleBetaConstraints.class || constraintsClass == TripleBetaConstraints.class || constraintsClass == QuadroupleBetaConstraints.class) {
+            return (( MultipleBetaConstraint ) constraints).isIndexed(i);
+        }
+        return isSkippedOnRight(i);
+    }
+
+    private boolean isSkippedOnRight(int i) {
+        return constraints.getClass() == DefaultBetaConstraints.class && i < constraints.getIndexCount();
+    }
+
+    private static boolean canBeInlined(BetaNodeFieldConstraint constraint) {
+        if (!(constraint instanceof LambdaConstraint)) {
+            return false;
+        }
+        ConstraintEvaluator evaluator = ((LambdaConstraint) constraint).getEvaluator();
+        return evaluator.getClass() == ConstraintEvaluator.class && !evaluator.isTemporal() && evaluator.getDeclarations().length > 0;
+    }
+
+    private static Class<?> predicateType(ConstraintEvaluator evaluator) {
+        switch (evaluator.getDeclarations().length) {
+            case 1: return Predicate1.class;
+            case 2: return Predicate2.class;
+            default: return PredicateN.class;
+        }
+    }
+
+    private static String predicateGetter(ConstraintEvaluator evaluator) {
+        switch (evaluator.getDeclarations().length) {
+            case 1: return "getPredicate1";
+            case 2: return "getPredicate2";
+            default: return "getPredicate";
+        }
+    }
+
+    private static String constraintType(BetaNodeFieldConstraint constraint) {
+        Class<?> constraintClass = constraint.getClass();
+        return Modifier.isPublic(constraintClass.getModifiers()) && constraintClass.getCanonicalName() != null ?
+                constraintClass.getCanonicalName() :
+                BetaNodeFieldConstraint.class.getCanonicalName();
+    }
+
+    /**
+     * Returns true if the constraints of the given node are worth being compiled, i.e. if there is at least one
+     * lambda constraint to inline and the node isn't already compiled
+     */
+    public static boolean shouldCompileBetaConstraints(BetaNode betaNode) {
+        BetaConstraints betaConstraints = betaNode.getRawConstraints();
+        if (betaConstraints instanceof CompiledBetaConstraints) {
+            return false;
+        }
+        for (BetaNodeFieldConstraint constraint : betaConstraints.getConstraints()) {
+            if (canBeInlined(constraint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Map<String, BetaConstraintsCompiler> betaConstraintsCompilers(Rete rete) {
+        return betaNodes(rete).stream()
+                .filter(BetaConstraintsCompiler::shouldCompileBetaConstraints)
+                .map(BetaConstraintsCompiler::new)
+                .collect(Collectors.toMap(BetaConstraintsCompiler::getName, Function.identity()));
+    }
+
+    /**
+     * Returns all the beta nodes of the network, including the ones of the subnetworks, walking it backward from the terminal nodes
+     */
+    public static Set<BetaNode> betaNodes(Rete rete) {
+        Set<BetaNode> betaNodes = new LinkedHashSet<>();
+        Set<LeftTupleSource> visited = new HashSet<>();
+        for (TerminalNode[] terminalNodes : rete.getKnowledgeBase().getReteooBuilder().getTerminalNodes().values()) {
+            for (TerminalNode terminalNode : terminalNodes) {
+                collectBetaNodes(terminalNode.getLeftTupleSource(), betaNodes, visited);
+            }
+        }
+        return betaNodes;
+    }
+
+    private static void collectBetaNodes(LeftTupleSource node, Set<BetaNode> betaNodes, Set<LeftTupleSource> visited) {
+        while (node != null && visited.add(node)) {
+            if (node instanceof BetaNode) {
+                BetaNode betaNode = (BetaNode) node;
+                betaNodes.add(betaNode);
+                ObjectSource rightInput = betaNode.getRightInput();
+                if (rightInput instanceof RightInputAdapterNode) {
+                    collectBetaNodes(((RightInputAdapterNode) rightInput).getLeftTupleSource(), betaNodes, visited);
+                }
+            }
+            node = node.getLeftTupleSource();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.ancompiler;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.util.List;
+
+import org.drools.core.RuleBaseConfiguration;
+import org.drools.core.common.BetaConstraints;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.reteoo.BetaMemory;
+import org.drools.core.reteoo.builder.BuildContext;
+import org.drools.core.rule.ContextEntry;
+import org.drools.core.spi.BetaNodeFieldConstraint;
+import org.drools.core.spi.Tuple;
+import org.drools.core.util.bitmask.BitMask;
+import org.drools.modelcompiler.constraints.ConstraintEvaluationException;
+import org.drools.modelcompiler.constraints.LambdaConstraint;
+
+/**
+ * This is the base type for the generated classes evaluating the constraints of a single beta node.
+ * A generated subclass only specializes the evaluation of the constraints, while the context entries,
+ * the indexes and the memories are still the ones of the original constraints it replaces.
+ * Having a distinct class per node gives to each constraint its own call site, so the JIT can inline
+ * the evaluation of the lambdas of an executable model instead of going through a megamorphic dispatch.
+ */
+public abstract class CompiledBetaConstraints implements BetaConstraints {
+
+    protected final BetaConstraints original;
+
+    protected CompiledBetaConstraints(BetaConstraints original) {
+        this.original = original;
+    }
+
+    public BetaConstraints getOriginal() {
+        return original;
+    }
+
+    @Override
+    public abstract boolean isAllowedCachedLeft(ContextEntry[] context, InternalFactHandle handle);
+
+    @Override
+    public abstract boolean isAllowedCachedRight(ContextEntry[] context, Tuple tuple);
+
+    protected static RuntimeException evaluationException(LambdaConstraint constraint, Exception e) {
+        // wraps the exception as it would have been by the interpreted LambdaConstraint
+        return new ConstraintEvaluationException(constraint.getPredicateInformation(), new RuntimeException(e));
+    }
+
+    @Override
+    public ContextEntry[] createContext() {
+        return original.createContext();
+    }
+
+    @Override
+    public void updateFromTuple(ContextEntry[] context, InternalWorkingMemory workingMemory, Tuple tuple) {
+        original.updateFromTuple(context, workingMemory, tuple);
+    }
+
+    @Override
+    public void updateFromFactHandle(ContextEntry[] context, InternalWorkingMemory workingMemory, InternalFactHandle handle) {
+        original.updateFromFactHandle(context, workingMemory, handle);
+    }
+
+    @Override
+    public BetaNodeFieldConstraint[] getConstraints() {
+        return original.getConstraints();
+    }
+
+    @Override
+    public BetaConstraints getOriginalConstraint() {
+        return original.getOriginalConstraint();
+    }
+
+    @Override
+    public boolean isIndexed() {
+        return original.isIndexed();
+    }
+
+    @Override
+    public int getIndexCount() {
+        return original.getIndexCount();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return original.isEmpty();
+    }
+
+    @Override
+    public BetaMemory createBetaMemory(RuleBaseConfiguration config, short nodeType) {
+        return original.createBetaMemory(config, nodeType);
+    }
+
+    @Override
+    public void resetTuple(ContextEntry[] context) {
+        original.resetTuple(context);
+    }
+
+    @Override
+    public void resetFactHandle(ContextEntry[] context) {
+        original.resetFactHandle(context);
+    }
+
+    @Override
+    public BitMask getListenedPropertyMask(Class modifiedClass, List<String> settableProperties) {
+        return original.getListenedPropertyMask(modifiedClass, settableProperties);
+    }
+
+    @Override
+    public void init(BuildContext context, short betaNodeType) {
+        original.init(context, betaNodeType);
+    }
+
+    @Override
+    public void initIndexes(int depth, short betaNodeType, RuleBaseConfiguration config) {
+        original.initIndexes(depth, betaNodeType, config);
+    }
+
+    @Override
+    public BetaConstraints cloneIfInUse() {
+        BetaConstraints clonedOriginal = original.cloneIfInUse();
+        if (clonedOriginal == original) {
+            return this;
+        }
+        // the generated class evaluates the cloned constraints, so that the two nodes don't share any state
+        try {
+            return getClass().getDeclaredConstructor(BetaConstraints.class).newInstance(clonedOriginal);
+        } catch (ReflectiveOperationException e) {
+            throw new CouldNotCreateAlphaNetworkCompilerException(e);
+        }
+    }
+
+    @Override
+    public boolean isLeftUpdateOptimizationAllowed() {
+        return original.isLeftUpdateOptimizationAllowed();
+    }
+
+    @Override
+    public void registerEvaluationContext(BuildContext buildContext) {
+        original.registerEvaluationContext(buildContext);
+    }
+
+    @Override
+    public BetaConstraints unwrap() {
+        return original.unwrap();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        // only equal to another compiled instance, the nodes compare the unwrapped constraints in order to be shared
+        return object instanceof CompiledBetaConstraints && original.equals(((CompiledBetaConstraints) object).original);
+    }
+
+    @Override
+    public int hashCode() {
+        return original.hashCode();
+    }
+
+    /**
+     * The generated class is not available when deserializing, so the original constraints are serialized in its place
+     */
+    protected Object writeReplace() throws ObjectStreamException {
+        return original;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        original.writeExternal(out);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        original.readExternal(in);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " compiled from " + original;
+    }
+}
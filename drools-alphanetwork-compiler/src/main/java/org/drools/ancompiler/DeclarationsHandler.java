@@ -31,6 +31,7 @@ import org.drools.core.reteoo.Sink;
 import org.drools.core.reteoo.WindowNode;
 import org.drools.core.rule.ContextEntry;
 import org.drools.core.rule.IndexableConstraint;
+import org.drools.core.spi.InternalReadAccessor;
 import org.drools.core.util.index.AlphaRangeIndex;
 
 /**
@@ -164,7 +165,20 @@ public class DeclarationsHandler extends AbstractCompilerHandler {
         String comment = firstNode.toString();
         String variableName = getRangeIndexVariableName(alphaRangeIndex, minId);
         rangeIndexDeclarationMap.put(variableName, alphaRangeIndex);
-        return PRIVATE_MODIFIER + " " + AlphaRangeIndex.class.getName() + " " + variableName + "; // including " + comment + " etc.";
+        String declaration = PRIVATE_MODIFIER + " " + AlphaRangeIndex.class.getName() + " " + variableName + "; // including " + comment + " etc.";
+        if (AlphaRangeIndexThresholds.canBeCompiled(alphaRangeIndex)) {
+            declaration += NEWLINE + createRangeIndexThresholdsDeclaration(alphaRangeIndex, variableName);
+        }
+        return declaration;
+    }
+
+    private String createRangeIndexThresholdsDeclaration(AlphaRangeIndex alphaRangeIndex, String variableName) {
+        AlphaRangeIndexThresholds.KeyType keyType = AlphaRangeIndexThresholds.keyType(alphaRangeIndex.getFieldIndex().getFieldExtractor().getValueType());
+        return PRIVATE_MODIFIER + " " + InternalReadAccessor.class.getName() + " " + variableName + RANGE_INDEX_READ_ACCESSOR_SUFFIX + ";" + NEWLINE +
+                PRIVATE_MODIFIER + " " + keyType.getPrimitiveName() + "[] " + variableName + RANGE_INDEX_KEYS_SUFFIX + ";" + NEWLINE +
+                PRIVATE_MODIFIER + " boolean[] " + variableName + RANGE_INDEX_INCLUSIVE_SUFFIX + ";" + NEWLINE +
+                PRIVATE_MODIFIER + " int[] " + variableName + RANGE_INDEX_NODE_IDS_SUFFIX + ";" + NEWLINE +
+                PRIVATE_MODIFIER + " int " + variableName + RANGE_INDEX_LOWER_BOUNDS_SIZE_SUFFIX + ";";
     }
 
     public Map<String, AlphaRangeIndex> getRangeIndexDeclarationMap() {
@@ -35,6 +35,12 @@ import static org.drools.core.util.MapUtils.mapValues;
 
 public class KieBaseUpdaterANC implements KieBaseUpdater {
 
+    /**
+     * Opt-in flag to also generate, when compiling the alpha network in memory, the specialized
+     * evaluation of the constraints of the beta nodes, see {@link BetaConstraintsCompiler}
+     */
+    public static final String COMPILE_BETA_CONSTRAINTS_PROPERTY = "drools.alphaNetworkCompiler.compileBetaConstraints";
+
     private final Logger logger = LoggerFactory.getLogger(KieBaseUpdaterANC.class);
 
     private final KieBaseUpdatersContext ctx;
@@ -72,6 +78,21 @@ public class KieBaseUpdaterANC implements KieBaseUpdater {
                 c.createInstanceAndSet(aClass);
             });
         }
+        if (Boolean.parseBoolean(System.getProperty(COMPILE_BETA_CONSTRAINTS_PROPERTY, "false"))) {
+            compileBetaConstraints(rootClassLoader, rete);
+        }
+    }
+
+    /**
+     * This assumes the kie-memory-compiler module is provided at runtime
+     */
+    private static void compileBetaConstraints(ClassLoader rootClassLoader, Rete rete) {
+        Map<String, BetaConstraintsCompiler> betaConstraintsCompilers = BetaConstraintsCompiler.betaConstraintsCompilers(rete);
+        if (!betaConstraintsCompilers.isEmpty()) {
+            Map<String, Class<?>> compiledClasses = KieMemoryCompiler.compile(mapValues(betaConstraintsCompilers, BetaConstraintsCompiler::generateSource),
+                                                                              rootClassLoader);
+            betaConstraintsCompilers.values().forEach(c -> c.createInstanceAndSet(compiledClasses.get(c.getName())));
+        }
     }
 
     private void loadFromKJar(ClassLoader rootClassLoader, Rete rete) {
@@ -98,4 +119,10 @@ public class KieBaseUpdaterANC implements KieBaseUpdater {
                 (( InternalKnowledgeBase ) kbase).getRete(), (( InternalKnowledgeBase ) kbase).getRootClassLoader());
         new KieBaseUpdaterANC(context).run();
     }
+
+    public static void generateAndSetInMemoryBetaConstraints(KieBase kbase) {
+        InternalKnowledgeBase internalKnowledgeBase = ( InternalKnowledgeBase ) kbase;
+        // the constraints of the nodes are replaced under the lock of the kbase, while its sessions are deactivated
+        internalKnowledgeBase.enqueueModification(() -> compileBetaConstraints(internalKnowledgeBase.getRootClassLoader(), internalKnowledgeBase.getRete()));
+    }
 }
@@ -281,14 +281,39 @@ public class ObjectTypeNodeCompiler {
         }
 
         // Range Index
-        for (String variableName : rangeIndexDeclarationMap.keySet()) {
+        for (Map.Entry<String, AlphaRangeIndex> entry : rangeIndexDeclarationMap.entrySet()) {
+            String variableName = entry.getKey();
             builder.append("this." + variableName + " = rangeIndexDeclarationMap.get(\"" + variableName + "\");");
             builder.append(NEWLINE);
+            if (AlphaRangeIndexThresholds.canBeCompiled(entry.getValue())) {
+                createRangeIndexThresholdsInitialization(variableName, entry.getValue());
+            }
         }
 
         builder.append("}").append(NEWLINE);
     }
 
+    /**
+     * The thresholds are read from the range index when the network is instantiated, as they can be too many
+     * to be inlined as literals in the generated class
+     */
+    private void createRangeIndexThresholdsInitialization(String variableName, AlphaRangeIndex alphaRangeIndex) {
+        AlphaRangeIndexThresholds.KeyType keyType = AlphaRangeIndexThresholds.keyType(alphaRangeIndex.getFieldIndex().getFieldExtractor().getValueType());
+        String thresholdsVariableName = variableName + "_thresholds";
+        builder.append(AlphaRangeIndexThresholds.class.getCanonicalName()).append(" ").append(thresholdsVariableName)
+                .append(" = new ").append(AlphaRangeIndexThresholds.class.getCanonicalName()).append("(this.").append(variableName).append(");").append(NEWLINE);
+        builder.append("this.").append(variableName).append(AbstractCompilerHandler.RANGE_INDEX_READ_ACCESSOR_SUFFIX)
+                .append(" = ").append(thresholdsVariableName).append(".getReadAccessor();").append(NEWLINE);
+        builder.append("this.").append(variableName).append(AbstractCompilerHandler.RANGE_INDEX_KEYS_SUFFIX)
+                .append(" = ").append(thresholdsVariableName).append(".").append(keyType.getKeysGetter()).append("();").append(NEWLINE);
+        builder.append("this.").append(variableName).append(AbstractCompilerHandler.RANGE_INDEX_INCLUSIVE_SUFFIX)
+                .append(" = ").append(thresholdsVariableName).append(".getInclusive();").append(NEWLINE);
+        builder.append("this.").append(variableName).append(AbstractCompilerHandler.RANGE_INDEX_NODE_IDS_SUFFIX)
+                .append(" = ").append(thresholdsVariableName).append(".getNodeIds();").append(NEWLINE);
+        builder.append("this.").append(variableName).append(AbstractCompilerHandler.RANGE_INDEX_LOWER_BOUNDS_SIZE_SUFFIX)
+                .append(" = ").append(thresholdsVariableName).append(".getLowerBoundsSize();").append(NEWLINE);
+    }
+
     /**
      * Returns the fully qualified name of the generated subclass of {@link CompiledNetwork}
      *
@@ -52,6 +52,7 @@ import com.github.javaparser.ast.stmt.SwitchStmt;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.ast.type.VoidType;
+import org.drools.core.base.ValueType;
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.reteoo.AlphaNode;
@@ -231,6 +232,11 @@ public abstract class PropagatorCompilerHandler extends AbstractCompilerHandler
     @Override
     public void startRangeIndex(AlphaRangeIndex alphaRangeIndex) {
         String rangeIndexVariableName = getRangeIndexVariableName(alphaRangeIndex, getMinIdFromRangeIndex(alphaRangeIndex));
+        if (AlphaRangeIndexThresholds.canBeCompiled(alphaRangeIndex)) {
+            startRangeIndexBinarySearch(alphaRangeIndex, rangeIndexVariableName);
+            return;
+        }
+
         String matchingResultVariableName = rangeIndexVariableName + "_result";
         String matchingNodeVariableName = matchingResultVariableName + "_node";
 
@@ -255,6 +261,62 @@ public abstract class PropagatorCompilerHandler extends AbstractCompilerHandler
         body.addStatement(switchStatement);
     }
 
+    /**
+     * Finds the matching alpha nodes with two binary searches on the sorted thresholds of the index: the first one
+     * looks for the first matching lower bound (&lt; and &lt;=) and the second one for the first upper bound (&gt;=
+     * and &gt;) not matching anymore. The nodes in between are the matching ones, dispatched with a switch on their id.
+     */
+    private void startRangeIndexBinarySearch(AlphaRangeIndex alphaRangeIndex, String rangeIndexVariableName) {
+        ValueType valueType = alphaRangeIndex.getFieldIndex().getFieldExtractor().getValueType();
+        AlphaRangeIndexThresholds.KeyType keyType = AlphaRangeIndexThresholds.keyType(valueType);
+
+        String body = "{\n" +
+                "    KEY_TYPE V_value = V_readAccessor.GETTER(handle.getObject());\n" +
+                "    int V_low = 0;\n" +
+                "    int V_high = V_lowerBoundsSize;\n" +
+                "    while (V_low < V_high) {\n" +
+                "        int V_mid = (V_low + V_high) >>> 1;\n" +
+                "        int V_cmp = COMPARATOR.compare(V_keys[V_mid], V_value);\n" +
+                "        if (V_cmp > 0 || (V_cmp == 0 && V_inclusive[V_mid])) {\n" +
+                "            V_high = V_mid;\n" +
+                "        } else {\n" +
+                "            V_low = V_mid + 1;\n" +
+                "        }\n" +
+                "    }\n" +
+                "    int V_from = V_low;\n" +
+                "    V_low = V_lowerBoundsSize;\n" +
+                "    V_high = V_nodeIds.length;\n" +
+                "    while (V_low < V_high) {\n" +
+                "        int V_mid = (V_low + V_high) >>> 1;\n" +
+                "        int V_cmp = COMPARATOR.compare(V_keys[V_mid], V_value);\n" +
+                "        if (V_cmp > 0 || (V_cmp == 0 && !V_inclusive[V_mid])) {\n" +
+                "            V_high = V_mid;\n" +
+                "        } else {\n" +
+                "            V_low = V_mid + 1;\n" +
+                "        }\n" +
+                "    }\n" +
+                "    for (int V_i = V_from; V_i < V_low; V_i++) {\n" +
+                "        switch (V_nodeIds[V_i]) {\n" +
+                "        }\n" +
+                "    }\n" +
+                "}";
+        if (!valueType.getClassType().isPrimitive()) {
+            body = "if (!V_readAccessor.isNullValue(handle.getObject())) " + body;
+        }
+
+        Statement statement = parseStatement(body
+                .replace("KEY_TYPE", keyType.getPrimitiveName())
+                .replace("GETTER", AlphaRangeIndexThresholds.valueGetter(valueType))
+                .replace("COMPARATOR", keyType.getBoxedName())
+                .replace("V_", rangeIndexVariableName + "_"));
+
+        getCurrentBlockStatement().addStatement(statement);
+
+        SwitchStmt switchStatement = statement.findFirst(SwitchStmt.class)
+                .orElseThrow(() -> new CouldNotCreateAlphaNetworkCompilerException("Missing switch in the range index binary search"));
+        this.currentStatement.push(switchStatement);
+    }
+
     @Override
     public void startRangeIndexedAlphaNode(AlphaNode alphaNode) {
         SwitchEntry switchEntry = new SwitchEntry().setLabels(nodeList(new IntegerLiteralExpr(alphaNode.getId())));
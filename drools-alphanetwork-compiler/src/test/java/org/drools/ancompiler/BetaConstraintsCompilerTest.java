@@ -0,0 +1,128 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.ancompiler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.BetaNode;
+import org.drools.core.reteoo.Rete;
+import org.junit.Test;
+import org.kie.api.runtime.KieSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BetaConstraintsCompilerTest extends BaseModelTest {
+
+    public BetaConstraintsCompilerTest(RUN_TYPE testRunType) {
+        super(testRunType);
+    }
+
+    @Test
+    public void testCompiledBetaConstraints() {
+        String str =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "global java.util.List results;\n" +
+                "rule OlderWithSameName when\n" +
+                "  $p1 : Person( $name : name, $age : age )\n" +
+                "  $p2 : Person( this != $p1, name == $name, age > $age )\n" +
+                "then\n" +
+                "  results.add($name + \":\" + $age + \"<\" + $p2.getAge());\n" +
+                "end\n" +
+                "rule Youngest when\n" +
+                "  Person( $age : age )\n" +
+                "  not Person( age < $age )\n" +
+                "then\n" +
+                "  results.add(\"youngest:\" + $age);\n" +
+                "end\n" +
+                "rule Sum when\n" +
+                "  Person( $a1 : age )\n" +
+                "  Person( $a2 : age > $a1 )\n" +
+                "  exists Person( age == $a1 + $a2 )\n" +
+                "then\n" +
+                "  results.add(\"sum:\" + $a1 + \"+\" + $a2);\n" +
+                "end\n";
+
+        KieSession ksession = getKieSession(str);
+        KieBaseUpdaterANC.generateAndSetInMemoryBetaConstraints(ksession.getKieBase());
+
+        Rete rete = ((InternalKnowledgeBase) ksession.getKieBase()).getRete();
+        Set<BetaNode> betaNodes = BetaConstraintsCompiler.betaNodes(rete);
+        assertThat(betaNodes).isNotEmpty();
+        if (isExecutableModel()) {
+            // all the nodes have at least a lambda constraint to be inlined
+            assertThat(betaNodes).allMatch(n -> n.getRawConstraints() instanceof CompiledBetaConstraints);
+            for (BetaNode betaNode : betaNodes) {
+                CompiledBetaConstraints compiled = (CompiledBetaConstraints) betaNode.getRawConstraints();
+                // the equality is symmetric, while the node compares the unwrapped constraints
+                assertThat(compiled).isNotEqualTo(compiled.getOriginal());
+                assertThat(compiled.getOriginal()).isNotEqualTo(compiled);
+                assertThat(compiled.unwrap()).isSameAs(compiled.getOriginal());
+
+                // the constraints are already in use by the node, so another node gets its own compiled instance
+                CompiledBetaConstraints cloned = (CompiledBetaConstraints) compiled.cloneIfInUse();
+                assertThat(cloned).isNotSameAs(compiled).hasSameClassAs(compiled);
+                assertThat(cloned.getOriginal()).isNotSameAs(compiled.getOriginal());
+            }
+        } else {
+            assertThat(BetaConstraintsCompiler.betaConstraintsCompilers(rete)).isEmpty();
+        }
+
+        List<String> results = new ArrayList<>();
+        ksession.setGlobal("results", results);
+
+        // firing after each insert evaluates the constraints both from the left and from the right
+        ksession.insert(new Person("Mario", 20));
+        ksession.fireAllRules();
+        ksession.insert(new Person("Mark", 30));
+        ksession.fireAllRules();
+        ksession.insert(new Person("Mario", 10));
+        ksession.fireAllRules();
+
+        assertThat(results).containsExactlyInAnyOrder("youngest:20", "youngest:10", "Mario:10<20", "sum:10+20");
+        ksession.dispose();
+    }
+
+    @Test
+    public void testCompilationIsIdempotent() {
+        String str =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "rule R when\n" +
+                "  $p1 : Person( $age : age )\n" +
+                "  Person( age > $age )\n" +
+                "then\n" +
+                "end\n";
+
+        KieSession ksession = getKieSession(str);
+        KieBaseUpdaterANC.generateAndSetInMemoryBetaConstraints(ksession.getKieBase());
+
+        Rete rete = ((InternalKnowledgeBase) ksession.getKieBase()).getRete();
+        // the already compiled nodes are not compiled again
+        assertThat(BetaConstraintsCompiler.betaConstraintsCompilers(rete)).isEmpty();
+
+        ksession.insert(new Person("Mario", 40));
+        ksession.insert(new Person("Mark", 37));
+        assertThat(ksession.fireAllRules()).isEqualTo(1);
+        ksession.dispose();
+    }
+
+    private boolean isExecutableModel() {
+        return testRunType == RUN_TYPE.PATTERN_DSL || testRunType == RUN_TYPE.PATTERN_WITH_ALPHA_NETWORK;
+    }
+}
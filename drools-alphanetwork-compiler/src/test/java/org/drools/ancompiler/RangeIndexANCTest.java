@@ -18,6 +18,7 @@ package org.drools.ancompiler;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 import org.junit.Test;
 import org.kie.api.KieBase;
@@ -229,4 +230,76 @@ public class RangeIndexANCTest extends BaseModelTest {
         assertThat(results).containsOnly("test1", "test2", "test3");
         results.clear();
     }
+
+    @Test
+    public void testManyThresholdsOnBoxedField() {
+        // the thresholds are compiled in a binary search, also skipping the facts with a null value
+        checkManyThresholds("salary", 25, new Integer[] {null, -1, 0, 1, 24, 25, 26, 48, 49, 50, 72, 76, 77, 78, 79, 96, 99, 100, 101},
+                            value -> {
+                                Person person = new Person("John");
+                                person.setSalary(value);
+                                return person;
+                            });
+    }
+
+    @Test
+    public void testManyThresholdsOnLongField() {
+        checkManyThresholds("ageLong", 25, new Integer[] {-1, 0, 1, 24, 25, 26, 48, 49, 50, 72, 76, 77, 78, 79, 96, 99, 100, 101},
+                            value -> new Person("John").setAgeLong(value));
+    }
+
+    private void checkManyThresholds(String field, int rulesPerOperator, Integer[] values, Function<Integer, Person> personFactory) {
+        String[] operators = new String[] {"<", "<=", ">", ">="};
+        StringBuilder drl = new StringBuilder("package org.drools.compiler.test\n" +
+                                              "import " + Person.class.getCanonicalName() + "\n" +
+                                              "global java.util.List results;\n");
+        for (int o = 0; o < operators.length; o++) {
+            for (int i = 0; i < rulesPerOperator; i++) {
+                int threshold = threshold(o, i);
+                drl.append("rule \"R_").append(o).append("_").append(threshold).append("\" when\n")
+                        .append("  Person( ").append(field).append(" ").append(operators[o]).append(" ").append(threshold).append(" )\n")
+                        .append("then\n")
+                        .append("  results.add(drools.getRule().getName());\n")
+                        .append("end\n");
+            }
+        }
+
+        final KieBase kbase = createKieBaseWithRangeIndexThresholdValue(drl.toString(), 3);
+        final KieSession ksession = kbase.newKieSession();
+
+        List<String> results = new ArrayList<>();
+        ksession.setGlobal("results", results);
+
+        for (Integer value : values) {
+            List<String> expected = new ArrayList<>();
+            if (value != null) {
+                for (int o = 0; o < operators.length; o++) {
+                    for (int i = 0; i < rulesPerOperator; i++) {
+                        int threshold = threshold(o, i);
+                        boolean matches = o == 0 ? value < threshold :
+                                o == 1 ? value <= threshold :
+                                o == 2 ? value > threshold :
+                                value >= threshold;
+                        if (matches) {
+                            expected.add("R_" + o + "_" + threshold);
+                        }
+                    }
+                }
+            }
+
+            ksession.insert(personFactory.apply(value));
+            ksession.fireAllRules();
+            assertThat(results).as("value " + value).containsExactlyInAnyOrderElementsOf(expected);
+            results.clear();
+        }
+        ksession.dispose();
+    }
+
+    /**
+     * The even thresholds are shared by all the operators, to check the order of the bounds on the same key
+     * (LT, LE, GE, GT), while the odd ones differ by operator, so that the lower and the upper bounds interleave
+     */
+    private static int threshold(int operator, int i) {
+        return i % 2 == 0 ? i * 4 : i * 4 + operator;
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.ancompiler.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.ancompiler.KieBaseUpdaterANC;
+import org.drools.ancompiler.Person;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserts facts in a kbase shaped like a large decision table, where each row is a rule with a single range
+ * constraint on the same field, so that all the alpha nodes are indexed by the same range index.
+ * The rows are evaluated by the interpreted range index or by the binary search of the compiled alpha network.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RangeIndexBenchmark {
+
+    @Param({"1000", "5000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean alphaNetworkCompiler;
+
+    @Param({"1000"})
+    private int factsPerInvocation;
+
+    private KieBase kieBase;
+    private KieSession kieSession;
+    private Person[] persons;
+
+    @Setup(Level.Trial)
+    public void setupKieBase() {
+        StringBuilder drl = new StringBuilder("import " + Person.class.getCanonicalName() + ";\n");
+        String[] operators = new String[] {"<", "<=", ">", ">="};
+        for (int i = 0; i < rows; i++) {
+            drl.append("rule Row").append(i).append(" when\n")
+                    .append("  Person( age ").append(operators[i % operators.length]).append(" ").append(i).append(" )\n")
+                    .append("then\n")
+                    .append("end\n");
+        }
+        kieBase = new KieHelper().addContent(drl.toString(), ResourceType.DRL).build();
+        if (alphaNetworkCompiler) {
+            KieBaseUpdaterANC.generateAndSetInMemoryANC(kieBase);
+        }
+
+        Random random = new Random(0);
+        persons = new Person[factsPerInvocation];
+        for (int i = 0; i < factsPerInvocation; i++) {
+            persons[i] = new Person("P" + i, random.nextInt(rows));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setupKieSession() {
+        kieSession = kieBase.newKieSession();
+    }
+
+    @TearDown(Level.Iteration)
+    public void disposeKieSession() {
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public void insertAndDelete() {
+        for (Person person : persons) {
+            FactHandle fh = kieSession.insert(person);
+            kieSession.delete(fh);
+        }
+    }
+}
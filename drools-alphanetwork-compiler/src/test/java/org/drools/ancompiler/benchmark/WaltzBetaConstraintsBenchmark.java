@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.ancompiler.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.drools.ancompiler.KieBaseUpdaterANC;
+import org.drools.ancompiler.benchmark.waltz.Line;
+import org.drools.ancompiler.benchmark.waltz.Stage;
+import org.drools.core.util.IoUtils;
+import org.drools.modelcompiler.ExecutableModelProject;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.io.ResourceFactory;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs the join heavy Waltz benchmark on an executable model, with and without the compilation
+ * of the beta constraints performed by the alpha network compiler.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WaltzBetaConstraintsBenchmark {
+
+    @Param({"false", "true"})
+    private boolean compileBetaConstraints;
+
+    @Param({"waltz50.dat"})
+    private String dataFile;
+
+    private KieBase kieBase;
+    private List<Line> lines;
+    private KieSession kieSession;
+
+    @Setup(Level.Trial)
+    public void setupKieBase() throws IOException {
+        kieBase = new KieHelper()
+                .addResource( ResourceFactory.newClassPathResource( "waltz.drl", Line.class ), ResourceType.DRL )
+                .build( ExecutableModelProject.class );
+        if (compileBetaConstraints) {
+            KieBaseUpdaterANC.generateAndSetInMemoryBetaConstraints( kieBase );
+        }
+        lines = loadLines( dataFile );
+    }
+
+    @Setup(Level.Invocation)
+    public void setupKieSession() {
+        kieSession = kieBase.newKieSession();
+        for (Line line : lines) {
+            kieSession.insert( new Line( line.getP1(), line.getP2() ) );
+        }
+        kieSession.insert( new Stage( Stage.DUPLICATE ) );
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeKieSession() {
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public int fire() {
+        kieSession.setGlobal( "time", System.currentTimeMillis() );
+        return kieSession.fireAllRules();
+    }
+
+    private static List<Line> loadLines( String dataFile ) throws IOException {
+        List<Line> lines = new ArrayList<>();
+        Pattern pat = Pattern.compile( ".*make line \\^p1 ([0-9]*) \\^p2 ([0-9]*).*" );
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader( Line.class.getResourceAsStream( "data/" + dataFile ), IoUtils.UTF8_CHARSET ) )) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                Matcher m = pat.matcher( line );
+                if ( m.matches() ) {
+                    lines.add( new Line( Integer.parseInt( m.group( 1 ) ), Integer.parseInt( m.group( 2 ) ) ) );
+                }
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.builder.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.drools.core.factmodel.GenericTypeDefinition;
+import org.drools.core.util.Drools;
+import org.kie.api.io.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A local content-addressed cache of the build results, shared by all the builds using the same directory, also in
+ * different JVMs. It stores the {@link PackageDescr} parsed from each DRL and the bytecode compiled from each class
+ * generated by the java dialect, so that building again a resource that didn't change skips both the parsing and
+ * the compilation. It is enabled setting the drools.buildCache.dir property to the cache directory.
+ *
+ * An entry is never invalidated: its key is the hash of everything that determines its content, so a changed input
+ * simply looks up a different entry. The DRLs are keyed by their bytes and the parser language level, while the
+ * generated classes are keyed by their source, by the java compiler and language level compiling them and by a
+ * fingerprint of the types they can refer to, that is the fingerprint of the KieModule classes and dependencies and
+ * of the JVM classpath, computed by the KieBuilder, plus the declared types and functions of the KnowledgeBuilder.
+ * The classes are never cached when the KnowledgeBuilder is used outside of a KieModule, since there is no
+ * fingerprint for the types of its ClassLoader.
+ *
+ * The entries are written atomically, so the concurrent builds never read a partial entry, and an unreadable entry is
+ * treated as missing. The cache never grows smaller by itself: it can be deleted at any time.
+ */
+public class BuildCache {
+
+    public static final String PROPERTY_NAME = "drools.buildCache.dir";
+
+    private static final Logger log = LoggerFactory.getLogger(BuildCache.class);
+
+    // changed when the format of the entries changes, to never read the ones written by a different one
+    private static final String FORMAT_VERSION = "2";
+
+    private static final String PACKAGE_DESCR = "descr";
+    private static final String CLASSES = "classes";
+
+    private static final Map<Path, BuildCache> caches = new ConcurrentHashMap<>();
+
+    // the fingerprints of the JVM classpath, keyed by its value
+    private static final Map<String, String> classpathFingerprints = new ConcurrentHashMap<>();
+
+    // the classes that can be read from a cached PackageDescr, besides the descrs themselves
+    private static final Set<String> DESCR_ALLOWED_CLASSES = new HashSet<>(Arrays.asList(
+            ResourcePlaceholder.class.getName(),
+            GenericTypeDefinition.class.getName(),
+            Object.class.getName(), String.class.getName(), Enum.class.getName(), Number.class.getName(),
+            Boolean.class.getName(), Character.class.getName(), Byte.class.getName(), Short.class.getName(),
+            Integer.class.getName(), Long.class.getName(), Float.class.getName(), Double.class.getName(),
+            ArrayList.class.getName(), LinkedList.class.getName(), HashMap.class.getName(), LinkedHashMap.class.getName(),
+            TreeMap.class.getName(), HashSet.class.getName(), LinkedHashSet.class.getName(), TreeSet.class.getName(),
+            "java.util.Arrays$ArrayList"));
+
+    private static final String DESCR_ALLOWED_PACKAGE = PackageDescr.class.getPackage().getName() + ".";
+
+    // the empty, singleton and unmodifiable collections
+    private static final String COLLECTIONS_PREFIX = Collections.class.getName() + "$";
+
+    private final Path root;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private BuildCache(Path root) {
+        this.root = root;
+    }
+
+    public static BuildCache get(File dir) {
+        return caches.computeIfAbsent(dir.toPath().toAbsolutePath().normalize(), BuildCache::new);
+    }
+
+    public File getDirectory() {
+        return root.toFile();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the PackageDescr cached with the given key, setting the given resource on all its descrs. Only the descrs
+     * and the JDK types they are made of are deserialized: an entry referring to any other class is treated as corrupted.
+     */
+    public PackageDescr getPackageDescr(String key, Resource resource) {
+        byte[] bytes = read(PACKAGE_DESCR, key);
+        if (bytes == null) {
+            return null;
+        }
+        try (ObjectInputStream in = new ResourceResolvingInputStream(new ByteArrayInputStream(bytes), resource)) {
+            return hit((PackageDescr) in.readObject());
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            return corrupted(PACKAGE_DESCR, key, e);
+        }
+    }
+
+    public void putPackageDescr(String key, PackageDescr packageDescr) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ResourceReplacingOutputStream(bytes)) {
+            out.writeObject(packageDescr);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Unable to cache the PackageDescr of " + packageDescr.getName(), e);
+            return;
+        }
+        write(PACKAGE_DESCR, key, bytes.toByteArray());
+    }
+
+    /**
+     * Returns the classes cached with the given key, mapping the resource name of each class to its bytecode
+     */
+    public Map<String, byte[]> getClasses(String key) {
+        byte[] bytes = read(CLASSES, key);
+        if (bytes == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int size = in.readInt();
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                String resourceName = in.readUTF();
+                byte[] bytecode = new byte[in.readInt()];
+                in.readFully(bytecode);
+                classes.put(resourceName, bytecode);
+            }
+            return hit(classes);
+        } catch (IOException | RuntimeException e) {
+            return corrupted(CLASSES, key, e);
+        }
+    }
+
+    public void putClasses(String key, Map<String, byte[]> classes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(classes.size());
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        write(CLASSES, key, bytes.toByteArray());
+    }
+
+    private <T> T hit(T value) {
+        hits.incrementAndGet();
+        return value;
+    }
+
+    private <T> T corrupted(String kind, String key, Exception e) {
+        log.debug("Ignoring the unreadable build cache entry " + kind + "/" + key, e);
+        misses.incrementAndGet();
+        try {
+            Files.deleteIfExists(getPath(kind, key));
+        } catch (IOException ioe) {
+            // another build will overwrite it
+        }
+        return null;
+    }
+
+    private byte[] read(String kind, String key) {
+        try {
+            return Files.readAllBytes(getPath(kind, key));
+        } catch (NoSuchFileException e) {
+            misses.incrementAndGet();
+            return null;
+        } catch (IOException e) {
+            log.debug("Unable to read the build cache entry " + kind + "/" + key, e);
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    private void write(String kind, String key, byte[] bytes) {
+        Path target = getPath(kind, key);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), key, ".tmp");
+            try {
+                Files.write(temp, bytes);
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to write the build cache entry " + kind + "/" + key + ": " + e.getMessage());
+        }
+    }
+
+    private Path getPath(String kind, String key) {
+        return root.resolve(kind).resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    public static Hasher newHasher(String kind) {
+        return new Hasher().add(FORMAT_VERSION).add(Drools.getFullVersion()).add(kind);
+    }
+
+    /**
+     * Returns the fingerprint of the files of the JVM classpath, computed from their names, sizes and modification
+     * times. It is computed only once for each value of the java.class.path property, so a jar or a class file of the
+     * classpath changed while the JVM is running, that the running JVM wouldn't load anyway, isn't noticed until restart.
+     */
+    public static String getClasspathFingerprint() {
+        return classpathFingerprints.computeIfAbsent(System.getProperty("java.class.path", ""), BuildCache::computeClasspathFingerprint);
+    }
+
+    private static String computeClasspathFingerprint(String classpath) {
+        Hasher hasher = newHasher("classpath").add(System.getProperty("java.version"));
+        for (String entry : classpath.split(File.pathSeparator)) {
+            hasher.add(entry);
+            Path path = new File(entry).toPath();
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.walk(path)) {
+                    files.filter(Files::isRegularFile).sorted().forEach(file -> addFile(hasher, path.relativize(file).toString(), file.toFile()));
+                } catch (IOException e) {
+                    hasher.add(e.toString());
+                }
+            } else {
+                addFile(hasher, "", path.toFile());
+            }
+        }
+        return hasher.hash();
+    }
+
+    private static void addFile(Hasher hasher, String name, File file) {
+        hasher.add(name).add(file.length()).add(file.lastModified());
+    }
+
+    /**
+     * Computes the sha-256 of the sequence of the added values, that is the key of a cache entry
+     */
+    public static class Hasher {
+
+        private final MessageDigest digest;
+
+        private Hasher() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public Hasher add(byte[] bytes) {
+            add(bytes.length);
+            digest.update(bytes);
+            return this;
+        }
+
+        public Hasher add(String value) {
+            return value == null ? add(-1L) : add(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public Hasher add(long value) {
+            for (int i = 0; i < 8; i++) {
+                digest.update((byte) (value >>> (i * 8)));
+            }
+            return this;
+        }
+
+        public String hash() {
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        }
+    }
+
+    // the resources, that are not always serializable, are stored as a placeholder replaced by the resource being built
+    private enum ResourcePlaceholder {
+        INSTANCE
+    }
+
+    private static class ResourceReplacingOutputStream extends ObjectOutputStream {
+
+        private ResourceReplacingOutputStream(OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            return obj instanceof Resource ? ResourcePlaceholder.INSTANCE : obj;
+        }
+    }
+
+    private static class ResourceResolvingInputStream extends ObjectInputStream {
+
+        private final Resource resource;
+
+        private ResourceResolvingInputStream(InputStream in, Resource resource) throws IOException {
+            super(in);
+            this.resource = resource;
+            enableResolveObject(true);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (!isAllowed(desc.getName())) {
+                throw new InvalidClassException(desc.getName(), "Not allowed in a cached PackageDescr");
+            }
+            try {
+                return Class.forName(desc.getName(), false, BuildCache.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("Proxies are not allowed in a cached PackageDescr");
+        }
+
+        @Override
+        protected Object resolveObject(Object obj) {
+            return obj == ResourcePlaceholder.INSTANCE ? resource : obj;
+        }
+
+        private static boolean isAllowed(String className) {
+            // the arrays are allowed when their component type is, the ones of primitives are encoded as [I, [J ...
+            int dimensions = 0;
+            while (className.charAt(dimensions) == '[') {
+                dimensions++;
+            }
+            if (dimensions > 0) {
+                if (className.charAt(dimensions) != 'L') {
+                    return className.length() == dimensions + 1;
+                }
+                className = className.substring(dimensions + 1, className.length() - 1);
+            }
+            return DESCR_ALLOWED_CLASSES.contains(className) || className.startsWith(COLLECTIONS_PREFIX) ||
+                    (className.startsWith(DESCR_ALLOWED_PACKAGE) && className.indexOf('.', DESCR_ALLOWED_PACKAGE.length()) < 0);
+        }
+    }
+}
@@ -91,8 +91,10 @@ import static org.drools.core.reteoo.KieComponentFactory.createKieComponentFacto
  * drools.accumulate.function.<function name> = <qualified class>
  * drools.evaluator.<ident> = <qualified class>
  * drools.dump.dir = <String>
+ * drools.buildCache.dir = <String>
  * drools.classLoaderCacheEnabled = true|false
  * drools.parallelRulesBuildThreshold = <int>
+ * drools.parallelParsingThreshold = <int>
  *
  * default dialect is java.
  * Available preconfigured Accumulate functions are:
@@ -116,12 +118,18 @@ public class KnowledgeBuilderConfigurationImpl
 
     private static final int                  DEFAULT_PARALLEL_RULES_BUILD_THRESHOLD = 10;
 
+    public static final String                PARALLEL_PARSING_THRESHOLD_PROPERTY = "drools.parallelParsingThreshold";
+
+    private static final int                  DEFAULT_PARALLEL_PARSING_THRESHOLD = 4;
+
     private final Map<String, DialectConfiguration> dialectConfigurations = new HashMap<>();
 
     private DefaultDialectOption              defaultDialect = DefaultDialectOption.get("java");
 
     private ParallelRulesBuildThresholdOption parallelRulesBuildThreshold = ParallelRulesBuildThresholdOption.get(DEFAULT_PARALLEL_RULES_BUILD_THRESHOLD);
 
+    private int                               parallelParsingThreshold = DEFAULT_PARALLEL_PARSING_THRESHOLD;
+
     private ClassLoader                       classLoader;
 
     private ChainedProperties                 chainedProperties;
@@ -134,6 +142,9 @@ public class KnowledgeBuilderConfigurationImpl
 
     private File                              dumpDirectory;
 
+    private BuildCache                        buildCache;
+    private String                            buildCacheFingerprint;
+
     private boolean                           processStringEscapes                  = true;
     private boolean                           classLoaderCache                      = true;
     private boolean                           trimCellsInDTable                     = true;
@@ -243,6 +254,10 @@ public class KnowledgeBuilderConfigurationImpl
         setProperty(ParallelRulesBuildThresholdOption.PROPERTY_NAME,
         			this.chainedProperties.getProperty(ParallelRulesBuildThresholdOption.PROPERTY_NAME, 
         												String.valueOf(DEFAULT_PARALLEL_RULES_BUILD_THRESHOLD)));
+
+        setProperty(PARALLEL_PARSING_THRESHOLD_PROPERTY,
+                    this.chainedProperties.getProperty(PARALLEL_PARSING_THRESHOLD_PROPERTY,
+                                                       String.valueOf(DEFAULT_PARALLEL_PARSING_THRESHOLD)));
         
         buildDialectConfigurationMap();
 
@@ -252,6 +267,8 @@ public class KnowledgeBuilderConfigurationImpl
 
         buildDumpDirectory();
 
+        buildBuildCache(this.chainedProperties.getProperty(BuildCache.PROPERTY_NAME, null));
+
         buildSeverityMap();
 
         setProperty(ProcessStringEscapesOption.PROPERTY_NAME,
@@ -308,6 +325,8 @@ public class KnowledgeBuilderConfigurationImpl
             this.evaluatorRegistry.addEvaluatorDefinition(value);
         } else if (name.equals(DumpDirOption.PROPERTY_NAME)) {
             buildDumpDirectory(value);
+        } else if (name.equals(BuildCache.PROPERTY_NAME)) {
+            buildBuildCache(value);
         } else if (name.equals(DefaultPackageNameOption.PROPERTY_NAME)) {
             setDefaultPackageName(value);
         } else if (name.equals(ProcessStringEscapesOption.PROPERTY_NAME)) {
@@ -335,6 +354,8 @@ public class KnowledgeBuilderConfigurationImpl
             }
         } else if (name.equals(ParallelRulesBuildThresholdOption.PROPERTY_NAME)) {
         	setParallelRulesBuildThreshold(Integer.valueOf(value));
+        } else if (name.equals(PARALLEL_PARSING_THRESHOLD_PROPERTY)) {
+            setParallelParsingThreshold(Integer.valueOf(value));
         }  else if (name.equals(ExternaliseCanonicalModelLambdaOption.PROPERTY_NAME)) {
             setExternaliseCanonicalModelLambda(Boolean.valueOf(value));
         } else if (name.equals(ParallelLambdaExternalizationOption.PROPERTY_NAME)) {
@@ -373,6 +394,8 @@ public class KnowledgeBuilderConfigurationImpl
             return evalDef != null ? evalDef.getClass().getName() : null;
         } else if (name.equals(DumpDirOption.PROPERTY_NAME)) {
             return this.dumpDirectory != null ? this.dumpDirectory.toString() : null;
+        } else if (name.equals(BuildCache.PROPERTY_NAME)) {
+            return this.buildCache != null ? this.buildCache.getDirectory().toString() : null;
         } else if (name.equals(ProcessStringEscapesOption.PROPERTY_NAME)) {
             return String.valueOf(isProcessStringEscapes());
         } else if (name.equals(ClassLoaderCacheOption.PROPERTY_NAME)) {
@@ -389,6 +412,8 @@ public class KnowledgeBuilderConfigurationImpl
             return "" + getLanguageLevel();
         } else if (name.equals(ParallelRulesBuildThresholdOption.PROPERTY_NAME)) {
         	return String.valueOf(getParallelRulesBuildThreshold());
+        } else if (name.equals(PARALLEL_PARSING_THRESHOLD_PROPERTY)) {
+            return String.valueOf(getParallelParsingThreshold());
         } else if (name.equals(ExternaliseCanonicalModelLambdaOption.PROPERTY_NAME)) {
         	return String.valueOf(isExternaliseCanonicalModelLambda());
         } else if (name.equals(ParallelLambdaExternalizationOption.PROPERTY_NAME)) {
@@ -657,6 +682,33 @@ public class KnowledgeBuilderConfigurationImpl
         this.dumpDirectory = dumpDir;
     }
 
+    private void buildBuildCache(String buildCacheStr) {
+        this.buildCache = StringUtils.isEmpty(buildCacheStr) ? null : BuildCache.get(new File(buildCacheStr));
+    }
+
+    /**
+     * Returns the cache of the parsed and compiled resources, or null if it isn't enabled
+     */
+    public BuildCache getBuildCache() {
+        return this.buildCache;
+    }
+
+    public void setBuildCacheDir(File buildCacheDir) {
+        this.buildCache = buildCacheDir != null ? BuildCache.get(buildCacheDir) : null;
+    }
+
+    /**
+     * Returns the fingerprint of the types visible through the ClassLoader of this configuration, without which the
+     * compiled classes are not cached
+     */
+    public String getBuildCacheFingerprint() {
+        return this.buildCacheFingerprint;
+    }
+
+    public void setBuildCacheFingerprint(String buildCacheFingerprint) {
+        this.buildCacheFingerprint = buildCacheFingerprint;
+    }
+
     public boolean isProcessStringEscapes() {
         return processStringEscapes;
     }
@@ -699,6 +751,17 @@ public class KnowledgeBuilderConfigurationImpl
     	this.parallelRulesBuildThreshold = ParallelRulesBuildThresholdOption.get(parallelRulesBuildThreshold);
     }
 
+    /**
+     * Returns the number of resources of a batch above which they are parsed in parallel, or -1 if they never are
+     */
+    public int getParallelParsingThreshold() {
+        return parallelParsingThreshold;
+    }
+
+    public void setParallelParsingThreshold(int parallelParsingThreshold) {
+        this.parallelParsingThreshold = parallelParsingThreshold;
+    }
+
     public String getDefaultPackageName() {
         return defaultPackageName;
     }
@@ -15,9 +15,11 @@
 
 package org.drools.compiler.builder.impl;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.UncheckedIOException;
@@ -38,6 +40,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Stack;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
@@ -114,6 +117,8 @@ import org.drools.core.base.ClassFieldAccessorCache;
 import org.drools.core.builder.conf.impl.DecisionTableConfigurationImpl;
 import org.drools.core.definitions.InternalKnowledgePackage;
 import org.drools.core.definitions.rule.impl.RuleImpl;
+import org.drools.core.factmodel.ClassDefinition;
+import org.drools.core.factmodel.FieldDefinition;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.impl.KnowledgeBaseFactory;
 import org.drools.core.io.impl.BaseResource;
@@ -393,12 +398,13 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder {
                                             ResourceConfiguration configuration) throws DroolsParserException,
             IOException {
         this.resource = resource;
-        addPackage(decisionTableToPackageDescr(resource, configuration));
+        addPackage(decisionTableToPackageDescr(resource, configuration, this.results));
         this.resource = null;
     }
 
     PackageDescr decisionTableToPackageDescr(Resource resource,
-                                             ResourceConfiguration configuration) throws DroolsParserException {
+                                             ResourceConfiguration configuration,
+                                             List<KnowledgeBuilderResult> results) throws DroolsParserException {
         DecisionTableConfiguration dtableConfiguration = configuration instanceof DecisionTableConfiguration ?
                 (DecisionTableConfiguration) configuration :
                 new DecisionTableConfigurationImpl();
@@ -406,11 +412,11 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder {
         if (!dtableConfiguration.getRuleTemplateConfigurations().isEmpty()) {
             List<String> generatedDrls = DecisionTableFactory.loadFromInputStreamWithTemplates(resource, dtableConfiguration);
             if (generatedDrls.size() == 1) {
-                return generatedDrlToPackageDescr(resource, generatedDrls.get(0));
+                return generatedDrlToPackageDescr(resource, generatedDrls.get(0), results);
             }
             CompositePackageDescr compositePackageDescr = null;
             for (String generatedDrl : generatedDrls) {
-                PackageDescr packageDescr = generatedDrlToPackageDescr(resource, generatedDrl);
+                PackageDescr packageDescr = generatedDrlToPackageDescr(resource, generatedDrl, results);
                 if (packageDescr != null) {
                     if (compositePackageDescr == null) {
                         compositePackageDescr = new CompositePackageDescr(resource, packageDescr);
@@ -425,27 +431,27 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder {
         dtableConfiguration.setTrimCell( this.configuration.isTrimCellsInDTable() );
 
         String generatedDrl = DecisionTableFactory.loadFromResource(resource, dtableConfiguration);
-        return generatedDrlToPackageDescr(resource, generatedDrl);
+        return generatedDrlToPackageDescr(resource, generatedDrl, results);
     }
 
     public void addPackageFromGuidedDecisionTable(Resource resource) throws DroolsParserException,
             IOException {
         this.resource = resource;
-        addPackage(guidedDecisionTableToPackageDescr(resource));
+        addPackage(guidedDecisionTableToPackageDescr(resource, this.results));
         this.resource = null;
     }
 
-    PackageDescr guidedDecisionTableToPackageDescr(Resource resource) throws DroolsParserException, IOException {
+    PackageDescr guidedDecisionTableToPackageDescr(Resource resource, List<KnowledgeBuilderResult> results) throws DroolsParserException, IOException {
         GuidedDecisionTableProvider guidedDecisionTableProvider = GuidedDecisionTableFactory.getGuidedDecisionTableProvider();
         if (guidedDecisionTableProvider == null) {
             throw new MissingImplementationException(resource, "drools-workbench-models-guided-dtable");
         }
         ResourceConversionResult conversionResult = guidedDecisionTableProvider.loadFromInputStream(resource.getInputStream());
-        return conversionResultToPackageDescr(resource, conversionResult);
+        return conversionResultToPackageDescr(resource, conversionResult, results);
     }
 
 
-    private PackageDescr generatedDrlToPackageDescr(Resource resource, String generatedDrl) throws DroolsParserException {
+    private PackageDescr generatedDrlToPackageDescr(Resource resource, String generatedDrl, List<KnowledgeBuilderResult> results) throws DroolsParserException {
         // dump the generated DRL if the dump dir was configured
         if (this.configuration.getDumpDir() != null) {
             dumpDrlGeneratedFromDTable(this.configuration.getDumpDir(), generatedDrl, resource.getSourcePath());
@@ -453,17 +459,17 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder {
 
         DrlParser parser = new DrlParser(configuration.getLanguageLevel());
         PackageDescr pkg = parser.parse(resource, new StringReader(generatedDrl));
-        this.results.addAll(parser.getErrors());
+        results.addAll(parser.getErrors());
         if (pkg == null) {
-            addBuilderResult(new ParserError(resource, "Parser returned a null Package", 0, 0));
+            results.add(new ParserError(resource, "Parser returned a null Package", 0, 0));
         } else {
             pkg.setResource(resource);
         }
         return parser.hasErrors() ? null : pkg;
     }
 
-    PackageDescr generatedDslrToPackageDescr(Resource resource, String dslr) throws DroolsParserException {
-        return dslrReaderToPackageDescr(resource, new StringReader(dslr));
+    PackageDescr generatedDslrToPackageDescr(Resource resource, String dslr, List<KnowledgeBuilderResult> results) throws DroolsParserException {
+        return dslrReaderToPackageDescr(resource, new StringReader(dslr), results);
     }
 
     private void dumpDrlGeneratedFromDTable(File dumpDir, String generatedDrl, String srcPath) {
@@ -529,26 +535,26 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder {
     public void addPackageFromTemplate(Resource resource) throws DroolsParserException,
             IOException {
         this.resource = resource;
-        addPackage(templateToPackageDescr(resource));
+        addPackage(templateToPackageDescr(resource, this.results));
         this.resource = null;
     }
 
-    PackageDescr templateToPackageDescr(Resource resource) throws DroolsParserException, IOException {
+    PackageDescr templateToPackageDescr(Resource resource, List<KnowledgeBuilderResult> results) throws DroolsParserException, IOException {
         GuidedRuleTemplateProvider guidedRuleTemplateProvider = GuidedRuleTemplateFactory.getGuidedRuleTemplateProvider();
         if (guidedRuleTemplateProvider == null) {
             throw new MissingImplementationException(resource, "drools-workbench-models-guided-template");
         }
         ResourceConversionResult conversionResult = guidedRuleTemplateProvider.loadFromInputStream(resource.getInputStream());
-        return conversionResultToPackageDescr(resource, conversionResult);
+        return conversionResultToPackageDescr(resource, conversionResult, results);
     }
 
-    private PackageDescr conversionResultToPackageDescr(Resource resource, ResourceConversionResult resourceConversionResult)
+    private PackageDescr conversionResultToPackageDescr(Resource resource, ResourceConversionResult resourceConversionResult, List<KnowledgeBuilderResult> results)
             throws DroolsParserException {
         ResourceType resourceType = resourceConversionResult.getType();
         if (ResourceType.DSLR.equals(resourceType)) {
-            return generatedDslrToPackageDescr(resource, resourceConversionResult.getContent());
+            return generatedDslrToPackageDescr(resource, resourceConversionResult.getContent(), results);
         } else if (ResourceType.DRL.equals(resourceType)) {
-            return generatedDrlToPackageDescr(resource, resourceConversionResult.getContent());
+            return generatedDrlToPackageDescr(resource, resourceConversionResult.getContent(), results);
         } else {
             throw new RuntimeException("Converting generated " + resourceType + " into PackageDescr is not supported!");
         }
@@ -557,24 +563,40 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder {
     public void addPackageFromDrl(Resource resource) throws DroolsParserException,
             IOException {
         this.resource = resource;
-        addPackage(drlToPackageDescr(resource));
+        addPackage(drlToPackageDescr(resource, this.results));
         this.resource = null;
     }
 
-    PackageDescr drlToPackageDescr(Resource resource) throws DroolsParserException,
+    PackageDescr drlToPackageDescr(Resource resource, List<KnowledgeBuilderResult> results) throws DroolsParserException,
             IOException {
         PackageDescr pkg;
         boolean hasErrors = false;
         if (resource instanceof DescrResource) {
             pkg = (PackageDescr) ((DescrResource) resource).getDescr();
         } else {
-            final DrlParser parser = new DrlParser(configuration.getLanguageLevel());
-            pkg = parser.parse(resource);
-            this.results.addAll(parser.getErrors());
-            if (pkg == null) {
-                addBuilderResult(new ParserError(resource, "Parser returned a null Package", 0, 0));
+            BuildCache buildCache = configuration.getBuildCache();
+            if (buildCache == null) {
+                final DrlParser parser = new DrlParser(configuration.getLanguageLevel());
+                pkg = parser.parse(resource);
+                hasErrors = addParserResults(resource, parser, pkg, results);
+            } else {
+                byte[] bytes;
+                try (InputStream is = resource.getInputStream()) {
+                    bytes = IoUtils.readBytesFromInputStream(is);
+                }
+                String encoding = resource instanceof InternalResource ? ((InternalResource) resource).getEncoding() : null;
+                String cacheKey = BuildCache.newHasher("drl").add(configuration.getLanguageLevel().toString()).add(encoding).add(bytes).hash();
+                pkg = buildCache.getPackageDescr(cacheKey, resource);
+                if (pkg == null) {
+                    final DrlParser parser = new DrlParser(configuration.getLanguageLevel());
+                    pkg = parser.parse(false, resource, new ByteArrayInputStream(bytes));
+                    hasErrors = addParserResults(resource, parser, pkg, results);
+                    // the parser results are not cached, so only the DRLs without any of them are
+                    if (pkg != null && parser.getErrors().isEmpty()) {
+                        buildCache.putPackageDescr(cacheKey, pkg);
+                    }
+                }
             }
-            hasErrors = parser.hasErrors();
         }
         if (pkg != null) {
             pkg.setResource(resource);
@@ -582,6 +604,14 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder {
         return hasErrors ? null : pkg;
     }
 
+    private boolean addParserResults(Resource resource, DrlParser parser, PackageDescr pkg, List<KnowledgeBuilderResult> results) {
+        results.addAll(parser.getErrors());
+        if (pkg == null) {
+            results.add(new ParserError(resource, "Parser returned a null Package", 0, 0));
+        }
+        return parser.hasErrors();
+    }
+
     /**
      * Load a rule package from XML source.
      *
@@ -630,16 +660,16 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder {
     public void addPackageFromDslr(final Resource resource) throws DroolsParserException,
             IOException {
         this.resource = resource;
-        addPackage(dslrToPackageDescr(resource));
+        addPackage(dslrToPackageDescr(resource, this.results));
         this.resource = null;
     }
 
-    PackageDescr dslrToPackageDescr(Resource resource) throws DroolsParserException,
+    PackageDescr dslrToPackageDescr(Resource resource, List<KnowledgeBuilderResult> results) throws DroolsParserException,
             IOException {
-        return dslrReaderToPackageDescr(resource, resource.getReader());
+        return dslrReaderToPackageDescr(resource, resource.getReader(), results);
     }
 
-    private PackageDescr dslrReaderToPackageDescr(Resource resource, Reader dslrReader) throws DroolsParserException {
+    private PackageDescr dslrReaderToPackageDescr(Resource resource, Reader dslrReader, List<KnowledgeBuilderResult> results) throws DroolsParserException {
         boolean hasErrors;
         PackageDescr pkg;
 
@@ -655,12 +685,12 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder {
                 if (expander.hasErrors()) {
                     for (ExpanderException error : expander.getErrors()) {
                         error.setResource(resource);
-                        addBuilderResult(error);
+                        results.add(error);
                     }
                 }
 
                 pkg = parser.parse(resource, str);
-                this.results.addAll(parser.getErrors());
+                results.addAll(parser.getErrors());
                 hasErrors = parser.hasErrors();
             } finally {
                 if (dslrReader != null) {
@@ -1050,7 +1080,7 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder {
     }
 
     private void compileRulesLevel(PackageDescr packageDescr, PackageRegistry pkgRegistry, List<RuleDescr> rules) {
-        boolean parallelRulesBuild = this.kBase == null && parallelRulesBuildThreshold != -1 && rules.size() > parallelRulesBuildThreshold;
+        boolean parallelRulesBuild = parallelRulesBuildThreshold != -1 && rules.size() > parallelRulesBuildThreshold;
         if (parallelRulesBuild) {
             Map<String, RuleBuildContext> ruleCxts = new ConcurrentHashMap<>();
             try {
@@ -1402,11 +1432,51 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder {
     }
 
     public void compileAll() {
+        String buildCacheFingerprint = getBuildCacheFingerprint();
         for (PackageRegistry pkgRegistry : this.pkgRegistryMap.values()) {
+            pkgRegistry.setBuildCacheFingerprint(buildCacheFingerprint);
             pkgRegistry.compileAll();
         }
     }
 
+    /**
+     * The classes generated for the rules of a package can refer to the declared types and to the functions of all
+     * the packages, so they are part of the fingerprint of the cached classes, together with the one of the types
+     * of the ClassLoader.
+     */
+    private String getBuildCacheFingerprint() {
+        if (configuration.getBuildCache() == null || configuration.getBuildCacheFingerprint() == null) {
+            return null;
+        }
+        BuildCache.Hasher hasher = BuildCache.newHasher("types").add(configuration.getBuildCacheFingerprint());
+        for (PackageRegistry pkgRegistry : new TreeMap<>(this.pkgRegistryMap).values()) {
+            InternalKnowledgePackage pkg = pkgRegistry.getPackage();
+            hasher.add(pkg.getName());
+            for (TypeDeclaration type : new TreeMap<>(pkg.getTypeDeclarations()).values()) {
+                hasher.add(type.getTypeClassName()).add(type.getNature().name());
+                ClassDefinition classDef = type.getTypeClassDef();
+                if (classDef != null) {
+                    hasher.add(classDef.getSuperClass()).add(Arrays.toString(classDef.getInterfaces()));
+                    for (FieldDefinition field : classDef.getFieldsDefinitions()) {
+                        hasher.add(field.getName()).add(field.getTypeName()).add(field.isKey() ? 1 : 0);
+                    }
+                }
+            }
+            for (Function function : new TreeMap<>(pkg.getFunctions()).values()) {
+                hasher.add(function.getName());
+                if (function.getResource() != null) {
+                    try (InputStream is = function.getResource().getInputStream()) {
+                        hasher.add(IoUtils.readBytesFromInputStream(is));
+                    } catch (IOException e) {
+                        // the classes are not cached when the functions cannot be fingerprinted
+                        return null;
+                    }
+                }
+            }
+        }
+        return hasher.hash();
+    }
+
     public void reloadAll() {
         for (PackageRegistry pkgRegistry : this.pkgRegistryMap.values()) {
             pkgRegistry.getDialectRuntimeRegistry().onBeforeExecute();
@@ -29,6 +29,8 @@ public class PackageRegistry {
     private final InternalKnowledgePackage pkg;
     private String dialect;
 
+    private String buildCacheFingerprint;
+
     private final DialectRuntimeRegistry dialectRuntimeRegistry;
     private final DialectCompiletimeRegistry dialectCompiletimeRegistry;
 
@@ -80,6 +82,18 @@ public class PackageRegistry {
         return pkg.getTypeResolver();
     }
 
+    /**
+     * Returns the fingerprint of all the types the classes generated for this package can refer to, or null when
+     * they are not cached
+     */
+    public String getBuildCacheFingerprint() {
+        return buildCacheFingerprint;
+    }
+
+    public void setBuildCacheFingerprint(String buildCacheFingerprint) {
+        this.buildCacheFingerprint = buildCacheFingerprint;
+    }
+
     public void compileAll() {
         this.dialectCompiletimeRegistry.compileAll();
     }
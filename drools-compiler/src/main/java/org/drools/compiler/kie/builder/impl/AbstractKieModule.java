@@ -23,6 +23,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +34,7 @@ import java.util.function.Predicate;
 import org.appformer.maven.support.DependencyFilter;
 import org.appformer.maven.support.PomModel;
 import org.drools.compiler.builder.InternalKnowledgeBuilder;
+import org.drools.compiler.builder.impl.BuildCache;
 import org.drools.compiler.builder.impl.KnowledgeBuilderConfigurationImpl;
 import org.drools.compiler.kproject.ReleaseIdImpl;
 import org.drools.compiler.kproject.models.KieBaseModelImpl;
@@ -233,7 +235,7 @@ public abstract class AbstractKieModule implements InternalKieModule, Serializab
         }
     }
 
-    private KieBaseConfiguration getKnowledgeBaseConfiguration(KieBaseModelImpl kBaseModel, ClassLoader cl) {
+    static KieBaseConfiguration getKnowledgeBaseConfiguration(KieBaseModelImpl kBaseModel, ClassLoader cl) {
         KieBaseConfiguration kbConf = KnowledgeBaseFactory.newKnowledgeBaseConfiguration(null, cl);
         kbConf.setOption(kBaseModel.getEqualsBehavior());
         kbConf.setOption(kBaseModel.getEventProcessingMode());
@@ -247,9 +249,41 @@ public abstract class AbstractKieModule implements InternalKieModule, Serializab
         KnowledgeBuilderConfigurationImpl pconf = new KnowledgeBuilderConfigurationImpl(classLoader);
         pconf.setCompilationCache(getCompilationCache(kBaseModel.getName()));
         setModelPropsOnConf( ((KieBaseModelImpl) kBaseModel).getKModule(), pconf );
+        if (pconf.getBuildCache() != null) {
+            pconf.setBuildCacheFingerprint(getBuildCacheFingerprint());
+        }
         return pconf;
     }
 
+    /**
+     * Returns the fingerprint of the types the classes generated by the build can refer to, made of the classes of
+     * this module and of its kie dependencies, of the release ids of its jar dependencies and of the JVM classpath
+     */
+    private String getBuildCacheFingerprint() {
+        BuildCache.Hasher hasher = BuildCache.newHasher("kmodule").add(BuildCache.getClasspathFingerprint());
+        addClassesToFingerprint(hasher, this);
+        addDependenciesToFingerprint(hasher, this);
+        return hasher.hash();
+    }
+
+    static void addDependenciesToFingerprint(BuildCache.Hasher hasher, InternalKieModule kModule) {
+        kModule.getKieDependencies().values().stream()
+                .sorted(Comparator.comparing(dep -> dep.getReleaseId().toString()))
+                .forEach(dep -> addClassesToFingerprint(hasher, dep));
+        kModule.getJarDependencies(DependencyFilter.COMPILE_FILTER).stream()
+                .map(ReleaseId::toExternalForm)
+                .sorted()
+                .forEach(hasher::add);
+    }
+
+    private static void addClassesToFingerprint(BuildCache.Hasher hasher, InternalKieModule kModule) {
+        hasher.add(kModule.getReleaseId().toExternalForm());
+        kModule.getFileNames().stream()
+                .filter(fileName -> fileName.endsWith(".class"))
+                .sorted()
+                .forEach(fileName -> hasher.add(fileName).add(kModule.getBytes(fileName)));
+    }
+
     static void setModelPropsOnConf( KieModuleModel kModuleModel, KnowledgeBuilderConfigurationImpl pconf ) {
         for (Map.Entry<String, String> entry : kModuleModel.getConfigurationProperties().entrySet()) {
             pconf.setProperty(entry.getKey(), entry.getValue());
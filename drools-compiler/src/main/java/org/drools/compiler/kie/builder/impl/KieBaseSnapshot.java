@@ -0,0 +1,257 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.kie.builder.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.appformer.maven.support.AFReleaseIdImpl;
+import org.drools.compiler.builder.impl.BuildCache;
+import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
+import org.drools.compiler.kproject.models.KieBaseModelImpl;
+import org.drools.compiler.kproject.models.KieModuleModelImpl;
+import org.drools.core.RuleBaseConfiguration;
+import org.drools.core.common.DroolsObjectInputStream;
+import org.drools.core.common.DroolsObjectOutputStream;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.util.Drools;
+import org.kie.api.builder.Message.Level;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.builder.model.KieBaseModel;
+import org.kie.api.builder.model.KieModuleModel;
+import org.kie.api.conf.BetaRangeIndexOption;
+import org.kie.api.conf.EqualityBehaviorOption;
+import org.kie.api.conf.EventProcessingOption;
+import org.kie.api.conf.KieBaseMutabilityOption;
+import org.kie.api.conf.MBeansOption;
+import org.kie.api.conf.RemoveIdentitiesOption;
+import org.kie.api.conf.SequentialOption;
+import org.kie.api.conf.SessionsPoolOption;
+import org.kie.internal.builder.conf.AlphaNetworkCompilerOption;
+import org.kie.internal.builder.conf.ClassLoaderCacheOption;
+import org.kie.internal.conf.AlphaRangeIndexThresholdOption;
+import org.kie.internal.conf.AlphaThresholdOption;
+import org.kie.internal.conf.CompositeKeyDepthOption;
+import org.kie.internal.conf.ConsequenceExceptionHandlerOption;
+import org.kie.internal.conf.ConstraintJittingThresholdOption;
+import org.kie.internal.conf.IndexLeftBetaMemoryOption;
+import org.kie.internal.conf.IndexPrecedenceOption;
+import org.kie.internal.conf.IndexRightBetaMemoryOption;
+import org.kie.internal.conf.MaxThreadsOption;
+import org.kie.internal.conf.MultithreadEvaluationOption;
+import org.kie.internal.conf.PermGenThresholdOption;
+import org.kie.internal.conf.SequentialAgendaOption;
+import org.kie.internal.conf.ShareAlphaNodesOption;
+import org.kie.internal.conf.ShareBetaNodesOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A binary snapshot of a fully built KieBase, with its packages, the classes they generated and its Rete network,
+ * written in the kjar next to the compilation cache of the KieBase. When a KieBase has a snapshot, the KieContainer
+ * deserializes it instead of compiling its resources and adding its rules to a new network.
+ *
+ * Only the KieBases compiled from drl and the other resources by the KieBuilder support snapshots: the ones of a
+ * project built with the executable model are not serializable, so for them no snapshot is written.
+ *
+ * Writing the snapshots is enabled by setting drools.kieBaseSnapshot to true in the kmodule.xml or as a system
+ * property. A snapshot starts with a header made of a magic number, the version of the format, the Drools version,
+ * the name of the KieBase, the fingerprint of the dependencies of the KieModule, that is the classes of its kie
+ * dependencies and the release ids of its jar dependencies, and the fingerprint of the effective configuration of the
+ * KieBase, that is the options of the kmodule.xml together with the ones set as system properties: a snapshot written
+ * by a different version, against different dependencies or with a different configuration is ignored and the KieBase
+ * is built from its resources. The classes of the kjar itself are not part of the fingerprint, since they are always
+ * packaged together with the snapshot. The segment prototypes are not part of the snapshot and are computed by the
+ * first session.
+ *
+ * The snapshot of a KieBase is created from the packages already compiled by the verification of the project, that
+ * are never compiled again, so writing the snapshots only adds to the build of the kjar the creation of the network of
+ * each KieBase, trading it for a faster creation of the KieBases at runtime.
+ */
+public class KieBaseSnapshot {
+
+    public static final String PROPERTY_NAME = "drools.kieBaseSnapshot";
+
+    private static final Logger log = LoggerFactory.getLogger(KieBaseSnapshot.class);
+
+    private static final int MAGIC = 0x44524B42;
+    private static final int FORMAT_VERSION = 3;
+
+    private static final String[] CONFIGURATION_PROPERTIES = {
+            SequentialAgendaOption.PROPERTY_NAME, SequentialOption.PROPERTY_NAME, RemoveIdentitiesOption.PROPERTY_NAME,
+            ShareAlphaNodesOption.PROPERTY_NAME, ShareBetaNodesOption.PROPERTY_NAME, PermGenThresholdOption.PROPERTY_NAME,
+            ConstraintJittingThresholdOption.PROPERTY_NAME, AlphaThresholdOption.PROPERTY_NAME,
+            AlphaRangeIndexThresholdOption.PROPERTY_NAME, BetaRangeIndexOption.PROPERTY_NAME, SessionsPoolOption.PROPERTY_NAME,
+            CompositeKeyDepthOption.PROPERTY_NAME, IndexLeftBetaMemoryOption.PROPERTY_NAME, IndexRightBetaMemoryOption.PROPERTY_NAME,
+            IndexPrecedenceOption.PROPERTY_NAME, EqualityBehaviorOption.PROPERTY_NAME, ConsequenceExceptionHandlerOption.PROPERTY_NAME,
+            MultithreadEvaluationOption.PROPERTY_NAME, MaxThreadsOption.PROPERTY_NAME, EventProcessingOption.PROPERTY_NAME,
+            MBeansOption.PROPERTY_NAME, ClassLoaderCacheOption.PROPERTY_NAME, KieBaseMutabilityOption.PROPERTY_NAME
+    };
+
+    private KieBaseSnapshot() { }
+
+    public static String getSnapshotPath(ReleaseId releaseId, String kBaseName) {
+        return ((AFReleaseIdImpl) releaseId).getCompilationCachePathPrefix() + kBaseName.replace('.', '/') + "/kbase.snapshot";
+    }
+
+    public static boolean isEnabled(KieModuleModel kModuleModel) {
+        String enabled = kModuleModel.getConfigurationProperty(PROPERTY_NAME);
+        return Boolean.parseBoolean(enabled != null ? enabled : System.getProperty(PROPERTY_NAME));
+    }
+
+    /**
+     * Returns the fingerprint of the dependencies of the given KieModule, that has to be the same when the snapshots
+     * of its KieBases are written and when they are read
+     */
+    public static String getFingerprint(InternalKieModule kModule) {
+        BuildCache.Hasher hasher = BuildCache.newHasher("snapshot").add(System.getProperty("java.version"));
+        AbstractKieModule.addDependenciesToFingerprint(hasher, kModule);
+        return hasher.hash();
+    }
+
+    /**
+     * Returns the fingerprint of the effective configuration of a KieBase, that has to be the same when its snapshot is
+     * written and when it is read
+     */
+    public static String getConfigurationFingerprint(RuleBaseConfiguration conf) {
+        BuildCache.Hasher hasher = BuildCache.newHasher("configuration");
+        for (String name : CONFIGURATION_PROPERTIES) {
+            hasher.add(name).add(conf.getProperty(name));
+        }
+        return hasher.add(Boolean.toString(conf.isDeclarativeAgenda())).hash();
+    }
+
+    public static byte[] write(InternalKnowledgeBase kBase, String fingerprint) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(bytes);
+        header.writeInt(MAGIC);
+        header.writeInt(FORMAT_VERSION);
+        header.writeUTF(Drools.getFullVersion());
+        header.writeUTF(kBase.getId());
+        header.writeUTF(fingerprint);
+        header.writeUTF(getConfigurationFingerprint(kBase.getConfiguration()));
+        header.flush();
+
+        try (DroolsObjectOutputStream out = new DroolsObjectOutputStream(bytes)) {
+            out.writeObject(kBase);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a KieBase from its snapshot, resolving its classes with the given class loader
+     *
+     * @return the KieBase or null if the snapshot has been written by a different version, against dependencies or
+     * with a configuration with a different fingerprint or cannot be read
+     */
+    public static InternalKnowledgeBase read(byte[] bytes, String fingerprint, String configurationFingerprint, ClassLoader classLoader) {
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+        try {
+            DataInputStream header = new DataInputStream(in);
+            if (header.readInt() != MAGIC || header.readInt() != FORMAT_VERSION) {
+                log.warn("Ignoring a KieBase snapshot with an unknown format");
+                return null;
+            }
+            String version = header.readUTF();
+            String kBaseName = header.readUTF();
+            if (!version.equals(Drools.getFullVersion())) {
+                log.warn("Ignoring the snapshot of the KieBase " + kBaseName + " written by Drools " + version +
+                         ", you should rebuild your project in order to use it with the current release");
+                return null;
+            }
+            if (!header.readUTF().equals(fingerprint)) {
+                log.warn("Ignoring the snapshot of the KieBase " + kBaseName + " written against different dependencies" +
+                         ", you should rebuild your project in order to use it with the current ones");
+                return null;
+            }
+            if (!header.readUTF().equals(configurationFingerprint)) {
+                log.warn("Ignoring the snapshot of the KieBase " + kBaseName + " written with a different configuration" +
+                         ", the options set as system properties may have been changed");
+                return null;
+            }
+            try (DroolsObjectInputStream droolsIn = new DroolsObjectInputStream(in, classLoader)) {
+                return (InternalKnowledgeBase) droolsIn.readObject();
+            }
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            log.warn("Unable to read a KieBase snapshot, the KieBase will be built from its resources", e);
+            return null;
+        }
+    }
+
+    static InternalKnowledgeBase load(InternalKieModule kModule, KieBaseModelImpl kBaseModel, ClassLoader classLoader) {
+        String path = getSnapshotPath(kModule.getReleaseId(), kBaseModel.getName());
+        byte[] bytes = kModule.isAvailable(path) ? kModule.getBytes(path) : null;
+        if (bytes == null) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        RuleBaseConfiguration conf = (RuleBaseConfiguration) AbstractKieModule.getKnowledgeBaseConfiguration(kBaseModel, classLoader);
+        InternalKnowledgeBase kBase = read(bytes, getFingerprint(kModule), getConfigurationFingerprint(conf), classLoader);
+        if (kBase != null && log.isInfoEnabled()) {
+            log.info("KieBase " + kBaseModel.getName() + " loaded from its snapshot in " + (System.currentTimeMillis() - start) + " ms");
+        }
+        return kBase;
+    }
+
+    /**
+     * Writes in the kjar the snapshots of the KieBases of a successfully built project, creating each of them from the
+     * packages compiled by the verification. The KieBases using the alpha network compiler are skipped, since their
+     * compiled alpha network is not serializable, as well as the projects built with the executable model.
+     */
+    static void writeSnapshots(KieModuleKieProject kProject, BuildContext buildContext, MemoryFileSystem trgMfs) {
+        InternalKieModule kModule = kProject.getInternalKieModule();
+        KieModuleModel kModuleModel = kModule.getKieModuleModel();
+        if (!isEnabled(kModuleModel)) {
+            return;
+        }
+        if (!kProject.supportsKieBaseSnapshots()) {
+            buildContext.getMessages().addMessage(Level.WARNING, KieModuleModelImpl.KMODULE_SRC_PATH,
+                                                  "The KieBase snapshots are not supported by the executable model, no snapshot has been written");
+            return;
+        }
+        String anc = kModuleModel.getConfigurationProperty(AlphaNetworkCompilerOption.PROPERTY_NAME);
+        if (anc != null && AlphaNetworkCompilerOption.determineAlphaNetworkCompilerMode(anc) != AlphaNetworkCompilerOption.DISABLED) {
+            return;
+        }
+
+        String fingerprint = getFingerprint(kModule);
+        for (KieBaseModel kBaseModel : kModuleModel.getKieBaseModels().values()) {
+            String path = getSnapshotPath(kModule.getReleaseId(), kBaseModel.getName());
+            if (kModule.getKnowledgePackagesForKieBase(kBaseModel.getName()) == null) {
+                // not compiled by the verification: creating the KieBase would compile its resources again
+                buildContext.getMessages().addMessage(Level.WARNING, path, "The KieBase " + kBaseModel.getName() +
+                                                                           " has not been compiled by the build, no snapshot has been written for it");
+                continue;
+            }
+            try {
+                BuildContext snapshotContext = new BuildContext();
+                InternalKnowledgeBase kBase = kModule.createKieBase((KieBaseModelImpl) kBaseModel, kProject, snapshotContext, null);
+                if (kBase != null) {
+                    trgMfs.write(path, write(kBase, fingerprint), true);
+                } else {
+                    buildContext.getMessages().addMessage(Level.WARNING, path, "Unable to create the KieBase " + kBaseModel.getName() + " for its snapshot: " +
+                                                                               snapshotContext.getMessages().filterMessages(Level.ERROR));
+                }
+            } catch (IOException | RuntimeException e) {
+                buildContext.getMessages().addMessage(Level.WARNING, path, "Unable to write the snapshot of the KieBase " + kBaseModel.getName() + ": " + e);
+            }
+        }
+    }
+}
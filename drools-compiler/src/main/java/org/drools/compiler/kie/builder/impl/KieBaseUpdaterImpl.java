@@ -102,6 +102,10 @@ public class KieBaseUpdaterImpl implements KieBaseUpdater {
             }
 
             InternalKnowledgePackage currentPkg = ctx.currentKM.getPackage( changeSet.getPackageName() );
+            if (currentPkg == null) {
+                // the KieBase has been loaded from its snapshot without building the current module
+                currentPkg = ctx.kBase.getPackage( changeSet.getPackageName() );
+            }
             InternalKnowledgePackage newPkg = ctx.newKM.getPackage( changeSet.getPackageName() );
 
             for (ResourceChange change : changeSet.getChanges()) {
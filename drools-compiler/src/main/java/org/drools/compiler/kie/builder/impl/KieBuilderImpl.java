@@ -283,6 +283,7 @@ public class KieBuilderImpl
                     CompilationCacheProvider.get().writeKieModuleMetaInfo( kModule, trgMfs );
                 }
                 kProject.writeProjectOutput(trgMfs, buildContext);
+                KieBaseSnapshot.writeSnapshots(kProject, buildContext, trgMfs);
             }
             KieRepository kieRepository = KieServices.Factory.get().getRepository();
             kieRepository.addKieModule( kModule );
@@ -26,6 +26,8 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.management.ObjectName;
 import org.drools.compiler.builder.InternalKnowledgeBuilder;
@@ -46,6 +48,7 @@ import org.drools.core.impl.StatelessKnowledgeSessionImpl;
 import org.drools.core.management.DroolsManagementAgent;
 import org.drools.core.management.DroolsManagementAgent.CBSKey;
 import org.drools.core.util.ClassUtils;
+import org.drools.core.util.ScalablePoolConfiguration;
 import org.drools.reflective.classloader.ProjectClassLoader;
 import org.kie.api.KieBase;
 import org.kie.api.KieBaseConfiguration;
@@ -90,7 +93,7 @@ public class KieContainerImpl
 
     private static final Logger log = LoggerFactory.getLogger( KieContainerImpl.class );
 
-    private KieProject kProject;
+    private volatile KieProject kProject;
 
     private final Map<String, KieBase> kBases = new ConcurrentHashMap<String, KieBase>();
 
@@ -204,6 +207,32 @@ public class KieContainerImpl
         return results;
     }
 
+    /**
+     * Upgrades this container to the given version building its KieBases in background, while the current ones keep
+     * serving the existing sessions, that can be then moved to the new version one at a time.
+     *
+     * @see KieContainerUpgrade
+     */
+    public KieContainerUpgrade upgradeToVersion(ReleaseId newReleaseId) {
+        return upgradeToVersion(newReleaseId, ForkJoinPool.commonPool());
+    }
+
+    public KieContainerUpgrade upgradeToVersion(ReleaseId newReleaseId, Executor executor) {
+        checkNotClasspathKieProject();
+        KieContainerUpgrade upgrade = new KieContainerUpgrade(this, newReleaseId);
+        upgrade.start(executor);
+        return upgrade;
+    }
+
+    synchronized void switchTo(KieModuleKieProject newProject, Map<String, KieBase> newKBases, ReleaseId newReleaseId) {
+        this.kProject = newProject;
+        this.containerReleaseId = newReleaseId;
+        sessionConfsCache.clear();
+        statelessKSessions.clear();
+        kBases.putAll(newKBases);
+        kBases.keySet().retainAll(newKBases.keySet());
+    }
+
     public Results updateToKieModule(InternalKieModule newKM) {
         checkNotClasspathKieProject();
         Results results = update(((KieModuleKieProject) kProject).getInternalKieModule(), newKM);
@@ -466,13 +495,19 @@ public class KieContainerImpl
         return kBase;
     }
 
-    private KieBase createKieBase(KieBaseModelImpl kBaseModel, KieProject kieProject, BuildContext buildContext, KieBaseConfiguration conf) {
+    KieBase createKieBase(KieBaseModelImpl kBaseModel, KieProject kieProject, BuildContext buildContext, KieBaseConfiguration conf) {
         if (log.isInfoEnabled()) {
             log.info( "Start creation of KieBase: " + kBaseModel.getName() );
         }
 
         InternalKieModule kModule = kieProject.getKieModuleForKBase( kBaseModel.getName() );
-        InternalKnowledgeBase kBase = kModule.createKieBase(kBaseModel, kieProject, buildContext, conf);
+        // a snapshot is built with the configuration of the kmodule.xml, so it cannot be used with a different one
+        InternalKnowledgeBase kBase = conf == null ? KieBaseSnapshot.load(kModule, kBaseModel, kieProject.getClassLoader()) : null;
+        if (kBase != null) {
+            AbstractKieModule.checkStreamMode(kBaseModel, null, kBase.getKiePackages());
+        } else {
+            kBase = kModule.createKieBase(kBaseModel, kieProject, buildContext, conf);
+        }
         kModule.afterKieBaseCreationUpdate(kBaseModel.getName(), kBase);
 
         if ( kBase == null ) {
@@ -523,14 +558,18 @@ public class KieContainerImpl
         return new KieContainerSessionsPoolImpl(this, initialSize);
     }
 
-    StatefulSessionPool createKieSessionsPool(String kSessionName, KieSessionConfiguration conf, Environment env, int initialSize, boolean stateless) {
+    public KieContainerSessionsPool newKieSessionsPool( ScalablePoolConfiguration poolConfiguration ) {
+        return new KieContainerSessionsPoolImpl(this, poolConfiguration);
+    }
+
+    StatefulSessionPool createKieSessionsPool(String kSessionName, KieSessionConfiguration conf, Environment env, ScalablePoolConfiguration poolConfiguration, boolean stateless) {
         KieSessionModel kSessionModel = kSessionName != null ? getKieSessionModel(kSessionName) : findKieSessionModel(false);
         if ( kSessionModel == null ) {
             log.error("Unknown KieSession name: " + kSessionName);
             return null;
         }
         KnowledgeBaseImpl kBase = (KnowledgeBaseImpl) getKieBaseFromKieSessionModel( kSessionModel );
-        return kBase == null ? null : new StatefulSessionPool(kBase, initialSize, () -> {
+        return kBase == null ? null : new StatefulSessionPool(kBase, poolConfiguration, () -> {
             SessionConfiguration sessConf = conf != null ? (SessionConfiguration) conf : kBase.getSessionConfiguration();
             StatefulKnowledgeSessionImpl kSession = stateless ?
                     kBase.internalCreateStatefulKnowledgeSession( env, sessConf, false ).setStateless( true ) :
@@ -613,6 +652,27 @@ public class KieContainerImpl
         kSessions.put(kSessionModel.getName(), kSession);
     }
 
+    String getKieSessionName( KieSession kSession ) {
+        for (Entry<String, KieSession> entry : kSessions.entrySet()) {
+            if (entry.getValue() == kSession) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    void replaceKieSession( String kSessionName, KieSession current, KieSession replacement ) {
+        if (kSessionName == null) {
+            return;
+        }
+        KieSessionModel kSessionModel = getKieSessionModel( kSessionName );
+        if (kSessionModel != null) {
+            registerCalendars( kSessionModel, replacement );
+            ((StatefulKnowledgeSessionImpl) replacement).initMBeans( containerId, ((InternalKnowledgeBase) replacement.getKieBase()).getId(), kSessionName );
+        }
+        kSessions.replace( kSessionName, current, replacement );
+    }
+
     private KieBase getKieBaseFromKieSessionModel( KieSessionModel kSessionModel ) {
         if (kSessionModel.getType() == KieSessionModel.KieSessionType.STATELESS) {
             throw new RuntimeException("Trying to create a stateful KieSession from a stateless KieSessionModel: " + kSessionModel.getName());
@@ -760,6 +820,14 @@ public class KieContainerImpl
         return kProject;
     }
 
+    KieRepository getKieRepository() {
+        return kr;
+    }
+
+    Map<String, KieBase> getKieBases() {
+        return kBases;
+    }
+
     public KieModule getKieModuleForKBase(String kBaseName) {
         return kProject.getKieModuleForKBase( kBaseName );
     }
@@ -19,6 +19,7 @@ package org.drools.compiler.kie.builder.impl;
 import org.drools.core.impl.AbstractKieSessionsPool;
 import org.drools.core.impl.StatefulSessionPool;
 import org.drools.core.impl.StatelessKnowledgeSessionImpl;
+import org.drools.core.util.ScalablePoolConfiguration;
 import org.kie.api.runtime.KieContainerSessionsPool;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionConfiguration;
@@ -33,6 +34,11 @@ public class KieContainerSessionsPoolImpl extends AbstractKieSessionsPool implem
         this.kContainer = kContainer;
     }
 
+    KieContainerSessionsPoolImpl( KieContainerImpl kContainer, ScalablePoolConfiguration poolConfiguration ) {
+        super(poolConfiguration);
+        this.kContainer = kContainer;
+    }
+
     @Override
     public KieSession newKieSession() {
         return newKieSession( null, null );
@@ -75,7 +81,7 @@ public class KieContainerSessionsPoolImpl extends AbstractKieSessionsPool implem
 
     @Override
     protected StatefulSessionPool createStatefulSessionPool( String kSessionName, KieSessionConfiguration conf, boolean stateless ) {
-        return kContainer.createKieSessionsPool(kSessionName, conf, environment, initialSize, stateless);
+        return kContainer.createKieSessionsPool(kSessionName, conf, environment, poolConfiguration, stateless);
     }
 
     @Override
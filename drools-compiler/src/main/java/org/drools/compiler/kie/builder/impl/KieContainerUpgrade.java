@@ -0,0 +1,488 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.kie.builder.impl;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.drools.compiler.kie.util.KieJarChangeSet;
+import org.drools.compiler.kproject.models.KieBaseModelImpl;
+import org.drools.core.InitialFact;
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.beliefsystem.BeliefSet;
+import org.drools.core.common.EqualityKey;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.LogicalDependency;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.drools.core.spi.Activation;
+import org.drools.core.time.SessionPseudoClock;
+import org.drools.core.util.FastIterator;
+import org.drools.core.util.LinkedListEntry;
+import org.kie.api.KieBase;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.builder.Results;
+import org.kie.api.definition.rule.Rule;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.rule.EntryPoint;
+import org.kie.api.runtime.rule.Match;
+import org.kie.internal.builder.ChangeType;
+import org.kie.internal.builder.ResourceChange;
+import org.kie.internal.builder.ResourceChangeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An upgrade of a KieContainer to a new version that doesn't stop its sessions. Unlike
+ * {@link KieContainerImpl#updateToVersion(ReleaseId)}, that changes the live KieBases and all their sessions in the
+ * thread of the caller, the upgrade builds new KieBases, with a new class loader, in the background while the
+ * container keeps serving from the current ones. When they are ready the container switches to them, so that the
+ * sessions created from then on already use the new version.
+ *
+ * The sessions created before the switch are moved to the new KieBases one at a time by their owners calling
+ * {@link #migrate(KieSession)} at a safe point, typically after fireAllRules returned. The migration creates a new
+ * session replaying the globals, the listeners and the stated facts of the old one, that is then disposed, so the
+ * pause of each session is proportional only to its own facts. The facts of the classes of the KieModule are
+ * converted to the classes of the new class loader copying their fields. The matches of the rules already present,
+ * and not modified, in the old KieBase are considered as fired by the old session and discarded. The logically
+ * inserted facts are not replayed, since they can only be inserted by a rule: the rules that justified them in the
+ * old session fire again, so that they are derived again, with the rest of their consequence. Agenda groups, timers
+ * and processes are not migrated.
+ */
+public class KieContainerUpgrade {
+
+    private static final Logger log = LoggerFactory.getLogger( KieContainerUpgrade.class );
+
+    private final KieContainerImpl container;
+    private final ReleaseId newReleaseId;
+
+    private final CompletableFuture<Results> results = new CompletableFuture<>();
+
+    // from the KieBases in use before the switch to the ones built from the new version
+    private volatile Map<KieBase, InternalKnowledgeBase> upgradedKieBases;
+    private final Set<String> updatedRules = new HashSet<>();
+    private ClassLoader classLoader;
+
+    private final AtomicLong buildTime = new AtomicLong();
+    private final AtomicInteger migratedSessions = new AtomicInteger();
+    private final AtomicLong migratedFacts = new AtomicLong();
+    private final AtomicLong droppedFacts = new AtomicLong();
+    private final AtomicLong totalPause = new AtomicLong();
+    private final AtomicLong maxPause = new AtomicLong();
+
+    KieContainerUpgrade( KieContainerImpl container, ReleaseId newReleaseId ) {
+        this.container = container;
+        this.newReleaseId = newReleaseId;
+    }
+
+    void start( Executor executor ) {
+        executor.execute( () -> {
+            try {
+                results.complete( build() );
+            } catch (Throwable t) {
+                results.completeExceptionally( t );
+            }
+        } );
+    }
+
+    private Results build() {
+        long start = System.nanoTime();
+        ResultsImpl buildResults = new ResultsImpl();
+
+        InternalKieModule newKM = (InternalKieModule) container.getKieRepository().getKieModule( newReleaseId );
+        if (newKM == null) {
+            buildResults.addMessage( Message.Level.ERROR, null, "Cannot find KieModule with ReleaseId: " + newReleaseId );
+            return buildResults;
+        }
+
+        KieModuleKieProject currentProject = (KieModuleKieProject) container.getKieProject();
+        registerUpdatedRules( currentProject.getInternalKieModule().getChanges( newKM ) );
+
+        KieModuleKieProject newProject = new KieModuleKieProject( newKM, currentProject.getClassLoader().getParent() );
+        newProject.init();
+
+        Map<KieBase, InternalKnowledgeBase> kBases = new IdentityHashMap<>();
+        Map<String, KieBase> kBasesByName = new HashMap<>();
+        for (Map.Entry<String, KieBase> entry : container.getKieBases().entrySet()) {
+            KieBaseModelImpl kBaseModel = (KieBaseModelImpl) newProject.getKieBaseModel( entry.getKey() );
+            if (kBaseModel == null) {
+                buildResults.addMessage( Message.Level.WARNING, null, "The KieBase " + entry.getKey() + " doesn't exist in " + newReleaseId +
+                                                                      ", its sessions cannot be migrated" );
+                continue;
+            }
+            BuildContext buildContext = new BuildContext( buildResults );
+            InternalKnowledgeBase kBase = (InternalKnowledgeBase) container.createKieBase( kBaseModel, newProject, buildContext, null );
+            if (kBase == null) {
+                return buildResults;
+            }
+            kBase.setResolvedReleaseId( newReleaseId );
+            kBases.put( entry.getValue(), kBase );
+            kBasesByName.put( entry.getKey(), kBase );
+        }
+
+        this.classLoader = newProject.getClassLoader();
+        container.switchTo( newProject, kBasesByName, newReleaseId );
+        this.upgradedKieBases = kBases;
+
+        buildTime.set( System.nanoTime() - start );
+        if (log.isInfoEnabled()) {
+            log.info( "KieContainer " + container.getContainerId() + " switched to " + newReleaseId + " in " + getBuildTime() + " ms, " +
+                      getPendingSessions() + " sessions to be migrated" );
+        }
+        return buildResults;
+    }
+
+    private void registerUpdatedRules( KieJarChangeSet cs ) {
+        for (ResourceChangeSet changeSet : cs.getChanges().values()) {
+            for (ResourceChange change : changeSet.getChanges()) {
+                if (change.getType() == ResourceChange.Type.RULE && change.getChangeType() == ChangeType.UPDATED) {
+                    updatedRules.add( changeSet.getPackageName() + "." + change.getName() );
+                }
+            }
+        }
+    }
+
+    /**
+     * The results of building the new version, completed when the container switched to it or failed to build it
+     */
+    public CompletableFuture<Results> getResults() {
+        return results;
+    }
+
+    public boolean isSwitched() {
+        return upgradedKieBases != null;
+    }
+
+    /**
+     * Moves the given session to the KieBase of the new version, disposing it. It has to be called by the owner of the
+     * session when it is not firing and no other thread is using it.
+     *
+     * The new session doesn't inherit everything from the given one:
+     * <ul>
+     *   <li>the logically inserted facts are derived again by firing the rules that justified them, so the whole
+     *   consequences of those rules run a second time, with their side effects, like changes to the globals;</li>
+     *   <li>the pending timers, both of the timed rules and of the expiration of the events, are lost: they are
+     *   scheduled again from the time of the migration, when the facts are inserted in the new session;</li>
+     *   <li>the agenda focus is lost, so the new session starts from the MAIN agenda group;</li>
+     *   <li>the facts that cannot be converted, or whose entry point doesn't exist anymore, are dropped, logging a
+     *   warning for each of their classes or entry points.</li>
+     * </ul>
+     *
+     * @return the session replacing the given one, or the given one itself when the container didn't switch to the new
+     * version yet or the session doesn't belong to a KieBase that has been upgraded
+     */
+    public KieSession migrate( KieSession kieSession ) {
+        Map<KieBase, InternalKnowledgeBase> kBases = upgradedKieBases;
+        InternalKnowledgeBase newKBase = kBases != null ? kBases.get( kieSession.getKieBase() ) : null;
+        if (newKBase == null) {
+            return kieSession;
+        }
+        if (!(kieSession instanceof StatefulKnowledgeSessionImpl)) {
+            throw new UnsupportedOperationException( "Cannot migrate a session of type " + kieSession.getClass().getName() );
+        }
+        StatefulKnowledgeSessionImpl session = (StatefulKnowledgeSessionImpl) kieSession;
+        if (session.getAgenda().isFiring()) {
+            throw new IllegalStateException( "Cannot migrate a session while it is firing" );
+        }
+
+        long start = System.nanoTime();
+
+        String kSessionName = container.getKieSessionName( session );
+        KieSessionConfiguration conf = kSessionName != null ? container.getKieSessionConfiguration( kSessionName ) : session.getSessionConfiguration();
+        StatefulKnowledgeSessionImpl newSession = (StatefulKnowledgeSessionImpl) newKBase.newKieSession( conf, session.getEnvironment() );
+
+        if (session.getSessionClock() instanceof SessionPseudoClock && newSession.getSessionClock() instanceof SessionPseudoClock) {
+            long elapsed = session.getSessionClock().getCurrentTime() - newSession.getSessionClock().getCurrentTime();
+            (( SessionPseudoClock ) newSession.getSessionClock()).advanceTime( elapsed, TimeUnit.MILLISECONDS );
+        }
+
+        FactConverter converter = new FactConverter( classLoader );
+        copyGlobals( session, newSession, newKBase, converter );
+        copyListeners( session, newSession );
+        Set<String> justifyingRules = replayFacts( session, newSession, converter );
+
+        KieBase oldKBase = session.getKieBase();
+        newSession.fireAllRules( match -> isNewMatch( match, oldKBase ) || justifyingRules.contains( getRuleId( match.getRule() ) ) );
+
+        container.replaceKieSession( kSessionName, session, newSession );
+        session.dispose();
+
+        long pause = System.nanoTime() - start;
+        totalPause.addAndGet( pause );
+        maxPause.accumulateAndGet( pause, Math::max );
+        migratedSessions.incrementAndGet();
+        if (getPendingSessions() == 0 && log.isInfoEnabled()) {
+            log.info( "KieContainer " + container.getContainerId() + " migrated " + getMigratedSessions() + " sessions to " + newReleaseId +
+                      ", max pause " + getMaxPause() + " ms, " + getDroppedFacts() + " facts dropped" );
+        }
+        return newSession;
+    }
+
+    private boolean isNewMatch( Match match, KieBase oldKBase ) {
+        Rule rule = match.getRule();
+        return updatedRules.contains( getRuleId( rule ) ) ||
+               oldKBase.getRule( rule.getPackageName(), rule.getName() ) == null;
+    }
+
+    private static String getRuleId( Rule rule ) {
+        return rule.getPackageName() + "." + rule.getName();
+    }
+
+    private void copyGlobals( StatefulKnowledgeSessionImpl session, StatefulKnowledgeSessionImpl newSession,
+                              InternalKnowledgeBase newKBase, FactConverter converter ) {
+        for (String identifier : session.getGlobals().getGlobalKeys()) {
+            Class<?> type = newKBase.getGlobals().get( identifier );
+            Object value = session.getGlobal( identifier );
+            if (type == null || value == null) {
+                continue;
+            }
+            Object newValue = type.isInstance( value ) ? value : converter.convert( value );
+            if (newValue != null && type.isInstance( newValue )) {
+                newSession.setGlobal( identifier, newValue );
+            } else {
+                log.warn( "Cannot migrate the global " + identifier + " of type " + value.getClass().getName() );
+            }
+        }
+    }
+
+    private void copyListeners( StatefulKnowledgeSessionImpl session, StatefulKnowledgeSessionImpl newSession ) {
+        session.getRuleRuntimeEventSupport().getEventListeners().forEach( newSession::addEventListener );
+        session.getAgendaEventSupport().getEventListeners().forEach( newSession::addEventListener );
+        session.getRuleEventSupport().getEventListeners().forEach( newSession::addEventListener );
+    }
+
+    /**
+     * Inserts the stated facts of the old session in the new one
+     *
+     * @return the rules that justified the logically inserted facts of the old session
+     */
+    private Set<String> replayFacts( StatefulKnowledgeSessionImpl session, StatefulKnowledgeSessionImpl newSession, FactConverter converter ) {
+        Set<String> justifyingRules = new HashSet<>();
+        Set<String> droppedClasses = new HashSet<>();
+        for (Map.Entry<String, WorkingMemoryEntryPoint> entry : session.getEntryPointMap().entrySet()) {
+            List<InternalFactHandle> handles = new ArrayList<>();
+            for (Object handle : entry.getValue().getFactHandles()) {
+                handles.add( (InternalFactHandle) handle );
+            }
+            handles.sort( Comparator.comparingLong( InternalFactHandle::getId ) );
+
+            EntryPoint newEntryPoint = newSession.getEntryPoint( entry.getKey() );
+            if (newEntryPoint == null) {
+                log.warn( "The entry point " + entry.getKey() + " doesn't exist in " + newReleaseId + ", its facts are dropped" );
+            }
+            for (InternalFactHandle handle : handles) {
+                if (handle.getObject() instanceof InitialFact) {
+                    continue;
+                }
+                if (isJustified( handle )) {
+                    addJustifyingRules( handle.getEqualityKey().getBeliefSet(), justifyingRules );
+                    continue;
+                }
+                Object fact = newEntryPoint != null ? converter.convert( handle.getObject() ) : null;
+                if (fact != null) {
+                    newEntryPoint.insert( fact );
+                    migratedFacts.incrementAndGet();
+                } else {
+                    droppedFacts.incrementAndGet();
+                    if (newEntryPoint != null && droppedClasses.add( handle.getObject().getClass().getName() )) {
+                        log.warn( "Cannot convert the facts of class " + handle.getObject().getClass().getName() + " to " + newReleaseId +
+                                  ", they are dropped" );
+                    }
+                }
+            }
+        }
+        return justifyingRules;
+    }
+
+    private static boolean isJustified( InternalFactHandle handle ) {
+        EqualityKey key = handle.getEqualityKey();
+        return key != null && key.getStatus() == EqualityKey.JUSTIFIED;
+    }
+
+    private static void addJustifyingRules( BeliefSet<?> beliefSet, Set<String> justifyingRules ) {
+        if (beliefSet == null) {
+            return;
+        }
+        FastIterator it = beliefSet.iterator();
+        for (LinkedListEntry<?, ?> node = (LinkedListEntry<?, ?>) beliefSet.getFirst(); node != null; node = (LinkedListEntry<?, ?>) it.next( node )) {
+            Activation<?> justifier = ((LogicalDependency<?>) node.getObject()).getJustifier();
+            justifyingRules.add( getRuleId( justifier.getRule() ) );
+        }
+    }
+
+    /**
+     * The sessions of the KieBases in use before the switch not migrated yet
+     */
+    public int getPendingSessions() {
+        Map<KieBase, InternalKnowledgeBase> kBases = upgradedKieBases;
+        if (kBases == null) {
+            return 0;
+        }
+        int pending = 0;
+        for (KieBase kBase : kBases.keySet()) {
+            pending += kBase.getKieSessions().size();
+        }
+        return pending;
+    }
+
+    /**
+     * The milliseconds spent building the KieBases of the new version, before the switch
+     */
+    public long getBuildTime() {
+        return buildTime.get() / 1_000_000;
+    }
+
+    public int getMigratedSessions() {
+        return migratedSessions.get();
+    }
+
+    public long getMigratedFacts() {
+        return migratedFacts.get();
+    }
+
+    /**
+     * The facts that could not be migrated, because their entry point or their class doesn't exist in the new version
+     * or their class cannot be instantiated
+     */
+    public long getDroppedFacts() {
+        return droppedFacts.get();
+    }
+
+    /**
+     * The longest time in milliseconds a session has been paused to be migrated
+     */
+    public long getMaxPause() {
+        return maxPause.get() / 1_000_000;
+    }
+
+    public long getTotalPause() {
+        return totalPause.get() / 1_000_000;
+    }
+
+    /**
+     * Converts the objects of the classes of the old KieModule to the classes with the same name in the new class
+     * loader, keeping the identity of the objects referenced more than once
+     */
+    private static class FactConverter {
+
+        private final ClassLoader classLoader;
+        private final Map<Class<?>, Class<?>> classes = new HashMap<>();
+        private final Map<Object, Object> converted = new IdentityHashMap<>();
+
+        private FactConverter( ClassLoader classLoader ) {
+            this.classLoader = classLoader;
+        }
+
+        private Object convert( Object object ) {
+            Class<?> type = object instanceof Enum ? (( Enum<?> ) object).getDeclaringClass() : object.getClass();
+            Class<?> newClass = classes.computeIfAbsent( type, this::resolve );
+            if (newClass == type) {
+                return object;
+            }
+            if (newClass == Object.class) {
+                return null;
+            }
+            Object result = converted.get( object );
+            if (result == null) {
+                result = copy( object, newClass );
+            }
+            return result;
+        }
+
+        private Class<?> resolve( Class<?> clazz ) {
+            if (clazz.isArray() || clazz.isPrimitive()) {
+                return clazz;
+            }
+            try {
+                return Class.forName( clazz.getName(), false, classLoader );
+            } catch (ClassNotFoundException e) {
+                return Object.class;
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object copy( Object object, Class<?> newClass ) {
+            try {
+                if (newClass.isEnum()) {
+                    Object result = Enum.valueOf( (Class<? extends Enum>) newClass, ((Enum<?>) object).name() );
+                    converted.put( object, result );
+                    return result;
+                }
+                Constructor<?> constructor = newClass.getDeclaredConstructor();
+                constructor.setAccessible( true );
+                Object result = constructor.newInstance();
+                converted.put( object, result );
+
+                for (Class<?> c = object.getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+                    for (Field field : c.getDeclaredFields()) {
+                        if (Modifier.isStatic( field.getModifiers() )) {
+                            continue;
+                        }
+                        Field newField = findField( newClass, c.getName(), field.getName() );
+                        if (newField == null) {
+                            continue;
+                        }
+                        field.setAccessible( true );
+                        newField.setAccessible( true );
+                        Object value = field.get( object );
+                        if (value != null && !newField.getType().isPrimitive() && !newField.getType().isInstance( value )) {
+                            value = convert( value );
+                            if (value == null || !newField.getType().isInstance( value )) {
+                                converted.remove( object );
+                                return null;
+                            }
+                        }
+                        newField.set( result, value );
+                    }
+                }
+                return result;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                converted.remove( object );
+                return null;
+            }
+        }
+
+        private static Field findField( Class<?> newClass, String declaringClassName, String fieldName ) {
+            for (Class<?> c = newClass; c != null && c != Object.class; c = c.getSuperclass()) {
+                if (c.getName().equals( declaringClassName )) {
+                    try {
+                        return c.getDeclaredField( fieldName );
+                    } catch (NoSuchFieldException e) {
+                        return null;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
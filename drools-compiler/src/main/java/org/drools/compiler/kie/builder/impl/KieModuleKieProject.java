@@ -134,6 +134,14 @@ public class KieModuleKieProject extends AbstractKieProject {
         return new BuildContext(results);
     }
 
+    /**
+     * Returns true if the KieBases of this project can be written as {@link KieBaseSnapshot}s, that is if their
+     * network is serializable
+     */
+    public boolean supportsKieBaseSnapshots() {
+        return true;
+    }
+
     @Override
     public synchronized KieBaseModel getDefaultKieBaseModel() {
         return super.getDefaultKieBaseModel();
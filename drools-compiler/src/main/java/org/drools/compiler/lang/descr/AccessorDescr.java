@@ -17,6 +17,9 @@
 package org.drools.compiler.lang.descr;
 
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.Iterator;
 import java.util.ArrayList;
 import java.util.List;
@@ -74,4 +77,18 @@ public class AccessorDescr extends DeclarativeInvokerDescr {
         return buf.toString();
     }
 
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.variableName = (String) in.readObject();
+        this.invokers = (List) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( variableName );
+        out.writeObject( invokers );
+    }
 }
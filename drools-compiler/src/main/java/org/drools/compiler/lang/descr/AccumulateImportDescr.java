@@ -16,6 +16,10 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
 /**
  * A descriptor for imported static functions
  */
@@ -65,4 +69,16 @@ public class AccumulateImportDescr extends ImportDescr {
         return true;
     }
 
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.functionName = (String) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( functionName );
+    }
 }
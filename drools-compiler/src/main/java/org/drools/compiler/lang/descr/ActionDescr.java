@@ -15,6 +15,10 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
 public class ActionDescr extends BaseDescr {
     private String text;
     
@@ -31,4 +35,17 @@ public class ActionDescr extends BaseDescr {
     public void setText(String text) {
         this.text = text;
     }
+
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.text = (String) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( text );
+    }
 }
@@ -16,6 +16,10 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
 public class AtomicExprDescr extends BaseDescr implements ExpressionDescr {
     private static final long serialVersionUID = 510l;
 
@@ -78,4 +82,21 @@ public class AtomicExprDescr extends BaseDescr implements ExpressionDescr {
         this.expression = "!(" + expression + ")";
         return this;
     }
+
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.expression = (String) in.readObject();
+        this.rewrittenExpression = (String) in.readObject();
+        this.literal = in.readBoolean();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( expression );
+        out.writeObject( rewrittenExpression );
+        out.writeBoolean( literal );
+    }
 }
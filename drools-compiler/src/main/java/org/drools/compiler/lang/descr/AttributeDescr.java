@@ -16,6 +16,10 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
 public class AttributeDescr extends BaseDescr {
     public static enum Type {
         STRING, NUMBER, DATE, BOOLEAN, LIST, EXPRESSION
@@ -82,4 +86,21 @@ public class AttributeDescr extends BaseDescr {
 
         return this.value;
     }
+
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.name = (String) in.readObject();
+        this.value = (String) in.readObject();
+        this.type = (Type) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( name );
+        out.writeObject( value );
+        out.writeObject( type );
+    }
 }
@@ -18,6 +18,9 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.List;
 
 /**
@@ -71,4 +74,19 @@ public class BehaviorDescr extends BaseDescr {
         return params;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.subtype = (String) in.readObject();
+        this.params = (List<String>) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( subtype );
+        out.writeObject( params );
+    }
 }
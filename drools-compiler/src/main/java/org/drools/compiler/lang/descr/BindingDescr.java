@@ -16,6 +16,10 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
 public class BindingDescr extends BaseDescr implements ExpressionDescr {
     
     private static final long serialVersionUID = 520l;
@@ -92,4 +96,23 @@ public class BindingDescr extends BaseDescr implements ExpressionDescr {
     public void setBindingField( String bindingField ) {
         this.bindingField = bindingField;
     }
+
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.variable = (String) in.readObject();
+        this.bindingField = (String) in.readObject();
+        this.expression = (String) in.readObject();
+        this.unification = in.readBoolean();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( variable );
+        out.writeObject( bindingField );
+        out.writeObject( expression );
+        out.writeBoolean( unification );
+    }
 }
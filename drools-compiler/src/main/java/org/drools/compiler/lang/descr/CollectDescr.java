@@ -16,6 +16,9 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.Collections;
 import java.util.List;
 
@@ -78,4 +81,18 @@ public class CollectDescr extends PatternSourceDescr
         this.inputPattern = inputPattern;
     }
 
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.inputPattern = (PatternDescr) in.readObject();
+        this.classMethodName = (String) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( inputPattern );
+        out.writeObject( classMethodName );
+    }
 }
@@ -16,6 +16,9 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -138,4 +141,22 @@ public class ConstraintConnectiveDescr extends AnnotatedBaseDescr {
         }
         return this;
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.connective = (ConnectiveType) in.readObject();
+        this.descrs = (List<BaseDescr>) in.readObject();
+        this.negated = in.readBoolean();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( connective );
+        out.writeObject( descrs );
+        out.writeBoolean( negated );
+    }
 }
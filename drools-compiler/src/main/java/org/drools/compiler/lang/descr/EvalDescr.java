@@ -16,6 +16,9 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.Collections;
 import java.util.List;
 
@@ -96,4 +99,21 @@ public class EvalDescr extends BaseDescr
     public void accept(DescrVisitor visitor) {
         visitor.visit(this);
     }
+
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.content = in.readObject();
+        this.declarations = (String[]) in.readObject();
+        this.classMethodName = (String) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( content );
+        out.writeObject( declarations );
+        out.writeObject( classMethodName );
+    }
 }
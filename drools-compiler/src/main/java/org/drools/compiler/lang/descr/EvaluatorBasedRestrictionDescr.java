@@ -17,6 +17,9 @@
  */
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.Collections;
 import java.util.List;
 
@@ -138,4 +141,22 @@ public class EvaluatorBasedRestrictionDescr extends RestrictionDescr {
     public String toString() {
         return (this.isNegated() ? "not " : "") + this.getEvaluator() + (this.getParameterText() != null ? "[" + this.getParameterText() + "]" : "");
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.evaluator = (String) in.readObject();
+        this.negated = in.readBoolean();
+        this.parameters = (List<String>) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( evaluator );
+        out.writeBoolean( negated );
+        out.writeObject( parameters );
+    }
 }
@@ -15,6 +15,10 @@
  */
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
 /**
  * This represents a constraint in a pattern defined by an arbitrary
  * expression. The constraint can be any valid java/mvel expression.
@@ -82,4 +86,19 @@ public class ExprConstraintDescr extends BaseDescr implements ExpressionDescr {
         setText("!(" + getText() + ")");
         return this;
     }
+
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.type = (Type) in.readObject();
+        this.position = in.readInt();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( type );
+        out.writeInt( position );
+    }
 }
@@ -16,6 +16,10 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
 public class FieldTemplateDescr extends BaseDescr {
 
     private static final long serialVersionUID = 510l;
@@ -55,4 +59,18 @@ public class FieldTemplateDescr extends BaseDescr {
         this.name = name;
     }
 
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.name = (String) in.readObject();
+        this.classType = (String) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( name );
+        out.writeObject( classType );
+    }
 }
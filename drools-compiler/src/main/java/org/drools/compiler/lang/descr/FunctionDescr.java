@@ -16,6 +16,9 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -129,4 +132,29 @@ public class FunctionDescr extends BaseDescr
         return "[FunctionDescr " + returnType + " " + name + "(" + parameterTypes + ") ]";
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.name = (String) in.readObject();
+        this.returnType = (String) in.readObject();
+        this.dialect = (String) in.readObject();
+        this.parameterTypes = (List<String>) in.readObject();
+        this.parameterNames = (List<String>) in.readObject();
+        this.className = (String) in.readObject();
+        this.offset = in.readInt();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( name );
+        out.writeObject( returnType );
+        out.writeObject( dialect );
+        out.writeObject( parameterTypes );
+        out.writeObject( parameterNames );
+        out.writeObject( className );
+        out.writeInt( offset );
+    }
 }
@@ -16,6 +16,10 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
 /**
  * A descriptor class for globals.
  */
@@ -65,4 +69,18 @@ public class GlobalDescr extends BaseDescr {
         this.type = type;
     }
 
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.identifier = (String) in.readObject();
+        this.type = (String) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( identifier );
+        out.writeObject( type );
+    }
 }
@@ -15,6 +15,9 @@
  */
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.text.DecimalFormat;
 import java.text.ParseException;
 import java.util.List;
@@ -109,4 +112,17 @@ public class LiteralRestrictionDescr extends EvaluatorBasedRestrictionDescr {
                 return this.getText();
         }
     }
+
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.type = in.readInt();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeInt( type );
+    }
 }
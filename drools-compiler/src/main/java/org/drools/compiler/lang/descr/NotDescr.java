@@ -16,6 +16,9 @@
 package org.drools.compiler.lang.descr;
 
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,7 +27,7 @@ public class NotDescr extends AnnotatedBaseDescr
     ConditionalElementDescr {
 
     private static final long serialVersionUID = 510l;
-    private final List<BaseDescr> descrs = new ArrayList<>( 1 );
+    private List<BaseDescr> descrs = new ArrayList<>( 1 );
 
     public NotDescr() { }
 
@@ -60,4 +63,18 @@ public class NotDescr extends AnnotatedBaseDescr
     public void accept(DescrVisitor visitor) {
         visitor.visit(this);
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.descrs = (List<BaseDescr>) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( descrs );
+    }
 }
@@ -16,6 +16,9 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.List;
 
 /**
@@ -176,4 +179,31 @@ public class OperatorDescr extends BaseDescr {
         this.rightIsHandle = rightIsHandle;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.operator = (String) in.readObject();
+        this.negated = in.readBoolean();
+        this.parameters = (List<String>) in.readObject();
+        this.alias = (String) in.readObject();
+        this.leftString = (String) in.readObject();
+        this.rightString = (String) in.readObject();
+        this.leftIsHandle = in.readBoolean();
+        this.rightIsHandle = in.readBoolean();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( operator );
+        out.writeBoolean( negated );
+        out.writeObject( parameters );
+        out.writeObject( alias );
+        out.writeObject( leftString );
+        out.writeObject( rightString );
+        out.writeBoolean( leftIsHandle );
+        out.writeBoolean( rightIsHandle );
+    }
 }
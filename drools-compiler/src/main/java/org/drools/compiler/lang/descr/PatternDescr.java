@@ -15,6 +15,9 @@
  */
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -302,4 +305,36 @@ public class PatternDescr extends AnnotatedBaseDescr
     public void accept(DescrVisitor visitor) {
         visitor.visit(this);
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.objectType = (String) in.readObject();
+        this.identifier = (String) in.readObject();
+        this.unification = in.readBoolean();
+        this.constraint = (ConditionalElementDescr) in.readObject();
+        this.leftParentCharacter = in.readInt();
+        this.rightParentCharacter = in.readInt();
+        this.source = (PatternSourceDescr) in.readObject();
+        this.behaviors = (List<BehaviorDescr>) in.readObject();
+        this.query = in.readBoolean();
+        this.genericType = (GenericTypeDefinition) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( objectType );
+        out.writeObject( identifier );
+        out.writeBoolean( unification );
+        out.writeObject( constraint );
+        out.writeInt( leftParentCharacter );
+        out.writeInt( rightParentCharacter );
+        out.writeObject( source );
+        out.writeObject( behaviors );
+        out.writeBoolean( query );
+        out.writeObject( genericType );
+    }
 }
@@ -16,6 +16,10 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
 import org.kie.api.io.Resource;
 
 import java.util.List;
@@ -87,4 +91,24 @@ public class PredicateDescr extends RestrictionDescr {
             setParameters( ((RelationalExprDescr) base).getParameters() );
         }
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.content = in.readObject();
+        this.declarations = (String[]) in.readObject();
+        this.classMethodName = (String) in.readObject();
+        this.parameters = (List<String>) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( content );
+        out.writeObject( declarations );
+        out.writeObject( classMethodName );
+        out.writeObject( parameters );
+    }
 }
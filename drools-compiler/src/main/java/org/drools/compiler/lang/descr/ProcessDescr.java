@@ -15,6 +15,10 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
 import org.drools.core.rule.Dialectable;
 import org.kie.api.io.Resource;
 
@@ -77,4 +81,25 @@ public class ProcessDescr extends BaseDescr
     public String toString() {
     	return "Process " + name + "(" + processId + ")";
     }
+
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.dialect = (String) in.readObject();
+        this.name = (String) in.readObject();
+        this.className = (String) in.readObject();
+        this.processId = (String) in.readObject();
+        this.resource = (Resource) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( dialect );
+        out.writeObject( name );
+        out.writeObject( className );
+        out.writeObject( processId );
+        out.writeObject( resource );
+    }
 }
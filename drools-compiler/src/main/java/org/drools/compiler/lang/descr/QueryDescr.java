@@ -16,6 +16,9 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -70,4 +73,20 @@ public class QueryDescr extends RuleDescr {
     public String toString() {
         return "[Query name='" + getName() + "']";
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.parameterTypes = (List<String>) in.readObject();
+        this.parameterNames = (List<String>) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( parameterTypes );
+        out.writeObject( parameterNames );
+    }
 }
@@ -16,6 +16,9 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.List;
 
 /**
@@ -143,4 +146,23 @@ public class RelationalExprDescr extends BaseDescr {
     public String toString() {
         return this.left + (isNegated() ? " not " : " ") + getOperator() + (getParameters() != null ? getParameters().toString() + " " : " ") + this.right;
     }
+
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.left = (BaseDescr) in.readObject();
+        this.right = (BaseDescr) in.readObject();
+        this.operator = (OperatorDescr) in.readObject();
+        this.expression = (String) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( left );
+        out.writeObject( right );
+        out.writeObject( operator );
+        out.writeObject( expression );
+    }
 }
@@ -16,6 +16,10 @@
 
 package org.drools.compiler.lang.descr;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
 public class ReturnValueRestrictionDescr extends EvaluatorBasedRestrictionDescr {
 
     private static final long serialVersionUID = 510l;
@@ -63,4 +67,21 @@ public class ReturnValueRestrictionDescr extends EvaluatorBasedRestrictionDescr
     public String toString() {
         return "[ReturnValue: " + super.toString() + " " + this.content + "]";
     }
+
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException,
+                                              ClassNotFoundException {
+        super.readExternal( in );
+        this.content = in.readObject();
+        this.declarations = (String[]) in.readObject();
+        this.classMethodName = (String) in.readObject();
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        super.writeExternal( out );
+        out.writeObject( content );
+        out.writeObject( declarations );
+        out.writeObject( classMethodName );
+    }
 }
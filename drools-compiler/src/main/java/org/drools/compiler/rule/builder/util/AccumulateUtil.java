@@ -37,6 +37,8 @@ public class AccumulateUtil {
                 functionName = "maxI";
             } else if (exprClass == Long.class) {
                 functionName = "maxL";
+            } else if (exprClass == Double.class) {
+                functionName = "maxD";
             } else if (Number.class.isAssignableFrom( exprClass )) {
                 functionName = "maxN";
             }
@@ -46,6 +48,8 @@ public class AccumulateUtil {
                 functionName = "minI";
             } else if (exprClass == Long.class) {
                 functionName = "minL";
+            } else if (exprClass == Double.class) {
+                functionName = "minD";
             } else if (Number.class.isAssignableFrom( exprClass )) {
                 functionName = "minN";
             }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core;
+
+import org.drools.core.conflict.PhreakConflictResolver;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.util.BinaryHeapQueue;
+import org.drools.core.util.Queue;
+import org.drools.core.util.SalienceBucketQueue;
+
+/**
+ * This enum represents the implementations of the Queue that can be used by the agenda groups to prioritize their rules
+ */
+public enum AgendaQueueType {
+
+    /**
+     * Uses the salience buckets when the kbase has many rules, all with a static salience and with only a few
+     * distinct values of it, otherwise the binary heap
+     */
+    AUTO("auto") {
+        public Queue createInstance( InternalKnowledgeBase kBase ) {
+            return kBase.hasFewStaticSaliences() ? SALIENCE_BUCKETS.createInstance( kBase ) : BINARY_HEAP.createInstance( kBase );
+        }
+    },
+
+    BINARY_HEAP("heap") {
+        public Queue createInstance( InternalKnowledgeBase kBase ) {
+            return new BinaryHeapQueue( new PhreakConflictResolver() );
+        }
+    },
+
+    SALIENCE_BUCKETS("buckets") {
+        public Queue createInstance( InternalKnowledgeBase kBase ) {
+            return new SalienceBucketQueue();
+        }
+    };
+
+    public static final String PROPERTY_NAME = "drools.agendaQueue";
+
+    public abstract Queue createInstance( InternalKnowledgeBase kBase );
+
+    private String string;
+    AgendaQueueType( String string ) {
+        this.string = string;
+    }
+
+    public String toExternalForm() {
+        return this.string;
+    }
+
+    public String toString() {
+        return this.string;
+    }
+
+    public String getId() {
+        return this.string;
+    }
+
+    public static AgendaQueueType resolveAgendaQueueType( String id ) {
+        if( AUTO.getId().equalsIgnoreCase( id ) ) {
+            return AUTO;
+        } else if( BINARY_HEAP.getId().equalsIgnoreCase( id ) ) {
+            return BINARY_HEAP;
+        } else if( SALIENCE_BUCKETS.getId().equalsIgnoreCase( id ) ) {
+            return SALIENCE_BUCKETS;
+        }
+        throw new IllegalArgumentException( "Illegal enum value '" + id + "' for AgendaQueueType" );
+    }
+}
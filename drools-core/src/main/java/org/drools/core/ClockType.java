@@ -18,6 +18,7 @@ package org.drools.core;
 
 import org.drools.core.time.impl.JDKTimerService;
 import org.drools.core.time.impl.PseudoClockScheduler;
+import org.drools.core.time.impl.TimingWheelTimerService;
 import org.kie.api.time.SessionClock;
 
 /**
@@ -39,6 +40,16 @@ public enum ClockType {
         public PseudoClockScheduler createInstance() {
             return new PseudoClockScheduler();
         }
+    },
+
+    /**
+     * A realtime clock keeping the scheduled jobs in a hierarchical timing wheel.
+     * It is meant for sessions scheduling a huge number of jobs, like the expirations of short lived events
+     */
+    TIMING_WHEEL_CLOCK("timingwheel") {
+        public TimingWheelTimerService createInstance() {
+            return new TimingWheelTimerService();
+        }
     };
 
     public abstract SessionClock createInstance();
@@ -65,6 +76,8 @@ public enum ClockType {
             return PSEUDO_CLOCK;
         } else if( REALTIME_CLOCK.getId().equalsIgnoreCase( id ) ) {
             return REALTIME_CLOCK;
+        } else if( TIMING_WHEEL_CLOCK.getId().equalsIgnoreCase( id ) ) {
+            return TIMING_WHEEL_CLOCK;
         }
         throw new IllegalArgumentException( "Illegal enum value '" + id + "' for ClockType" );
     }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core;
+
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.CompactFactHandleFactory;
+import org.drools.core.reteoo.ReteooFactHandleFactory;
+import org.drools.core.spi.FactHandleFactory;
+
+/**
+ * This enum represents the kinds of fact handles that a session can create for the inserted facts
+ */
+public enum FactHandleType {
+
+    DEFAULT("default") {
+        public FactHandleFactory adapt( FactHandleFactory handleFactory, InternalKnowledgeBase kBase ) {
+            return handleFactory;
+        }
+    },
+
+    /**
+     * Fact handles linking their tuples without any intermediate object, reducing the heap footprint of
+     * sessions holding a very large number of facts. It is ignored when the rule base is evaluated in parallel
+     * or the session uses a custom FactHandleFactory, like the one of the traits.
+     */
+    COMPACT("compact") {
+        public FactHandleFactory adapt( FactHandleFactory handleFactory, InternalKnowledgeBase kBase ) {
+            if ( handleFactory.getClass() != ReteooFactHandleFactory.class || kBase.getConfiguration().isMultithreadEvaluation() ) {
+                return handleFactory;
+            }
+            return new CompactFactHandleFactory( handleFactory.getId(), handleFactory.getRecency() );
+        }
+    };
+
+    public static final String PROPERTY_NAME = "drools.factHandleType";
+
+    public abstract FactHandleFactory adapt( FactHandleFactory handleFactory, InternalKnowledgeBase kBase );
+
+    private String string;
+    FactHandleType( String string ) {
+        this.string = string;
+    }
+
+    public String toExternalForm() {
+        return this.string;
+    }
+
+    public String toString() {
+        return this.string;
+    }
+
+    public String getId() {
+        return this.string;
+    }
+
+    public static FactHandleType resolveFactHandleType( String id ) {
+        if( DEFAULT.getId().equalsIgnoreCase( id ) ) {
+            return DEFAULT;
+        } else if( COMPACT.getId().equalsIgnoreCase( id ) ) {
+            return COMPACT;
+        }
+        throw new IllegalArgumentException( "Illegal enum value '" + id + "' for FactHandleType" );
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core;
+
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.phreak.LockFreePropagationList;
+import org.drools.core.phreak.PropagationList;
+import org.drools.core.phreak.SynchronizedPropagationList;
+
+/**
+ * This enum represents the implementations of the PropagationList that can be used by a thread safe session
+ */
+public enum PropagationListType {
+
+    SYNCHRONIZED("synchronized") {
+        public PropagationList createInstance( InternalWorkingMemory workingMemory ) {
+            return new SynchronizedPropagationList( workingMemory );
+        }
+    },
+
+    /**
+     * A PropagationList allowing many threads to concurrently insert into the same session
+     * without contending on the list monitor
+     */
+    LOCK_FREE("lockfree") {
+        public PropagationList createInstance( InternalWorkingMemory workingMemory ) {
+            return new LockFreePropagationList( workingMemory );
+        }
+    };
+
+    public static final String PROPERTY_NAME = "drools.propagationList";
+
+    public abstract PropagationList createInstance( InternalWorkingMemory workingMemory );
+
+    private String string;
+    PropagationListType( String string ) {
+        this.string = string;
+    }
+
+    public String toExternalForm() {
+        return this.string;
+    }
+
+    public String toString() {
+        return this.string;
+    }
+
+    public String getId() {
+        return this.string;
+    }
+
+    public static PropagationListType resolvePropagationListType( String id ) {
+        if( SYNCHRONIZED.getId().equalsIgnoreCase( id ) ) {
+            return SYNCHRONIZED;
+        } else if( LOCK_FREE.getId().equalsIgnoreCase( id ) ) {
+            return LOCK_FREE;
+        }
+        throw new IllegalArgumentException( "Illegal enum value '" + id + "' for PropagationListType" );
+    }
+}
@@ -28,6 +28,8 @@ import java.util.Properties;
 
 import org.drools.core.base.CoreComponentsBuilder;
 import org.drools.core.common.AgendaGroupFactory;
+import org.drools.core.common.EqualityKeyExtractor;
+import org.drools.core.common.TypedEqualityKeyExtractor;
 import org.drools.core.reteoo.KieComponentFactory;
 import org.drools.core.runtime.rule.impl.DefaultConsequenceExceptionHandler;
 import org.drools.core.spi.ConflictResolver;
@@ -171,6 +173,8 @@ public class RuleBaseConfiguration
 
     private Map<String, ActivationListenerFactory> activationListeners;
 
+    private Map<Class<?>, EqualityKeyExtractor<?>> equalityKeyExtractors;
+
     private List<Map<String, Object>> workDefinitions;
     private boolean                   advancedProcessRuleIntegration;
 
@@ -886,6 +890,32 @@ public class RuleBaseConfiguration
         throw new IllegalArgumentException( "ActivationListenerFactory not found for '" + name + "'" );
     }
 
+    /**
+     * Compares the facts of the given type, and of its subtypes, through the key returned by the given extractor
+     * instead of their equals and hashCode, both in the equality based fact store and in the truth maintenance system.
+     * The keys are scoped by the given type, so they are never equal to the keys of another type or to a plain fact.
+     */
+    public <T> void addEqualityKeyExtractor(Class<T> type, EqualityKeyExtractor<? super T> extractor) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        if ( this.equalityKeyExtractors == null ) {
+            this.equalityKeyExtractors = new HashMap<Class<?>, EqualityKeyExtractor<?>>();
+        }
+        this.equalityKeyExtractors.put( type, new TypedEqualityKeyExtractor( type, extractor ) );
+    }
+
+    public EqualityKeyExtractor<Object> getEqualityKeyExtractor(Class<?> type) {
+        if ( this.equalityKeyExtractors == null ) {
+            return null;
+        }
+        for ( Class<?> c = type; c != null; c = c.getSuperclass() ) {
+            EqualityKeyExtractor<?> extractor = this.equalityKeyExtractors.get( c );
+            if ( extractor != null ) {
+                return (EqualityKeyExtractor<Object>) extractor;
+            }
+        }
+        return null;
+    }
+
     private boolean determineShadowProxy(String userValue) {
         if ( this.isSequential() ) {
             // sequential never needs shadowing, so always override
@@ -20,6 +20,9 @@ import java.io.Externalizable;
 import java.util.Map;
 import java.util.Properties;
 
+import org.drools.core.impl.StatelessKnowledgeSessionImpl;
+import org.drools.core.phreak.LeftTuplePool;
+import org.drools.core.phreak.PhreakGroupByNode;
 import org.drools.core.process.instance.WorkItemManagerFactory;
 import org.drools.core.time.TimerService;
 import org.drools.core.time.impl.TimerJobFactoryManager;
@@ -87,6 +90,24 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
     public abstract ClockType getClockType();
     public abstract void setClockType(ClockType clockType);
 
+    public abstract PropagationListType getPropagationListType();
+    public abstract void setPropagationListType(PropagationListType propagationListType);
+
+    public abstract AgendaQueueType getAgendaQueueType();
+    public abstract void setAgendaQueueType(AgendaQueueType agendaQueueType);
+
+    public abstract FactHandleType getFactHandleType();
+    public abstract void setFactHandleType(FactHandleType factHandleType);
+
+    public abstract boolean isLeftTupleRecycling();
+    public abstract void setLeftTupleRecycling(boolean leftTupleRecycling);
+
+    public abstract boolean isParallelGroupBy();
+    public abstract void setParallelGroupBy(boolean parallelGroupBy);
+
+    public abstract boolean isLeanStatelessExecution();
+    public abstract void setLeanStatelessExecution(boolean leanStatelessExecution);
+
     public abstract TimerJobFactoryType getTimerJobFactoryType();
     public abstract void setTimerJobFactoryType(TimerJobFactoryType timerJobFactoryType);
 
@@ -107,6 +128,8 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
 
     public abstract TimerService newTimerService();
 
+    public abstract String getPropertyValue( String name, String defaultValue );
+
     public abstract QueryListenerOption getQueryListenerOption();
     public abstract void setQueryListenerOption( QueryListenerOption queryListener );
 
@@ -197,6 +220,18 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
             setQueryListenerOption( QueryListenerOption.determineQueryListenerClassOption( property ) );
         } else if ( name.equals( BeliefSystemTypeOption.PROPERTY_NAME ) ) {
             setBeliefSystemType(StringUtils.isEmpty(value) ? BeliefSystemType.SIMPLE : BeliefSystemType.resolveBeliefSystemType(value));
+        } else if ( name.equals( PropagationListType.PROPERTY_NAME ) ) {
+            setPropagationListType(StringUtils.isEmpty(value) ? PropagationListType.SYNCHRONIZED : PropagationListType.resolvePropagationListType(value));
+        } else if ( name.equals( FactHandleType.PROPERTY_NAME ) ) {
+            setFactHandleType(StringUtils.isEmpty(value) ? FactHandleType.DEFAULT : FactHandleType.resolveFactHandleType(value));
+        } else if ( name.equals( AgendaQueueType.PROPERTY_NAME ) ) {
+            setAgendaQueueType(StringUtils.isEmpty(value) ? AgendaQueueType.AUTO : AgendaQueueType.resolveAgendaQueueType(value));
+        } else if ( name.equals( LeftTuplePool.PROPERTY_NAME ) ) {
+            setLeftTupleRecycling( !StringUtils.isEmpty( value ) && Boolean.parseBoolean( value ) );
+        } else if ( name.equals( PhreakGroupByNode.PARALLEL_EVALUATION_PROPERTY_NAME ) ) {
+            setParallelGroupBy( !StringUtils.isEmpty( value ) && Boolean.parseBoolean( value ) );
+        } else if ( name.equals( StatelessKnowledgeSessionImpl.LEAN_EXECUTION_PROPERTY_NAME ) ) {
+            setLeanStatelessExecution( !StringUtils.isEmpty( value ) && Boolean.parseBoolean( value ) );
         }
     }
 
@@ -222,6 +257,18 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
             return getQueryListenerOption().getAsString();
         } else if ( name.equals( BeliefSystemTypeOption.PROPERTY_NAME ) ) {
             return getBeliefSystemType().getId();
+        } else if ( name.equals( PropagationListType.PROPERTY_NAME ) ) {
+            return getPropagationListType().getId();
+        } else if ( name.equals( FactHandleType.PROPERTY_NAME ) ) {
+            return getFactHandleType().getId();
+        } else if ( name.equals( AgendaQueueType.PROPERTY_NAME ) ) {
+            return getAgendaQueueType().getId();
+        } else if ( name.equals( LeftTuplePool.PROPERTY_NAME ) ) {
+            return Boolean.toString(isLeftTupleRecycling());
+        } else if ( name.equals( PhreakGroupByNode.PARALLEL_EVALUATION_PROPERTY_NAME ) ) {
+            return Boolean.toString(isParallelGroupBy());
+        } else if ( name.equals( StatelessKnowledgeSessionImpl.LEAN_EXECUTION_PROPERTY_NAME ) ) {
+            return Boolean.toString(isLeanStatelessExecution());
         }
         return null;
     }
@@ -236,7 +283,9 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
         return isKeepReference() == that.isKeepReference() &&
                getBeliefSystemType() == that.getBeliefSystemType() &&
                getClockType() == that.getClockType() &&
-               getTimerJobFactoryType() == that.getTimerJobFactoryType();
+               getTimerJobFactoryType() == that.getTimerJobFactoryType() &&
+               getPropagationListType() == that.getPropagationListType() &&
+               getFactHandleType() == that.getFactHandleType();
     }
 
     @Override
@@ -245,6 +294,8 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
         result = 31 * result + getClockType().hashCode();
         result = 31 * result + getBeliefSystemType().hashCode();
         result = 31 * result + getTimerJobFactoryType().hashCode();
+        result = 31 * result + getPropagationListType().hashCode();
+        result = 31 * result + getFactHandleType().hashCode();
         return result;
     }
 }
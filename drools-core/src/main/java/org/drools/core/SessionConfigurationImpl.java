@@ -24,6 +24,9 @@ import java.util.Map;
 import java.util.Properties;
 
 import org.drools.core.base.CoreComponentsBuilder;
+import org.drools.core.impl.StatelessKnowledgeSessionImpl;
+import org.drools.core.phreak.LeftTuplePool;
+import org.drools.core.phreak.PhreakGroupByNode;
 import org.drools.core.process.instance.WorkItemManagerFactory;
 import org.drools.core.time.TimerService;
 import org.drools.core.util.ConfFileUtils;
@@ -64,6 +67,12 @@ import org.kie.internal.utils.ChainedProperties;
  * 
  * drools.keepReference = <true|false>
  * drools.clockType = <pseudo|realtime|heartbeat|implicit>
+ * drools.propagationList = <synchronized|lockfree>
+ * drools.factHandleType = <default|compact>
+ * drools.agendaQueue = <auto|heap|buckets>
+ * drools.leftTupleRecycling = <true|false>
+ * drools.parallelGroupBy = <true|false>
+ * drools.leanStatelessExecution = <true|false>
  */
 public class SessionConfigurationImpl extends SessionConfiguration {
 
@@ -81,6 +90,12 @@ public class SessionConfigurationImpl extends SessionConfiguration {
 
     private boolean                        accumulateNullPropagation;
 
+    private boolean                        leftTupleRecycling;
+
+    private boolean                        parallelGroupBy;
+
+    private boolean                        leanStatelessExecution;
+
     private ForceEagerActivationFilter     forceEagerActivationFilter;
     private TimedRuleExecutionFilter       timedRuleExecutionFilter;
 
@@ -88,6 +103,12 @@ public class SessionConfigurationImpl extends SessionConfiguration {
     
     private BeliefSystemType               beliefSystemType;
 
+    private PropagationListType            propagationListType;
+
+    private FactHandleType                 factHandleType;
+
+    private AgendaQueueType                agendaQueueType;
+
     private QueryListenerOption            queryListener;
 
     private Map<String, WorkItemHandler>   workItemHandlers;
@@ -105,6 +126,7 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         out.writeObject(clockType);
         out.writeObject( queryListener );
         out.writeObject( timerJobFactoryType );
+        out.writeObject( propagationListType );
     }
 
     @SuppressWarnings("unchecked")
@@ -125,6 +147,7 @@ public class SessionConfigurationImpl extends SessionConfiguration {
                 throw e;
             }
         }
+        propagationListType = (PropagationListType) in.readObject();
     }
 
     /**
@@ -172,6 +195,12 @@ public class SessionConfigurationImpl extends SessionConfiguration {
 
         setAccumulateNullPropagation(Boolean.valueOf( getPropertyValue( AccumulateNullPropagationOption.PROPERTY_NAME, "false" ) ));
 
+        setLeftTupleRecycling(Boolean.valueOf( getPropertyValue( LeftTuplePool.PROPERTY_NAME, "false" ) ));
+
+        setParallelGroupBy(Boolean.valueOf( getPropertyValue( PhreakGroupByNode.PARALLEL_EVALUATION_PROPERTY_NAME, "false" ) ));
+
+        setLeanStatelessExecution(Boolean.valueOf( getPropertyValue( StatelessKnowledgeSessionImpl.LEAN_EXECUTION_PROPERTY_NAME, "false" ) ));
+
         setForceEagerActivationFilter(ForceEagerActivationOption.resolve( getPropertyValue( ForceEagerActivationOption.PROPERTY_NAME, "false" ) ).getFilter());
 
         setTimedRuleExecutionFilter(TimedRuleExecutionOption.resolve( getPropertyValue( TimedRuleExecutionOption.PROPERTY_NAME, "false" ) ).getFilter());
@@ -180,6 +209,12 @@ public class SessionConfigurationImpl extends SessionConfiguration {
 
         setClockType( ClockType.resolveClockType( getPropertyValue( ClockTypeOption.PROPERTY_NAME, ClockType.REALTIME_CLOCK.getId() ) ) );
 
+        setPropagationListType( PropagationListType.resolvePropagationListType( getPropertyValue( PropagationListType.PROPERTY_NAME, PropagationListType.SYNCHRONIZED.getId() ) ) );
+
+        setFactHandleType( FactHandleType.resolveFactHandleType( getPropertyValue( FactHandleType.PROPERTY_NAME, FactHandleType.DEFAULT.getId() ) ) );
+
+        setAgendaQueueType( AgendaQueueType.resolveAgendaQueueType( getPropertyValue( AgendaQueueType.PROPERTY_NAME, AgendaQueueType.AUTO.getId() ) ) );
+
         setQueryListenerOption( QueryListenerOption.determineQueryListenerClassOption( getPropertyValue( QueryListenerOption.PROPERTY_NAME, QueryListenerOption.STANDARD.getAsString() ) ) );
 
         setTimerJobFactoryType(TimerJobFactoryType.resolveTimerJobFactoryType( getPropertyValue( TimerJobFactoryOption.PROPERTY_NAME, TimerJobFactoryType.THREAD_SAFE_TRACKABLE.getId() ) ));
@@ -197,6 +232,33 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         return this;
     }
 
+    /**
+     * Returns a mutable copy of this configuration, including the options that have been set programmatically
+     */
+    public SessionConfigurationImpl copy() {
+        SessionConfigurationImpl copy = new SessionConfigurationImpl( null, classLoader, chainedProperties );
+        copy.keepReference = keepReference;
+        copy.directFiring = directFiring;
+        copy.threadSafe = threadSafe;
+        copy.accumulateNullPropagation = accumulateNullPropagation;
+        copy.leftTupleRecycling = leftTupleRecycling;
+        copy.parallelGroupBy = parallelGroupBy;
+        copy.leanStatelessExecution = leanStatelessExecution;
+        copy.forceEagerActivationFilter = forceEagerActivationFilter;
+        copy.timedRuleExecutionFilter = timedRuleExecutionFilter;
+        copy.clockType = clockType;
+        copy.beliefSystemType = beliefSystemType;
+        copy.propagationListType = propagationListType;
+        copy.factHandleType = factHandleType;
+        copy.agendaQueueType = agendaQueueType;
+        copy.queryListener = queryListener;
+        copy.workItemHandlers = workItemHandlers;
+        copy.workItemManagerFactory = workItemManagerFactory;
+        copy.runner = runner;
+        copy.timerJobFactoryType = timerJobFactoryType;
+        return copy;
+    }
+
     /**
      * Makes the configuration object immutable. Once it becomes immutable,
      * there is no way to make it mutable again.
@@ -255,6 +317,33 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         return this.accumulateNullPropagation;
     }
 
+    public void setLeftTupleRecycling(boolean leftTupleRecycling) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.leftTupleRecycling = leftTupleRecycling;
+    }
+
+    public boolean isLeftTupleRecycling() {
+        return this.leftTupleRecycling;
+    }
+
+    public void setParallelGroupBy(boolean parallelGroupBy) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.parallelGroupBy = parallelGroupBy;
+    }
+
+    public boolean isParallelGroupBy() {
+        return this.parallelGroupBy;
+    }
+
+    public void setLeanStatelessExecution(boolean leanStatelessExecution) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.leanStatelessExecution = leanStatelessExecution;
+    }
+
+    public boolean isLeanStatelessExecution() {
+        return this.leanStatelessExecution;
+    }
+
     public void setForceEagerActivationFilter(ForceEagerActivationFilter forceEagerActivationFilter) {
         checkCanChange(); // throws an exception if a change isn't possible;
         this.forceEagerActivationFilter = forceEagerActivationFilter;
@@ -291,6 +380,35 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         this.clockType = clockType;
     }
 
+    public PropagationListType getPropagationListType() {
+        return propagationListType != null ? propagationListType : PropagationListType.SYNCHRONIZED;
+    }
+
+    public void setPropagationListType(PropagationListType propagationListType) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.propagationListType = propagationListType;
+    }
+
+    public FactHandleType getFactHandleType() {
+        // not externalized, so it can be missing from a deserialized configuration
+        return factHandleType != null ? factHandleType : FactHandleType.DEFAULT;
+    }
+
+    public void setFactHandleType(FactHandleType factHandleType) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.factHandleType = factHandleType;
+    }
+
+    public AgendaQueueType getAgendaQueueType() {
+        // not externalized, so it can be missing from a deserialized configuration
+        return agendaQueueType != null ? agendaQueueType : AgendaQueueType.AUTO;
+    }
+
+    public void setAgendaQueueType(AgendaQueueType agendaQueueType) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.agendaQueueType = agendaQueueType;
+    }
+
     public TimerJobFactoryType getTimerJobFactoryType() {
         return timerJobFactoryType;
     }
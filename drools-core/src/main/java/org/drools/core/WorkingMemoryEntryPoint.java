@@ -16,6 +16,9 @@
 
 package org.drools.core;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.common.ObjectStore;
@@ -54,6 +57,22 @@ public interface WorkingMemoryEntryPoint extends EntryPoint {
     FactHandle insert(Object object,
                       boolean dynamic);
 
+    /**
+     * Inserts all the given facts, allowing the engine to propagate them in bulk.
+     *
+     * @param objects
+     *            The fact objects.
+     *
+     * @return The fact-handles associated with the objects, in the same order.
+     */
+    default List<FactHandle> insertAll(Collection<?> objects) {
+        List<FactHandle> handles = new ArrayList<>( objects.size() );
+        for ( Object object : objects ) {
+            handles.add( insert( object ) );
+        }
+        return handles;
+    }
+
     WorkingMemoryEntryPoint getWorkingMemoryEntryPoint(String name);
     
     /**
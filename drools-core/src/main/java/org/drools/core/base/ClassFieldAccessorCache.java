@@ -139,15 +139,17 @@ public class ClassFieldAccessorCache {
         // System classloader classes return null on some JVMs
         ClassLoader cl = cls.getClassLoader() != null ? cls.getClassLoader() : this.classLoader;
 
-        CacheEntry cache = this.cacheByClassLoader.get( cl );
-        if ( cache == null ) {
-            // setup a cache for this ClassLoader
-            cache = new CacheEntry( this.classLoader );
-            this.cacheByClassLoader.put( cl,
-                                         cache );
+        // the rules of a package can be built in parallel, also when they are added to an existing KieBase
+        synchronized (this.cacheByClassLoader) {
+            CacheEntry cache = this.cacheByClassLoader.get( cl );
+            if ( cache == null ) {
+                // setup a cache for this ClassLoader
+                cache = new CacheEntry( this.classLoader );
+                this.cacheByClassLoader.put( cl,
+                                             cache );
+            }
+            return cache;
         }
-
-        return cache;
     }
 
     public static class CacheEntry {
@@ -66,7 +66,8 @@ public class ClassObjectType
 
     private boolean           isEvent;
 
-    private transient Map<String, BitMask> transformedMasks;
+    // the masks of the modified classes adapted to this type, looked up without allocating on each modification
+    private transient Map<Class<?>, Map<BitMask, BitMask>> transformedMasks;
 
     // ------------------------------------------------------------
     // Constructors
@@ -207,15 +208,16 @@ public class ClassObjectType
         if (transformedMasks == null) {
             return null;
         }
-        String key = modifiedClass.getName() + ":" + modificationMask;
-        return transformedMasks.get(key);
+        Map<BitMask, BitMask> masks = transformedMasks.get(modifiedClass);
+        return masks != null ? masks.get(modificationMask) : null;
     }
 
     public void storeTransformedMask(Class<?> modifiedClass, BitMask modificationMask, BitMask transforedMask) {
         if (transformedMasks == null) {
-            transformedMasks = new ConcurrentHashMap<String, BitMask>();
+            transformedMasks = new ConcurrentHashMap<Class<?>, Map<BitMask, BitMask>>();
         }
-        String key = modifiedClass.getName() + ":" + modificationMask;
-        transformedMasks.put(key, transforedMask);
+        // the key is copied, as the modification mask could be changed after having been used
+        transformedMasks.computeIfAbsent(modifiedClass, c -> new ConcurrentHashMap<BitMask, BitMask>())
+                        .put(modificationMask.clone(), transforedMask);
     }
 }
@@ -317,7 +317,7 @@ public class DefaultKnowledgeHelper<T extends ModedAssertion<T>>
                                                                                                                                             workingMemory, ep );
         }
         if ( handle.getEqualityKey() == null ) {
-            handle.setEqualityKey( new EqualityKey( handle, EqualityKey.STATED ) );
+            handle.setEqualityKey( workingMemory.getTruthMaintenanceSystem().newEqualityKey( handle, EqualityKey.STATED ) );
         } else {
             beliefSet = handle.getEqualityKey().getBeliefSet();
         }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.drools.core.util.SortedLongBag;
+
+/**
+ * The base of the accumulators calculating the minimum or the maximum of primitive values. All the accumulated
+ * values are kept in a sorted bag, so that the reverse of a value, including the current minimum or maximum,
+ * costs O(log n) instead of requiring to accumulate again all the values of the group.
+ */
+public abstract class AbstractMinMaxAccumulateFunction extends AbstractAccumulateFunction<AbstractMinMaxAccumulateFunction.MinMaxData> {
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+
+    }
+
+    public static class MinMaxData implements Externalizable {
+        public final SortedLongBag values = new SortedLongBag();
+
+        public MinMaxData() {}
+
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            values.readExternal( in );
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+            values.writeExternal( out );
+        }
+
+        @Override
+        public String toString() {
+            return values.toString();
+        }
+    }
+
+    public MinMaxData createContext() {
+        return new MinMaxData();
+    }
+
+    public void init(MinMaxData data) {
+        data.values.clear();
+    }
+
+    public void accumulate(MinMaxData data,
+                           Object value) {
+        if (value != null) {
+            data.values.add( toLong( value ) );
+        }
+    }
+
+    public void reverse(MinMaxData data,
+                        Object value) {
+        if (value != null) {
+            data.values.remove( toLong( value ) );
+        }
+    }
+
+    public Object getResult(MinMaxData data) {
+        if (data.values.isEmpty()) {
+            return null;
+        }
+        return toResult( isMin() ? data.values.first() : data.values.last() );
+    }
+
+    public boolean supportsReverse() {
+        return true;
+    }
+
+    protected abstract boolean isMin();
+
+    /**
+     * Converts the accumulated value in a long having the same ordering
+     */
+    protected abstract long toLong(Object value);
+
+    protected abstract Object toResult(long value);
+
+    /**
+     * Converts a double in a long with the same ordering, flipping all the bits but the sign of the negative ones
+     */
+    static long toSortableLong(double value) {
+        long bits = Double.doubleToLongBits( value );
+        return bits ^ ( ( bits >> 63 ) & Long.MAX_VALUE );
+    }
+
+    static double fromSortableLong(long value) {
+        return Double.longBitsToDouble( value ^ ( ( value >> 63 ) & Long.MAX_VALUE ) );
+    }
+}
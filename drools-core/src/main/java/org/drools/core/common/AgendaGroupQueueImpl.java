@@ -91,6 +91,8 @@ public class AgendaGroupQueueImpl
         // workingMemory can be null during deserialization
         if (workingMemory != null && workingMemory.getSessionConfiguration().isDirectFiring()) {
             this.priorityQueue = new ArrayQueue();
+        } else if (workingMemory != null) {
+            this.priorityQueue = workingMemory.getSessionConfiguration().getAgendaQueueType().createInstance(workingMemory.getKnowledgeBase());
         } else {
             this.priorityQueue = new BinaryHeapQueue(new PhreakConflictResolver());
         }
@@ -74,4 +74,12 @@ public interface BetaConstraints
     boolean isLeftUpdateOptimizationAllowed();
 
     void registerEvaluationContext(BuildContext buildContext);
+
+    /**
+     * Returns the constraints this instance has been generated from, like the ones replaced by a specialized
+     * implementation, or this instance itself. Nodes compare their unwrapped constraints in order to be shared.
+     */
+    default BetaConstraints unwrap() {
+        return this;
+    }
 }
@@ -29,6 +29,7 @@ import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 
+import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.factmodel.traits.CoreWrapper;
 import org.kie.api.runtime.ClassObjectFilter;
 import org.kie.api.runtime.ObjectFilter;
@@ -40,19 +41,26 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
     private Map<String, SingleClassStore> storesMap = new HashMap<>();
     private List<ConcreteClassStore> concreteStores = new CopyOnWriteArrayList<>();
 
-    private FactHandleMap equalityMap;
+    private EqualityFactHandleMap equalityMap;
 
     private boolean isEqualityBehaviour;
 
+    private transient RuleBaseConfiguration kBaseConfiguration;
+
     private int size;
 
     public ClassAwareObjectStore() { }
 
     public ClassAwareObjectStore( boolean isEqualityBehaviour, Lock lock ) {
+        this( isEqualityBehaviour, lock, null );
+    }
+
+    public ClassAwareObjectStore( boolean isEqualityBehaviour, Lock lock, RuleBaseConfiguration kBaseConfiguration ) {
         this.lock = lock;
         this.isEqualityBehaviour = isEqualityBehaviour;
+        this.kBaseConfiguration = kBaseConfiguration;
         if (isEqualityBehaviour) {
-            this.equalityMap = new FactHandleMap(false);
+            this.equalityMap = new EqualityFactHandleMap();
         }
     }
 
@@ -70,10 +78,21 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
         storesMap = (Map<String, SingleClassStore>) in.readObject();
         concreteStores = (List<ConcreteClassStore>) in.readObject();
-        equalityMap = (FactHandleMap) in.readObject();
+        equalityMap = (EqualityFactHandleMap) in.readObject();
         size = in.readInt();
         isEqualityBehaviour = in.readBoolean();
         lock = (Lock)in.readObject();
+        if (in instanceof DroolsObjectInputStream && ((DroolsObjectInputStream) in).getKnowledgeBase() != null) {
+            kBaseConfiguration = ((DroolsObjectInputStream) in).getKnowledgeBase().getConfiguration();
+        }
+        if (isEqualityBehaviour) {
+            // the key extractors are not serialized, they are taken again from the configuration of the kbase
+            for (ConcreteClassStore store : concreteStores) {
+                if (store instanceof ConcreteEqualityClassStore) {
+                    ((ConcreteEqualityClassStore) store).keyExtractor = kBaseConfiguration != null ? kBaseConfiguration.getEqualityKeyExtractor(store.getStoredClass()) : null;
+                }
+            }
+        }
     }
 
     @Override
@@ -144,9 +163,7 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
             return null;
         }
 
-        return isEqualityBehaviour ?
-               equalityMap.get(object) :
-               getOrCreateConcreteClassStore(object).getAssertMap().get(object);
+        return getOrCreateConcreteClassStore(object).getHandleForObject(object);
     }
 
     @Override
@@ -280,7 +297,9 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
     }
 
     private SingleClassStore createClassStoreAndAddConcreteSubStores(Class<?> clazz) {
-        SingleClassStore newStore = isEqualityBehaviour ? new ConcreteEqualityClassStore(clazz, equalityMap) : new ConcreteIdentityClassStore(clazz);
+        SingleClassStore newStore = isEqualityBehaviour ?
+                new ConcreteEqualityClassStore(clazz, equalityMap, kBaseConfiguration != null ? kBaseConfiguration.getEqualityKeyExtractor(clazz) : null) :
+                new ConcreteIdentityClassStore(clazz);
         for (SingleClassStore classStore : storesMap.values()) {
             if (classStore.isConcrete() && clazz.isAssignableFrom(classStore.getStoredClass())) {
                 newStore.addConcreteStore(((ConcreteClassStore) classStore));
@@ -353,6 +372,7 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
     private interface ConcreteClassStore extends SingleClassStore {
         boolean addHandle(InternalFactHandle handle, Object object);
         InternalFactHandle removeHandle(InternalFactHandle handle);
+        InternalFactHandle getHandleForObject(Object object);
 
         FactHandleMap getAssertMap();
         FactHandleMap getIdentityMap();
@@ -395,6 +415,11 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
             return identityMap.remove(handle);
         }
 
+        @Override
+        public InternalFactHandle getHandleForObject(Object object) {
+            return identityMap.get(object);
+        }
+
         @Override
         public FactHandleMap getAssertMap() {
             return identityMap;
@@ -438,32 +463,35 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
 
     private static class ConcreteEqualityClassStore extends ConcreteIdentityClassStore {
 
-        private FactHandleMap equalityMap;
+        private EqualityFactHandleMap equalityMap;
+
+        private EqualityKeyExtractor<Object> keyExtractor;
 
         public ConcreteEqualityClassStore() { }
 
-        public ConcreteEqualityClassStore(Class<?> storedClass, FactHandleMap equalityMap) {
+        public ConcreteEqualityClassStore(Class<?> storedClass, EqualityFactHandleMap equalityMap, EqualityKeyExtractor<Object> keyExtractor) {
             super(storedClass);
             this.equalityMap = equalityMap;
+            this.keyExtractor = keyExtractor;
         }
 
         @Override
         public boolean addHandle(InternalFactHandle handle, Object object) {
             boolean isNew = super.addHandle(handle, object);
-            equalityMap.put(object, handle);
+            equalityMap.put(object, handle, keyExtractor);
             return isNew;
         }
 
         @Override
-        public InternalFactHandle removeHandle(InternalFactHandle handle) {
-            InternalFactHandle removedHandle = super.removeHandle(handle);
-            equalityMap.remove(handle);
-            return removedHandle;
+        public InternalFactHandle getHandleForObject(Object object) {
+            return equalityMap.get(object, keyExtractor);
         }
 
         @Override
-        public FactHandleMap getAssertMap() {
-            return equalityMap;
+        public InternalFactHandle removeHandle(InternalFactHandle handle) {
+            InternalFactHandle removedHandle = super.removeHandle(handle);
+            equalityMap.remove(handle, keyExtractor);
+            return removedHandle;
         }
 
         @Override
@@ -475,7 +503,7 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
         @Override
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
             super.readExternal(in);
-            equalityMap = (FactHandleMap)in.readObject();
+            equalityMap = (EqualityFactHandleMap)in.readObject();
         }
     }
 
@@ -668,4 +696,217 @@ public class ClassAwareObjectStore implements Externalizable, ObjectStore {
             factsById = null;
         }
     }
+
+    /**
+     * The map of the equality based store, finding the handles by the equality of their objects, or of the keys
+     * extracted from them. Each entry caches the hash it has been put with, that is also cached on its handle, so
+     * that removing a handle, also when its object has been changed in place, doesn't invoke any equals or hashCode.
+     */
+    private static class EqualityFactHandleMap implements Externalizable {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private Entry[] table = new Entry[INITIAL_CAPACITY];
+        private int size;
+        private Map<Long, InternalFactHandle> factsById;
+
+        public EqualityFactHandleMap() { }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeInt(size);
+            for (Entry bucket : table) {
+                for (Entry entry = bucket; entry != null; entry = entry.next) {
+                    out.writeObject(entry.handle);
+                    out.writeObject(entry.key);
+                    out.writeInt(entry.hash);
+                }
+            }
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            int entries = in.readInt();
+            // sized up front, as the entries are added without going through put
+            table = new Entry[capacityFor(entries)];
+            for (int i = 0; i < entries; i++) {
+                InternalFactHandle handle = (InternalFactHandle) in.readObject();
+                Object key = in.readObject();
+                addEntry(new Entry(in.readInt(), key, handle));
+            }
+        }
+
+        public InternalFactHandle get(Object object, EqualityKeyExtractor<Object> keyExtractor) {
+            Object key = keyExtractor == null ? object : keyExtractor.getKey(object);
+            int hash = key.hashCode();
+            for (Entry entry = table[indexOf(hash, table.length)]; entry != null; entry = entry.next) {
+                if (entry.hash == hash && (entry.key == key || key.equals(entry.key))) {
+                    return entry.handle;
+                }
+            }
+            return null;
+        }
+
+        public InternalFactHandle get(InternalFactHandle fh) {
+            if (fh.isDisconnected()) {
+                return factsIndexedById().get(fh.getId());
+            }
+            Entry entry = findEntry(fh, fh.getObjectHashCode());
+            return entry != null ? entry.handle : get(fh.getObject(), null);
+        }
+
+        public InternalFactHandle put(Object object, InternalFactHandle fh, EqualityKeyExtractor<Object> keyExtractor) {
+            Object key;
+            int hash;
+            if (keyExtractor == null) {
+                key = object;
+                hash = fh.getObjectHashCode();
+            } else {
+                key = keyExtractor.getKey(object);
+                hash = key.hashCode();
+                fh.setObjectHashCode(hash);
+            }
+            if (factsById != null) {
+                factsById.put(fh.getId(), fh);
+            }
+
+            for (Entry entry = table[indexOf(hash, table.length)]; entry != null; entry = entry.next) {
+                if (entry.hash == hash && (entry.key == key || key.equals(entry.key))) {
+                    InternalFactHandle existing = entry.handle;
+                    entry.handle = fh;
+                    return existing;
+                }
+            }
+            addEntry(new Entry(hash, key, fh));
+            if (size > table.length * 3 / 4) {
+                resize();
+            }
+            return null;
+        }
+
+        public InternalFactHandle remove(InternalFactHandle fh, EqualityKeyExtractor<Object> keyExtractor) {
+            if (factsById != null) {
+                factsById.remove(fh.getId());
+            }
+            // the hash cached on the handle is the one it has been put with
+            int hash = fh.getObjectHashCode();
+            Entry entry = findEntry(fh, hash);
+            if (entry == null) {
+                // the handle has been replaced by another one with an equal object
+                Object key = keyExtractor == null ? fh.getObject() : keyExtractor.getKey(fh.getObject());
+                for (entry = table[indexOf(hash, table.length)]; entry != null; entry = entry.next) {
+                    if (entry.hash == hash && (entry.key == key || key.equals(entry.key))) {
+                        break;
+                    }
+                }
+                if (entry == null) {
+                    // the object of the handle has been replaced without notifying this map, resetting its hash
+                    entry = scanEntry(fh);
+                    if (entry == null) {
+                        return null;
+                    }
+                }
+            }
+            removeEntry(entry);
+            return entry.handle;
+        }
+
+        private Entry findEntry(InternalFactHandle fh, int hash) {
+            for (Entry entry = table[indexOf(hash, table.length)]; entry != null; entry = entry.next) {
+                if (entry.handle == fh) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        private Entry scanEntry(InternalFactHandle fh) {
+            for (Entry bucket : table) {
+                for (Entry entry = bucket; entry != null; entry = entry.next) {
+                    if (entry.handle == fh) {
+                        return entry;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void addEntry(Entry entry) {
+            int index = indexOf(entry.hash, table.length);
+            entry.next = table[index];
+            table[index] = entry;
+            size++;
+        }
+
+        private void removeEntry(Entry entry) {
+            int index = indexOf(entry.hash, table.length);
+            if (table[index] == entry) {
+                table[index] = entry.next;
+            } else {
+                Entry previous = table[index];
+                while (previous.next != entry) {
+                    previous = previous.next;
+                }
+                previous.next = entry.next;
+            }
+            entry.next = null;
+            size--;
+        }
+
+        private void resize() {
+            Entry[] oldTable = table;
+            table = new Entry[oldTable.length * 2];
+            size = 0;
+            for (Entry bucket : oldTable) {
+                Entry entry = bucket;
+                while (entry != null) {
+                    Entry next = entry.next;
+                    addEntry(entry);
+                    entry = next;
+                }
+            }
+        }
+
+        private static int capacityFor(int entries) {
+            int capacity = INITIAL_CAPACITY;
+            while (entries > capacity * 3 / 4) {
+                capacity *= 2;
+            }
+            return capacity;
+        }
+
+        private static int indexOf(int hash, int length) {
+            return (hash ^ (hash >>> 16)) & (length - 1);
+        }
+
+        private Map<Long, InternalFactHandle> factsIndexedById() {
+            if (factsById == null) {
+                factsById = new HashMap<>();
+                for (Entry bucket : table) {
+                    for (Entry entry = bucket; entry != null; entry = entry.next) {
+                        factsById.put(entry.handle.getId(), entry.handle);
+                    }
+                }
+            }
+            return factsById;
+        }
+
+        public void clear() {
+            table = new Entry[INITIAL_CAPACITY];
+            size = 0;
+            factsById = null;
+        }
+
+        private static class Entry {
+            private final int hash;
+            private final Object key;
+            private InternalFactHandle handle;
+            private Entry next;
+
+            private Entry(int hash, Object key, InternalFactHandle handle) {
+                this.hash = hash;
+                this.key = key;
+                this.handle = handle;
+            }
+        }
+    }
 }
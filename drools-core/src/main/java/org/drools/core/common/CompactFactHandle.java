@@ -0,0 +1,292 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.reteoo.LeftTuple;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.reteoo.RightTuple;
+import org.drools.core.spi.Tuple;
+
+/**
+ * A fact handle anchoring the lists of its left and right tuples directly in its own fields instead of
+ * delegating them to a separate LinkedTuples instance, saving one object per fact in very large working memories.
+ *
+ * Since it has no room for the per partition lists of tuples it can be used only when the parallel evaluation
+ * of the rule base is disabled.
+ */
+public class CompactFactHandle extends DefaultFactHandle {
+
+    private RightTuple firstRightTuple;
+    private RightTuple lastRightTuple;
+
+    private LeftTuple  firstLeftTuple;
+    private LeftTuple  lastLeftTuple;
+
+    public CompactFactHandle() { }
+
+    public CompactFactHandle(final long id,
+                             final Object object,
+                             final long recency,
+                             final WorkingMemoryEntryPoint wmEntryPoint) {
+        this( id, determineIdentityHashCode( object ), object, recency, wmEntryPoint );
+    }
+
+    private CompactFactHandle(final long id,
+                              final int identityHashCode,
+                              final Object object,
+                              final long recency,
+                              final WorkingMemoryEntryPoint wmEntryPoint) {
+        super( id, identityHashCode, object, recency, wmEntryPoint == null ? null : wmEntryPoint.getEntryPoint(), false );
+        this.wmEntryPoint = wmEntryPoint;
+    }
+
+    @Override
+    public void addFirstLeftTuple( LeftTuple leftTuple ) {
+        LeftTuple previous = firstLeftTuple;
+        leftTuple.setHandlePrevious( null );
+        leftTuple.setHandleNext( previous );
+        if ( previous == null ) {
+            lastLeftTuple = leftTuple;
+        } else {
+            previous.setHandlePrevious( leftTuple );
+        }
+        firstLeftTuple = leftTuple;
+    }
+
+    @Override
+    public void addLastLeftTuple( LeftTuple leftTuple ) {
+        LeftTuple previous = lastLeftTuple;
+        leftTuple.setHandlePrevious( previous );
+        leftTuple.setHandleNext( null );
+        if ( previous == null ) {
+            firstLeftTuple = leftTuple;
+        } else {
+            previous.setHandleNext( leftTuple );
+        }
+        lastLeftTuple = leftTuple;
+    }
+
+    @Override
+    public void addFirstRightTuple( RightTuple rightTuple ) {
+        RightTuple previous = firstRightTuple;
+        rightTuple.setHandlePrevious( null );
+        rightTuple.setHandleNext( previous );
+        if ( previous == null ) {
+            lastRightTuple = rightTuple;
+        } else {
+            previous.setHandlePrevious( rightTuple );
+        }
+        firstRightTuple = rightTuple;
+    }
+
+    @Override
+    public void addLastRightTuple( RightTuple rightTuple ) {
+        RightTuple previous = lastRightTuple;
+        rightTuple.setHandlePrevious( previous );
+        rightTuple.setHandleNext( null );
+        if ( previous == null ) {
+            firstRightTuple = rightTuple;
+        } else {
+            previous.setHandleNext( rightTuple );
+        }
+        lastRightTuple = rightTuple;
+    }
+
+    @Override
+    public void addTupleInPosition( Tuple tuple ) {
+        boolean left = tuple instanceof LeftTuple;
+        ObjectTypeNode.Id otnId = tuple.getInputOtnId();
+        Tuple previous = left ? lastLeftTuple : lastRightTuple;
+        if ( otnId == null || previous == null || previous.getTupleSink() == null || !otnId.before( previous.getInputOtnId() ) ) {
+            // the last tuple comes before the new one so just add it at the end
+            if ( left ) {
+                addLastLeftTuple( (LeftTuple) tuple );
+            } else {
+                addLastRightTuple( (RightTuple) tuple );
+            }
+            return;
+        }
+
+        Tuple next = previous;
+        previous = previous.getHandlePrevious();
+        while ( previous != null && otnId.before( previous.getInputOtnId() ) ) {
+            next = previous;
+            previous = previous.getHandlePrevious();
+        }
+        tuple.setHandleNext( next );
+        next.setHandlePrevious( tuple );
+        tuple.setHandlePrevious( previous );
+        if ( previous != null ) {
+            previous.setHandleNext( tuple );
+        } else if ( left ) {
+            firstLeftTuple = (LeftTuple) tuple;
+        } else {
+            firstRightTuple = (RightTuple) tuple;
+        }
+    }
+
+    @Override
+    public void removeLeftTuple( LeftTuple leftTuple ) {
+        LeftTuple previous = leftTuple.getHandlePrevious();
+        LeftTuple next = leftTuple.getHandleNext();
+
+        if ( previous != null ) {
+            previous.setHandleNext( next );
+        } else {
+            firstLeftTuple = next;
+        }
+        if ( next != null ) {
+            next.setHandlePrevious( previous );
+        } else {
+            lastLeftTuple = previous;
+        }
+        leftTuple.setHandlePrevious( null );
+        leftTuple.setHandleNext( null );
+    }
+
+    @Override
+    public void removeRightTuple( RightTuple rightTuple ) {
+        RightTuple previous = rightTuple.getHandlePrevious();
+        RightTuple next = rightTuple.getHandleNext();
+
+        if ( previous != null ) {
+            previous.setHandleNext( next );
+        } else {
+            firstRightTuple = next;
+        }
+        if ( next != null ) {
+            next.setHandlePrevious( previous );
+        } else {
+            lastRightTuple = previous;
+        }
+        rightTuple.setHandlePrevious( null );
+        rightTuple.setHandleNext( null );
+    }
+
+    @Override
+    public void clearLeftTuples() {
+        firstLeftTuple = null;
+        lastLeftTuple = null;
+    }
+
+    @Override
+    public void clearRightTuples() {
+        firstRightTuple = null;
+        lastRightTuple = null;
+    }
+
+    @Override
+    public void forEachRightTuple( Consumer<RightTuple> rightTupleConsumer ) {
+        for ( RightTuple rightTuple = firstRightTuple; rightTuple != null; ) {
+            RightTuple nextRightTuple = rightTuple.getHandleNext();
+            rightTupleConsumer.accept( rightTuple );
+            rightTuple = nextRightTuple;
+        }
+    }
+
+    @Override
+    public RightTuple findFirstRightTuple( Predicate<RightTuple> rightTuplePredicate ) {
+        for ( RightTuple rightTuple = firstRightTuple; rightTuple != null; rightTuple = rightTuple.getHandleNext() ) {
+            if ( rightTuplePredicate.test( rightTuple ) ) {
+                return rightTuple;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void forEachLeftTuple( Consumer<LeftTuple> leftTupleConsumer ) {
+        for ( LeftTuple leftTuple = firstLeftTuple; leftTuple != null; ) {
+            LeftTuple nextLeftTuple = leftTuple.getHandleNext();
+            leftTupleConsumer.accept( leftTuple );
+            leftTuple = nextLeftTuple;
+        }
+    }
+
+    @Override
+    public LeftTuple findFirstLeftTuple( Predicate<LeftTuple> leftTuplePredicate ) {
+        for ( LeftTuple leftTuple = firstLeftTuple; leftTuple != null; leftTuple = leftTuple.getHandleNext() ) {
+            if ( leftTuplePredicate.test( leftTuple ) ) {
+                return leftTuple;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public LeftTuple getFirstLeftTuple() {
+        return firstLeftTuple;
+    }
+
+    @Override
+    public void setFirstLeftTuple( LeftTuple firstLeftTuple ) {
+        this.firstLeftTuple = firstLeftTuple;
+    }
+
+    @Override
+    public RightTuple getFirstRightTuple() {
+        return firstRightTuple;
+    }
+
+    /**
+     * Returns a snapshot of the tuples currently linked to this handle: changes to it are not reflected on the handle.
+     */
+    @Override
+    public LinkedTuples getLinkedTuples() {
+        return new SingleLinkedTuples( firstLeftTuple, lastLeftTuple, firstRightTuple, lastRightTuple );
+    }
+
+    @Override
+    public LinkedTuples detachLinkedTuples() {
+        LinkedTuples detached = getLinkedTuples();
+        clearLeftTuples();
+        clearRightTuples();
+        return detached;
+    }
+
+    @Override
+    public LinkedTuples detachLinkedTuplesForPartition( int i ) {
+        throw new UnsupportedOperationException( "A CompactFactHandle cannot be used with parallel evaluation" );
+    }
+
+    @Override
+    public void disconnect() {
+        super.disconnect();
+        clearLeftTuples();
+        clearRightTuples();
+    }
+
+    @Override
+    public CompactFactHandle clone() {
+        CompactFactHandle clone = new CompactFactHandle( getId(), getIdentityHashCode(), getObject(), getRecency(), wmEntryPoint );
+        clone.entryPointId = this.entryPointId;
+        clone.traitType = this.traitType;
+        clone.setEqualityKey( getEqualityKey() );
+        clone.setObjectHashCode( getObjectHashCode() );
+        clone.setDisconnected( isDisconnected() );
+        clone.setNegated( isNegated() );
+        clone.firstLeftTuple = this.firstLeftTuple;
+        clone.lastLeftTuple = this.lastLeftTuple;
+        clone.firstRightTuple = this.firstRightTuple;
+        clone.lastRightTuple = this.lastRightTuple;
+        return clone;
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.stream.Stream;
 
 import org.drools.core.impl.InternalKnowledgeBase;
@@ -59,6 +60,9 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
 
     private static final AtomicBoolean FIRING_UNTIL_HALT_USING_EXECUTOR = new AtomicBoolean( false );
 
+    // when false each partitioned agenda is fired by its own task, as in the former scheduling, only meant for comparisons
+    public static boolean STEAL_PARTITIONS = true;
+
     private final DefaultAgenda[] agendas = new DefaultAgenda[RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER];
 
     private final DefaultAgenda.ExecutionStateMachine executionStateMachine = new DefaultAgenda.ConcurrentExecutionStateMachine();
@@ -145,6 +149,28 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
     }
 
     private int parallelFire( AgendaFilter agendaFilter, int fireLimit ) {
+        if ( !STEAL_PARTITIONS ) {
+            return firePartitionsSeparately( agendaFilter, fireLimit );
+        }
+
+        // each partitioned agenda is fired by the first worker claiming it: a worker first claims the agenda having its
+        // same index and then steals the ones not claimed yet, so a worker done with its own partition, or the
+        // calling thread, doesn't wait for the executor to start the tasks of the other partitions
+        AtomicIntegerArray claims = new AtomicIntegerArray( agendas.length );
+        CompletableFuture<Integer>[] results = new CompletableFuture[agendas.length-1];
+        for (int i = 0; i < results.length; i++) {
+            final int j = i;
+            results[j] = supplyAsync( () -> fireClaimedAgendas( claims, j, agendaFilter, fireLimit ), EXECUTOR );
+        }
+
+        int result = fireClaimedAgendas( claims, agendas.length-1, agendaFilter, fireLimit );
+        for (int i = 0; i < results.length; i++) {
+            result += results[i].join();
+        }
+        return result;
+    }
+
+    private int firePartitionsSeparately( AgendaFilter agendaFilter, int fireLimit ) {
         CompletableFuture<Integer>[] results = new CompletableFuture[agendas.length-1];
         for (int i = 0; i < results.length; i++) {
             final int j = i;
@@ -158,6 +184,26 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
         return result;
     }
 
+    private int fireClaimedAgendas( AtomicIntegerArray claims, int preferredPartition, AgendaFilter agendaFilter, int fireLimit ) {
+        int result = 0;
+        for (int i = claimAgenda( claims, preferredPartition ); i >= 0; i = claimAgenda( claims, preferredPartition )) {
+            result += agendas[i].internalFireAllRules( agendaFilter, fireLimit, false );
+        }
+        return result;
+    }
+
+    private int claimAgenda( AtomicIntegerArray claims, int preferredPartition ) {
+        if ( claims.compareAndSet( preferredPartition, 0, 1 ) ) {
+            return preferredPartition;
+        }
+        for (int i = 0; i < agendas.length; i++) {
+            if ( claims.compareAndSet( i, 0, 1 ) ) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     @Override
     public RuleAgendaItem createRuleAgendaItem( int salience, PathMemory rs, TerminalNode rtn ) {
         return getPartitionedAgendaForNode(rtn).createRuleAgendaItem( salience, rs, rtn );
@@ -244,7 +244,7 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
         this.identityHashCode = identityHashCode;
     }
 
-    protected void setObjectHashCode( int hashCode ) {
+    public void setObjectHashCode( int hashCode ) {
         this.objectHashCode = hashCode;
     }
 
@@ -514,6 +514,15 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
         private LeftTuple  firstLeftTuple;
         private LeftTuple  lastLeftTuple;
 
+        public SingleLinkedTuples() { }
+
+        SingleLinkedTuples( LeftTuple firstLeftTuple, LeftTuple lastLeftTuple, RightTuple firstRightTuple, RightTuple lastRightTuple ) {
+            this.firstLeftTuple = firstLeftTuple;
+            this.lastLeftTuple = lastLeftTuple;
+            this.firstRightTuple = firstRightTuple;
+            this.lastRightTuple = lastRightTuple;
+        }
+
         public SingleLinkedTuples clone() {
             SingleLinkedTuples clone = new SingleLinkedTuples();
             clone.firstLeftTuple = this.firstLeftTuple;
@@ -202,6 +202,10 @@ public class DisconnectedFactHandle
         return this.objectHashCode;
     }
 
+    public void setObjectHashCode(int hashCode) {
+        this.objectHashCode = hashCode;
+    }
+
     public long getRecency() {
         return this.recency;
     }
@@ -21,9 +21,12 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 
+import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.beliefsystem.BeliefSet;
 import org.drools.core.util.LinkedList;
 
+import static org.drools.core.common.ClassAwareObjectStore.getActualClass;
+
 /**
  * Upon instantiation the EqualityKey caches the first Object's hashCode
  * this can never change. The EqualityKey has an internal datastructure
@@ -50,6 +53,12 @@ public class EqualityKey extends LinkedList<DefaultFactHandle>
     
     private  BeliefSet   beliefSet;
 
+    /** The extractor of the key compared in place of the whole object, if any */
+    private transient EqualityKeyExtractor<Object> keyExtractor;
+
+    /** The configuration of the kbase this key has been deserialized with, the extractor is taken again from it */
+    private transient RuleBaseConfiguration kBaseConfiguration;
+
     public EqualityKey() {
 
     }
@@ -66,10 +75,22 @@ public class EqualityKey extends LinkedList<DefaultFactHandle>
         this.status = status;
     }
 
+    public EqualityKey(final InternalFactHandle handle,
+                       final int status,
+                       final EqualityKeyExtractor<Object> keyExtractor) {
+        super( ( DefaultFactHandle ) handle );
+        this.hashCode = keyExtractor == null ? handle.getObjectHashCode() : keyExtractor.getKey( handle.getObject() ).hashCode();
+        this.status = status;
+        this.keyExtractor = keyExtractor;
+    }
+
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
         super.readExternal(in);
         hashCode    = in.readInt();
         status      = in.readInt();
+        if ( in instanceof DroolsObjectInputStream && ((DroolsObjectInputStream) in).getKnowledgeBase() != null ) {
+            kBaseConfiguration = ((DroolsObjectInputStream) in).getKnowledgeBase().getConfiguration();
+        }
     }
 
     public void writeExternal(ObjectOutput out) throws IOException {
@@ -154,7 +175,8 @@ public class EqualityKey extends LinkedList<DefaultFactHandle>
      * Equality for the EqualityKey means two things. It returns
      * true if the object is also an EqualityKey the of the same
      * the same identity as this. It also returns true if the object
-     * is equal to the head FactHandle's referenced Object.
+     * is equal to the head FactHandle's referenced Object, or to its
+     * key when the key is extracted.
      */
     public boolean equals(final Object object) {
         if ( object == null ) {
@@ -165,7 +187,18 @@ public class EqualityKey extends LinkedList<DefaultFactHandle>
             return this == object;
         }
 
-        return this.getFirst().getObject().equals( object );
+        Object first = this.getFirst().getObject();
+        EqualityKeyExtractor<Object> extractor = getKeyExtractor();
+        return extractor == null ? first.equals( object ) : extractor.getKey( first ).equals( object );
+    }
+
+    private EqualityKeyExtractor<Object> getKeyExtractor() {
+        if ( kBaseConfiguration != null ) {
+            // resolved lazily, as the objects of the handles may not have been read yet when this key is deserialized
+            keyExtractor = kBaseConfiguration.getEqualityKeyExtractor( getActualClass( getFirst().getObject() ) );
+            kBaseConfiguration = null;
+        }
+        return keyExtractor;
     }
 
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.io.Serializable;
+
+/**
+ * Extracts from a fact the key identifying it in the equality based fact store and in the truth maintenance system,
+ * that are then used in place of the equals and hashCode of the whole fact. It is registered for a type, and its
+ * subtypes, with {@link org.drools.core.RuleBaseConfiguration#addEqualityKeyExtractor(Class, EqualityKeyExtractor)}.
+ *
+ * The returned key has to implement equals and hashCode. It is extracted again only when the fact is inserted or
+ * modified, so the fact store always compares the facts through the key they had when they were last notified.
+ */
+@FunctionalInterface
+public interface EqualityKeyExtractor<T> extends Serializable {
+
+    Object getKey(T object);
+
+    /**
+     * Returns the names of the properties the key is made of, so that the modifications of the other properties of a
+     * property reactive type don't extract the key again, or null if they are unknown.
+     */
+    default String[] getKeyProperties() {
+        return null;
+    }
+
+    /**
+     * Returns an extractor whose key is made only of the given properties
+     */
+    static <T> EqualityKeyExtractor<T> of(EqualityKeyExtractor<T> extractor, String... keyProperties) {
+        return new EqualityKeyExtractor<T>() {
+            @Override
+            public Object getKey(T object) {
+                return extractor.getKey(object);
+            }
+
+            @Override
+            public String[] getKeyProperties() {
+                return keyProperties;
+            }
+        };
+    }
+}
@@ -54,6 +54,11 @@ public interface InternalFactHandle
     int getIdentityHashCode();
 
     int getObjectHashCode();
+
+    /**
+     * Caches the given hash in place of the one of the object, when its equality is based on a key extracted from it
+     */
+    void setObjectHashCode(int hashCode);
     
     boolean isDisconnected();
     
@@ -255,6 +260,11 @@ public interface InternalFactHandle
             throw new UnsupportedOperationException();
         }
 
+        @Override
+        public void setObjectHashCode( int hashCode ) {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public boolean isDisconnected() {
             throw new UnsupportedOperationException();
@@ -27,6 +27,7 @@ import org.drools.core.WorkingMemoryEntryPoint;
 import org.drools.core.base.DefaultKnowledgeHelper;
 import org.drools.core.event.AgendaEventSupport;
 import org.drools.core.event.RuleRuntimeEventSupport;
+import org.drools.core.phreak.LeftTuplePool;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.reteoo.EntryPointNode;
@@ -211,6 +212,10 @@ public interface InternalWorkingMemory
         throw new UnsupportedOperationException();
     }
 
+    default LeftTuplePool getLeftTuplePool() {
+        return null;
+    }
+
     default void onSuspend() { }
     default void onResume() { }
 
@@ -91,6 +91,10 @@ public abstract class MultipleBetaConstraint implements BetaConstraints {
         return indexed[0];
     }
 
+    public final boolean isIndexed(int pos) {
+        return indexed[pos];
+    }
+
     public final int getIndexCount() {
         int count = 0;
         for (boolean i : indexed) {
@@ -20,9 +20,11 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -107,7 +109,7 @@ public class NamedEntryPoint
         this.pctxFactory = conf.getComponentFactory().getPropagationContextFactory();
         this.isEqualityBehaviour = RuleBaseConfiguration.AssertBehaviour.EQUALITY.equals(conf.getAssertBehaviour());
         this.objectStore = isEqualityBehaviour || conf.isMutabilityEnabled() ?
-                new ClassAwareObjectStore( isEqualityBehaviour, this.lock ) :
+                new ClassAwareObjectStore( isEqualityBehaviour, this.lock, conf ) :
                 new IdentityObjectStore();
     }
 
@@ -222,7 +224,7 @@ public class NamedEntryPoint
                     handle = createHandle( object,
                             typeConf ); // we know the handle is null
                     if ( key == null ) {
-                        key = new EqualityKey( handle, EqualityKey.STATED  );
+                        key = truthMaintenanceSystem.newEqualityKey( handle, EqualityKey.STATED  );
                         truthMaintenanceSystem.put( key );
                     } else {
                         key.addFactHandle( handle );
@@ -254,6 +256,109 @@ public class NamedEntryPoint
 
     }
 
+    /**
+     * Inserts all the given objects, grouping the consecutive ones with the same ObjectTypeConf and propagating
+     * each group with a single PropagationEntry, so the facts are propagated in the same order of the collection.
+     * The returned list contains the fact handles in the same order of the inserted objects.
+     */
+    @Override
+    public List<FactHandle> insertAll(final Collection<?> objects) {
+        List<FactHandle> handles = new ArrayList<>( objects.size() );
+        if ( objects.isEmpty() ) {
+            return handles;
+        }
+
+        try {
+            this.wm.startOperation();
+
+            try {
+                lock();
+
+                List<InsertBatch> batches = new ArrayList<>();
+                InsertBatch lastBatch = null;
+
+                for ( Object object : objects ) {
+                    if ( object == null ) {
+                        handles.add( null );
+                        continue;
+                    }
+
+                    ObjectTypeConf typeConf = getObjectTypeConfigurationRegistry().getOrCreateObjectTypeConf( this.entryPoint, object );
+                    if ( this.wm.isSequential() || typeConf.isTMSEnabled() || typeConf.isDynamic() ) {
+                        // these facts need the additional bookkeeping of the single insert, which propagates
+                        // immediately, so the facts batched so far are propagated first to preserve the order
+                        assertInsertBatches( batches );
+                        batches.clear();
+                        lastBatch = null;
+                        handles.add( insert( object ) );
+                        continue;
+                    }
+
+                    InternalFactHandle handle = this.objectStore.getHandleForObject( object );
+                    if ( handle == null ) {
+                        handle = createHandle( object, typeConf );
+                        PropagationContext propagationContext = this.pctxFactory.createPropagationContext(this.wm.getNextPropagationIdCounter(),
+                                PropagationContext.Type.INSERTION,
+                                null,
+                                null,
+                                handle,
+                                entryPoint);
+                        this.objectStore.addHandle( handle, object );
+
+                        if ( lastBatch == null || lastBatch.typeConf != typeConf ) {
+                            lastBatch = new InsertBatch( typeConf );
+                            batches.add( lastBatch );
+                        }
+                        lastBatch.add( handle, propagationContext );
+                    }
+                    handles.add( handle );
+                }
+
+                assertInsertBatches( batches );
+            } finally {
+                unlock();
+            }
+            return handles;
+        } finally {
+            this.wm.endOperation();
+        }
+    }
+
+    private void assertInsertBatches( List<InsertBatch> batches ) {
+        if ( batches.isEmpty() ) {
+            return;
+        }
+
+        this.kBase.executeQueuedActions();
+
+        for ( InsertBatch batch : batches ) {
+            InternalFactHandle[] batchHandles = batch.handles.toArray( new InternalFactHandle[batch.handles.size()] );
+            PropagationContext[] batchContexts = batch.contexts.toArray( new PropagationContext[batch.contexts.size()] );
+            this.entryPointNode.assertObjects( batchHandles, batchContexts, batch.typeConf, this.wm );
+            for (int i = 0; i < batchHandles.length; i++) {
+                this.wm.getRuleRuntimeEventSupport().fireObjectInserted(batchContexts[i],
+                        batchHandles[i],
+                        batchHandles[i].getObject(),
+                        this.wm);
+            }
+        }
+    }
+
+    private static class InsertBatch {
+        private final ObjectTypeConf typeConf;
+        private final List<InternalFactHandle> handles = new ArrayList<>();
+        private final List<PropagationContext> contexts = new ArrayList<>();
+
+        private InsertBatch( ObjectTypeConf typeConf ) {
+            this.typeConf = typeConf;
+        }
+
+        private void add( InternalFactHandle handle, PropagationContext context ) {
+            handles.add( handle );
+            contexts.add( context );
+        }
+    }
+
     public void insert(InternalFactHandle handle,
                        Object object,
                        RuleImpl rule,
@@ -360,7 +465,11 @@ public class NamedEntryPoint
                         getObjectTypeConfigurationRegistry().getOrCreateObjectTypeConf(this.entryPoint, object) :
                         getObjectTypeConfigurationRegistry().getObjectTypeConf(object);
 
-                if (changedObject || isEqualityBehaviour) {
+                // the equality of an object modified in place has to be checked again only if its key could have changed
+                final boolean equalityKeyAffected = changedObject ||
+                        ((isEqualityBehaviour || typeConf.isTMSEnabled()) && typeConf.isEqualityKeyAffectedBy(mask, modifiedClass));
+
+                if (changedObject || (isEqualityBehaviour && equalityKeyAffected)) {
                     this.objectStore.updateHandle(handle, object);
                 }
 
@@ -371,7 +480,7 @@ public class NamedEntryPoint
                         activation == null ? null : activation.getTuple().getTupleSink(),
                         handle, entryPoint, mask, modifiedClass, null);
 
-                if (typeConf.isTMSEnabled()) {
+                if (typeConf.isTMSEnabled() && equalityKeyAffected) {
                     EqualityKey newKey = tms.get(object);
                     EqualityKey oldKey = handle.getEqualityKey();
 
@@ -383,7 +492,7 @@ public class NamedEntryPoint
 
                     if (newKey == null) {
                         oldKey.removeFactHandle(handle);
-                        newKey = new EqualityKey(handle,
+                        newKey = getTruthMaintenanceSystem().newEqualityKey(handle,
                                 EqualityKey.STATED); // updates are always stated
                         handle.setEqualityKey(newKey);
                         getTruthMaintenanceSystem().put(newKey);
@@ -72,10 +72,14 @@ public class PhreakPropagationContextFactory implements PropagationContextFactor
     }
 
     public static PropagationContext createPropagationContextForFact( InternalWorkingMemory workingMemory, InternalFactHandle factHandle, PropagationContext.Type propagationType ) {
+        return createPropagationContextForFact( workingMemory, factHandle, propagationType, workingMemory.getNextPropagationIdCounter() );
+    }
+
+    public static PropagationContext createPropagationContextForFact( InternalWorkingMemory workingMemory, InternalFactHandle factHandle, PropagationContext.Type propagationType, long propagationNumber ) {
         PropagationContextFactory pctxFactory = workingMemory.getKnowledgeBase().getConfiguration().getComponentFactory().getPropagationContextFactory();
 
         // if the fact is still in the working memory (since it may have been previously retracted already
-        return pctxFactory.createPropagationContext( workingMemory.getNextPropagationIdCounter(), propagationType,
+        return pctxFactory.createPropagationContext( propagationNumber, propagationType,
                                                      null, null, factHandle );
     }
 }
@@ -75,6 +75,10 @@ public class QueryElementFactHandle
         return this.object.hashCode();
     }
 
+    public void setObjectHashCode(int hashCode) {
+        throw new UnsupportedOperationException( "QueryElementFactHandle does not support this method" );
+    }
+
     public long getRecency() {
         return this.recency;
     }
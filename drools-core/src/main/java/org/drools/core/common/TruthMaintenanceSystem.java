@@ -18,6 +18,7 @@ package org.drools.core.common;
 
 import java.util.Iterator;
 
+import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.RuleBaseConfiguration.AssertBehaviour;
 import org.drools.core.beliefsystem.BeliefSet;
 import org.drools.core.beliefsystem.BeliefSystem;
@@ -52,13 +53,16 @@ public class TruthMaintenanceSystem {
 
     private AssertBehaviour       assertBehaviour;
 
+    private RuleBaseConfiguration kBaseConfiguration;
+
     public TruthMaintenanceSystem() {}
 
     public TruthMaintenanceSystem(StatefulKnowledgeSessionImpl wm,
                                   InternalWorkingMemoryEntryPoint ep) {
         this.ep = ep;
 
-        assertBehaviour = ep.getKnowledgeBase().getConfiguration().getAssertBehaviour();
+        kBaseConfiguration = ep.getKnowledgeBase().getConfiguration();
+        assertBehaviour = kBaseConfiguration.getAssertBehaviour();
 
         typeConfReg = ep.getObjectTypeConfigurationRegistry();
 
@@ -73,6 +77,18 @@ public class TruthMaintenanceSystem {
         return this.equalityKeyMap;
     }
 
+    /**
+     * Creates the key of the given handle, comparing its object through the key extractor of its type if any
+     */
+    public EqualityKey newEqualityKey(final InternalFactHandle handle,
+                                      final int status) {
+        return new EqualityKey( handle, status, getEqualityKeyExtractor( handle.getObject() ) );
+    }
+
+    private EqualityKeyExtractor<Object> getEqualityKeyExtractor(Object object) {
+        return kBaseConfiguration.getEqualityKeyExtractor( getActualClass( object ) );
+    }
+
     public Object put(final EqualityKey key) {
         return this.equalityKeyMap.put( key,
                                    key,
@@ -97,7 +113,7 @@ public class TruthMaintenanceSystem {
         if ( key == null ) {
             // no EqualityKey exits, so we construct one. We know it can only be justified.
             fh =  ep.getHandleFactory().newFactHandle(object, typeConf, ep.getInternalWorkingMemory(), ep );
-            key = new EqualityKey( fh, EqualityKey.JUSTIFIED );
+            key = newEqualityKey( fh, EqualityKey.JUSTIFIED );
             fh.setEqualityKey( key );
             put(key);
         } else {
@@ -150,7 +166,8 @@ public class TruthMaintenanceSystem {
     }
 
     public EqualityKey get(final Object object) {
-        EqualityKey key = (EqualityKey) this.equalityKeyMap.get( object );
+        EqualityKeyExtractor<Object> keyExtractor = getEqualityKeyExtractor( object );
+        EqualityKey key = (EqualityKey) this.equalityKeyMap.get( keyExtractor == null ? object : keyExtractor.getKey( object ) );
 
         if ( key == null && assertBehaviour == AssertBehaviour.EQUALITY ) {
             // Edge case: another object X, equivalent (equals+hashcode) to "object" Y
@@ -265,9 +282,8 @@ public class TruthMaintenanceSystem {
         while (it.hasNext()) {
             InternalFactHandle handle = it.next();
             if (handle != null && handle.getEqualityKey() == null) {
-                EqualityKey key = new EqualityKey(handle);
+                EqualityKey key = newEqualityKey(handle, EqualityKey.STATED);
                 handle.setEqualityKey(key);
-                key.setStatus(EqualityKey.STATED);
                 put(key);
             }
         }
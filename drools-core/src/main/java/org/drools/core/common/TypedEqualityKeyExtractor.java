@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.io.Serializable;
+
+/**
+ * Wraps the extractor registered for a type, so that the extracted keys are scoped by that type: the facts of two
+ * types with equal keys, or a fact with a key equal to another plain fact, are never considered equal.
+ */
+public class TypedEqualityKeyExtractor implements EqualityKeyExtractor<Object> {
+
+    private final Class<?> type;
+    private final EqualityKeyExtractor<Object> extractor;
+
+    public TypedEqualityKeyExtractor(Class<?> type, EqualityKeyExtractor<?> extractor) {
+        this.type = type;
+        this.extractor = (EqualityKeyExtractor<Object>) extractor;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    @Override
+    public Object getKey(Object object) {
+        return new TypedKey(type, extractor.getKey(object));
+    }
+
+    @Override
+    public String[] getKeyProperties() {
+        return extractor.getKeyProperties();
+    }
+
+    public static class TypedKey implements Serializable {
+        private final Class<?> type;
+        private final Object key;
+
+        private TypedKey(Class<?> type, Object key) {
+            this.type = type;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if ( this == o ) {
+                return true;
+            }
+            if ( !(o instanceof TypedKey) ) {
+                return false;
+            }
+            TypedKey other = (TypedKey) o;
+            return type == other.type && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            // the hash of the name, unlike the one of the class, survives the serialization of the store
+            return 31 * type.getName().hashCode() + key.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return type.getName() + "[" + key + "]";
+        }
+    }
+}
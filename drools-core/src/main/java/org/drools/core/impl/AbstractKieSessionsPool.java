@@ -19,38 +19,95 @@ package org.drools.core.impl;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.management.ObjectName;
+
+import org.drools.core.management.DroolsManagementAgent;
+import org.drools.core.management.SessionsPoolMonitor;
+import org.drools.core.util.ScalablePoolConfiguration;
 import org.kie.api.runtime.Environment;
 import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.KieSessionsPool;
 
 public abstract class AbstractKieSessionsPool implements KieSessionsPool {
 
+    public static final String MAX_SIZE_PROPERTY = "drools.sessionsPool.maxSize";
+    public static final String EXHAUSTED_ACTION_PROPERTY = "drools.sessionsPool.exhaustedAction";
+    public static final String MAX_WAIT_MILLIS_PROPERTY = "drools.sessionsPool.maxWaitMillis";
+    public static final String IDLE_TIMEOUT_MILLIS_PROPERTY = "drools.sessionsPool.idleTimeoutMillis";
+    public static final String THREAD_AFFINITY_PROPERTY = "drools.sessionsPool.threadAffinity";
+    public static final String ASYNC_PREWARM_PROPERTY = "drools.sessionsPool.asyncPrewarm";
+
     private volatile boolean alive = true;
 
     protected final int initialSize;
 
+    protected final ScalablePoolConfiguration poolConfiguration;
+
     private final Map<String, StatefulSessionPool> pools = new ConcurrentHashMap<>();
 
     protected final Environment environment = EnvironmentFactory.newEnvironment();
 
     protected AbstractKieSessionsPool( int initialSize ) {
-        this.initialSize = initialSize;
+        this( configurationFromSystemProperties( initialSize ) );
+    }
+
+    protected AbstractKieSessionsPool( ScalablePoolConfiguration poolConfiguration ) {
+        this.initialSize = poolConfiguration.getInitialSize();
+        this.poolConfiguration = poolConfiguration;
+    }
+
+    /**
+     * The kie-api only allows to set the initial size of a pool, so the other policies are read from the system properties
+     */
+    public static ScalablePoolConfiguration configurationFromSystemProperties( int initialSize ) {
+        ScalablePoolConfiguration configuration = new ScalablePoolConfiguration( initialSize );
+        String maxSize = System.getProperty( MAX_SIZE_PROPERTY );
+        if ( maxSize != null ) {
+            configuration.setMaxSize( Integer.parseInt( maxSize.trim() ) );
+        }
+        configuration.setExhaustedAction( ScalablePoolConfiguration.ExhaustedAction.determine( System.getProperty( EXHAUSTED_ACTION_PROPERTY ) ) );
+        configuration.setMaxWaitMillis( Long.parseLong( System.getProperty( MAX_WAIT_MILLIS_PROPERTY, "-1" ).trim() ) );
+        configuration.setIdleTimeoutMillis( Long.parseLong( System.getProperty( IDLE_TIMEOUT_MILLIS_PROPERTY, "0" ).trim() ) );
+        configuration.setThreadAffinity( Boolean.parseBoolean( System.getProperty( THREAD_AFFINITY_PROPERTY, "false" ) ) );
+        configuration.setAsyncPrewarm( Boolean.parseBoolean( System.getProperty( ASYNC_PREWARM_PROPERTY, "false" ) ) );
+        return configuration;
+    }
+
+    public ScalablePoolConfiguration getPoolConfiguration() {
+        return poolConfiguration;
     }
 
     @Override
     public void shutdown() {
         alive = false;
-        pools.values().forEach( StatefulSessionPool::shutdown );
+        pools.values().forEach( this::shutdownPool );
         pools.clear();
     }
 
+    private void shutdownPool( StatefulSessionPool pool ) {
+        if ( pool.getKieBase().getConfiguration().isMBeansEnabled() ) {
+            DroolsManagementAgent.getInstance().unregisterMBeansFromOwner( pool );
+        }
+        pool.shutdown();
+    }
+
     protected StatefulSessionPool getPool( KieSessionConfiguration conf, boolean stateless) {
         return getPool( null, conf, stateless);
     }
 
     protected StatefulSessionPool getPool( String kSessionName, KieSessionConfiguration conf, boolean stateless) {
         checkAlive();
-        return pools.computeIfAbsent( getKey(kSessionName, conf, stateless), k -> createStatefulSessionPool( kSessionName, conf, stateless ) );
+        return pools.computeIfAbsent( getKey(kSessionName, conf, stateless), k -> registerMBean( k, createStatefulSessionPool( kSessionName, conf, stateless ) ) );
+    }
+
+    private StatefulSessionPool registerMBean( String key, StatefulSessionPool pool ) {
+        if ( pool != null && pool.getKieBase().getConfiguration().isMBeansEnabled() ) {
+            ObjectName name = DroolsManagementAgent.createObjectName( DroolsManagementAgent.createObjectNameFor( pool.getKieBase() )
+                    + ",group=SessionsPools,sessionsPool=" + System.identityHashCode( this )
+                    + ",pool=" + ObjectName.quote( key ) );
+            DroolsManagementAgent.getInstance().registerMBean( pool, new SessionsPoolMonitor( pool, key ), name );
+        }
+        return pool;
     }
 
     private void checkAlive() {
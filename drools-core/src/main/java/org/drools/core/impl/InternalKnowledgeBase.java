@@ -63,6 +63,8 @@ public interface InternalKnowledgeBase extends KieBase {
     void readLock();
     void readUnlock();
 
+    long getModificationsCount();
+
     void enqueueModification(Runnable modification);
     boolean flushModifications();
 
@@ -155,4 +157,6 @@ public interface InternalKnowledgeBase extends KieBase {
     void addReceiveNode(AsyncReceiveNode node);
 
     boolean hasMultipleAgendaGroups();
+
+    boolean hasFewStaticSaliences();
 }
@@ -17,6 +17,7 @@
 package org.drools.core.impl;
 
 import org.drools.core.SessionConfiguration;
+import org.drools.core.util.ScalablePoolConfiguration;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.StatelessKieSession;
@@ -30,6 +31,11 @@ public class KieSessionsPoolImpl extends AbstractKieSessionsPool {
         this.kBase = kBase;
     }
 
+    KieSessionsPoolImpl( KnowledgeBaseImpl kBase, ScalablePoolConfiguration poolConfiguration ) {
+        super(poolConfiguration);
+        this.kBase = kBase;
+    }
+
     @Override
     public KieSession newKieSession() {
         return newKieSession( kBase.getSessionConfiguration() );
@@ -58,7 +64,7 @@ public class KieSessionsPoolImpl extends AbstractKieSessionsPool {
 
     @Override
     protected StatefulSessionPool createStatefulSessionPool( String kSessionName, KieSessionConfiguration conf, boolean stateless ) {
-        return new StatefulSessionPool(kBase, initialSize, () ->
+        return new StatefulSessionPool(kBase, poolConfiguration, () ->
                 stateless ?
                     kBase.internalCreateStatefulKnowledgeSession( environment, ( SessionConfiguration ) conf, true ).setStateless( true ):
                     (StatefulKnowledgeSessionImpl ) kBase.newKieSession(conf, environment, true));
@@ -38,7 +38,9 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.SessionConfiguration;
@@ -73,6 +75,7 @@ import org.drools.core.reteoo.ReteooBuilder;
 import org.drools.core.reteoo.RightInputAdapterNode;
 import org.drools.core.reteoo.SegmentMemory;
 import org.drools.core.reteoo.Sink;
+import org.drools.core.reteoo.TerminalNode;
 import org.drools.core.reteoo.builder.BuildContext;
 import org.drools.core.reteoo.builder.NodeFactory;
 import org.drools.core.rule.DialectRuntimeRegistry;
@@ -85,6 +88,8 @@ import org.drools.core.rule.TypeDeclaration;
 import org.drools.core.rule.WindowDeclaration;
 import org.drools.core.ruleunit.RuleUnitDescriptionRegistry;
 import org.drools.core.spi.FactHandleFactory;
+import org.drools.core.util.SalienceBucketQueue;
+import org.drools.core.util.ScalablePoolConfiguration;
 import org.drools.core.util.TripleStore;
 import org.drools.reflective.classloader.ProjectClassLoader;
 import org.kie.api.builder.ReleaseId;
@@ -177,6 +182,9 @@ public class KnowledgeBaseImpl
     private final transient AtomicInteger sessionDeactivationsCounter = new AtomicInteger();
     private final transient AtomicBoolean flushingUpdates = new AtomicBoolean( false );
 
+    // incremented at the end of each modification, so that who caches sessions not registered here can discard them
+    private final transient AtomicLong modificationsCounter = new AtomicLong();
+
     private transient InternalKieContainer kieContainer;
 
     private ReleaseId resolvedReleaseId;
@@ -195,6 +203,9 @@ public class KnowledgeBaseImpl
 
     private boolean hasMultipleAgendaGroups = false;
 
+    // lazily computed when a session is created, and invalidated when the rules change
+    private volatile Boolean hasFewStaticSaliences;
+
     public KnowledgeBaseImpl() { }
 
     public KnowledgeBaseImpl(final String id,
@@ -336,6 +347,23 @@ public class KnowledgeBaseImpl
         return new KieSessionsPoolImpl(this, initialSize);
     }
 
+    public KieSessionsPool newKieSessionsPool( ScalablePoolConfiguration poolConfiguration ) {
+        return new KieSessionsPoolImpl(this, poolConfiguration);
+    }
+
+    /**
+     * Creates a pool of sessions all starting from the facts inserted by the given initializer. The given number of
+     * sessions is initialized before returning, each one holding its own copy of the reference data.
+     * @see ReferenceDataSessionPool
+     */
+    public ReferenceDataSessionPool newReferenceDataSessionPool( int initialSize, Consumer<KieSession> initializer ) {
+        return newReferenceDataSessionPool( null, new ScalablePoolConfiguration( initialSize ), initializer );
+    }
+
+    public ReferenceDataSessionPool newReferenceDataSessionPool( KieSessionConfiguration conf, ScalablePoolConfiguration poolConfiguration, Consumer<KieSession> initializer ) {
+        return new ReferenceDataSessionPool( this, conf, EnvironmentFactory.newEnvironment(), poolConfiguration, initializer );
+    }
+
     public KieSession newKieSession() {
         return newKieSession(null, EnvironmentFactory.newEnvironment());
     }
@@ -697,6 +725,7 @@ public class KnowledgeBaseImpl
     private void unlock() {
         boolean lastUnlock = this.lock.getWriteHoldCount() == 1;
         if (lastUnlock) {
+            this.modificationsCounter.incrementAndGet();
             this.eventSupport.fireBeforeRuleBaseUnlocked();
         }
         this.lock.writeLock().unlock();
@@ -713,6 +742,10 @@ public class KnowledgeBaseImpl
         this.lock.readLock().unlock();
     }
 
+    public long getModificationsCount() {
+        return this.modificationsCounter.get();
+    }
+
     /**
      * Add a <code>Package</code> to the network. Iterates through the
      * <code>Package</code> adding Each individual <code>Rule</code> to the
@@ -1005,6 +1038,19 @@ public class KnowledgeBaseImpl
         return hasMultipleAgendaGroups;
     }
 
+    public boolean hasFewStaticSaliences() {
+        Boolean result = hasFewStaticSaliences;
+        if (result == null) {
+            List<Rule> rules = new ArrayList<>();
+            for (InternalKnowledgePackage pkg : pkgs.values()) {
+                rules.addAll( pkg.getRules() );
+            }
+            result = SalienceBucketQueue.isConvenientFor( rules );
+            hasFewStaticSaliences = result;
+        }
+        return result;
+    }
+
     private void disableMultithreadEvaluation(String warningMessage) {
         config.enforceSingleThreadEvaluation();
         logger.warn( warningMessage );
@@ -1517,14 +1563,25 @@ public class KnowledgeBaseImpl
     }
 
     private void internalAddRules( Collection<? extends Rule> rules ) {
+        this.hasFewStaticSaliences = null;
+        // when there are no sessions to be updated the segments and paths changed by the rules are laid out only once
+        boolean bulkAdd = rules.size() > 1 && this.statefulSessions.isEmpty();
+        List<TerminalNode> terminals = bulkAdd ? new ArrayList<>() : null;
         for (Rule r : rules) {
             RuleImpl rule = (RuleImpl) r;
             checkMultithreadedEvaluation( rule );
             this.hasMultipleAgendaGroups |= !rule.isMainAgendaGroup();
             this.eventSupport.fireBeforeRuleAdded( rule );
-            this.reteooBuilder.addRule(rule);
+            if (bulkAdd) {
+                terminals.addAll( this.reteooBuilder.addRuleNodes(rule) );
+            } else {
+                this.reteooBuilder.addRule(rule);
+            }
             this.eventSupport.fireAfterRuleAdded( rule );
         }
+        if (bulkAdd) {
+            this.reteooBuilder.layoutRules( terminals );
+        }
     }
 
     public void removeQuery( final String packageName, final String ruleName ) {
@@ -1547,6 +1604,7 @@ public class KnowledgeBaseImpl
                                                     "'." );
             }
 
+            this.hasFewStaticSaliences = null;
             this.eventSupport.fireBeforeRuleRemoved(rule);
             this.reteooBuilder.removeRules(Collections.singletonList(rule));
             this.eventSupport.fireAfterRuleRemoved(rule);
@@ -1561,6 +1619,7 @@ public class KnowledgeBaseImpl
     }
 
     private void internalRemoveRules(Collection<? extends Rule> rules) {
+        this.hasFewStaticSaliences = null;
         for (Rule rule : rules) {
             this.eventSupport.fireBeforeRuleRemoved( (RuleImpl) rule );
         }
@@ -1721,6 +1780,7 @@ public class KnowledgeBaseImpl
         for (InternalKnowledgePackage pkg : pkgs.values()) {
             List<RuleImpl> rulesToBeRemoved = pkg.getRulesGeneratedFromResource(resource);
             if (!rulesToBeRemoved.isEmpty()) {
+                this.hasFewStaticSaliences = null;
                 this.reteooBuilder.removeRules( rulesToBeRemoved );
                 // removal of rule from package has to be delayed after the rule has been removed from the phreak network
                 // in order to allow the correct flushing of all outstanding staged tuples
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.time.SessionPseudoClock;
+import org.drools.core.util.ScalablePoolConfiguration;
+import org.kie.api.event.kiebase.KieBaseEventListener;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.AgendaEventListener;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.event.rule.ObjectDeletedEvent;
+import org.kie.api.event.rule.ObjectInsertedEvent;
+import org.kie.api.event.rule.ObjectUpdatedEvent;
+import org.kie.api.event.rule.RuleRuntimeEventListener;
+import org.kie.api.runtime.Environment;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.event.rule.RuleEventListener;
+
+/**
+ * A pool of sessions all starting from the same reference data. Each session of the pool runs an initializer,
+ * typically inserting the facts shared by all the requests, and then fires the rules, so that the sessions returned
+ * by {@link #newKieSession()} are already fully propagated with the reference data.
+ *
+ * The reference data is not shared copy-on-write among the pooled sessions, nothing is: each of them holds its own
+ * fact handles, node memories and segments for the reference data, so the memory taken by the pool grows with the
+ * number of its sessions. What is saved is
+ * the propagation of the reference data for each request. The sessions of the initial size of the pool are
+ * initialized when the pool is created, while a request finding no idle session pays the initializer for the one
+ * created for it.
+ *
+ * Disposing a session gives it back to the pool, which brings it back to the state it had after the initialization
+ * by undoing only what happened after it was handed out: the facts inserted since then are deleted, the matches left
+ * pending by their deletion are discarded and the globals and the listeners are restored. This costs in proportion to
+ * the facts of the single request, while the reference facts are never propagated again. The session is instead
+ * rebuilt running the initializer from scratch when it touched the reference data, that is when it updated or
+ * deleted one of the reference facts, fired one of the matches made only of them, moved the focus or advanced a
+ * pseudo clock. Both the rollback and the rebuild happen when the session is disposed, on the disposing thread.
+ *
+ * The objects of the reference facts are not copied, so when the initializer inserts the same instances in all the
+ * sessions they must be treated as immutable: a session modifying one of them has to update its fact handle with a
+ * modified copy, that is discarded when the session is rebuilt.
+ *
+ * In the same way the globals are restored by reference and their content is never rolled back: a global set by the
+ * initializer and mutated by a request, like a list collecting results, is seen mutated by all the following sessions,
+ * even when they are rebuilt, as long as the initializer sets the same instance. The mutable globals have then to be
+ * set by each request on the session it is handed out, and they are replaced by the ones of the initializer when the
+ * session is given back.
+ */
+public class ReferenceDataSessionPool {
+
+    private final StatefulSessionPool pool;
+
+    private final Consumer<KieSession> initializer;
+
+    private final Map<StatefulKnowledgeSessionImpl, ReferenceState> states = new ConcurrentHashMap<>();
+
+    ReferenceDataSessionPool( KnowledgeBaseImpl kBase, KieSessionConfiguration conf, Environment environment,
+                     ScalablePoolConfiguration poolConfiguration, Consumer<KieSession> initializer ) {
+        this.initializer = initializer;
+        this.pool = new StatefulSessionPool( kBase, poolConfiguration,
+                                             () -> initialize( (StatefulKnowledgeSessionImpl) kBase.newKieSession( conf, environment, true ) ),
+                                             this::rollback,
+                                             states::remove );
+    }
+
+    public KieSession newKieSession() {
+        return pool.get();
+    }
+
+    public StatefulSessionPool getPool() {
+        return pool;
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private StatefulKnowledgeSessionImpl initialize( StatefulKnowledgeSessionImpl session ) {
+        initializer.accept( session );
+        session.fireAllRules();
+        ReferenceState state = new ReferenceState( session );
+        states.put( session, state );
+        state.track( session );
+        return session;
+    }
+
+    private void rollback( StatefulKnowledgeSessionImpl session ) {
+        // the session has been already disposed by the user, but it has to be operated to bring it back
+        session.setAlive( true );
+        try {
+            ReferenceState state = states.get( session );
+            boolean rolledBack;
+            try {
+                rolledBack = state != null && state.rollback( session );
+            } catch (RuntimeException e) {
+                // a consequence failed while discarding the pending matches, the session has to be rebuilt
+                rolledBack = false;
+            }
+            if (!rolledBack) {
+                session.reset();
+                initialize( session );
+            }
+        } finally {
+            session.setAlive( false );
+        }
+    }
+
+    /**
+     * The state of a session right after the initialization, together with what happened to it since then
+     */
+    private static class ReferenceState extends DefaultAgendaEventListener implements RuleRuntimeEventListener {
+
+        // the handles with a greater id have been inserted after the initialization
+        private final long lastReferenceHandleId;
+        private final long factsCount;
+        private final long pseudoClockTime;
+        private final String focusName;
+
+        private final Map<String, Object> globals = new HashMap<>();
+        private final List<RuleRuntimeEventListener> ruleRuntimeListeners;
+        private final List<AgendaEventListener> agendaListeners;
+        private final List<RuleEventListener> ruleListeners;
+        private final List<KieBaseEventListener> kieBaseListeners;
+
+        private final List<InternalFactHandle> inserted = new ArrayList<>();
+        private boolean dirty;
+
+        private ReferenceState( StatefulKnowledgeSessionImpl session ) {
+            this.lastReferenceHandleId = session.getFactHandleFactory().getId();
+            this.factsCount = countFacts( session );
+            this.pseudoClockTime = pseudoClockTime( session );
+            this.focusName = session.getAgenda().getFocusName();
+            for (String identifier : session.getGlobals().getGlobalKeys()) {
+                globals.put( identifier, session.getGlobal( identifier ) );
+            }
+            this.ruleRuntimeListeners = new ArrayList<>( session.getRuleRuntimeEventSupport().getEventListeners() );
+            this.agendaListeners = new ArrayList<>( session.getAgendaEventSupport().getEventListeners() );
+            this.ruleListeners = new ArrayList<>( session.getRuleEventSupport().getEventListeners() );
+            this.kieBaseListeners = new ArrayList<>( session.getKieBaseEventListeners() );
+        }
+
+        private void track( StatefulKnowledgeSessionImpl session ) {
+            inserted.clear();
+            dirty = false;
+            session.addEventListener( (RuleRuntimeEventListener) this );
+            session.addEventListener( (AgendaEventListener) this );
+        }
+
+        private boolean rollback( StatefulKnowledgeSessionImpl session ) {
+            if (dirty || pseudoClockTime( session ) != pseudoClockTime || !focusName.equals( session.getAgenda().getFocusName() )) {
+                return false;
+            }
+
+            // the listeners added after the initialization are not notified of the rollback
+            removeListeners( session );
+
+            for (int i = inserted.size() - 1; i >= 0; i--) {
+                InternalFactHandle handle = inserted.get( i );
+                if (handle.isValid()) {
+                    handle.getEntryPoint( session ).delete( handle );
+                }
+            }
+            // the matches made only of reference facts were already fired by the initialization
+            session.fireAllRules( match -> false );
+
+            if (countFacts( session ) != factsCount) {
+                // a reference fact has been deleted without notifying it
+                return false;
+            }
+
+            restoreGlobals( session );
+            restoreListeners( session );
+            track( session );
+            return true;
+        }
+
+        private void removeListeners( StatefulKnowledgeSessionImpl session ) {
+            session.getRuleRuntimeEventSupport().clear();
+            session.getAgendaEventSupport().clear();
+            session.getRuleEventSupport().clear();
+            for (KieBaseEventListener listener : new ArrayList<>( session.getKieBaseEventListeners() )) {
+                session.removeEventListener( listener );
+            }
+        }
+
+        private void restoreListeners( StatefulKnowledgeSessionImpl session ) {
+            ruleRuntimeListeners.forEach( session::addEventListener );
+            agendaListeners.forEach( session::addEventListener );
+            ruleListeners.forEach( session::addEventListener );
+            kieBaseListeners.forEach( session::addEventListener );
+        }
+
+        // only the references are restored, the content of a mutable global isn't tracked
+        private void restoreGlobals( StatefulKnowledgeSessionImpl session ) {
+            for (String identifier : new ArrayList<>( session.getGlobals().getGlobalKeys() )) {
+                if (!globals.containsKey( identifier )) {
+                    session.getGlobalResolver().removeGlobal( identifier );
+                }
+            }
+            globals.forEach( session.getGlobalResolver()::setGlobal );
+        }
+
+        private static long countFacts( StatefulKnowledgeSessionImpl session ) {
+            long count = 0;
+            for (WorkingMemoryEntryPoint ep : session.getEntryPointMap().values()) {
+                count += ep.getObjectStore().size();
+            }
+            return count;
+        }
+
+        private static long pseudoClockTime( StatefulKnowledgeSessionImpl session ) {
+            return session.getSessionClock() instanceof SessionPseudoClock ? session.getSessionClock().getCurrentTime() : -1;
+        }
+
+        private boolean isReferenceHandle( FactHandle handle ) {
+            return (( InternalFactHandle ) handle).getId() <= lastReferenceHandleId;
+        }
+
+        @Override
+        public void objectInserted( ObjectInsertedEvent event ) {
+            if (!isReferenceHandle( event.getFactHandle() )) {
+                inserted.add( (InternalFactHandle) event.getFactHandle() );
+            }
+        }
+
+        @Override
+        public void objectUpdated( ObjectUpdatedEvent event ) {
+            dirty |= isReferenceHandle( event.getFactHandle() );
+        }
+
+        @Override
+        public void objectDeleted( ObjectDeletedEvent event ) {
+            dirty |= isReferenceHandle( event.getFactHandle() );
+        }
+
+        @Override
+        public void afterMatchFired( AfterMatchFiredEvent event ) {
+            if (!dirty && event.getMatch().getFactHandles().stream().allMatch( this::isReferenceHandle )) {
+                // this match could have been fired only once, when the session has been initialized
+                dirty = true;
+            }
+        }
+    }
+}
@@ -79,6 +79,8 @@ import org.drools.core.factmodel.traits.Thing;
 import org.drools.core.factmodel.traits.TraitableBean;
 import org.drools.core.management.DroolsManagementAgent;
 import org.drools.core.marshalling.impl.MarshallerReaderContext;
+import org.drools.core.phreak.ExpirationBatch;
+import org.drools.core.phreak.LeftTuplePool;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.phreak.RuleAgendaItem;
@@ -212,8 +214,11 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
 
     private boolean sequential;
 
+    private LeftTuplePool leftTuplePool;
+
     private WorkItemManager workItemManager;
 
+    // lazily created by the lean stateless sessions, that are confined to one thread at a time
     private TimerService timerService;
 
     protected Map<String, WorkingMemoryEntryPoint> entryPoints = new ConcurrentHashMap<String, WorkingMemoryEntryPoint>();
@@ -326,7 +331,13 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
 
         this.propagationIdCounter = new AtomicLong(propagationContext);
         init( config, environment, propagationContext );
+        // the pool isn't thread safe, so it is ignored when the partitions of the rule base are evaluated in parallel
+        this.leftTuplePool = config.isLeftTupleRecycling() && (kBase == null || !kBase.getConfiguration().isMultithreadEvaluation()) ?
+                new LeftTuplePool() : null;
         if (kBase != null) {
+            if (handleFactory != null) {
+                this.handleFactory = config.getFactHandleType().adapt( handleFactory, kBase );
+            }
             bindRuleBase( this, kBase, agenda, initInitFactHandle );
         }
     }
@@ -360,11 +371,17 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         this.kieBaseEventListeners = new ArrayList<KieBaseEventListener>();
         this.lock = new ReentrantLock();
 
-        this.timerService = createTimerService();
+        if (!isLeanStateless(config)) {
+            this.timerService = createTimerService();
+        }
 
         this.lastIdleTimestamp = new AtomicLong(-1);
     }
 
+    private static boolean isLeanStateless(SessionConfiguration config) {
+        return config.isLeanStatelessExecution() && !config.isThreadSafe();
+    }
+
     protected TimerService createTimerService() {
         return TimerServiceFactory.getTimerService( this.config );
     }
@@ -498,6 +515,10 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         return this;
     }
 
+    void setAlive(boolean alive) {
+        this.alive = alive;
+    }
+
     public void dispose() {
         alive = false;
         if (pool != null) {
@@ -533,7 +554,9 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
             this.processRuntime.dispose();
         }
 
-        this.timerService.shutdown();
+        if (this.timerService != null) {
+            this.timerService.shutdown();
+        }
 
         if (this.workItemManager != null) {
             ((org.drools.core.process.instance.WorkItemManager)this.workItemManager).dispose();
@@ -1098,7 +1121,13 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         this.defaultEntryPoint.reset();
         updateEntryPointsCache();
 
-        this.timerService.reset();
+        if (this.timerService != null) {
+            this.timerService.reset();
+        }
+
+        if (this.leftTuplePool != null) {
+            this.leftTuplePool.clear();
+        }
 
         if (this.processRuntime != null) {
             this.processRuntime.dispose();
@@ -1469,6 +1498,12 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
                        null );
     }
 
+    @Override
+    public List<FactHandle> insertAll(final Collection<?> objects) {
+        checkAlive();
+        return this.defaultEntryPoint.insertAll( objects );
+    }
+
     public void submit(AtomicAction action) {
         agenda.addPropagation( new PropagationEntry.AbstractPropagationEntry() {
             @Override
@@ -1724,11 +1759,20 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         }
 
         public void execute(InternalWorkingMemory workingMemory) {
+            if (factHandle.isValid()) {
+                execute( workingMemory, workingMemory.getNextPropagationIdCounter() );
+            }
+        }
+
+        /**
+         * Expires the event as part of the given propagation, shared by all the expirations of an {@link ExpirationBatch}
+         */
+        public void execute(InternalWorkingMemory workingMemory, long propagationNumber) {
             if (!factHandle.isValid()) {
                 return;
             }
 
-            PropagationContext context = createPropagationContextForFact( workingMemory, factHandle, PropagationContext.Type.EXPIRATION );
+            PropagationContext context = createPropagationContextForFact( workingMemory, factHandle, PropagationContext.Type.EXPIRATION, propagationNumber );
             workingMemory.getAgenda().registerExpiration( context );
 
             factHandle.forEachLeftTuple( ObjectTypeNode::expireLeftTuple );
@@ -1753,6 +1797,11 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
             }
         }
 
+        @Override
+        public boolean isExpiration() {
+            return true;
+        }
+
         @Override
         public boolean isPartitionSplittable() {
             return true;
@@ -1904,11 +1953,15 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
     }
 
     public TimerService getTimerService() {
+        if (this.timerService == null) {
+            // only a lean stateless session gets here, many executions never schedule anything nor read the clock
+            this.timerService = createTimerService();
+        }
         return this.timerService;
     }
 
     public SessionClock getSessionClock() {
-        return (SessionClock) this.timerService;
+        return (SessionClock) getTimerService();
     }
 
     public void startBatchExecution() {
@@ -1981,7 +2034,7 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
     public void endOperation() {
         if ( getSessionConfiguration().isThreadSafe() && this.opCounter.decrementAndGet() == 0 ) {
             // means the engine is idle, so, set the timestamp
-            this.lastIdleTimestamp.set(this.timerService.getCurrentTime());
+            this.lastIdleTimestamp.set(getTimerService().getCurrentTime());
             if (this.endOperationListener != null) {
                 this.endOperationListener.endOperation(this.getKnowledgeRuntime());
             }
@@ -1996,7 +2049,7 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
      */
     public long getIdleTime() {
         long lastIdle = this.lastIdleTimestamp.get();
-        return lastIdle > -1 ? timerService.getCurrentTime() - lastIdle : -1;
+        return lastIdle > -1 ? getTimerService().getCurrentTime() - lastIdle : -1;
     }
 
     public long getLastIdleTimestamp() {
@@ -2017,7 +2070,8 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
      *         there is no job scheduled
      */
     public long getTimeToNextJob() {
-        return this.timerService.getTimeToNextJob();
+        // no job can have been scheduled before the timer service has been created
+        return this.timerService != null ? this.timerService.getTimeToNextJob() : -1;
     }
 
     public void addPropagation(PropagationEntry propagationEntry) {
@@ -2065,6 +2119,11 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         return agenda.getPropagationList();
     }
 
+    @Override
+    public LeftTuplePool getLeftTuplePool() {
+        return leftTuplePool;
+    }
+
     @Override
     public String toString() {
         return "KieSession[" + id + "]";
@@ -16,9 +16,11 @@
 
 package org.drools.core.impl;
 
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.drools.core.util.ScalablePool;
+import org.drools.core.util.ScalablePoolConfiguration;
 
 public class StatefulSessionPool {
 
@@ -26,14 +28,34 @@ public class StatefulSessionPool {
     private final ScalablePool<StatefulKnowledgeSessionImpl> pool;
 
     public StatefulSessionPool( KnowledgeBaseImpl kbase, int initialSize, Supplier<StatefulKnowledgeSessionImpl> supplier ) {
+        this( kbase, new ScalablePoolConfiguration( initialSize ), supplier );
+    }
+
+    public StatefulSessionPool( KnowledgeBaseImpl kbase, ScalablePoolConfiguration configuration, Supplier<StatefulKnowledgeSessionImpl> supplier ) {
+        this( kbase, configuration, supplier, s -> s.reset(), s -> { } );
+    }
+
+    /**
+     * Creates a pool whose sessions are brought back to their initial state by the given resetter when released,
+     * while the disposer is notified of the sessions that are going to be disposed
+     */
+    public StatefulSessionPool( KnowledgeBaseImpl kbase, ScalablePoolConfiguration configuration, Supplier<StatefulKnowledgeSessionImpl> supplier,
+                                Consumer<StatefulKnowledgeSessionImpl> resetter, Consumer<StatefulKnowledgeSessionImpl> disposer ) {
         this.kbase = kbase;
-        this.pool = new ScalablePool<>(initialSize, supplier, s -> s.reset(), s -> s.fromPool(null).dispose());
+        this.pool = new ScalablePool<>(configuration, supplier, resetter, s -> {
+            disposer.accept( s );
+            s.fromPool(null).dispose();
+        });
     }
 
     public KnowledgeBaseImpl getKieBase() {
         return kbase;
     }
 
+    public ScalablePool<StatefulKnowledgeSessionImpl> getPool() {
+        return pool;
+    }
+
     public StatefulKnowledgeSessionImpl get() {
         return pool.get().fromPool( this );
     }
@@ -23,11 +23,13 @@ import java.util.EventListener;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.drools.core.SessionConfiguration;
+import org.drools.core.SessionConfigurationImpl;
 import org.drools.core.base.MapGlobalResolver;
 import org.drools.core.command.impl.ContextImpl;
 import org.drools.core.command.runtime.BatchExecutionCommandImpl;
@@ -59,6 +61,16 @@ public class StatelessKnowledgeSessionImpl extends AbstractRuntime
         StatelessKnowledgeSession,
         StatelessKieSession {
 
+    /**
+     * When true, and the stateless session is not backed by a pool, each execution runs on a thread unsafe session,
+     * without any synchronization nor registration in the kbase. At the end of the execution the session is reset in
+     * place, resetting the memories of its nodes instead of disposing it, and is kept to be reused by one of the
+     * following executions, while its timer service is created only if the rules ever use it. Since the reused sessions
+     * aren't registered in the kbase, they're discarded after any modification of the kbase, including the ones
+     * happening while they are executing.
+     */
+    public static final String LEAN_EXECUTION_PROPERTY_NAME = "drools.leanStatelessExecution";
+
     private KnowledgeBaseImpl    kBase;
     private MapGlobalResolver    sessionGlobals = new MapGlobalResolver();
     private Map<String, Channel> channels       = new HashMap<String, Channel>();
@@ -74,9 +86,15 @@ public class StatelessKnowledgeSessionImpl extends AbstractRuntime
 
     private final StatefulSessionPool pool;
 
+    private final SessionConfiguration leanConf;
+    // the idle lean sessions, each one handed to a single execution at a time
+    private final ConcurrentLinkedDeque<LeanSession> leanSessions;
+
     public StatelessKnowledgeSessionImpl() {
         pool = null;
         wmCreated = new AtomicLong(0);
+        leanConf = null;
+        leanSessions = null;
     }
 
     public StatelessKnowledgeSessionImpl(InternalKnowledgeBase kBase,
@@ -86,6 +104,8 @@ public class StatelessKnowledgeSessionImpl extends AbstractRuntime
         this.environment = EnvironmentFactory.newEnvironment();
         this.pool = null;
         wmCreated = new AtomicLong(0);
+        this.leanConf = createLeanConfiguration( this.conf );
+        this.leanSessions = leanConf != null ? new ConcurrentLinkedDeque<>() : null;
     }
 
     public StatelessKnowledgeSessionImpl(KieSessionConfiguration conf,
@@ -95,14 +115,26 @@ public class StatelessKnowledgeSessionImpl extends AbstractRuntime
         this.environment = null;
         this.pool = pool;
         wmCreated = new AtomicLong(1);
+        this.leanConf = null;
+        this.leanSessions = null;
+    }
+
+    private static SessionConfiguration createLeanConfiguration( SessionConfiguration conf ) {
+        if ( !(conf instanceof SessionConfigurationImpl) || !conf.isLeanStatelessExecution() ) {
+            return null;
+        }
+        SessionConfigurationImpl leanConf = (( SessionConfigurationImpl ) conf).copy();
+        leanConf.setThreadSafe( false );
+        leanConf.setKeepReference( false );
+        return leanConf;
     }
 
     public InternalKnowledgeBase getKnowledgeBase() {
         return this.kBase;
     }
 
-    private StatefulKnowledgeSession newWorkingMemory() {
-        StatefulKnowledgeSessionImpl ksession = pool != null ? pool.get() : createWorkingMemory();
+    private StatefulKnowledgeSession newWorkingMemory(LeanSession leanSession) {
+        StatefulKnowledgeSessionImpl ksession = pool != null ? pool.get() : ( leanSession != null ? leanSession.session : createWorkingMemory() );
 
         ((Globals ) ksession.getGlobalResolver()).setDelegate(this.sessionGlobals);
 
@@ -128,6 +160,37 @@ public class StatelessKnowledgeSessionImpl extends AbstractRuntime
         }
     }
 
+    private LeanSession getLeanWorkingMemory() {
+        if ( leanConf == null ) {
+            return null;
+        }
+        long modificationsCount = kBase.getModificationsCount();
+        LeanSession leanSession;
+        while ( (leanSession = leanSessions.pollFirst()) != null ) {
+            if ( leanSession.modificationsCount == modificationsCount ) {
+                return leanSession;
+            }
+            // the session hasn't been notified of the changes of the kbase
+            leanSession.session.dispose();
+        }
+        return createLeanWorkingMemory();
+    }
+
+    private LeanSession createLeanWorkingMemory() {
+        this.kBase.readLock();
+        try {
+            // bypasses the sessions pool of the kbase, if any, as the lean sessions are already reused
+            StatefulKnowledgeSessionImpl ksession = kBase
+                    .internalCreateStatefulKnowledgeSession( this.environment, this.leanConf, true )
+                    .setStateless( true );
+            wmCreated.incrementAndGet();
+            // the count can't change while the read lock is held, so it is the one of the network the session is built on
+            return new LeanSession( ksession, kBase.getModificationsCount() );
+        } finally {
+            this.kBase.readUnlock();
+        }
+    }
+
     public void initMBeans(String containerId, String kbaseId, String ksessionName) {
         if (kBase.getConfiguration() != null && kBase.getConfiguration().isMBeansEnabled() && mbeanRegistered.compareAndSet(false, true)) {
             this.mbeanRegisteredCBSKey = new DroolsManagementAgent.CBSKey(containerId, kbaseId, ksessionName);
@@ -237,7 +300,8 @@ public class StatelessKnowledgeSessionImpl extends AbstractRuntime
     }
 
     public <T> T execute(Command<T> command) {
-        StatefulKnowledgeSession ksession = newWorkingMemory();
+        LeanSession leanSession = getLeanWorkingMemory();
+        StatefulKnowledgeSession ksession = newWorkingMemory(leanSession);
 
         RegistryContext context = new ContextImpl().register( KieSession.class, ksession );
 
@@ -271,35 +335,38 @@ public class StatelessKnowledgeSessionImpl extends AbstractRuntime
             }
         } finally {
             ((StatefulKnowledgeSessionImpl) ksession).endBatchExecution();
-            dispose(ksession);
+            dispose(ksession, leanSession);
         }
     }
 
     public void execute(Object object) {
-        StatefulKnowledgeSession ksession = newWorkingMemory();
+        LeanSession leanSession = getLeanWorkingMemory();
+        StatefulKnowledgeSession ksession = newWorkingMemory(leanSession);
         try {
             ksession.insert( object );
             ksession.fireAllRules();
         } finally {
-            dispose(ksession);
+            dispose(ksession, leanSession);
         }
     }
 
     public void execute(Iterable objects) {
-        StatefulKnowledgeSession ksession = newWorkingMemory();
+        LeanSession leanSession = getLeanWorkingMemory();
+        StatefulKnowledgeSession ksession = newWorkingMemory(leanSession);
         try {
             for ( Object object : objects ) {
                 ksession.insert( object );
             }
             ksession.fireAllRules();
         } finally {
-            dispose(ksession);
+            dispose(ksession, leanSession);
         }
     }
 
     public List executeWithResults(Iterable objects, ObjectFilter filter) {
         List list = new ArrayList();
-        StatefulKnowledgeSession ksession = newWorkingMemory();
+        LeanSession leanSession = getLeanWorkingMemory();
+        StatefulKnowledgeSession ksession = newWorkingMemory(leanSession);
         try {
             for ( Object object : objects ) {
                 ksession.insert( object );
@@ -309,13 +376,54 @@ public class StatelessKnowledgeSessionImpl extends AbstractRuntime
                 list.add(((InternalFactHandle) fh).getObject());
             }
         } finally {
-            dispose(ksession);
+            dispose(ksession, leanSession);
         }
         return list;
     }
 
-    private void dispose(StatefulKnowledgeSession ksession) {
-        ksession.dispose();
+    private void dispose(StatefulKnowledgeSession ksession, LeanSession leanSession) {
+        if ( leanSession == null ) {
+            ksession.dispose();
+            return;
+        }
+
+        StatefulKnowledgeSessionImpl session = leanSession.session;
+        try {
+            for ( String channel : new ArrayList<>( session.getChannels().keySet() ) ) {
+                session.unregisterChannel( channel );
+            }
+            session.reset();
+        } catch (RuntimeException e) {
+            // the session is left in an unknown state, so it is discarded and a following execution creates a new one
+            session.dispose();
+            return;
+        }
+        // keeps the count taken when the session was acquired: if the kbase has been modified in the meanwhile the
+        // session hasn't been notified of it, and it will be discarded by the next execution
+        leanSessions.offerFirst( leanSession );
+    }
+
+    /**
+     * Disposes the idle sessions kept by the lean execution mode, that otherwise are released only when this
+     * stateless session is garbage collected. The following executions create new ones.
+     */
+    public void disposeLeanSessions() {
+        if ( leanSessions != null ) {
+            LeanSession leanSession;
+            while ( (leanSession = leanSessions.pollFirst()) != null ) {
+                leanSession.session.dispose();
+            }
+        }
+    }
+
+    private static class LeanSession {
+        private final StatefulKnowledgeSessionImpl session;
+        private final long modificationsCount;
+
+        private LeanSession( StatefulKnowledgeSessionImpl session, long modificationsCount ) {
+            this.session = session;
+            this.modificationsCount = modificationsCount;
+        }
     }
 
     private static class ListnerHolder {
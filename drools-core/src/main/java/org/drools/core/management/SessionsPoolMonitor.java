@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.management;
+
+import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.drools.core.impl.StatefulSessionPool;
+import org.drools.core.util.ScalablePool;
+
+/**
+ * An mbean monitor class for a pool of sessions
+ */
+public class SessionsPoolMonitor implements SessionsPoolMonitorMBean {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final StatefulSessionPool sessionPool;
+    private final String poolKey;
+
+    public SessionsPoolMonitor(StatefulSessionPool sessionPool, String poolKey) {
+        this.sessionPool = sessionPool;
+        this.poolKey = poolKey;
+    }
+
+    private ScalablePool<StatefulKnowledgeSessionImpl> getPool() {
+        return sessionPool.getPool();
+    }
+
+    public String getKieBaseId() {
+        return sessionPool.getKieBase().getId();
+    }
+
+    public String getPoolKey() {
+        return poolKey;
+    }
+
+    public int getMaxSize() {
+        return getPool().getConfiguration().getMaxSize();
+    }
+
+    public int getSize() {
+        return getPool().getSize();
+    }
+
+    public int getBorrowedCount() {
+        return getPool().getBorrowedCount();
+    }
+
+    public int getIdleCount() {
+        return getPool().getIdleCount();
+    }
+
+    public long getBorrowCount() {
+        return getPool().getBorrowCount();
+    }
+
+    public long getFailedBorrowCount() {
+        return getPool().getFailedBorrowCount();
+    }
+
+    public long getCreatedCount() {
+        return getPool().getCreatedCount();
+    }
+
+    public long getEvictedCount() {
+        return getPool().getEvictedCount();
+    }
+
+    public double getAverageBorrowTimeMillis() {
+        long borrowCount = getPool().getBorrowCount();
+        return borrowCount == 0 ? 0 : getPool().getTotalBorrowNanos() / NANOS_PER_MILLI / borrowCount;
+    }
+
+    public double getMaxBorrowTimeMillis() {
+        return getPool().getMaxBorrowNanos() / NANOS_PER_MILLI;
+    }
+
+    public int evictIdleSessions() {
+        return getPool().evictIdleResources();
+    }
+}
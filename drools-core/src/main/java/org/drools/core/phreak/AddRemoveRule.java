@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -141,6 +142,46 @@ public class AddRemoveRule {
         }
     }
 
+    /**
+     * This method is called after the nodes of many rules have all been added to the network, when there are no
+     * sessions to be updated. Instead of visiting again the shared part of the network for each rule, the subnetworks
+     * starting from the split points of the rules are visited only once, invalidating the segment prototypes and the
+     * path memory specs of all the segments and paths in them, that are then lazily recalculated.
+     */
+    public static void addRules(Collection<? extends TerminalNode> tns, InternalKnowledgeBase kBase) {
+        if (!kBase.hasSegmentPrototypes()) {
+            return;
+        }
+
+        Set<LeftTupleNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (TerminalNode tn : tns) {
+            if (log.isTraceEnabled()) {
+                log.trace("Adding Rule {}", tn.getRule().getName());
+            }
+            LeftTupleNode firstSplit = getNetworkSplitPoint(tn);
+            if (visited.add(firstSplit)) {
+                invalidateRootNode(kBase, firstSplit);
+                invalidateSubnetwork(kBase, firstSplit, visited);
+            }
+        }
+    }
+
+    private static void invalidateSubnetwork(InternalKnowledgeBase kBase, LeftTupleNode lt, Set<LeftTupleNode> visited) {
+        for (LeftTupleSinkNode sink = lt.getSinkPropagator().getFirstLeftTupleSink(); sink != null; sink = sink.getNextLeftTupleSinkNode()) {
+            if (!visited.add(sink)) {
+                continue;
+            }
+            if (isRootNode(sink, null)) {
+                kBase.invalidateSegmentPrototype(sink);
+            }
+            if (NodeTypeEnums.isLeftTupleSource(sink)) {
+                invalidateSubnetwork(kBase, sink, visited);
+            } else if (NodeTypeEnums.isTerminalNode(sink) || NodeTypeEnums.RightInputAdaterNode == sink.getType()) {
+                ((PathEndNode) sink).resetPathMemSpec(null);
+            }
+        }
+    }
+
     /**
      * This method is called before the rule nodes are removed from the network.
      * For remove tuples are processed before the segments and pmems have been adjusted
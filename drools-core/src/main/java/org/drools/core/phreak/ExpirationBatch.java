@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl.WorkingMemoryReteExpireAction;
+
+/**
+ * A single propagation entry for a run of expirations queued one after the other, like the ones of a burst
+ * of events with the same expiration offset falling in the same tick of the timer service, or the ones of
+ * the sliding windows expiring at the same time. The coalesced expirations are executed in the order in which
+ * they have been queued, so the result is the same as having them in the propagation list one by one, but all the
+ * expired events are retracted in a single propagation, as if they were deleted together.
+ */
+public class ExpirationBatch extends PropagationEntry.AbstractPropagationEntry {
+
+    private final List<PropagationEntry> expirations = new ArrayList<>();
+
+    // the disposed state of the propagation list owning the batch
+    private final BooleanSupplier disposed;
+
+    public ExpirationBatch( PropagationEntry expiration, BooleanSupplier disposed ) {
+        this.disposed = disposed;
+        expirations.add( expiration );
+    }
+
+    void add( PropagationEntry expiration ) {
+        expirations.add( expiration );
+    }
+
+    public List<PropagationEntry> getExpirations() {
+        return expirations;
+    }
+
+    public int size() {
+        return expirations.size();
+    }
+
+    @Override
+    public void execute( InternalWorkingMemory wm ) {
+        long propagationNumber = wm.getNextPropagationIdCounter();
+        for (PropagationEntry expiration : expirations) {
+            // checked before each expiration, as the list does before each entry, so a dispose also stops the batch
+            if ( disposed.getAsBoolean() ) {
+                return;
+            }
+            if ( expiration instanceof WorkingMemoryReteExpireAction ) {
+                ( (WorkingMemoryReteExpireAction) expiration ).execute( wm, propagationNumber );
+            } else {
+                expiration.execute( wm );
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Batch of " + expirations.size() + " expirations";
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.core.reteoo.BaseLeftTuple;
+import org.drools.core.reteoo.JoinNode;
+import org.drools.core.reteoo.JoinNodeLeftTuple;
+import org.drools.core.reteoo.LeftTuple;
+import org.drools.core.reteoo.LeftTupleSink;
+import org.drools.core.reteoo.RightTuple;
+import org.drools.core.reteoo.RuleTerminalNode;
+import org.drools.core.reteoo.RuleTerminalNodeLeftTuple;
+
+/**
+ * A per session pool of the left tuples discarded by the network, keyed by tuple class, from which the
+ * join propagations take the children they create instead of allocating new ones.
+ *
+ * A tuple is released to the pool only when nothing in the network can reach it anymore, so only the
+ * ones created by a JoinNode, which doesn't keep any reference to the children it propagates, are
+ * recycled: join tuples once deleted by their JoinNode if they never had a child, because the deletion of
+ * a child could be still staged downstream with a reference to its parent, and matches once deleted by
+ * their RuleTerminalNode if they aren't referenced by the truth maintenance system or by an activation group.
+ * Since a recycled match gets a new life, it isn't possible to keep a reference to a Match, like
+ * the one of an agenda event, after the event listener or the consequence using it returns.
+ * For this reason the pool is disabled by default and must be explicitly enabled with the
+ * drools.leftTupleRecycling session property. The pool isn't thread safe, so it is ignored when the
+ * rule base is evaluated in parallel.
+ */
+public class LeftTuplePool {
+
+    public static final String PROPERTY_NAME = "drools.leftTupleRecycling";
+
+    private static final int MAX_POOLED_TUPLES_PER_CLASS = 4096;
+
+    private final Map<Class<?>, ArrayDeque<BaseLeftTuple>> pools = new HashMap<>();
+
+    private long recycledCount;
+    private long reusedCount;
+
+    public LeftTuple createLeftTuple( LeftTupleSink sink,
+                                      LeftTuple leftTuple,
+                                      RightTuple rightTuple,
+                                      LeftTuple currentLeftChild,
+                                      LeftTuple currentRightChild,
+                                      boolean leftTupleMemoryEnabled ) {
+        Class<?> tupleClass = pooledTupleClass( sink );
+        if ( tupleClass != null ) {
+            ArrayDeque<BaseLeftTuple> pool = pools.get( tupleClass );
+            BaseLeftTuple recycled = pool != null ? pool.pollLast() : null;
+            if ( recycled != null ) {
+                reusedCount++;
+                recycled.initChild( leftTuple, rightTuple, currentLeftChild, currentRightChild, sink, leftTupleMemoryEnabled );
+                return recycled;
+            }
+        }
+        return sink.createLeftTuple( leftTuple, rightTuple, currentLeftChild, currentRightChild, sink, leftTupleMemoryEnabled );
+    }
+
+    /**
+     * Gives back to the pool a tuple just deleted by its sink, if it's one of the recyclable kinds and
+     * nothing else can still reference it. Otherwise it is left to the garbage collector as usual.
+     */
+    public void release( LeftTuple tuple ) {
+        if ( !isRecyclable( tuple ) ) {
+            return;
+        }
+        ArrayDeque<BaseLeftTuple> pool = pools.computeIfAbsent( tuple.getClass(), c -> new ArrayDeque<>() );
+        if ( pool.size() < MAX_POOLED_TUPLES_PER_CLASS ) {
+            BaseLeftTuple recycled = (BaseLeftTuple) tuple;
+            recycled.reset();
+            pool.addLast( recycled );
+            recycledCount++;
+        }
+    }
+
+    private static boolean isRecyclable( LeftTuple tuple ) {
+        if ( !isCreatedByJoinNode( tuple ) || tuple.getPeer() != null || tuple.getMemory() != null ) {
+            return false;
+        }
+        if ( tuple.getClass() == JoinNodeLeftTuple.class ) {
+            return !(( JoinNodeLeftTuple ) tuple).isParentOfChildren();
+        }
+        if ( tuple.getClass() == RuleTerminalNodeLeftTuple.class ) {
+            return (( RuleTerminalNodeLeftTuple ) tuple).isRecyclable();
+        }
+        return false;
+    }
+
+    private static boolean isCreatedByJoinNode( LeftTuple tuple ) {
+        // other nodes, like the accumulate one, may keep a reference to the children they propagate and insert them again
+        LeftTuple leftParent = tuple.getLeftParent();
+        return leftParent != null && tuple.getRightParent() != null && leftParent.getTupleSink() != null &&
+               leftParent.getTupleSink().getClass() == JoinNode.class;
+    }
+
+    private static Class<?> pooledTupleClass( LeftTupleSink sink ) {
+        if ( sink.getClass() == JoinNode.class ) {
+            return JoinNodeLeftTuple.class;
+        }
+        if ( sink.getClass() == RuleTerminalNode.class ) {
+            return RuleTerminalNodeLeftTuple.class;
+        }
+        return null;
+    }
+
+    public long getRecycledCount() {
+        return recycledCount;
+    }
+
+    public long getReusedCount() {
+        return reusedCount;
+    }
+
+    public void clear() {
+        pools.clear();
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import org.drools.core.common.InternalWorkingMemory;
+
+/**
+ * A multi-producers / single-consumer PropagationList that doesn't use any lock.
+ *
+ * The producers push the new entries on the top of a stack with a CAS, while the consumer
+ * detaches the whole stack with a single atomic swap and reverses it in order to flush the
+ * entries in the same order they have been added. The consumer waiting for new entries during a
+ * fireUntilHalt spins for a short while and then parks itself until a producer or a notification,
+ * like the one of a halt or of a dispose, unparks it. It never parks holding a lock.
+ *
+ * The entries already published can't be modified, so the consecutive expirations are coalesced
+ * in an {@link ExpirationBatch} by the consumer, when it takes them from the stack.
+ */
+public class LockFreePropagationList implements PropagationList {
+
+    private static final int SPINS_BEFORE_PARKING = 1 << 10;
+
+    private final InternalWorkingMemory workingMemory;
+
+    private final AtomicReference<PropagationEntry> top = new AtomicReference<>();
+
+    private final AtomicInteger entriesDeferringExpiration = new AtomicInteger();
+
+    private volatile Thread waiter;
+
+    // set by a notification not adding any entry, so that it isn't missed by a consumer that didn't park yet
+    private final AtomicBoolean notified = new AtomicBoolean();
+
+    private volatile boolean disposed = false;
+
+    private final BooleanSupplier isDisposed = () -> disposed;
+
+    private volatile boolean firingUntilHalt = false;
+
+    public LockFreePropagationList(InternalWorkingMemory workingMemory) {
+        this.workingMemory = workingMemory;
+    }
+
+    @Override
+    public void addEntry(final PropagationEntry entry) {
+        if (entry.requiresImmediateFlushing()) {
+            if (entry.isCalledFromRHS()) {
+                entry.execute(workingMemory);
+            } else {
+                workingMemory.getAgenda().executeTask( new ExecutableEntry() {
+                    @Override
+                    public void execute() {
+                        if (entry instanceof PhreakTimerNode.TimerAction) {
+                            ( (PhreakTimerNode.TimerAction) entry ).execute( workingMemory, true );
+                        } else {
+                            entry.execute( workingMemory );
+                        }
+                    }
+
+                    @Override
+                    public void enqueue() {
+                        internalAddEntry( entry );
+                    }
+                } );
+            }
+        } else {
+            internalAddEntry( entry );
+        }
+    }
+
+    void internalAddEntry( PropagationEntry entry ) {
+        if (entry.defersExpiration()) {
+            // incremented before publishing the entry, so it is never lower than the number of deferring entries in the stack
+            entriesDeferringExpiration.incrementAndGet();
+        }
+
+        PropagationEntry currentTop;
+        do {
+            currentTop = top.get();
+            entry.setNext( currentTop );
+        } while ( !top.compareAndSet( currentTop, entry ) );
+
+        if (currentTop == null && firingUntilHalt) {
+            // the consumer finds the entry in the stack, so it doesn't need to be notified, but only unparked
+            unparkWaiter();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        unparkWaiter();
+    }
+
+    @Override
+    public void flush() {
+        flush( workingMemory, takeAll() );
+    }
+
+    @Override
+    public void flush(PropagationEntry currentHead) {
+        flush( workingMemory, currentHead );
+    }
+
+    private void flush( InternalWorkingMemory workingMemory, PropagationEntry currentHead ) {
+        for (PropagationEntry entry = currentHead; !disposed && entry != null; entry = entry.getNext()) {
+            entry.execute(workingMemory);
+        }
+    }
+
+    @Override
+    public boolean hasEntriesDeferringExpiration() {
+        return entriesDeferringExpiration.get() > 0;
+    }
+
+    @Override
+    public PropagationEntry takeAll() {
+        PropagationEntry entry = top.getAndSet( null );
+        if (entry == null) {
+            return null;
+        }
+
+        // the detached stack is now owned only by the consumer, so it can be safely reversed in place
+        int deferring = 0;
+        boolean hasExpirations = false;
+        PropagationEntry head = null;
+        while (entry != null) {
+            if (entry.defersExpiration()) {
+                deferring++;
+            }
+            hasExpirations |= entry.isExpiration();
+            PropagationEntry next = entry.getNext();
+            entry.setNext( head );
+            head = entry;
+            entry = next;
+        }
+
+        if (deferring > 0) {
+            entriesDeferringExpiration.addAndGet( -deferring );
+        }
+        return hasExpirations ? coalesceExpirations( head ) : head;
+    }
+
+    private PropagationEntry coalesceExpirations( PropagationEntry head ) {
+        PropagationEntry newHead = null;
+        PropagationEntry last = null;
+        ExpirationBatch batch = null;
+        PropagationEntry entry = head;
+        while (entry != null) {
+            PropagationEntry next = entry.getNext();
+            if (entry.isExpiration()) {
+                entry.setNext( null );
+                if (batch != null) {
+                    batch.add( entry );
+                    entry = next;
+                    continue;
+                }
+                batch = new ExpirationBatch( entry, isDisposed );
+                entry = batch;
+            } else {
+                batch = null;
+            }
+            if (last == null) {
+                newHead = entry;
+            } else {
+                last.setNext( entry );
+            }
+            last = entry;
+            entry = next;
+        }
+        last.setNext( null );
+        return newHead;
+    }
+
+    @Override
+    public void reset() {
+        top.set( null );
+        entriesDeferringExpiration.set( 0 );
+        notified.set( false );
+        disposed = false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    /**
+     * Overrides the default implementation, synchronized on this list, since the producers never take its monitor
+     * and then the consumer doesn't need it either to wait on rest
+     */
+    @Override
+    public PropagationEntry takeAllOrWaitOnRest( BooleanSupplier canWait ) {
+        PropagationEntry head = takeAll();
+        if (head == null && canWait.getAsBoolean()) {
+            waitOnRest( canWait );
+            head = takeAll();
+        }
+        return head;
+    }
+
+    @Override
+    public void waitOnRest() {
+        waitOnRest( () -> true );
+    }
+
+    private void waitOnRest( BooleanSupplier canWait ) {
+        // the waiter is published before checking again the stack and the condition, so that any
+        // entry or notification coming after those checks finds it and unparks it
+        waiter = Thread.currentThread();
+        boolean suspended = false;
+        try {
+            for (int i = 0; i < SPINS_BEFORE_PARKING; i++) {
+                if (isWakingUp( canWait )) {
+                    return;
+                }
+            }
+
+            // the working memory is suspended only when the consumer parks and then resumed only once when it wakes up
+            suspended = true;
+            workingMemory.onSuspend();
+            while (!isWakingUp( canWait )) {
+                LockSupport.park( this );
+            }
+        } finally {
+            waiter = null;
+            if (suspended) {
+                workingMemory.onResume();
+            }
+        }
+    }
+
+    private boolean isWakingUp( BooleanSupplier canWait ) {
+        return notified.getAndSet( false ) || !isEmpty() || disposed || !canWait.getAsBoolean();
+    }
+
+    @Override
+    public void notifyWaitOnRest() {
+        // the working memory is resumed by the consumer when it wakes up
+        notified.set( true );
+        unparkWaiter();
+    }
+
+    private void unparkWaiter() {
+        Thread currentWaiter = waiter;
+        if (currentWaiter != null) {
+            LockSupport.unpark( currentWaiter );
+        }
+    }
+
+    @Override
+    public Iterator<PropagationEntry> iterator() {
+        // the stack holds the entries in reverse order, so they are copied in a new list to iterate them in insertion order
+        PropagationEntryCopy head = null;
+        for (PropagationEntry entry = top.get(); entry != null; entry = entry.getNext()) {
+            head = new PropagationEntryCopy( entry, head );
+        }
+        return new PropagationEntryCopyIterator( head );
+    }
+
+    @Override
+    public void onEngineInactive() { }
+
+    @Override
+    public void setFiringUntilHalt( boolean firingUntilHalt ) {
+        this.firingUntilHalt = firingUntilHalt;
+    }
+
+    private static class PropagationEntryCopy {
+        private final PropagationEntry entry;
+        private final PropagationEntryCopy next;
+
+        private PropagationEntryCopy( PropagationEntry entry, PropagationEntryCopy next ) {
+            this.entry = entry;
+            this.next = next;
+        }
+    }
+
+    private static class PropagationEntryCopyIterator implements Iterator<PropagationEntry> {
+
+        private PropagationEntryCopy next;
+
+        private PropagationEntryCopyIterator( PropagationEntryCopy head ) {
+            this.next = head;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public PropagationEntry next() {
+            PropagationEntry current = next.entry;
+            next = next.next;
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -78,6 +78,9 @@ public class PhreakAccumulateNode {
             doLeftUpdates(accNode, am, wm, srcLeftTuples, tempLeftTuples);
         }
 
+        // the group by node may defer the accumulation of the inserted matches, to accumulate each group at once
+        startInsertsAccumulation(accNode, am, wm);
+
         if (!accNode.isRightInputIsRiaNode()) {
             // Non subnetworks ore process right then left. This because it's typically faster to ensure all RightTuples
             // are in place then you can iterate with the left evaluation cached.
@@ -100,6 +103,8 @@ public class PhreakAccumulateNode {
             }
         }
 
+        completeInsertsAccumulation(accNode, am, wm);
+
         Accumulate accumulate = accNode.getAccumulate();
         // we do not need collect retracts. RightTuple retracts end up as updates for lefttuples.
         // LeftTuple retracts are already on the trgLeftTuples
@@ -733,9 +738,7 @@ public class PhreakAccumulateNode {
 
         accctx.setPropagationContext(rightTuple.getPropagationContext());
 
-        Object value = accumulate.accumulate(am.workingMemoryContext,
-                                             accctx, tuple,
-                                             handle, wm);
+        Object value = accumulateMatch(accumulate, am, accctx, tuple, handle, wm, useLeftMemory);
 
         // in sequential mode, we don't need to keep record of matched tuples
         if (useLeftMemory) {
@@ -744,13 +747,30 @@ public class PhreakAccumulateNode {
                                                       currentLeftChild, currentRightChild,
                                                       accNode,true);
 
-            postAccumulate(accNode, accctx, match);
+            postAccumulate(accNode, am, accctx, match);
 
             match.setContextObject(value);
         }
     }
 
-    void postAccumulate(AccumulateNode accNode, Object accctx, LeftTuple match) {
+    /**
+     * Accumulates a new match, returning the value to be kept in the context of its match tuple.
+     * When the match is recorded in the left memory the group by node may defer its accumulation.
+     */
+    Object accumulateMatch(Accumulate accumulate, AccumulateMemory am, BaseAccumulation accctx, Tuple tuple,
+                           InternalFactHandle handle, InternalWorkingMemory wm, boolean deferrable) {
+        return accumulate.accumulate(am.workingMemoryContext, accctx, tuple, handle, wm);
+    }
+
+    void postAccumulate(AccumulateNode accNode, AccumulateMemory am, Object accctx, LeftTuple match) {
+        // this is only implemented by GroupBy
+    }
+
+    void startInsertsAccumulation(AccumulateNode accNode, AccumulateMemory am, InternalWorkingMemory wm) {
+        // this is only implemented by GroupBy
+    }
+
+    void completeInsertsAccumulation(AccumulateNode accNode, AccumulateMemory am, InternalWorkingMemory wm) {
         // this is only implemented by GroupBy
     }
 
@@ -829,7 +849,7 @@ public class PhreakAccumulateNode {
                 }
 
                 Object value = accumulate.accumulate(am.workingMemoryContext, accctx, tuple, childHandle, wm);
-                postAccumulate(accNode, accctx, childMatch);
+                postAccumulate(accNode, am, accctx, childMatch);
                 childMatch.setContextObject(value);
             }
         }
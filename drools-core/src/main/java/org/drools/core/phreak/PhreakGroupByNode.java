@@ -14,6 +14,15 @@
 
 package org.drools.core.phreak;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.common.TupleSets;
@@ -26,10 +35,30 @@ import org.drools.core.reteoo.LeftTupleSink;
 import org.drools.core.reteoo.RightTuple;
 import org.drools.core.rule.Accumulate;
 import org.drools.core.spi.PropagationContext;
+import org.drools.core.spi.Tuple;
 import org.drools.core.util.index.TupleList;
+import org.kie.api.concurrent.KieExecutors;
+import org.kie.internal.concurrent.ExecutorProviderFactory;
 
 public class PhreakGroupByNode extends PhreakAccumulateNode {
 
+    /**
+     * When enabled, the matches inserted by the same evaluation of the node are first only assigned to their groups,
+     * and then accumulated all together, with the groups split among the evaluating thread and the ones of the engine
+     * executor, the same used by the parallel evaluation of the rules.
+     * The matches of a group are still accumulated by a single thread in their insertion order, and the results of the
+     * groups are propagated serially as usual, so the outcome is the same of the serial evaluation. Each thread uses its
+     * own working memory context of the accumulate, but the accumulate functions must allow the concurrent
+     * accumulation of different groups. The accumulates not supporting it, see
+     * {@link Accumulate#supportsParallelGroupAccumulation()}, are always evaluated serially.
+     */
+    public static final String PARALLEL_EVALUATION_PROPERTY_NAME = "drools.parallelGroupBy";
+
+    // below this number of groups to be accumulated forking the evaluation is not worth it
+    static final int MIN_GROUPS_FOR_PARALLEL_EVALUATION = 64;
+
+    private static final ExecutorService EXECUTOR = ExecutorProviderFactory.getExecutorProvider().getExecutor();
+
     @Override
     AccumulateNode.BaseAccumulation initAccumulationContext(AccumulateMemory am, InternalWorkingMemory wm, Accumulate accumulate, LeftTuple leftTuple) {
         GroupByContext accContext = new GroupByContext();
@@ -140,8 +169,113 @@ public class PhreakGroupByNode extends PhreakAccumulateNode {
         }
     }
 
-    void postAccumulate(AccumulateNode accNode, Object accctx, LeftTuple match) {
-        ((GroupByContext)accctx).addMatchOnLastTupleList(match);
+    @Override
+    Object accumulateMatch(Accumulate accumulate, AccumulateMemory am, AccumulateNode.BaseAccumulation accctx, Tuple tuple,
+                           InternalFactHandle handle, InternalWorkingMemory wm, boolean deferrable) {
+        if (!deferrable || am.getDeferredMatches() == null) {
+            return super.accumulateMatch(accumulate, am, accctx, tuple, handle, wm, deferrable);
+        }
+        // the group bookkeeping is shared by the whole node, so it stays serial, while the accumulation is deferred
+        GroupByContext groupByContext = (GroupByContext) accctx;
+        groupByContext.moveToPropagateTupleList(accumulate.getGroup(am.workingMemoryContext, groupByContext, tuple, handle, wm));
+        return null;
+    }
+
+    @Override
+    void postAccumulate(AccumulateNode accNode, AccumulateMemory am, Object accctx, LeftTuple match) {
+        GroupByContext groupByContext = (GroupByContext) accctx;
+        groupByContext.addMatchOnLastTupleList(match);
+
+        Map<TupleList<AccumulateContextEntry>, List<LeftTuple>> deferredMatches = am.getDeferredMatches();
+        if (deferredMatches != null) {
+            deferredMatches.computeIfAbsent(groupByContext.getLastTupleList(), g -> new ArrayList<>()).add(match);
+        }
+    }
+
+    @Override
+    void startInsertsAccumulation(AccumulateNode accNode, AccumulateMemory am, InternalWorkingMemory wm) {
+        if (wm.getSessionConfiguration().isParallelGroupBy() && accNode.getAccumulate().supportsParallelGroupAccumulation()) {
+            am.setDeferredMatches(new IdentityHashMap<>());
+        }
+    }
+
+    @Override
+    void completeInsertsAccumulation(AccumulateNode accNode, AccumulateMemory am, InternalWorkingMemory wm) {
+        Map<TupleList<AccumulateContextEntry>, List<LeftTuple>> deferredMatches = am.getDeferredMatches();
+        if (deferredMatches == null) {
+            return;
+        }
+        am.setDeferredMatches(null);
+
+        List<Map.Entry<TupleList<AccumulateContextEntry>, List<LeftTuple>>> groups = new ArrayList<>(deferredMatches.entrySet());
+        Accumulate accumulate = accNode.getAccumulate();
+        if (groups.size() < MIN_GROUPS_FOR_PARALLEL_EVALUATION) {
+            accumulateGroups(accNode, accumulate, am.workingMemoryContext, groups, 0, groups.size(), wm);
+            return;
+        }
+
+        // a few chunks per thread, so that a thread that is done with cheap groups can help with the others
+        int chunks = Math.min(KieExecutors.Pool.SIZE * 4, groups.size());
+        AtomicInteger nextChunk = new AtomicInteger();
+        CountDownLatch doneChunks = new CountDownLatch(chunks);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Runnable worker = () -> accumulateClaimedChunks(accNode, accumulate, groups, chunks, nextChunk, doneChunks, failure, wm);
+
+        // the evaluating thread claims the chunks too, so it never waits for a chunk that no worker has started,
+        // also when the executor is busy, as when this node is evaluated by one of its threads
+        for (int i = 1; i < KieExecutors.Pool.SIZE && i < chunks; i++) {
+            EXECUTOR.execute(worker);
+        }
+        worker.run();
+
+        try {
+            doneChunks.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private static void accumulateClaimedChunks(AccumulateNode accNode, Accumulate accumulate,
+                                                List<Map.Entry<TupleList<AccumulateContextEntry>, List<LeftTuple>>> groups,
+                                                int chunks, AtomicInteger nextChunk, CountDownLatch doneChunks,
+                                                AtomicReference<RuntimeException> failure, InternalWorkingMemory wm) {
+        Object workingMemoryContext = null;
+        for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+            try {
+                if (workingMemoryContext == null) {
+                    workingMemoryContext = accumulate.createWorkingMemoryContext();
+                }
+                accumulateGroups(accNode, accumulate, workingMemoryContext, groups,
+                                 groups.size() * chunk / chunks, groups.size() * (chunk + 1) / chunks, wm);
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                doneChunks.countDown();
+            }
+        }
+    }
+
+    private static void accumulateGroups(AccumulateNode accNode, Accumulate accumulate, Object workingMemoryContext,
+                                         List<Map.Entry<TupleList<AccumulateContextEntry>, List<LeftTuple>>> groups,
+                                         int from, int to, InternalWorkingMemory wm) {
+        for (int i = from; i < to; i++) {
+            TupleList<AccumulateContextEntry> group = groups.get(i).getKey();
+            for (LeftTuple match : groups.get(i).getValue()) {
+                RightTuple         rightTuple = match.getRightParent();
+                InternalFactHandle handle     = rightTuple.getFactHandle();
+                LeftTuple          tuple      = match.getLeftParent();
+                if (accNode.isRightInputIsRiaNode()) {
+                    // if there is a subnetwork, handle must be unwrapped
+                    tuple = (LeftTuple) rightTuple;
+                    handle = rightTuple.getFactHandleForEvaluation();
+                }
+                match.setContextObject(accumulate.accumulateInGroup(workingMemoryContext, group, tuple, handle, wm));
+            }
+        }
     }
 
 }
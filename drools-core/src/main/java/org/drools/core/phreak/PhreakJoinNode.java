@@ -44,7 +44,7 @@ public class PhreakJoinNode {
         }
 
         if (srcLeftTuples.getDeleteFirst() != null) {
-            doLeftDeletes(bm, srcLeftTuples, trgLeftTuples, stagedLeftTuples);
+            doLeftDeletes(bm, wm, srcLeftTuples, trgLeftTuples, stagedLeftTuples);
         }
 
         if (srcRightTuples.getUpdateFirst() != null) {
@@ -85,6 +85,7 @@ public class PhreakJoinNode {
         TupleMemory rtm = bm.getRightTupleMemory();
         ContextEntry[] contextEntry = bm.getContext();
         BetaConstraints constraints = joinNode.getRawConstraints();
+        LeftTuplePool tuplePool = wm.getLeftTuplePool();
 
         for (LeftTuple leftTuple = srcLeftTuples.getInsertFirst(); leftTuple != null; ) {
             LeftTuple next = leftTuple.getStagedNext();
@@ -108,6 +109,7 @@ public class PhreakJoinNode {
                 if (constraints.isAllowedCachedLeft( contextEntry,
                                                      rightTuple.getFactHandle() )) {
                     insertChildLeftTuple(trgLeftTuples,
+                                         tuplePool,
                                          leftTuple,
                                          rightTuple,
                                          null,
@@ -133,6 +135,7 @@ public class PhreakJoinNode {
         TupleMemory rtm = bm.getRightTupleMemory();
         ContextEntry[] contextEntry = bm.getContext();
         BetaConstraints constraints = joinNode.getRawConstraints();
+        LeftTuplePool tuplePool = wm.getLeftTuplePool();
 
         if (srcRightTuples.getInsertSize() > 32 && rtm instanceof AbstractHashTable ) {
             ((AbstractHashTable) rtm).ensureCapacity(srcRightTuples.getInsertSize());
@@ -158,6 +161,7 @@ public class PhreakJoinNode {
                     if ( constraints.isAllowedCachedRight( contextEntry,
                                                            leftTuple ) ) {
                         insertChildLeftTuple( trgLeftTuples,
+                                              tuplePool,
                                               leftTuple,
                                               rightTuple,
                                               null,
@@ -183,6 +187,7 @@ public class PhreakJoinNode {
         TupleMemory rtm = bm.getRightTupleMemory();
         ContextEntry[] contextEntry = bm.getContext();
         BetaConstraints constraints = joinNode.getRawConstraints();
+        LeftTuplePool tuplePool = wm.getLeftTuplePool();
 
         for (LeftTuple leftTuple = srcLeftTuples.getUpdateFirst(); leftTuple != null; ) {
             LeftTuple next = leftTuple.getStagedNext();
@@ -212,7 +217,7 @@ public class PhreakJoinNode {
 
             // we can't do anything if RightTupleMemory is empty
             if (rightTuple != null) {
-                doLeftUpdatesProcessChildren(leftTuple.getFirstChild(), leftTuple, rightTuple, stagedLeftTuples, contextEntry, constraints, sink, it, trgLeftTuples);
+                doLeftUpdatesProcessChildren(leftTuple.getFirstChild(), leftTuple, rightTuple, stagedLeftTuples, contextEntry, constraints, sink, it, trgLeftTuples, tuplePool);
             }
             leftTuple.clearStaged();
             leftTuple = next;
@@ -228,7 +233,8 @@ public class PhreakJoinNode {
                                                   BetaConstraints constraints,
                                                   LeftTupleSink sink,
                                                   FastIterator it,
-                                                  TupleSets<LeftTuple> trgLeftTuples) {
+                                                  TupleSets<LeftTuple> trgLeftTuples,
+                                                  LeftTuplePool tuplePool) {
         if (childLeftTuple == null) {
             // either we are indexed and changed buckets or
             // we had no children before, but there is a bucket to potentially match, so try as normal assert
@@ -236,6 +242,7 @@ public class PhreakJoinNode {
                 if (constraints.isAllowedCachedLeft(contextEntry,
                                                     rightTuple.getFactHandle())) {
                     insertChildLeftTuple(trgLeftTuples,
+                                         tuplePool,
                                          leftTuple,
                                          rightTuple,
                                          null,
@@ -252,6 +259,7 @@ public class PhreakJoinNode {
                     // insert, childLeftTuple is not updated
                     if (childLeftTuple == null || childLeftTuple.getRightParent() != rightTuple) {
                         insertChildLeftTuple(trgLeftTuples,
+                                             tuplePool,
                                              leftTuple,
                                              rightTuple,
                                              childLeftTuple,
@@ -289,6 +297,7 @@ public class PhreakJoinNode {
         TupleMemory ltm = bm.getLeftTupleMemory();
         ContextEntry[] contextEntry = bm.getContext();
         BetaConstraints constraints = joinNode.getRawConstraints();
+        LeftTuplePool tuplePool = wm.getLeftTuplePool();
 
         for (RightTuple rightTuple = srcRightTuples.getUpdateFirst(); rightTuple != null; ) {
             RightTuple next = rightTuple.getStagedNext();
@@ -317,7 +326,7 @@ public class PhreakJoinNode {
 
                 // we can't do anything if LeftTupleMemory is empty
                 if ( leftTuple != null ) {
-                    doRightUpdatesProcessChildren( childLeftTuple, leftTuple, rightTuple, stagedLeftTuples, contextEntry, constraints, sink, it, trgLeftTuples );
+                    doRightUpdatesProcessChildren( childLeftTuple, leftTuple, rightTuple, stagedLeftTuples, contextEntry, constraints, sink, it, trgLeftTuples, tuplePool );
                 }
             }
             rightTuple.clearStaged();
@@ -334,7 +343,8 @@ public class PhreakJoinNode {
                                                    BetaConstraints constraints,
                                                    LeftTupleSink sink,
                                                    FastIterator it,
-                                                   TupleSets<LeftTuple> trgLeftTuples) {
+                                                   TupleSets<LeftTuple> trgLeftTuples,
+                                                   LeftTuplePool tuplePool) {
         if (childLeftTuple == null) {
             // either we are indexed and changed buckets or
             // we had no children before, but there is a bucket to potentially match, so try as normal assert
@@ -347,6 +357,7 @@ public class PhreakJoinNode {
                 if (constraints.isAllowedCachedRight(contextEntry,
                                                      leftTuple)) {
                     insertChildLeftTuple(trgLeftTuples,
+                                         tuplePool,
                                          leftTuple,
                                          rightTuple,
                                          null,
@@ -367,6 +378,7 @@ public class PhreakJoinNode {
                     // insert, childLeftTuple is not updated
                     if (childLeftTuple == null || childLeftTuple.getLeftParent() != leftTuple) {
                         insertChildLeftTuple(trgLeftTuples,
+                                             tuplePool,
                                              leftTuple,
                                              rightTuple,
                                              null,
@@ -396,10 +408,12 @@ public class PhreakJoinNode {
     }
 
     public void doLeftDeletes(BetaMemory bm,
+                              InternalWorkingMemory wm,
                               TupleSets<LeftTuple> srcLeftTuples,
                               TupleSets<LeftTuple> trgLeftTuples,
                               TupleSets<LeftTuple> stagedLeftTuples) {
         TupleMemory ltm = bm.getLeftTupleMemory();
+        LeftTuplePool tuplePool = wm.getLeftTuplePool();
 
         for (LeftTuple leftTuple = srcLeftTuples.getDeleteFirst(); leftTuple != null; ) {
             LeftTuple next = leftTuple.getStagedNext();
@@ -418,6 +432,9 @@ public class PhreakJoinNode {
                 }
             }
             leftTuple.clearStaged();
+            if (tuplePool != null) {
+                tuplePool.release(leftTuple);
+            }
             leftTuple = next;
         }
     }
@@ -472,6 +489,7 @@ public class PhreakJoinNode {
     }
 
     private static void insertChildLeftTuple( TupleSets<LeftTuple> trgLeftTuples,
+                                              LeftTuplePool tuplePool,
                                               LeftTuple leftTuple,
                                               RightTuple rightTuple,
                                               LeftTuple currentLeftChild,
@@ -479,7 +497,9 @@ public class PhreakJoinNode {
                                               LeftTupleSink sink,
                                               boolean leftTupleMemoryEnabled ) {
         if (!leftTuple.isExpired() && !rightTuple.isExpired()) {
-            trgLeftTuples.addInsert(sink.createLeftTuple(leftTuple,
+            trgLeftTuples.addInsert(tuplePool != null ?
+                                    tuplePool.createLeftTuple(sink, leftTuple, rightTuple, currentLeftChild, currentRightChild, leftTupleMemoryEnabled) :
+                                    sink.createLeftTuple(leftTuple,
                                                          rightTuple,
                                                          currentLeftChild,
                                                          currentRightChild,
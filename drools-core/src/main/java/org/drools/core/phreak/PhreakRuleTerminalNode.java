@@ -215,12 +215,16 @@ public class PhreakRuleTerminalNode {
     public void doLeftDeletes(InternalAgenda agenda,
                               TupleSets<LeftTuple> srcLeftTuples,
                               RuleExecutor executor) {
+        LeftTuplePool tuplePool = agenda.getWorkingMemory().getLeftTuplePool();
 
         for (LeftTuple leftTuple = srcLeftTuples.getDeleteFirst(); leftTuple != null; ) {
             LeftTuple next = leftTuple.getStagedNext();
             doLeftDelete(agenda, executor, leftTuple);
 
             leftTuple.clearStaged();
+            if (tuplePool != null) {
+                tuplePool.release(leftTuple);
+            }
             leftTuple = next;
         }
     }
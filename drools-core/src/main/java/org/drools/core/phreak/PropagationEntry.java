@@ -54,6 +54,12 @@ public interface PropagationEntry {
 
     boolean defersExpiration();
 
+    /**
+     * Returns true if this entry expires one or more events, so that it can be coalesced in an {@link ExpirationBatch}
+     * together with the other expirations queued right before or after it
+     */
+    boolean isExpiration();
+
     abstract class AbstractPropagationEntry implements PropagationEntry {
         private PropagationEntry next;
 
@@ -90,6 +96,11 @@ public interface PropagationEntry {
             return false;
         }
 
+        @Override
+        public boolean isExpiration() {
+            return false;
+        }
+
         @Override
         public PropagationEntry getSplitForPartition(int partitionNr) {
             throw new UnsupportedOperationException();
@@ -210,6 +221,56 @@ public interface PropagationEntry {
         }
     }
 
+    class InsertAll extends AbstractPropagationEntry {
+
+        private final InternalFactHandle[] handles;
+        private final PropagationContext[] contexts;
+        private final ObjectTypeConf objectTypeConf;
+
+        public InsertAll( InternalFactHandle[] handles, PropagationContext[] contexts, InternalWorkingMemory workingMemory, ObjectTypeConf objectTypeConf) {
+            this.handles = handles;
+            this.contexts = contexts;
+            this.objectTypeConf = objectTypeConf;
+
+            if ( objectTypeConf.isEvent() ) {
+                scheduleExpiration( workingMemory, handles, contexts, objectTypeConf );
+            }
+        }
+
+        public static void execute( InternalFactHandle[] handles, PropagationContext[] contexts, InternalWorkingMemory wm, ObjectTypeConf objectTypeConf) {
+            if ( objectTypeConf.isEvent() ) {
+                scheduleExpiration( wm, handles, contexts, objectTypeConf );
+            }
+            propagate( handles, contexts, wm, objectTypeConf );
+        }
+
+        private static void scheduleExpiration( InternalWorkingMemory wm, InternalFactHandle[] handles, PropagationContext[] contexts, ObjectTypeConf objectTypeConf ) {
+            long insertionTime = wm.getTimerService().getCurrentTime();
+            for (int i = 0; i < handles.length; i++) {
+                Insert.scheduleExpiration( wm, handles[i], contexts[i], objectTypeConf, insertionTime );
+            }
+        }
+
+        private static void propagate( InternalFactHandle[] handles, PropagationContext[] contexts, InternalWorkingMemory wm, ObjectTypeConf objectTypeConf ) {
+            // all the facts are pushed through an ObjectTypeNode before moving to the next one, each of them
+            // is still propagated and staged in the beta memories one at a time
+            for ( ObjectTypeNode otn : objectTypeConf.getObjectTypeNodes() ) {
+                for (int i = 0; i < handles.length; i++) {
+                    otn.propagateAssert( handles[i], contexts[i], wm );
+                }
+            }
+        }
+
+        public void execute( InternalWorkingMemory wm ) {
+            propagate( handles, contexts, wm, objectTypeConf );
+        }
+
+        @Override
+        public String toString() {
+            return "Insert of " + handles.length + " facts of type " + objectTypeConf.getTypeName();
+        }
+    }
+
     class Update extends AbstractPropagationEntry {
         private final InternalFactHandle handle;
         private final PropagationContext context;
@@ -16,6 +16,7 @@
 package org.drools.core.phreak;
 
 import java.util.Iterator;
+import java.util.function.BooleanSupplier;
 
 public interface PropagationList {
     void addEntry(PropagationEntry propagationEntry);
@@ -35,6 +36,22 @@ public interface PropagationList {
 
     void waitOnRest();
 
+    /**
+     * Takes all the entries or, if there are none and the given condition holds, waits until a new entry is added or
+     * the waiting is notified and then takes the entries added in the meanwhile. The whole block is atomic up to the
+     * point of wait, so that a notification coming after the check of the condition can't be missed.
+     */
+    default PropagationEntry takeAllOrWaitOnRest( BooleanSupplier canWait ) {
+        synchronized (this) {
+            PropagationEntry head = takeAll();
+            if (head == null && canWait.getAsBoolean()) {
+                waitOnRest();
+                head = takeAll();
+            }
+            return head;
+        }
+    }
+
     void notifyWaitOnRest();
 
     void onEngineInactive();
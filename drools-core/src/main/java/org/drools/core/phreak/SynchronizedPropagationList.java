@@ -16,6 +16,7 @@
 package org.drools.core.phreak;
 
 import java.util.Iterator;
+import java.util.function.BooleanSupplier;
 
 import org.drools.core.common.InternalWorkingMemory;
 import org.slf4j.Logger;
@@ -32,6 +33,8 @@ public class SynchronizedPropagationList implements PropagationList {
 
     private volatile boolean disposed = false;
 
+    private final BooleanSupplier isDisposed = () -> disposed;
+
     private volatile boolean hasEntriesDeferringExpiration = false;
 
     private volatile boolean firingUntilHalt = false;
@@ -68,6 +71,14 @@ public class SynchronizedPropagationList implements PropagationList {
     }
 
     synchronized void internalAddEntry( PropagationEntry entry ) {
+        if ( entry.isExpiration() ) {
+            if ( tail instanceof ExpirationBatch ) {
+                // the batch hasn't been taken yet and nothing else has been queued after it, so the order is preserved
+                ( (ExpirationBatch) tail ).add( entry );
+                return;
+            }
+            entry = new ExpirationBatch( entry, isDisposed );
+        }
         if ( head == null ) {
             head = entry;
             if (firingUntilHalt) {
@@ -151,19 +162,32 @@ public class SynchronizedPropagationList implements PropagationList {
 
         private PropagationEntry next;
 
+        // the expirations of the batch being iterated, returned one by one as if they were queued singularly
+        private Iterator<PropagationEntry> batchIterator;
+
         public PropagationEntryIterator(PropagationEntry head) {
             this.next = head;
         }
 
         @Override
         public boolean hasNext() {
-            return next != null;
+            return next != null || ( batchIterator != null && batchIterator.hasNext() );
         }
 
         @Override
         public PropagationEntry next() {
+            if ( batchIterator != null ) {
+                if ( batchIterator.hasNext() ) {
+                    return batchIterator.next();
+                }
+                batchIterator = null;
+            }
             PropagationEntry current = next;
             next = current.getNext();
+            if ( current instanceof ExpirationBatch ) {
+                batchIterator = ( (ExpirationBatch) current ).getExpirations().iterator();
+                return batchIterator.next();
+            }
             return current;
         }
 
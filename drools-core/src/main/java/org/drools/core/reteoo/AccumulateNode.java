@@ -191,7 +191,7 @@ public class AccumulateNode extends BetaNode {
 
         AccumulateNode other = (AccumulateNode) object;
         return this.leftInput.getId() == other.leftInput.getId() && this.rightInput.getId() == other.rightInput.getId() &&
-               this.constraints.equals( other.constraints ) &&
+               this.constraints.unwrap().equals( other.constraints.unwrap() ) &&
                this.accumulate.equals( other.accumulate ) &&
                resultBinder.equals( other.resultBinder ) &&
                Arrays.equals( this.resultConstraints, other.resultConstraints );
@@ -220,6 +220,9 @@ public class AccumulateNode extends BetaNode {
         private final BetaMemory  betaMemory;
         public ContextEntry[]     resultsContext;
 
+        // the inserted matches of each group not accumulated yet, while the group by node defers their accumulation
+        private Map<TupleList<AccumulateContextEntry>, List<LeftTuple>> deferredMatches;
+
         protected AccumulateMemory( BetaMemory betaMemory ) {
             this.betaMemory = betaMemory;
         }
@@ -228,6 +231,14 @@ public class AccumulateNode extends BetaNode {
             return this.betaMemory;
         }
 
+        public Map<TupleList<AccumulateContextEntry>, List<LeftTuple>> getDeferredMatches() {
+            return deferredMatches;
+        }
+
+        public void setDeferredMatches( Map<TupleList<AccumulateContextEntry>, List<LeftTuple>> deferredMatches ) {
+            this.deferredMatches = deferredMatches;
+        }
+
         public short getNodeType() {
             return NodeTypeEnums.AccumulateNode;
         }
@@ -51,6 +51,10 @@ public class BaseLeftTuple extends BaseTuple implements LeftTuple {
 
     private short              stagedTypeForQueries;
 
+    // true once a child has been linked to this tuple, it remains true even when all the children are unlinked
+    // because their deletions may be still staged in a downstream node with a reference to this parent
+    private boolean            parentOfChildren;
+
     public BaseLeftTuple() {
         // constructor needed for serialisation
     }
@@ -149,6 +153,19 @@ public class BaseLeftTuple extends BaseTuple implements LeftTuple {
                          LeftTuple currentRightChild,
                          Sink sink,
                          boolean leftTupleMemoryEnabled) {
+        initChild( leftTuple, rightTuple, currentLeftChild, currentRightChild, sink, leftTupleMemoryEnabled );
+    }
+
+    /**
+     * Initializes this tuple as the child of the given left and right tuples, exactly as the corresponding
+     * constructor does. It is used to give a new life to an instance recycled by a LeftTuplePool.
+     */
+    public void initChild(LeftTuple leftTuple,
+                          RightTuple rightTuple,
+                          LeftTuple currentLeftChild,
+                          LeftTuple currentRightChild,
+                          Sink sink,
+                          boolean leftTupleMemoryEnabled) {
         setFactHandle( rightTuple.getFactHandle() );
         this.index = leftTuple.getIndex() + 1;
         this.parent = leftTuple.getNextParentWithHandle();
@@ -535,6 +552,13 @@ public class BaseLeftTuple extends BaseTuple implements LeftTuple {
     @Override
     public void setFirstChild(LeftTuple firstChild) {
         this.firstChild = firstChild;
+        if ( firstChild != null ) {
+            this.parentOfChildren = true;
+        }
+    }
+
+    public boolean isParentOfChildren() {
+        return parentOfChildren;
     }
 
     @Override
@@ -627,6 +651,23 @@ public class BaseLeftTuple extends BaseTuple implements LeftTuple {
         this.memory = null;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.index = 0;
+        this.parent = null;
+        this.leftParent = null;
+        this.rightParent = null;
+        this.rightParentPrevious = null;
+        this.rightParentNext = null;
+        this.firstChild = null;
+        this.lastChild = null;
+        this.memory = null;
+        this.peer = null;
+        this.stagedTypeForQueries = 0;
+        this.parentOfChildren = false;
+    }
+
     public void initPeer(BaseLeftTuple original, LeftTupleSink sink) {
         this.index = original.index;
         this.parent = original.parent;
@@ -513,6 +513,15 @@ public abstract class BetaNode extends LeftTupleSource
     public BetaConstraints getRawConstraints() {
         return this.constraints;
     }
+
+    /**
+     * Replaces the constraints of this node with an implementation evaluating them in the same way,
+     * like the specialized one generated by the alpha network compiler. It must be called while the network
+     * is built, or under the lock of the kbase with its sessions deactivated, like any other change of the network.
+     */
+    public void replaceConstraints(BetaConstraints constraints) {
+        this.constraints = constraints;
+    }
     
     private void setConstraints(BetaConstraints constraints) {
         this.constraints = constraints.cloneIfInUse();
@@ -631,7 +640,7 @@ public abstract class BetaNode extends LeftTupleSource
 
         BetaNode other = (BetaNode) object;
         return this.getClass() == other.getClass() &&
-               this.constraints.equals( other.constraints ) &&
+               this.constraints.unwrap().equals( other.constraints.unwrap() ) &&
                this.rightInputIsPassive == other.rightInputIsPassive &&
                areNullSafeEquals(this.leftListenedProperties, other.leftListenedProperties) &&
                areNullSafeEquals(this.rightListenedProperties, other.rightListenedProperties) &&
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -29,6 +30,8 @@ import java.util.List;
 import org.drools.core.base.ClassObjectType;
 import org.drools.core.base.DroolsQuery;
 import org.drools.core.base.evaluators.TimeIntervalParser;
+import org.drools.core.common.EqualityKeyExtractor;
+import org.drools.core.factmodel.FieldDefinition;
 import org.drools.core.factmodel.traits.Thing;
 import org.drools.core.factmodel.traits.Traitable;
 import org.drools.core.factmodel.traits.TraitableBean;
@@ -37,10 +40,14 @@ import org.drools.core.rule.EntryPointId;
 import org.drools.core.rule.TypeDeclaration;
 import org.drools.core.spi.Activation;
 import org.drools.core.spi.ObjectType;
+import org.drools.core.util.bitmask.AllSetBitMask;
+import org.drools.core.util.bitmask.BitMask;
 import org.kie.api.definition.type.Expires;
 import org.kie.api.definition.type.Role;
 import org.kie.api.definition.type.Role.Type;
 
+import static org.drools.core.reteoo.PropertySpecificUtil.calculatePositiveMask;
+
 public class ClassObjectTypeConf
     implements
     ObjectTypeConf,
@@ -69,6 +76,8 @@ public class ClassObjectTypeConf
 
     private boolean                    isTrait;
 
+    private transient BitMask          equalityKeyMask;
+
     public ClassObjectTypeConf() {
 
     }
@@ -261,6 +270,46 @@ public class ClassObjectTypeConf
         return entryPoint;
     }
 
+    public boolean isEqualityKeyAffectedBy(BitMask modificationMask, Class<?> modifiedClass) {
+        if (modificationMask == null || modifiedClass != cls) {
+            // the mask could refer to the properties of another class
+            return true;
+        }
+        if (equalityKeyMask == null) {
+            equalityKeyMask = calculateEqualityKeyMask();
+        }
+        return modificationMask.intersects( equalityKeyMask );
+    }
+
+    private BitMask calculateEqualityKeyMask() {
+        if (typeDecl == null || typeDecl.getTypeClass() != cls || !typeDecl.isPropertyReactive()) {
+            return AllSetBitMask.get();
+        }
+        List<String> keyProperties = getEqualityKeyProperties();
+        return keyProperties == null ?
+               AllSetBitMask.get() :
+               calculatePositiveMask( cls, keyProperties, typeDecl.getAccessibleProperties() );
+    }
+
+    private List<String> getEqualityKeyProperties() {
+        EqualityKeyExtractor<Object> keyExtractor = kBase != null ? kBase.getConfiguration().getEqualityKeyExtractor( cls ) : null;
+        if (keyExtractor != null) {
+            String[] keyProperties = keyExtractor.getKeyProperties();
+            return keyProperties != null ? Arrays.asList( keyProperties ) : null;
+        }
+        if (typeDecl.getNature() != TypeDeclaration.Nature.DEFINITION || typeDecl.getTypeClassDef() == null) {
+            return null;
+        }
+        // the equals and hashCode of the declared types are generated from their key fields
+        List<String> keyProperties = new ArrayList<>();
+        for (FieldDefinition field : typeDecl.getTypeClassDef().getFieldsDefinitions()) {
+            if (field.isKey()) {
+                keyProperties.add( field.getName() );
+            }
+        }
+        return keyProperties.isEmpty() ? null : keyProperties;
+    }
+
     public String getClassName() {
     	return this.cls != null ? this.cls.getName() : "";
     }
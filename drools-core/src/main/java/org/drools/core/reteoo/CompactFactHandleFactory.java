@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.reteoo;
+
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.common.CompactFactHandle;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.spi.FactHandleFactory;
+
+/**
+ * A FactHandleFactory creating CompactFactHandles for the plain facts, while events and traits
+ * still get the handles created by the ReteooFactHandleFactory
+ */
+public class CompactFactHandleFactory extends ReteooFactHandleFactory {
+
+    private static final long serialVersionUID = 510l;
+
+    public CompactFactHandleFactory() {
+        super();
+    }
+
+    public CompactFactHandleFactory(long id,
+                                    long counter) {
+        super( id,
+               counter );
+    }
+
+    @Override
+    public InternalFactHandle newFactHandle( final long id,
+                                             final Object object,
+                                             final long recency,
+                                             final ObjectTypeConf conf,
+                                             final InternalWorkingMemory workingMemory,
+                                             final WorkingMemoryEntryPoint wmEntryPoint ) {
+        if ( conf != null && ( conf.isEvent() || conf.isTrait() ) ) {
+            return super.newFactHandle( id, object, recency, conf, workingMemory, wmEntryPoint );
+        }
+        return new CompactFactHandle( id,
+                                      object,
+                                      recency,
+                                      wmEntryPoint != null ? wmEntryPoint : workingMemory );
+    }
+
+    @Override
+    public FactHandleFactory newInstance() {
+        return new CompactFactHandleFactory();
+    }
+
+    @Override
+    public FactHandleFactory newInstance(long id,
+                                         long counter) {
+        return new CompactFactHandleFactory( id,
+                                             counter );
+    }
+}
@@ -24,12 +24,17 @@ import org.drools.core.spi.PropagationContext;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.HashMap;
+import java.util.Map;
 
 public class CompositeLeftTupleSinkAdapter extends AbstractLeftTupleSinkAdapter {
     private LeftTupleSinkNodeList sinks;
 
     private volatile LeftTupleSink[] sinkArray;
 
+    // indexes the sinks while building the network, so that looking for a node to be shared doesn't compare all of them
+    private Map<BaseNode, BaseNode> sinksMap;
+
     public CompositeLeftTupleSinkAdapter() {
         super( RuleBasePartitionId.MAIN_PARTITION );
     }
@@ -42,11 +47,16 @@ public class CompositeLeftTupleSinkAdapter extends AbstractLeftTupleSinkAdapter
     public void addTupleSink(final LeftTupleSink sink) {
         this.sinks.add( (LeftTupleSinkNode) sink );
         sinkArray = null;
+        if (this.sinksMap != null) {
+            // the first of the equal sinks is the one to be shared
+            this.sinksMap.putIfAbsent( (BaseNode) sink, (BaseNode) sink );
+        }
     }
 
     public void removeTupleSink(final LeftTupleSink sink) {
         this.sinks.remove( (LeftTupleSinkNode) sink );
         sinkArray = null;
+        this.sinksMap = null;
     }
     
     public  LeftTupleSinkNodeList getRawSinks() {
@@ -54,12 +64,18 @@ public class CompositeLeftTupleSinkAdapter extends AbstractLeftTupleSinkAdapter
     }
     
     public BaseNode getMatchingNode(BaseNode candidate) {
+        if (this.sinksMap == null) {
+            reIndexNodes();
+        }
+        return this.sinksMap.get( candidate );
+    }
+
+    private void reIndexNodes() {
+        Map<BaseNode, BaseNode> map = new HashMap<>();
         for ( LeftTupleSinkNode sink = this.sinks.getFirst(); sink != null; sink = sink.getNextLeftTupleSinkNode() ) {
-            if ( candidate.equals( sink ) ) {
-                return (BaseNode) sink;
-            }
+            map.putIfAbsent( (BaseNode) sink, (BaseNode) sink );
         }
-        return null; //To change body of implemented methods use File | Settings | File Templates.
+        this.sinksMap = map;
     }
     
     public LeftTupleSink[] getSinks() {
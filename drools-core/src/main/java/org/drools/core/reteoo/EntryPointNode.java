@@ -223,6 +223,22 @@ public class EntryPointNode extends ObjectSource
     }
 
 
+    public void assertObjects(final InternalFactHandle[] handles,
+                              final PropagationContext[] contexts,
+                              final ObjectTypeConf objectTypeConf,
+                              final InternalWorkingMemory workingMemory) {
+        if ( log.isTraceEnabled() ) {
+            log.trace("Insert {} facts of type {}", handles.length, objectTypeConf.getTypeName());
+        }
+
+        if ( partitionsEnabled || !workingMemory.getSessionConfiguration().isThreadSafe() ) {
+            PropagationEntry.InsertAll.execute( handles, contexts, workingMemory, objectTypeConf );
+        } else {
+            workingMemory.addPropagation( new PropagationEntry.InsertAll( handles, contexts, workingMemory, objectTypeConf ) );
+        }
+    }
+
+
     public void modifyObject(final InternalFactHandle handle,
                              final PropagationContext pctx,
                              final ObjectTypeConf objectTypeConf,
@@ -22,6 +22,7 @@ import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.rule.EntryPointId;
 import org.drools.core.rule.TypeDeclaration;
 import org.drools.core.spi.ObjectType;
+import org.drools.core.util.bitmask.BitMask;
 
 import java.io.Externalizable;
 import java.io.IOException;
@@ -132,6 +133,11 @@ public class FactTemplateTypeConf
         this.tmsEnabled = true;
     }
 
+    public boolean isEqualityKeyAffectedBy(BitMask modificationMask, Class<?> modifiedClass) {
+        // fact templates have no key, so any modification can change their equality
+        return true;
+    }
+
     public EntryPointId getEntryPoint() {
         return this.entryPoint;
     }
@@ -25,6 +25,7 @@ import org.drools.core.util.FastIterator;
 import org.drools.core.util.LinkedList;
 import org.drools.core.util.ReflectiveVisitor;
 import org.drools.core.util.index.TupleIndexHashTable;
+import org.drools.core.util.index.TupleIndexLongHashTable;
 import org.drools.core.util.index.TupleList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -195,6 +196,8 @@ public class MemoryVisitor extends ReflectiveVisitor
             checkRightTupleList( (TupleList) memory );
         } else if ( memory instanceof TupleIndexHashTable ) {
             checkRightTupleIndexHashTable( (TupleIndexHashTable) memory );
+        } else if ( memory instanceof TupleIndexLongHashTable ) {
+            checkRightTupleIndexLongHashTable( (TupleIndexLongHashTable) memory );
         } else {
             throw new RuntimeException( memory.getClass() + " should not be here" );
         }
@@ -254,6 +257,19 @@ public class MemoryVisitor extends ReflectiveVisitor
         }
     }
 
+    private void checkRightTupleIndexLongHashTable(final TupleIndexLongHashTable memory) {
+        int factCount = 0;
+        FastIterator it = memory.fullFastIterator();
+        for ( Entry entry = it.next( null ); entry != null; entry = it.next( entry ) ) {
+            factCount++;
+        }
+
+        logger.info( indent() + "LongFieldIndexFacts: " + memory.size() + ":" + factCount );
+        if ( memory.size() != factCount ) {
+            logger.info( indent() + "error" );
+        }
+    }
+
     private void checkLeftTupleMemory(final TupleMemory memory) {
         // @todo need to implement this correctly, as we now have indexed and none indxed tuple memories.
 //        final Entry[] entries = memory.getTable();
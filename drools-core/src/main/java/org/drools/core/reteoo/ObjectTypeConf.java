@@ -18,6 +18,7 @@ package org.drools.core.reteoo;
 
 import org.drools.core.rule.EntryPointId;
 import org.drools.core.rule.TypeDeclaration;
+import org.drools.core.util.bitmask.BitMask;
 
 public interface ObjectTypeConf {
 	String getTypeName();
@@ -49,6 +50,12 @@ public interface ObjectTypeConf {
      * Enable TMS for this object type. 
      * */
     void enableTMS();
+
+    /**
+     * Whether or not the modification of the given properties can change the equality of the objects of this type,
+     * so that they have to be compared again with the other facts.
+     */
+    boolean isEqualityKeyAffectedBy(BitMask modificationMask, Class<?> modifiedClass);
     
     EntryPointId getEntryPoint();
 }
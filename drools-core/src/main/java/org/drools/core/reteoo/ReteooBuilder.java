@@ -107,8 +107,33 @@ public class ReteooBuilder
      * @throws InvalidPatternException
      */
     public synchronized void addRule(final RuleImpl rule) {
-        final List<TerminalNode> terminals = this.ruleBuilder.addRule( rule, this.kBase );
+        registerTerminalNodes( rule, this.ruleBuilder.addRule( rule, this.kBase ) );
+    }
+
+    /**
+     * Add the nodes of a <code>Rule</code> to the network, without laying out the segments and paths they change.
+     * This is possible only when there are no sessions, and {@link #layoutRules(Collection)} has to be called once
+     * all the rules have been added.
+     *
+     * @param rule
+     *            The rule to add.
+     * @return the terminal nodes of the rule
+     * @throws InvalidPatternException
+     */
+    public synchronized List<TerminalNode> addRuleNodes(final RuleImpl rule) {
+        List<TerminalNode> terminals = this.ruleBuilder.addRuleNodes( rule, this.kBase );
+        registerTerminalNodes( rule, terminals );
+        return terminals;
+    }
+
+    /**
+     * Lays out at once the segments and paths changed by the rules added with {@link #addRuleNodes(RuleImpl)}
+     */
+    public synchronized void layoutRules(final Collection<TerminalNode> terminals) {
+        AddRemoveRule.addRules( terminals, this.kBase );
+    }
 
+    private void registerTerminalNodes(final RuleImpl rule, final List<TerminalNode> terminals) {
         TerminalNode[] nodes = terminals.toArray( new TerminalNode[terminals.size()] );
         this.rules.put( rule.getFullyQualifiedName(), nodes );
         if (rule.isQuery()) {
@@ -26,6 +26,13 @@ public interface RuleBuilder {
 
     List<TerminalNode> addRule( RuleImpl rule, InternalKnowledgeBase kBase );
 
+    /**
+     * Adds the nodes of the rule to the network like {@link #addRule(RuleImpl, InternalKnowledgeBase)}, but without
+     * laying out the segments and paths they change, that is done once for all the rules added together with
+     * {@link org.drools.core.phreak.AddRemoveRule#addRules(java.util.Collection, InternalKnowledgeBase)}
+     */
+    List<TerminalNode> addRuleNodes( RuleImpl rule, InternalKnowledgeBase kBase );
+
     void addEntryPoint( String id, InternalKnowledgeBase kBase );
 
     WindowNode addWindowNode( WindowDeclaration window, InternalKnowledgeBase kBase );
@@ -400,6 +400,36 @@ public class RuleTerminalNodeLeftTuple<T extends ModedAssertion<T>> extends Base
         this.callback = callback;
     }
 
+    /**
+     * Checks if this match, once deleted, isn't referenced anymore by the agenda, the truth maintenance system,
+     * an activation group or a peer, so that it can be recycled
+     */
+    public boolean isRecyclable() {
+        return !queued && justified == null && blocked == null && blockers == null &&
+               activationGroupNode == null && activationFactHandle == null && callback == null && getPeer() == null;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.salience = 0;
+        this.activationNumber = 0;
+        this.queueIndex = -1;
+        this.queued = false;
+        this.justified = null;
+        this.blocked = null;
+        this.blockers = null;
+        this.agendaGroup = null;
+        this.activationGroupNode = null;
+        this.activationNode = null;
+        this.activationFactHandle = null;
+        this.canceled = false;
+        this.matched = false;
+        this.active = false;
+        this.ruleAgendaItem = null;
+        this.callback = null;
+    }
+
     @Override
     public String toString() {
         return "["+toExternalForm()+" [ " + super.toString()+ " ] ]";
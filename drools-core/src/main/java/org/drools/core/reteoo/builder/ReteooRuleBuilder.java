@@ -107,6 +107,17 @@ public class ReteooRuleBuilder implements RuleBuilder {
      */
     public List<TerminalNode> addRule( final RuleImpl rule,
                                        final InternalKnowledgeBase kBase ) throws InvalidPatternException {
+        return addRule( rule, kBase, true );
+    }
+
+    public List<TerminalNode> addRuleNodes( final RuleImpl rule,
+                                            final InternalKnowledgeBase kBase ) throws InvalidPatternException {
+        return addRule( rule, kBase, false );
+    }
+
+    private List<TerminalNode> addRule( final RuleImpl rule,
+                                        final InternalKnowledgeBase kBase,
+                                        final boolean addToSessions ) throws InvalidPatternException {
 
         // the list of terminal nodes
         final List<TerminalNode> nodes = new ArrayList<TerminalNode>();
@@ -139,7 +150,8 @@ public class ReteooRuleBuilder implements RuleBuilder {
             final TerminalNode node = this.addSubRule( context,
                                                        subrules[i],
                                                        i,
-                                                       rule );
+                                                       rule,
+                                                       addToSessions );
 
             // adds the terminal node to the list of terminal nodes
             nodes.add( node );
@@ -151,7 +163,8 @@ public class ReteooRuleBuilder implements RuleBuilder {
     private TerminalNode addSubRule( final BuildContext context,
                                      final GroupElement subrule,
                                      final int subruleIndex,
-                                     final RuleImpl rule ) throws InvalidPatternException {
+                                     final RuleImpl rule,
+                                     final boolean addToSessions ) throws InvalidPatternException {
         context.setSubRule(subrule);
 
         // gets the appropriate builder
@@ -192,7 +205,9 @@ public class ReteooRuleBuilder implements RuleBuilder {
 
         setPathEndNodes(context);
 
-        AddRemoveRule.addRule( terminal, context.getWorkingMemories(), context.getKnowledgeBase() );
+        if (addToSessions) {
+            AddRemoveRule.addRule( terminal, context.getWorkingMemories(), context.getKnowledgeBase() );
+        }
 
         // adds the terminal node to the list of nodes created/added by this sub-rule
         context.getNodes().add( baseTerminalNode );
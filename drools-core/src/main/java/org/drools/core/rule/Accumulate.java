@@ -203,4 +203,29 @@ public abstract class Accumulate extends ConditionalElement
 
     public abstract Object accumulate(Object workingMemoryContext, Tuple match, InternalFactHandle childHandle,
                                       GroupByContext groupByContext, TupleList<AccumulateNode.AccumulateContextEntry> tupleList, WorkingMemory wm);
+
+    /**
+     * Returns true if this accumulate implements {@link #getGroup} and {@link #accumulateInGroup}, so that the matches
+     * of different groups can be accumulated concurrently.
+     */
+    public boolean supportsParallelGroupAccumulation() {
+        return false;
+    }
+
+    /**
+     * Returns the group of the given match, creating it when missing, without accumulating the match in it.
+     */
+    public TupleList<AccumulateNode.AccumulateContextEntry> getGroup(Object workingMemoryContext, GroupByContext groupByContext,
+                                                                     Tuple match, InternalFactHandle childHandle, WorkingMemory wm) {
+        throw new UnsupportedOperationException("This should never be called, it's for group by accumulates only.");
+    }
+
+    /**
+     * Accumulates the given match in its already resolved group, without touching the GroupByContext shared by
+     * all the groups, so that the matches of different groups can be accumulated concurrently.
+     */
+    public Object accumulateInGroup(Object workingMemoryContext, TupleList<AccumulateNode.AccumulateContextEntry> group,
+                                    Tuple match, InternalFactHandle childHandle, WorkingMemory wm) {
+        throw new UnsupportedOperationException("This should never be called, it's for group by accumulates only.");
+    }
 }
@@ -412,5 +412,10 @@ public class SlidingTimeWindow
                                        null,
                                        workingMemory );
         }
+
+        @Override
+        public boolean isExpiration() {
+            return true;
+        }
     }
 }
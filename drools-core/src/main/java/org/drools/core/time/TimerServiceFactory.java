@@ -17,6 +17,7 @@
 package org.drools.core.time;
 
 import org.drools.core.SessionConfiguration;
+import org.drools.core.time.impl.TimingWheelTimerService;
 
 public class TimerServiceFactory {
 
@@ -29,6 +30,10 @@ public class TimerServiceFactory {
             case PSEUDO_CLOCK:
                 service = (TimerService) config.getClockType().createInstance();
                 break;
+            case TIMING_WHEEL_CLOCK:
+                service = new TimingWheelTimerService(Long.parseLong(config.getPropertyValue(TimingWheelTimerService.TICK_MILLIS_PROPERTY, String.valueOf(TimingWheelTimerService.DEFAULT_TICK_MILLIS))),
+                                                      Integer.parseInt(config.getPropertyValue(TimingWheelTimerService.WHEEL_SIZE_PROPERTY, String.valueOf(TimingWheelTimerService.DEFAULT_WHEEL_SIZE))));
+                break;
             default:
                 throw new IllegalArgumentException("Unsupported clock type: " + config.getClockType());
         }
@@ -0,0 +1,434 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.drools.core.time.InternalSchedulerService;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.Trigger;
+import org.kie.api.time.SessionClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A realtime TimerService keeping the scheduled jobs in a hierarchical timing wheel instead of a heap ordered
+ * queue, so that both scheduling and cancelling a job are O(1) operations regardless of the number of pending jobs.
+ *
+ * The time is divided in ticks of a configurable duration, and a job is put in the bucket of the tick in which
+ * its fire time falls: the jobs due in the current rotation of the innermost wheel are kept there, while the ones
+ * due later are kept in the coarser grained outer wheels, and moved toward the inner ones as the time advances.
+ * The wheel isn't advanced on every tick, but only when the next non empty bucket is due, and then all the jobs of the
+ * expired buckets are executed as a batch. A single thread, shared by the timing wheels of all the sessions, does it,
+ * so the jobs are expected to be short, as the ones scheduled by the engine are.
+ * A job is never fired before its fire time, but it can be fired up to a tick later.
+ */
+public class TimingWheelTimerService
+        implements
+        TimerService,
+        SessionClock,
+        InternalSchedulerService {
+
+    private static final Logger logger = LoggerFactory.getLogger( TimingWheelTimerService.class );
+
+    public static final String TICK_MILLIS_PROPERTY = "drools.timingWheel.tickMillis";
+    public static final String WHEEL_SIZE_PROPERTY = "drools.timingWheel.wheelSize";
+
+    public static final long DEFAULT_TICK_MILLIS = 1;
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final int LEVELS = 4;
+    private static final int MAX_WHEEL_BITS = 15;
+
+    private final long tickMillis;
+    private final int bits;
+    private final long mask;
+
+    // the last row holds a single bucket for the jobs due after the rotation of the outermost wheel
+    private final WheelJobHandle[][] buckets;
+
+    private final long startTime;
+    private long currentTick;
+    private int size;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // the next advance of the wheel, scheduled on the shared thread only while there are pending jobs
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpTick = Long.MAX_VALUE;
+    private boolean shutdown;
+
+    private final AtomicLong idCounter = new AtomicLong( 0L );
+
+    protected TimerJobFactoryManager jobFactoryManager = DefaultTimerJobFactoryManager.instance;
+
+    public TimingWheelTimerService() {
+        this( DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE );
+    }
+
+    public TimingWheelTimerService(long tickMillis, int wheelSize) {
+        if ( tickMillis < 1 ) {
+            throw new IllegalArgumentException( "The tick duration of a timing wheel must be at least 1 ms, but was " + tickMillis );
+        }
+        if ( wheelSize < 2 || wheelSize > ( 1 << MAX_WHEEL_BITS ) ) {
+            throw new IllegalArgumentException( "The size of a timing wheel must be between 2 and " + ( 1 << MAX_WHEEL_BITS ) + ", but was " + wheelSize );
+        }
+        this.tickMillis = tickMillis;
+        this.bits = 32 - Integer.numberOfLeadingZeros( wheelSize - 1 );
+        this.mask = ( 1L << bits ) - 1;
+        this.buckets = new WheelJobHandle[LEVELS + 1][];
+        for (int level = 0; level < LEVELS; level++) {
+            buckets[level] = new WheelJobHandle[1 << bits];
+        }
+        buckets[LEVELS] = new WheelJobHandle[1];
+        this.startTime = System.currentTimeMillis();
+    }
+
+    public void setTimerJobFactoryManager(TimerJobFactoryManager timerJobFactoryManager) {
+        this.jobFactoryManager = timerJobFactoryManager;
+    }
+
+    public TimerJobFactoryManager getTimerJobFactoryManager() {
+        return this.jobFactoryManager;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public int getWheelSize() {
+        return 1 << bits;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
+    public JobHandle scheduleJob(Job job,
+                                 JobContext ctx,
+                                 Trigger trigger) {
+        Date date = trigger.hasNextFireTime();
+        if ( date != null ) {
+            WheelJobHandle jobHandle = new WheelJobHandle( idCounter.getAndIncrement() );
+
+            TimerJobInstance jobInstance = jobFactoryManager.createTimerJobInstance( job,
+                                                                                   ctx,
+                                                                                   trigger,
+                                                                                   jobHandle,
+                                                                                   this );
+            jobHandle.setTimerJobInstance( jobInstance );
+            internalSchedule( jobInstance );
+
+            return jobHandle;
+        } else {
+            return null;
+        }
+    }
+
+    public void internalSchedule(TimerJobInstance timerJobInstance) {
+        long fireTime = timerJobInstance.getTrigger().hasNextFireTime().getTime();
+        WheelJobHandle jobHandle = (WheelJobHandle) timerJobInstance.getJobHandle();
+
+        lock.lock();
+        try {
+            if ( shutdown ) {
+                return;
+            }
+            if ( size == 0 ) {
+                // nothing is pending, so the wheel can jump ahead without going through the elapsed ticks
+                currentTick = Math.max( currentTick, tickAt( System.currentTimeMillis() ) );
+            }
+            // rounds up, so that the job is never fired before its time
+            long deadline = ( fireTime - startTime + tickMillis - 1 ) / tickMillis;
+            jobHandle.deadline = Math.max( deadline, currentTick + 1 );
+            add( jobHandle );
+            size++;
+            // the jobs already pending are covered by the current wake up, if any
+            scheduleWakeUp( bucketTick( jobHandle.level, jobHandle.slot ) );
+        } finally {
+            lock.unlock();
+        }
+
+        jobFactoryManager.addTimerJobInstance( timerJobInstance );
+    }
+
+    public boolean removeJob(JobHandle jobHandle) {
+        jobHandle.setCancel( true );
+        WheelJobHandle wheelJobHandle = (WheelJobHandle) jobHandle;
+        jobFactoryManager.removeTimerJobInstance( wheelJobHandle.getTimerJobInstance() );
+
+        lock.lock();
+        try {
+            if ( wheelJobHandle.level < 0 ) {
+                // already fired or being fired
+                return false;
+            }
+            remove( wheelJobHandle );
+            size--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void reset() {
+        lock.lock();
+        try {
+            for (WheelJobHandle[] wheel : buckets) {
+                for (int slot = 0; slot < wheel.length; slot++) {
+                    for (WheelJobHandle handle = wheel[slot]; handle != null; ) {
+                        WheelJobHandle next = handle.next;
+                        handle.unlink();
+                        handle = next;
+                    }
+                    wheel[slot] = null;
+                }
+            }
+            size = 0;
+            cancelWakeUp();
+            idCounter.set( 0L );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            cancelWakeUp();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getTimeToNextJob() {
+        return 0;
+    }
+
+    public Collection<TimerJobInstance> getTimerJobInstances(long id) {
+        return jobFactoryManager.getTimerJobInstances();
+    }
+
+    private long tickAt(long time) {
+        return ( time - startTime ) / tickMillis;
+    }
+
+    private void scheduleWakeUp(long tick) {
+        if ( tick >= wakeUpTick ) {
+            return;
+        }
+        cancelWakeUp();
+        wakeUpTick = tick;
+        long delay = startTime + tick * tickMillis - System.currentTimeMillis();
+        wakeUp = WheelThread.EXECUTOR.schedule( this::expire, Math.max( delay, 0 ), TimeUnit.MILLISECONDS );
+    }
+
+    private void cancelWakeUp() {
+        if ( wakeUp != null ) {
+            wakeUp.cancel( false );
+            wakeUp = null;
+        }
+        wakeUpTick = Long.MAX_VALUE;
+    }
+
+    private void expire() {
+        List<TimerJobInstance> batch = new ArrayList<>();
+        lock.lock();
+        try {
+            wakeUp = null;
+            wakeUpTick = Long.MAX_VALUE;
+            if ( shutdown ) {
+                return;
+            }
+            long nowTick = tickAt( System.currentTimeMillis() );
+            if ( nowTick > currentTick ) {
+                advance( nowTick, batch );
+            }
+            if ( size > 0 ) {
+                scheduleWakeUp( nextEventTick() );
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // the jobs are executed out of the lock, so they can schedule again
+        for (TimerJobInstance jobInstance : batch) {
+            if ( !jobInstance.getJobHandle().isCancel() ) {
+                try {
+                    ( (Callable<?>) jobInstance ).call();
+                } catch ( Exception e ) {
+                    logger.error( "Exception running timer job: ", e );
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the first tick after the current one in which a non empty bucket either expires or, for the outer
+     * wheels, is cascaded to the inner ones. Nothing happens in the ticks before it, so the wheel can skip them.
+     */
+    private long nextEventTick() {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = (int) ( ( currentTick >>> ( bits * level ) ) & mask ) + 1; slot <= mask; slot++) {
+                if ( buckets[level][slot] != null ) {
+                    return bucketTick( level, slot );
+                }
+            }
+        }
+        return bucketTick( LEVELS, 0 );
+    }
+
+    /**
+     * Returns the tick in which the given bucket of the current rotation expires or is cascaded
+     */
+    private long bucketTick(int level, int slot) {
+        if ( level == LEVELS ) {
+            return ( ( currentTick >>> ( bits * LEVELS ) ) + 1 ) << ( bits * LEVELS );
+        }
+        int shift = bits * level;
+        return ( currentTick & ~( ( 1L << ( shift + bits ) ) - 1 ) ) | ( (long) slot << shift );
+    }
+
+    private void advance(long toTick, List<TimerJobInstance> batch) {
+        while ( currentTick < toTick ) {
+            long tick = size > 0 ? nextEventTick() : toTick;
+            if ( tick > toTick ) {
+                currentTick = toTick;
+                return;
+            }
+            currentTick = tick;
+            for (int level = LEVELS; level > 0; level--) {
+                if ( ( tick & ( ( 1L << ( bits * level ) ) - 1 ) ) == 0 ) {
+                    cascade( level, level == LEVELS ? 0 : (int) ( ( tick >>> ( bits * level ) ) & mask ) );
+                }
+            }
+
+            int slot = (int) ( tick & mask );
+            for (WheelJobHandle handle = buckets[0][slot]; handle != null; ) {
+                WheelJobHandle next = handle.next;
+                handle.unlink();
+                batch.add( handle.getTimerJobInstance() );
+                size--;
+                handle = next;
+            }
+            buckets[0][slot] = null;
+        }
+    }
+
+    /**
+     * Moves the jobs of a bucket of an outer wheel, whose time has come, to the inner ones
+     */
+    private void cascade(int level, int slot) {
+        WheelJobHandle handle = buckets[level][slot];
+        buckets[level][slot] = null;
+        while ( handle != null ) {
+            WheelJobHandle next = handle.next;
+            handle.unlink();
+            add( handle );
+            handle = next;
+        }
+    }
+
+    private void add(WheelJobHandle handle) {
+        long deadline = handle.deadline;
+        int level = 0;
+        int slot = 0;
+        while ( level < LEVELS && ( deadline >>> ( bits * ( level + 1 ) ) ) != ( currentTick >>> ( bits * ( level + 1 ) ) ) ) {
+            level++;
+        }
+        if ( level < LEVELS ) {
+            slot = (int) ( ( deadline >>> ( bits * level ) ) & mask );
+        }
+
+        WheelJobHandle head = buckets[level][slot];
+        handle.level = level;
+        handle.slot = slot;
+        handle.previous = null;
+        handle.next = head;
+        if ( head != null ) {
+            head.previous = handle;
+        }
+        buckets[level][slot] = handle;
+    }
+
+    private void remove(WheelJobHandle handle) {
+        if ( handle.previous != null ) {
+            handle.previous.next = handle.next;
+        } else {
+            buckets[handle.level][handle.slot] = handle.next;
+        }
+        if ( handle.next != null ) {
+            handle.next.previous = handle.previous;
+        }
+        handle.unlink();
+    }
+
+    private static class WheelThread {
+        private static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+        private static ScheduledThreadPoolExecutor createExecutor() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor( 1, r -> {
+                Thread thread = new Thread( r, "drools-timing-wheel" );
+                thread.setDaemon( true );
+                return thread;
+            } );
+            // the wake ups are cancelled each time an earlier one is needed, they mustn't pile up in the queue
+            executor.setRemoveOnCancelPolicy( true );
+            return executor;
+        }
+    }
+
+    public static class WheelJobHandle extends DefaultJobHandle
+            implements
+            JobHandle {
+
+        private static final long serialVersionUID = 510l;
+
+        private transient long           deadline;
+        private transient int            level = -1;
+        private transient int            slot;
+        private transient WheelJobHandle previous;
+        private transient WheelJobHandle next;
+
+        public WheelJobHandle(long id) {
+            super( id );
+        }
+
+        private void unlink() {
+            this.level = -1;
+            this.previous = null;
+            this.next = null;
+        }
+    }
+}
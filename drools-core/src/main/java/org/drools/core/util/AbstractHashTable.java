@@ -20,8 +20,10 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Arrays;
 import java.util.Objects;
 
+import org.drools.core.base.ValueType;
 import org.drools.core.rule.Declaration;
 import org.drools.core.spi.InternalReadAccessor;
 import org.drools.core.spi.ReadAccessor;
@@ -433,6 +435,10 @@ public abstract class AbstractHashTable
         public HashEntry getHashEntry() {
             return hashEntry;
         }
+
+        public Index getIndex() {
+            return index;
+        }
     }
 
     public static class DoubleCompositeIndex implements Index {
@@ -549,6 +555,142 @@ public abstract class AbstractHashTable
         }
     }
 
+    /**
+     * A composite index on integral, char or boolean primitive fields. The indexed values are read without
+     * boxing and packed in a long[] key, which is hashed once and compared with a single array comparison.
+     */
+    public static class PackedCompositeIndex implements Index {
+
+        private static final long serialVersionUID = 510l;
+
+        private FieldIndex[] indexes;
+
+        private int startResult;
+
+        private transient InternalReadAccessor[] leftReaders;
+        private transient Declaration[] leftDeclarations;
+        private transient InternalReadAccessor[] rightReaders;
+
+        public PackedCompositeIndex() {
+
+        }
+
+        public PackedCompositeIndex(final FieldIndex[] indexes,
+                                    final int startResult) {
+            this.startResult = startResult;
+            this.indexes = indexes;
+            initReaders();
+        }
+
+        public static boolean isPackable(FieldIndex[] indexes) {
+            for ( FieldIndex index : indexes ) {
+                if ( index.requiresCoercion() || !(index.getLeftExtractor() instanceof Declaration) ||
+                     !isPackable( index.rightExtractor.getValueType() ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isPackable(ValueType valueType) {
+            switch ( valueType ) {
+                case PBOOLEAN_TYPE:
+                case PCHAR_TYPE:
+                case PBYTE_TYPE:
+                case PSHORT_TYPE:
+                case PINTEGER_TYPE:
+                case PLONG_TYPE:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private void initReaders() {
+            leftDeclarations = new Declaration[indexes.length];
+            leftReaders = new InternalReadAccessor[indexes.length];
+            rightReaders = new InternalReadAccessor[indexes.length];
+            for ( int i = 0; i < indexes.length; i++ ) {
+                leftDeclarations[i] = (Declaration) indexes[i].getLeftExtractor();
+                leftReaders[i] = leftDeclarations[i].getExtractor();
+                rightReaders[i] = indexes[i].rightExtractor;
+            }
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException,
+                                                ClassNotFoundException {
+            indexes = (FieldIndex[]) in.readObject();
+            startResult = in.readInt();
+            initReaders();
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( indexes );
+            out.writeInt( startResult );
+        }
+
+        @Override
+        public FieldIndex getFieldIndex(int index) {
+            if ( index < 0 || index >= indexes.length ) {
+                throw new IllegalArgumentException( "IndexUtil position " + index + " does not exist" );
+            }
+            return indexes[index];
+        }
+
+        /**
+         * Two indexes share the same keys when they are built on the same FieldIndexes, as it happens for the
+         * left and right memories of the same node, so the key of a tuple stored on one side can be used to
+         * probe the other one.
+         */
+        public boolean sharesKeyWith(Index other) {
+            if ( this == other ) {
+                return true;
+            }
+            if ( !(other instanceof PackedCompositeIndex) ) {
+                return false;
+            }
+            PackedCompositeIndex otherIndex = (PackedCompositeIndex) other;
+            if ( startResult != otherIndex.startResult || indexes.length != otherIndex.indexes.length ) {
+                return false;
+            }
+            for ( int i = 0; i < indexes.length; i++ ) {
+                if ( indexes[i] != otherIndex.indexes[i] ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public HashEntry hashCodeOf(Tuple tuple, boolean left) {
+            long[] key = new long[indexes.length];
+            if ( left ) {
+                for ( int i = 0; i < key.length; i++ ) {
+                    key[i] = packedValueOf( leftReaders[i], tuple.get( leftDeclarations[i] ).getObject() );
+                }
+            } else {
+                Object object = tuple.getFactHandle().getObject();
+                for ( int i = 0; i < key.length; i++ ) {
+                    key[i] = packedValueOf( rightReaders[i], object );
+                }
+            }
+            return new PackedHashEntry( startResult, key );
+        }
+
+        private static long packedValueOf(InternalReadAccessor reader, Object object) {
+            switch ( reader.getValueType() ) {
+                case PBOOLEAN_TYPE:
+                    return reader.getBooleanValue( null, object ) ? 1L : 0L;
+                case PCHAR_TYPE:
+                    return reader.getCharValue( null, object );
+                default:
+                    return reader.getLongValue( null, object );
+            }
+        }
+    }
+
     public void clear() {
         this.table = new Entry[Math.min( this.table.length,
                                          16 )];
@@ -651,4 +793,36 @@ public abstract class AbstractHashTable
             return hashCode == that.hashCode && Objects.equals( obj1, that.obj1 ) && Objects.equals( obj2, that.obj2 ) && Objects.equals( obj3, that.obj3 );
         }
     }
+
+    public static class PackedHashEntry implements HashEntry {
+
+        private final int hashCode;
+        private final long[] key;
+
+        public PackedHashEntry(int hashSeed, long[] key) {
+            this.key = key;
+            this.hashCode = hashCodeOf( hashSeed, key );
+        }
+
+        private int hashCodeOf(int hashSeed, long[] key) {
+            int hashCode = hashSeed;
+            for ( long value : key ) {
+                hashCode = PRIME * hashCode + Long.hashCode( value );
+            }
+            return rehash( hashCode );
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if ( this == o ) return true;
+            if ( o == null || getClass() != o.getClass() ) return false;
+            PackedHashEntry that = ( PackedHashEntry ) o;
+            return hashCode == that.hashCode && Arrays.equals( key, that.key );
+        }
+    }
 }
@@ -0,0 +1,381 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.drools.core.definitions.rule.impl.RuleImpl;
+import org.drools.core.spi.Activation;
+import org.kie.api.definition.rule.Rule;
+
+/**
+ * A priority queue of activations with the same ordering of a BinaryHeapQueue using the PhreakConflictResolver,
+ * i.e. highest salience first and then lowest rule load order first, but keeping a bucket for each salience.
+ *
+ * Each bucket is a bitmap indexed by the load order of the rules, so enqueueing and removing an activation
+ * doesn't compare it against any other, and finding the first one is a scan for the first set bit.
+ * This pays off with rule bases having many rules but only a few distinct salience values, which is what
+ * {@link #isConvenientFor(Collection)} checks. Dynamic saliences are still supported, as the salience of an
+ * activation cannot change while it is queued, but each distinct value requires its own bucket.
+ */
+public class SalienceBucketQueue implements Queue, Externalizable {
+
+    /**
+     * The maximum number of distinct saliences for which this queue is automatically preferred to a binary heap
+     */
+    public static final int MAX_CONVENIENT_SALIENCES = 8;
+
+    /**
+     * The minimum number of rules for which this queue is automatically preferred to a binary heap
+     */
+    public static final int MIN_CONVENIENT_RULES = 256;
+
+    // the empty buckets are discarded only when there are more than these, what may happen only with dynamic saliences
+    private static final int MAX_RETAINED_BUCKETS = 32;
+
+    private static final Bucket[] EMPTY = new Bucket[0];
+
+    // sorted by descending salience
+    private Bucket[] buckets = EMPTY;
+
+    private int size;
+
+    public static boolean isConvenientFor(Collection<? extends Rule> rules) {
+        if (rules.size() < MIN_CONVENIENT_RULES) {
+            return false;
+        }
+        Set<Integer> saliences = new HashSet<>();
+        for (Rule r : rules) {
+            RuleImpl rule = (RuleImpl) r;
+            if (rule.getSalience().isDynamic() || rule.getLoadOrder() < 0) {
+                return false;
+            }
+            saliences.add(rule.getSalience().getValue());
+            if (saliences.size() > MAX_CONVENIENT_SALIENCES) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeObject(toArray(new Activation[size]));
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        for (Activation activation : (Activation[]) in.readObject()) {
+            enqueue(activation);
+        }
+    }
+
+    @Override
+    public void enqueue(Activation activation) {
+        findOrCreateBucket(activation.getSalience()).add(activation);
+        activation.setQueued(true);
+        size++;
+    }
+
+    @Override
+    public Activation dequeue() {
+        for (int i = 0; i < buckets.length; i++) {
+            Bucket bucket = buckets[i];
+            if (bucket.size > 0) {
+                Activation activation = bucket.poll();
+                removed(activation, i);
+                return activation;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void dequeue(Activation activation) {
+        int i = findBucket(activation.getSalience());
+        if (i < 0 || !buckets[i].remove(activation)) {
+            // not queued, or its salience has been changed while queued
+            i = findBucketContaining(activation);
+            if (i < 0) {
+                return;
+            }
+        }
+        removed(activation, i);
+    }
+
+    private void removed(Activation activation, int bucketIndex) {
+        activation.setQueued(false);
+        activation.setQueueIndex(-1);
+        size--;
+        if (buckets[bucketIndex].size == 0 && buckets.length > MAX_RETAINED_BUCKETS) {
+            Bucket[] newBuckets = new Bucket[buckets.length - 1];
+            System.arraycopy(buckets, 0, newBuckets, 0, bucketIndex);
+            System.arraycopy(buckets, bucketIndex + 1, newBuckets, bucketIndex, newBuckets.length - bucketIndex);
+            buckets = newBuckets;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        buckets = EMPTY;
+        size = 0;
+    }
+
+    @Override
+    public Activation[] getAndClear() {
+        Activation[] activations = (Activation[]) toArray(new Activation[size]);
+        clear();
+        return activations;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Activation peek() {
+        for (Bucket bucket : buckets) {
+            if (bucket.size > 0) {
+                return bucket.peek();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the queued activations in the order they would be dequeued
+     */
+    @Override
+    public Object[] toArray(Object[] a) {
+        if (a.length < size) {
+            a = (Object[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size);
+        }
+        int pos = 0;
+        for (Bucket bucket : buckets) {
+            pos = bucket.copyTo(a, pos);
+        }
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
+    }
+
+    private int findBucket(int salience) {
+        // the buckets are few, so a linear scan is as fast as a binary search
+        for (int i = 0; i < buckets.length; i++) {
+            int bucketSalience = buckets[i].salience;
+            if (bucketSalience == salience) {
+                return i;
+            }
+            if (bucketSalience < salience) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    private Bucket findOrCreateBucket(int salience) {
+        int i = 0;
+        while (i < buckets.length && buckets[i].salience > salience) {
+            i++;
+        }
+        if (i < buckets.length && buckets[i].salience == salience) {
+            return buckets[i];
+        }
+        Bucket bucket = new Bucket(salience);
+        Bucket[] newBuckets = new Bucket[buckets.length + 1];
+        System.arraycopy(buckets, 0, newBuckets, 0, i);
+        newBuckets[i] = bucket;
+        System.arraycopy(buckets, i, newBuckets, i + 1, buckets.length - i);
+        buckets = newBuckets;
+        return bucket;
+    }
+
+    private int findBucketContaining(Activation activation) {
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i].remove(activation)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SalienceBucketQueue[");
+        for (Bucket bucket : buckets) {
+            sb.append(" ").append(bucket.salience).append(":").append(bucket.size);
+        }
+        return sb.append(" ]").toString();
+    }
+
+    /**
+     * The activations with the same salience, sorted by the load order of their rules. The slot of an activation
+     * is the load order of its rule and it is kept in a page of 64 slots, whose bits in the corresponding word
+     * tell which slots are in use. Rules of different packages may have the same load order, so a slot holds
+     * either a single activation or an ArrayDeque of the activations sharing it, in FIFO order.
+     */
+    private static final class Bucket {
+
+        private static final int PAGE_SHIFT = 6;
+        private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+        private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+        private final int salience;
+
+        private long[] words = new long[1];
+        private Object[][] pages = new Object[1][];
+
+        // all the words before this one are empty
+        private int firstWord;
+
+        private int size;
+
+        private Bucket(int salience) {
+            this.salience = salience;
+        }
+
+        private static int slot(Activation activation) {
+            return Math.max(activation.getRule().getLoadOrder(), 0);
+        }
+
+        private void add(Activation activation) {
+            int slot = slot(activation);
+            int word = slot >>> PAGE_SHIFT;
+            if (word >= words.length) {
+                int newLength = Math.max(words.length * 2, word + 1);
+                words = Arrays.copyOf(words, newLength);
+                pages = Arrays.copyOf(pages, newLength);
+            }
+            Object[] page = pages[word];
+            if (page == null) {
+                page = new Object[PAGE_SIZE];
+                pages[word] = page;
+            }
+
+            int pos = slot & PAGE_MASK;
+            Object current = page[pos];
+            if (current == null) {
+                page[pos] = activation;
+                words[word] |= 1L << pos;
+            } else if (current instanceof ArrayDeque) {
+                ((ArrayDeque<Activation>) current).addLast(activation);
+            } else {
+                ArrayDeque<Activation> shared = new ArrayDeque<>(4);
+                shared.addLast((Activation) current);
+                shared.addLast(activation);
+                page[pos] = shared;
+            }
+
+            if (word < firstWord) {
+                firstWord = word;
+            }
+            size++;
+        }
+
+        private int firstSlot() {
+            while (words[firstWord] == 0) {
+                // there is at least an activation, so this never goes beyond the last word
+                firstWord++;
+            }
+            return (firstWord << PAGE_SHIFT) + Long.numberOfTrailingZeros(words[firstWord]);
+        }
+
+        private Activation peek() {
+            int slot = firstSlot();
+            Object current = pages[slot >>> PAGE_SHIFT][slot & PAGE_MASK];
+            return current instanceof ArrayDeque ? ((ArrayDeque<Activation>) current).peekFirst() : (Activation) current;
+        }
+
+        private Activation poll() {
+            int slot = firstSlot();
+            Object current = pages[slot >>> PAGE_SHIFT][slot & PAGE_MASK];
+            Activation activation;
+            if (current instanceof ArrayDeque) {
+                activation = ((ArrayDeque<Activation>) current).pollFirst();
+                compactShared(slot, (ArrayDeque<Activation>) current);
+            } else {
+                activation = (Activation) current;
+                clearSlot(slot);
+            }
+            size--;
+            return activation;
+        }
+
+        private boolean remove(Activation activation) {
+            int slot = slot(activation);
+            int word = slot >>> PAGE_SHIFT;
+            if (word >= words.length || (words[word] & (1L << (slot & PAGE_MASK))) == 0) {
+                return false;
+            }
+            Object current = pages[word][slot & PAGE_MASK];
+            if (current == activation) {
+                clearSlot(slot);
+            } else if (current instanceof ArrayDeque && ((ArrayDeque<Activation>) current).removeFirstOccurrence(activation)) {
+                compactShared(slot, (ArrayDeque<Activation>) current);
+            } else {
+                return false;
+            }
+            size--;
+            return true;
+        }
+
+        private void compactShared(int slot, ArrayDeque<Activation> shared) {
+            if (shared.size() == 1) {
+                pages[slot >>> PAGE_SHIFT][slot & PAGE_MASK] = shared.peekFirst();
+            } else if (shared.isEmpty()) {
+                clearSlot(slot);
+            }
+        }
+
+        private void clearSlot(int slot) {
+            int word = slot >>> PAGE_SHIFT;
+            pages[word][slot & PAGE_MASK] = null;
+            words[word] &= ~(1L << (slot & PAGE_MASK));
+        }
+
+        private int copyTo(Object[] a, int pos) {
+            for (int word = firstWord; word < words.length; word++) {
+                for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                    Object current = pages[word][Long.numberOfTrailingZeros(bits)];
+                    if (current instanceof ArrayDeque) {
+                        for (Activation activation : (ArrayDeque<Activation>) current) {
+                            a[pos++] = activation;
+                        }
+                    } else {
+                        a[pos++] = current;
+                    }
+                }
+            }
+            return pos;
+        }
+    }
+}
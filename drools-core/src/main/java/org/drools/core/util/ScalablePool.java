@@ -16,60 +16,403 @@
 
 package org.drools.core.util;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * A pool of resources, optionally bounded, evicting the ones idle for too long and keeping each thread
+ * affine to the last resource it released. See {@link ScalablePoolConfiguration} for the available policies.
+ *
+ * The idle resources are kept in a LIFO queue, so that the most recently used ones, likely still hot in the cpu
+ * caches, are reused first, while the ones idle for longer sink to the tail where they are evicted.
+ * The resources are identified by equality, so they are not supposed to override equals.
+ */
 public class ScalablePool<T> {
 
     private static final Logger log = LoggerFactory.getLogger(ScalablePool.class);
 
-    private final java.util.Queue<T> pool = new ConcurrentLinkedQueue<T>();
-    private final List<T> resources = Collections.synchronizedList( new ArrayList<>() );
+    private static final int IDLE = 0;
+    private static final int IN_USE = 1;
+    private static final int REMOVED = 2;
+    private static final int RELEASING = 3;
+
+    private static final long MIN_EVICTION_PERIOD_MILLIS = 10;
+
+    private final ScalablePoolConfiguration configuration;
+
+    private final Deque<PooledResource<T>> idle = new ConcurrentLinkedDeque<>();
+    private final Map<T, PooledResource<T>> resources = new ConcurrentHashMap<>();
 
     private final Supplier<? extends T> supplier;
     private final Consumer<? super T> resetter;
     private final Consumer<? super T> disposer;
 
+    // null when the pool is unbounded
+    private final Semaphore permits;
+
+    // null when the thread affinity is disabled
+    private final ThreadLocal<WeakReference<PooledResource<T>>> lastReleased;
+
+    private final ScheduledFuture<?> evictionTask;
+
+    private volatile boolean shutdown;
+
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger borrowed = new AtomicInteger();
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder failedBorrowCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder totalBorrowNanos = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+
     public ScalablePool( int initialSize, Supplier<? extends T> supplier, Consumer<? super T> resetter, Consumer<? super T> disposer ) {
+        this( new ScalablePoolConfiguration( initialSize ), supplier, resetter, disposer );
+    }
+
+    public ScalablePool( ScalablePoolConfiguration configuration, Supplier<? extends T> supplier, Consumer<? super T> resetter, Consumer<? super T> disposer ) {
+        this.configuration = configuration;
         this.supplier = supplier;
         this.resetter = resetter;
         this.disposer = disposer;
 
-        for (int i = 0; i < initialSize; i++) {
-            T t = this.supplier.get();
-            pool.offer( t );
-            resources.add( t );
+        this.permits = configuration.isBounded() ? new Semaphore( configuration.getMaxSize() ) : null;
+        this.lastReleased = configuration.isThreadAffinity() ? new ThreadLocal<>() : null;
+
+        long idleTimeout = configuration.getIdleTimeoutMillis();
+        if ( idleTimeout > 0 ) {
+            long period = Math.max( idleTimeout / 2, MIN_EVICTION_PERIOD_MILLIS );
+            this.evictionTask = EvictionTask.schedule( this, period );
+        } else {
+            this.evictionTask = null;
+        }
+
+        if ( configuration.isAsyncPrewarm() ) {
+            CompletableFuture.runAsync( this::prewarm ).exceptionally( t -> {
+                log.error( "Unable to prewarm the pool", t );
+                return null;
+            } );
+        } else {
+            prewarm();
         }
     }
 
+    public ScalablePoolConfiguration getConfiguration() {
+        return configuration;
+    }
+
     public T get() {
-        T t = pool.poll();
-        if (t != null) {
-            return t;
+        long start = System.nanoTime();
+        acquirePermit();
+        T t;
+        try {
+            PooledResource<T> resource = pollIdle();
+            t = resource != null ? resource.resource : create();
+        } catch (RuntimeException e) {
+            releasePermit();
+            failedBorrowCount.increment();
+            throw e;
         }
 
-        t = this.supplier.get();
-        resources.add( t );
+        borrowed.incrementAndGet();
+        borrowCount.increment();
+        long elapsed = System.nanoTime() - start;
+        totalBorrowNanos.add( elapsed );
+        maxBorrowNanos.accumulateAndGet( elapsed, Math::max );
         return t;
     }
 
     public void release(T t) {
-        resetter.accept( t );
-        pool.offer( t );
+        PooledResource<T> resource = resources.get( t );
+        // the resource can be missing because the pool has been shut down in the meanwhile and the resource already
+        // disposed, while a resource not in use has already been released, so releasing it again has no effect
+        if (resource == null || !resource.state.compareAndSet( IN_USE, RELEASING )) {
+            return;
+        }
+
+        try {
+            resetter.accept( t );
+        } catch (RuntimeException e) {
+            // still checked out, as before this release
+            resource.state.compareAndSet( RELEASING, IN_USE );
+            throw e;
+        }
+
+        resource.lastReleaseTime = System.nanoTime();
+        if (!resource.state.compareAndSet( RELEASING, IDLE )) {
+            // removed by a shutdown during the reset
+            return;
+        }
+        borrowed.decrementAndGet();
+        if (lastReleased != null) {
+            lastReleased.set( resource.reference );
+        }
+        // when the resource has been taken through the thread affinity it could be still in the queue
+        if (!resource.queued) {
+            resource.queued = true;
+            idle.offerFirst( resource );
+        }
+        releasePermit();
     }
 
     public void shutdown() {
-        for (T t : resources) {
-            disposer.accept( t );
+        shutdown = true;
+        if (evictionTask != null) {
+            evictionTask.cancel( false );
         }
-        pool.clear();
+        List<PooledResource<T>> toBeDisposed = new ArrayList<>( resources.values() );
         resources.clear();
+        idle.clear();
+        for (PooledResource<T> resource : toBeDisposed) {
+            resource.state.set( REMOVED );
+            disposer.accept( resource.resource );
+        }
+        size.set( 0 );
+        borrowed.set( 0 );
+        if (permits != null) {
+            // wakes up the threads waiting for a resource, that will find the pool shut down
+            permits.release( configuration.getMaxSize() );
+        }
+    }
+
+    /**
+     * Disposes the resources that have been idle for longer than the configured idle timeout,
+     * without going below the initial size of the pool
+     */
+    public int evictIdleResources() {
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos( configuration.getIdleTimeoutMillis() );
+        if (idleTimeoutNanos <= 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        int evicted = 0;
+        // the queue is LIFO, so the resources idle for longer are at its tail
+        for (Iterator<PooledResource<T>> i = idle.descendingIterator(); i.hasNext() && size.get() > configuration.getInitialSize(); ) {
+            PooledResource<T> resource = i.next();
+            if (now - resource.lastReleaseTime >= idleTimeoutNanos && resource.state.compareAndSet( IDLE, REMOVED )) {
+                i.remove();
+                resources.remove( resource.resource );
+                size.decrementAndGet();
+                evictedCount.increment();
+                evicted++;
+                dispose( resource.resource );
+            }
+        }
+        return evicted;
+    }
+
+    public int getSize() {
+        return size.get();
+    }
+
+    public int getBorrowedCount() {
+        return borrowed.get();
+    }
+
+    public int getIdleCount() {
+        return Math.max( size.get() - borrowed.get(), 0 );
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    public long getFailedBorrowCount() {
+        return failedBorrowCount.sum();
+    }
+
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    public long getTotalBorrowNanos() {
+        return totalBorrowNanos.sum();
+    }
+
+    public long getMaxBorrowNanos() {
+        return maxBorrowNanos.get();
+    }
+
+    private PooledResource<T> pollIdle() {
+        if (lastReleased != null) {
+            WeakReference<PooledResource<T>> ref = lastReleased.get();
+            PooledResource<T> resource = ref != null ? ref.get() : null;
+            if (resource != null && resource.state.compareAndSet( IDLE, IN_USE )) {
+                return resource;
+            }
+        }
+        for (PooledResource<T> resource = idle.pollFirst(); resource != null; resource = idle.pollFirst()) {
+            // the flag is cleared before trying to take the resource, so a concurrent release either
+            // sees it cleared and enqueues the resource again, or has already made it available here
+            resource.queued = false;
+            if (resource.state.compareAndSet( IDLE, IN_USE )) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    private T create() {
+        T t = supplier.get();
+        PooledResource<T> resource = new PooledResource<>( t, IN_USE );
+        resources.put( t, resource );
+        size.incrementAndGet();
+        createdCount.increment();
+        return t;
+    }
+
+    private void prewarm() {
+        int initialSize = Math.min( configuration.getInitialSize(), configuration.getMaxSize() );
+        for (int i = 0; i < initialSize && !shutdown; i++) {
+            if (permits != null && !permits.tryAcquire()) {
+                // all the permits are taken, so the pool is already warm
+                return;
+            }
+            try {
+                T t = supplier.get();
+                PooledResource<T> resource = new PooledResource<>( t, IDLE );
+                resource.queued = true;
+                resources.put( t, resource );
+                size.incrementAndGet();
+                createdCount.increment();
+                idle.offerLast( resource );
+                if (shutdown && resources.remove( t ) != null) {
+                    dispose( t );
+                }
+            } finally {
+                releasePermit();
+            }
+        }
+    }
+
+    private void acquirePermit() {
+        if (shutdown) {
+            throw new IllegalStateException( "Illegal method call. This pool was previously shut down." );
+        }
+        if (permits == null || permits.tryAcquire()) {
+            return;
+        }
+        if (configuration.getExhaustedAction() == ScalablePoolConfiguration.ExhaustedAction.FAIL) {
+            failedBorrowCount.increment();
+            throw new IllegalStateException( "The pool is exhausted: all its " + configuration.getMaxSize() + " resources are in use" );
+        }
+
+        boolean acquired;
+        try {
+            if (configuration.getMaxWaitMillis() < 0) {
+                permits.acquire();
+                acquired = true;
+            } else {
+                acquired = permits.tryAcquire( configuration.getMaxWaitMillis(), TimeUnit.MILLISECONDS );
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedBorrowCount.increment();
+            throw new IllegalStateException( "Interrupted while waiting for a resource of the pool", e );
+        }
+
+        if (!acquired) {
+            failedBorrowCount.increment();
+            throw new IllegalStateException( "Timed out after " + configuration.getMaxWaitMillis() + " ms waiting for a resource of the pool" );
+        }
+        if (shutdown) {
+            throw new IllegalStateException( "Illegal method call. This pool was previously shut down." );
+        }
+    }
+
+    private void releasePermit() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    private void dispose( T t ) {
+        try {
+            disposer.accept( t );
+        } catch (RuntimeException e) {
+            log.error( "Unable to dispose a resource of the pool", e );
+        }
+    }
+
+    private static class PooledResource<T> {
+        private final T resource;
+        private final AtomicInteger state;
+        private final WeakReference<PooledResource<T>> reference;
+
+        // true when the resource is in the idle queue, possibly as a stale entry of a resource taken through the thread affinity
+        private volatile boolean queued;
+        private volatile long lastReleaseTime = System.nanoTime();
+
+        private PooledResource( T resource, int state ) {
+            this.resource = resource;
+            this.state = new AtomicInteger( state );
+            this.reference = new WeakReference<>( this );
+        }
+    }
+
+    /**
+     * The periodic eviction of a pool. It only weakly references the pool, so that the shared evictor thread doesn't
+     * keep alive a pool that has been discarded without shutting it down, and cancels itself once the pool is collected.
+     */
+    private static class EvictionTask implements Runnable {
+        private static final ScheduledThreadPoolExecutor EVICTOR = createEvictor();
+
+        private final WeakReference<ScalablePool<?>> pool;
+        private volatile ScheduledFuture<?> future;
+
+        private EvictionTask( ScalablePool<?> pool ) {
+            this.pool = new WeakReference<>( pool );
+        }
+
+        private static ScheduledFuture<?> schedule( ScalablePool<?> pool, long periodMillis ) {
+            EvictionTask task = new EvictionTask( pool );
+            task.future = EVICTOR.scheduleAtFixedRate( task, periodMillis, periodMillis, TimeUnit.MILLISECONDS );
+            return task.future;
+        }
+
+        @Override
+        public void run() {
+            ScalablePool<?> p = pool.get();
+            if (p != null) {
+                p.evictIdleResources();
+            } else if (future != null) {
+                future.cancel( false );
+            }
+        }
+
+        private static ScheduledThreadPoolExecutor createEvictor() {
+            ScheduledThreadPoolExecutor evictor = new ScheduledThreadPoolExecutor( 1, r -> {
+                Thread t = new Thread( r, "drools-pool-evictor" );
+                t.setDaemon( true );
+                return t;
+            } );
+            // the tasks of the pools shut down are dropped immediately instead of waiting for their next execution
+            evictor.setRemoveOnCancelPolicy( true );
+            return evictor;
+        }
     }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+/**
+ * The sizing and lifecycle policies of a {@link ScalablePool}. The defaults are the ones of the original
+ * unbounded pool: no maximum size, no eviction of the idle resources and no thread affinity.
+ */
+public class ScalablePoolConfiguration {
+
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    public enum ExhaustedAction {
+        /**
+         * Waits until a resource is released, or until the max wait time has been elapsed
+         */
+        BLOCK,
+        /**
+         * Immediately fails with an IllegalStateException
+         */
+        FAIL;
+
+        public static ExhaustedAction determine(String value) {
+            return value == null ? BLOCK : valueOf( value.trim().toUpperCase() );
+        }
+    }
+
+    private int initialSize;
+    private int maxSize = UNBOUNDED;
+    private ExhaustedAction exhaustedAction = ExhaustedAction.BLOCK;
+    private long maxWaitMillis = -1;
+    private long idleTimeoutMillis;
+    private boolean threadAffinity;
+    private boolean asyncPrewarm;
+
+    public ScalablePoolConfiguration() { }
+
+    public ScalablePoolConfiguration( int initialSize ) {
+        this.initialSize = initialSize;
+    }
+
+    public int getInitialSize() {
+        return initialSize;
+    }
+
+    public ScalablePoolConfiguration setInitialSize( int initialSize ) {
+        this.initialSize = initialSize;
+        return this;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * The maximum number of resources that can be created by the pool, borrowed and idle ones together
+     */
+    public ScalablePoolConfiguration setMaxSize( int maxSize ) {
+        if ( maxSize < 1 ) {
+            throw new IllegalArgumentException( "The max size of a pool must be at least 1, but was " + maxSize );
+        }
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    public boolean isBounded() {
+        return maxSize != UNBOUNDED;
+    }
+
+    public ExhaustedAction getExhaustedAction() {
+        return exhaustedAction;
+    }
+
+    /**
+     * What to do when a resource is requested while all the max size ones are in use
+     */
+    public ScalablePoolConfiguration setExhaustedAction( ExhaustedAction exhaustedAction ) {
+        this.exhaustedAction = exhaustedAction;
+        return this;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    /**
+     * How long a blocked request waits for a resource before failing, where a negative value means forever
+     */
+    public ScalablePoolConfiguration setMaxWaitMillis( long maxWaitMillis ) {
+        this.maxWaitMillis = maxWaitMillis;
+        return this;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /**
+     * How long a resource can stay idle before being disposed, where 0 means forever.
+     * The pool never shrinks below its initial size.
+     */
+    public ScalablePoolConfiguration setIdleTimeoutMillis( long idleTimeoutMillis ) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        return this;
+    }
+
+    public boolean isThreadAffinity() {
+        return threadAffinity;
+    }
+
+    /**
+     * When enabled, a thread gets again the last resource it released if still idle, without going through the shared queue
+     */
+    public ScalablePoolConfiguration setThreadAffinity( boolean threadAffinity ) {
+        this.threadAffinity = threadAffinity;
+        return this;
+    }
+
+    public boolean isAsyncPrewarm() {
+        return asyncPrewarm;
+    }
+
+    /**
+     * When enabled, the initial resources are created in background instead of in the constructor of the pool
+     */
+    public ScalablePoolConfiguration setAsyncPrewarm( boolean asyncPrewarm ) {
+        this.asyncPrewarm = asyncPrewarm;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ScalablePoolConfiguration{" +
+                "initialSize=" + initialSize +
+                ", maxSize=" + ( isBounded() ? "" + maxSize : "unbounded" ) +
+                ", exhaustedAction=" + exhaustedAction +
+                ", maxWaitMillis=" + maxWaitMillis +
+                ", idleTimeoutMillis=" + idleTimeoutMillis +
+                ", threadAffinity=" + threadAffinity +
+                ", asyncPrewarm=" + asyncPrewarm +
+                '}';
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A sorted bag of primitive longs, allowing to add and remove a value and to retrieve the smallest or the biggest
+ * one in O(log n) without boxing them.
+ * The distinct values are kept with their number of occurrences in a treap whose nodes are stored in parallel arrays,
+ * where the index 0 is used as null reference.
+ */
+public class SortedLongBag implements Externalizable {
+
+    private static final int NIL = 0;
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] keys;
+    private int[] counts;
+    private int[] priorities;
+    private int[] lefts;
+    private int[] rights;
+
+    private int root = NIL;
+
+    // the first never used node and the head of the list of the removed ones, linked through the lefts
+    private int nextNode = 1;
+    private int freeNode = NIL;
+
+    private int size;
+
+    private int seed = 0x2545F491;
+
+    public SortedLongBag() {
+        keys = new long[INITIAL_CAPACITY];
+        counts = new int[INITIAL_CAPACITY];
+        priorities = new int[INITIAL_CAPACITY];
+        lefts = new int[INITIAL_CAPACITY];
+        rights = new int[INITIAL_CAPACITY];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill( lefts, NIL );
+        Arrays.fill( rights, NIL );
+        root = NIL;
+        nextNode = 1;
+        freeNode = NIL;
+        size = 0;
+    }
+
+    public void add(long value) {
+        root = add( root, value );
+        size++;
+    }
+
+    /**
+     * Removes an occurrence of the given value, returning false if the bag doesn't contain it
+     */
+    public boolean remove(long value) {
+        int sizeBefore = size;
+        root = remove( root, value );
+        return size < sizeBefore;
+    }
+
+    public int count(long value) {
+        int node = root;
+        while ( node != NIL ) {
+            if ( value == keys[node] ) {
+                return counts[node];
+            }
+            node = value < keys[node] ? lefts[node] : rights[node];
+        }
+        return 0;
+    }
+
+    public long first() {
+        int node = root;
+        if ( node == NIL ) {
+            throw new NoSuchElementException();
+        }
+        while ( lefts[node] != NIL ) {
+            node = lefts[node];
+        }
+        return keys[node];
+    }
+
+    public long last() {
+        int node = root;
+        if ( node == NIL ) {
+            throw new NoSuchElementException();
+        }
+        while ( rights[node] != NIL ) {
+            node = rights[node];
+        }
+        return keys[node];
+    }
+
+    private int add(int node, long value) {
+        if ( node == NIL ) {
+            return newNode( value );
+        }
+        if ( value == keys[node] ) {
+            counts[node]++;
+        } else if ( value < keys[node] ) {
+            // the arrays can be grown while adding, so they have to be dereferenced only after it
+            int left = add( lefts[node], value );
+            lefts[node] = left;
+            if ( priorities[left] > priorities[node] ) {
+                node = rotateRight( node );
+            }
+        } else {
+            int right = add( rights[node], value );
+            rights[node] = right;
+            if ( priorities[right] > priorities[node] ) {
+                node = rotateLeft( node );
+            }
+        }
+        return node;
+    }
+
+    private int remove(int node, long value) {
+        if ( node == NIL ) {
+            return NIL;
+        }
+        if ( value < keys[node] ) {
+            lefts[node] = remove( lefts[node], value );
+        } else if ( value > keys[node] ) {
+            rights[node] = remove( rights[node], value );
+        } else {
+            size--;
+            if ( --counts[node] == 0 ) {
+                return delete( node );
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Rotates the node down until it becomes a leaf, and then unlinks it
+     */
+    private int delete(int node) {
+        int left = lefts[node];
+        int right = rights[node];
+        if ( left == NIL || right == NIL ) {
+            freeNode( node );
+            return left == NIL ? right : left;
+        }
+        if ( priorities[left] > priorities[right] ) {
+            int newRoot = rotateRight( node );
+            rights[newRoot] = delete( node );
+            return newRoot;
+        }
+        int newRoot = rotateLeft( node );
+        lefts[newRoot] = delete( node );
+        return newRoot;
+    }
+
+    private int rotateRight(int node) {
+        int left = lefts[node];
+        lefts[node] = rights[left];
+        rights[left] = node;
+        return left;
+    }
+
+    private int rotateLeft(int node) {
+        int right = rights[node];
+        rights[node] = lefts[right];
+        lefts[right] = node;
+        return right;
+    }
+
+    private int newNode(long value) {
+        int node;
+        if ( freeNode != NIL ) {
+            node = freeNode;
+            freeNode = lefts[node];
+        } else {
+            if ( nextNode == keys.length ) {
+                grow();
+            }
+            node = nextNode++;
+        }
+        keys[node] = value;
+        counts[node] = 1;
+        priorities[node] = nextPriority();
+        lefts[node] = NIL;
+        rights[node] = NIL;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        rights[node] = NIL;
+        lefts[node] = freeNode;
+        freeNode = node;
+    }
+
+    private void grow() {
+        int capacity = keys.length << 1;
+        keys = Arrays.copyOf( keys, capacity );
+        counts = Arrays.copyOf( counts, capacity );
+        priorities = Arrays.copyOf( priorities, capacity );
+        lefts = Arrays.copyOf( lefts, capacity );
+        rights = Arrays.copyOf( rights, capacity );
+    }
+
+    private int nextPriority() {
+        // xorshift, a random sequence is all that is needed to keep the treap balanced
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt( nextNode - 1 );
+        writeNode( out, root );
+        out.writeInt( NIL );
+    }
+
+    private void writeNode(ObjectOutput out, int node) throws IOException {
+        if ( node != NIL ) {
+            writeNode( out, lefts[node] );
+            out.writeInt( counts[node] );
+            out.writeLong( keys[node] );
+            writeNode( out, rights[node] );
+        }
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        clear();
+        int capacity = Math.max( INITIAL_CAPACITY, Integer.highestOneBit( in.readInt() ) << 1 );
+        if ( capacity > keys.length ) {
+            keys = new long[capacity];
+            counts = new int[capacity];
+            priorities = new int[capacity];
+            lefts = new int[capacity];
+            rights = new int[capacity];
+        }
+        for (int count = in.readInt(); count != NIL; count = in.readInt()) {
+            long value = in.readLong();
+            for (int i = 0; i < count; i++) {
+                add( value );
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder( "[" );
+        appendNode( sb, root );
+        if ( sb.length() > 1 ) {
+            sb.setLength( sb.length() - 2 );
+        }
+        return sb.append( "]" ).toString();
+    }
+
+    private void appendNode(StringBuilder sb, int node) {
+        if ( node != NIL ) {
+            appendNode( sb, lefts[node] );
+            for (int i = 0; i < counts[node]; i++) {
+                sb.append( keys[node] ).append( ", " );
+            }
+            appendNode( sb, rights[node] );
+        }
+    }
+}
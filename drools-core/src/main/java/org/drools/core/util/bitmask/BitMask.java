@@ -38,13 +38,19 @@ public interface BitMask extends Serializable, Cloneable {
 
     public class Factory {
         public static BitMask getEmpty(int numBits) {
-            return numBits <= 64 ? new LongBitMask() : new OpenBitSet(numBits);
+            if (numBits <= 64) {
+                return new LongBitMask();
+            }
+            return numBits <= MultiLongBitMask.MAX_BITS ? MultiLongBitMask.getEmpty(numBits) : new OpenBitSet(numBits);
         }
 
         public static BitMask getFull(int numBits) {
             if (numBits <= 64) {
                 return new LongBitMask(-1L);
             }
+            if (numBits <= MultiLongBitMask.MAX_BITS) {
+                return MultiLongBitMask.getFull(numBits);
+            }
             int nWords = (numBits / 64) + 1;
             long[] bits = new long[nWords];
             for (int i = 0; i < bits.length; i++) {
@@ -42,6 +42,8 @@ public class LongBitMask extends SingleLongBitMask implements BitMask {
             return AllSetBitMask.get();
         } else if (mask instanceof AllSetButLastBitMask) {
             return isSet(0) ? AllSetBitMask.get() : AllSetButLastBitMask.get();
+        } else if (mask instanceof MultiLongBitMask) {
+            return ((MultiLongBitMask) mask).clone().setAll(this);
         } else if (mask instanceof OpenBitSet) {
             return mask.setAll(this);
         } else if (mask instanceof EmptyButLastBitMask) {
@@ -68,6 +70,8 @@ public class LongBitMask extends SingleLongBitMask implements BitMask {
             this.mask &= Long.MIN_VALUE;
         } else if (mask instanceof EmptyButLastBitMask) {
             reset(0);
+        } else if (mask instanceof MultiLongBitMask) {
+            this.mask &= (-1L - ((MultiLongBitMask) mask).getWord(0));
         } else if (!(mask instanceof EmptyBitMask)) {
             throw new RuntimeException("Cannot resetAll a LongBitMask with a " + mask.getClass().getSimpleName());
         }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.drools.core.util.bitmask;
+
+/**
+ * A {@link MultiLongBitMask} of 128 bits
+ */
+public class LongBitMask128 extends MultiLongBitMask {
+
+    private long w0;
+    private long w1;
+
+    public LongBitMask128() { }
+
+    public LongBitMask128(long w0, long w1) {
+        this.w0 = w0;
+        this.w1 = w1;
+    }
+
+    /**
+     * Returns the interned mask with the given words, without allocating it if already interned
+     */
+    public static LongBitMask128 interned(long w0, long w1) {
+        LongBitMask128 probe = (LongBitMask128) probe(2);
+        probe.w0 = w0;
+        probe.w1 = w1;
+        return (LongBitMask128) intern(probe);
+    }
+
+    @Override
+    public int getNumWords() {
+        return 2;
+    }
+
+    @Override
+    public long getWord(int i) {
+        return i == 0 ? w0 : w1;
+    }
+
+    @Override
+    void setWord(int i, long word) {
+        if (i == 0) {
+            this.w0 = word;
+        } else {
+            this.w1 = word;
+        }
+    }
+
+    @Override
+    public BitMask setAll(BitMask mask) {
+        if (mask instanceof LongBitMask128) {
+            LongBitMask128 other = (LongBitMask128) mask;
+            LongBitMask128 target = (LongBitMask128) mutable();
+            target.w0 |= other.w0;
+            target.w1 |= other.w1;
+            return target;
+        }
+        return super.setAll(mask);
+    }
+
+    @Override
+    public BitMask resetAll(BitMask mask) {
+        if (mask instanceof LongBitMask128) {
+            LongBitMask128 other = (LongBitMask128) mask;
+            LongBitMask128 target = (LongBitMask128) mutable();
+            target.w0 &= ~other.w0;
+            target.w1 &= ~other.w1;
+            return target;
+        }
+        return super.resetAll(mask);
+    }
+
+    @Override
+    public boolean intersects(BitMask mask) {
+        if (mask instanceof LongBitMask128) {
+            LongBitMask128 other = (LongBitMask128) mask;
+            return ((w0 & other.w0) | (w1 & other.w1)) != 0L;
+        }
+        return super.intersects(mask);
+    }
+
+    @Override
+    public boolean isAllSet() {
+        return (w0 & w1) == -1L;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (w0 | w1) == 0L;
+    }
+
+    @Override
+    public LongBitMask128 clone() {
+        return new LongBitMask128(w0, w1);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.drools.core.util.bitmask;
+
+/**
+ * A {@link MultiLongBitMask} of 192 bits
+ */
+public class LongBitMask192 extends MultiLongBitMask {
+
+    private long w0;
+    private long w1;
+    private long w2;
+
+    public LongBitMask192() { }
+
+    public LongBitMask192(long w0, long w1, long w2) {
+        this.w0 = w0;
+        this.w1 = w1;
+        this.w2 = w2;
+    }
+
+    /**
+     * Returns the interned mask with the given words, without allocating it if already interned
+     */
+    public static LongBitMask192 interned(long w0, long w1, long w2) {
+        LongBitMask192 probe = (LongBitMask192) probe(3);
+        probe.w0 = w0;
+        probe.w1 = w1;
+        probe.w2 = w2;
+        return (LongBitMask192) intern(probe);
+    }
+
+    @Override
+    public int getNumWords() {
+        return 3;
+    }
+
+    @Override
+    public long getWord(int i) {
+        switch (i) {
+            case 0:
+                return w0;
+            case 1:
+                return w1;
+            default:
+                return w2;
+        }
+    }
+
+    @Override
+    void setWord(int i, long word) {
+        switch (i) {
+            case 0:
+                this.w0 = word;
+                break;
+            case 1:
+                this.w1 = word;
+                break;
+            default:
+                this.w2 = word;
+        }
+    }
+
+    @Override
+    public BitMask setAll(BitMask mask) {
+        if (mask instanceof LongBitMask192) {
+            LongBitMask192 other = (LongBitMask192) mask;
+            LongBitMask192 target = (LongBitMask192) mutable();
+            target.w0 |= other.w0;
+            target.w1 |= other.w1;
+            target.w2 |= other.w2;
+            return target;
+        }
+        return super.setAll(mask);
+    }
+
+    @Override
+    public BitMask resetAll(BitMask mask) {
+        if (mask instanceof LongBitMask192) {
+            LongBitMask192 other = (LongBitMask192) mask;
+            LongBitMask192 target = (LongBitMask192) mutable();
+            target.w0 &= ~other.w0;
+            target.w1 &= ~other.w1;
+            target.w2 &= ~other.w2;
+            return target;
+        }
+        return super.resetAll(mask);
+    }
+
+    @Override
+    public boolean intersects(BitMask mask) {
+        if (mask instanceof LongBitMask192) {
+            LongBitMask192 other = (LongBitMask192) mask;
+            return ((w0 & other.w0) | (w1 & other.w1) | (w2 & other.w2)) != 0L;
+        }
+        return super.intersects(mask);
+    }
+
+    @Override
+    public boolean isAllSet() {
+        return (w0 & w1 & w2) == -1L;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (w0 | w1 | w2) == 0L;
+    }
+
+    @Override
+    public LongBitMask192 clone() {
+        return new LongBitMask192(w0, w1, w2);
+    }
+}
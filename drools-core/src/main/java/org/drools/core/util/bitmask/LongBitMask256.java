@@ -0,0 +1,136 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.drools.core.util.bitmask;
+
+/**
+ * A {@link MultiLongBitMask} of 256 bits
+ */
+public class LongBitMask256 extends MultiLongBitMask {
+
+    private long w0;
+    private long w1;
+    private long w2;
+    private long w3;
+
+    public LongBitMask256() { }
+
+    public LongBitMask256(long w0, long w1, long w2, long w3) {
+        this.w0 = w0;
+        this.w1 = w1;
+        this.w2 = w2;
+        this.w3 = w3;
+    }
+
+    /**
+     * Returns the interned mask with the given words, without allocating it if already interned
+     */
+    public static LongBitMask256 interned(long w0, long w1, long w2, long w3) {
+        LongBitMask256 probe = (LongBitMask256) probe(4);
+        probe.w0 = w0;
+        probe.w1 = w1;
+        probe.w2 = w2;
+        probe.w3 = w3;
+        return (LongBitMask256) intern(probe);
+    }
+
+    @Override
+    public int getNumWords() {
+        return 4;
+    }
+
+    @Override
+    public long getWord(int i) {
+        switch (i) {
+            case 0:
+                return w0;
+            case 1:
+                return w1;
+            case 2:
+                return w2;
+            default:
+                return w3;
+        }
+    }
+
+    @Override
+    void setWord(int i, long word) {
+        switch (i) {
+            case 0:
+                this.w0 = word;
+                break;
+            case 1:
+                this.w1 = word;
+                break;
+            case 2:
+                this.w2 = word;
+                break;
+            default:
+                this.w3 = word;
+        }
+    }
+
+    @Override
+    public BitMask setAll(BitMask mask) {
+        if (mask instanceof LongBitMask256) {
+            LongBitMask256 other = (LongBitMask256) mask;
+            LongBitMask256 target = (LongBitMask256) mutable();
+            target.w0 |= other.w0;
+            target.w1 |= other.w1;
+            target.w2 |= other.w2;
+            target.w3 |= other.w3;
+            return target;
+        }
+        return super.setAll(mask);
+    }
+
+    @Override
+    public BitMask resetAll(BitMask mask) {
+        if (mask instanceof LongBitMask256) {
+            LongBitMask256 other = (LongBitMask256) mask;
+            LongBitMask256 target = (LongBitMask256) mutable();
+            target.w0 &= ~other.w0;
+            target.w1 &= ~other.w1;
+            target.w2 &= ~other.w2;
+            target.w3 &= ~other.w3;
+            return target;
+        }
+        return super.resetAll(mask);
+    }
+
+    @Override
+    public boolean intersects(BitMask mask) {
+        if (mask instanceof LongBitMask256) {
+            LongBitMask256 other = (LongBitMask256) mask;
+            return ((w0 & other.w0) | (w1 & other.w1) | (w2 & other.w2) | (w3 & other.w3)) != 0L;
+        }
+        return super.intersects(mask);
+    }
+
+    @Override
+    public boolean isAllSet() {
+        return (w0 & w1 & w2 & w3) == -1L;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (w0 | w1 | w2 | w3) == 0L;
+    }
+
+    @Override
+    public LongBitMask256 clone() {
+        return new LongBitMask256(w0, w1, w2, w3);
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.drools.core.util.bitmask;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bit mask made of a fixed number of long fields, used in place of an {@link OpenBitSet} for the property reactive
+ * masks of the classes having more than 64 and up to {@link #MAX_BITS} properties. A mask is a single small object,
+ * the operations between two masks of the same width are done in place without any loop or bound check, and a bit
+ * outside of the width is treated as not set, as for a {@link LongBitMask}.
+ *
+ * The masks of the modify and update statements are interned, so that a modification doesn't allocate any mask.
+ * An interned mask is frozen: the operations that would change it return a changed copy instead, what is transparent
+ * for the callers that, as for any other {@link BitMask}, always go on with the returned mask.
+ */
+public abstract class MultiLongBitMask implements BitMask {
+
+    public static final int MAX_BITS = 256;
+
+    private static final Map<MultiLongBitMask, MultiLongBitMask> INTERNED = new ConcurrentHashMap<>();
+
+    // a mask for each width per thread, filled with the words of the mask to be interned in order to look it up
+    private static final ThreadLocal<MultiLongBitMask[]> PROBES = ThreadLocal.withInitial(
+            () -> new MultiLongBitMask[] { new LongBitMask128(), new LongBitMask192(), new LongBitMask256() } );
+
+    private transient boolean frozen;
+
+    public static MultiLongBitMask getEmpty(int numBits) {
+        return create(OpenBitSet.bits2words(numBits));
+    }
+
+    public static MultiLongBitMask getFull(int numBits) {
+        MultiLongBitMask mask = getEmpty(numBits);
+        for (int i = 0; i < mask.getNumWords(); i++) {
+            mask.setWord(i, -1L);
+        }
+        return mask;
+    }
+
+    private static MultiLongBitMask create(int numWords) {
+        switch (numWords) {
+            case 2:
+                return new LongBitMask128();
+            case 3:
+                return new LongBitMask192();
+            case 4:
+                return new LongBitMask256();
+        }
+        throw new IllegalArgumentException("A " + MultiLongBitMask.class.getSimpleName() + " cannot have " + numWords + " words");
+    }
+
+    /**
+     * Returns the interned mask having the first numWords words of the given array, that is also its width
+     */
+    public static MultiLongBitMask interned(long[] words, int numWords) {
+        MultiLongBitMask probe = probe(numWords);
+        for (int i = 0; i < numWords; i++) {
+            probe.setWord(i, words[i]);
+        }
+        return intern(probe);
+    }
+
+    static MultiLongBitMask probe(int numWords) {
+        return PROBES.get()[numWords - 2];
+    }
+
+    static MultiLongBitMask intern(MultiLongBitMask probe) {
+        MultiLongBitMask mask = INTERNED.get(probe);
+        if (mask == null) {
+            MultiLongBitMask copy = probe.clone();
+            copy.frozen = true;
+            mask = INTERNED.putIfAbsent(copy, copy);
+            if (mask == null) {
+                mask = copy;
+            }
+        }
+        return mask;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    public abstract int getNumWords();
+
+    public abstract long getWord(int i);
+
+    abstract void setWord(int i, long word);
+
+    /**
+     * Returns a copy of this mask that is never frozen
+     */
+    @Override
+    public abstract MultiLongBitMask clone();
+
+    MultiLongBitMask mutable() {
+        return frozen ? clone() : this;
+    }
+
+    @Override
+    public BitMask set(int index) {
+        int word = index >>> 6;
+        if (word >= getNumWords()) {
+            return BitMask.Factory.getEmpty(index + 1).setAll(this).set(index);
+        }
+        MultiLongBitMask target = mutable();
+        target.setWord(word, target.getWord(word) | (1L << index));
+        return target;
+    }
+
+    @Override
+    public BitMask setAll(BitMask mask) {
+        if (mask instanceof MultiLongBitMask) {
+            MultiLongBitMask other = (MultiLongBitMask) mask;
+            if (other.getNumWords() > getNumWords()) {
+                return other.clone().setAll(this);
+            }
+            MultiLongBitMask target = mutable();
+            for (int i = 0; i < other.getNumWords(); i++) {
+                target.setWord(i, target.getWord(i) | other.getWord(i));
+            }
+            return target;
+        } else if (mask instanceof LongBitMask) {
+            MultiLongBitMask target = mutable();
+            target.setWord(0, target.getWord(0) | ((LongBitMask) mask).asLong());
+            return target;
+        } else if (mask instanceof AllSetBitMask) {
+            return AllSetBitMask.get();
+        } else if (mask instanceof AllSetButLastBitMask) {
+            return isSet(0) ? AllSetBitMask.get() : AllSetButLastBitMask.get();
+        } else if (mask instanceof EmptyButLastBitMask) {
+            return set(0);
+        } else if (mask instanceof OpenBitSet) {
+            OpenBitSet other = (OpenBitSet) mask;
+            int numWords = Math.min(other.getNumWords(), other.getBits().length);
+            for (int i = getNumWords(); i < numWords; i++) {
+                if (other.getBits()[i] != 0L) {
+                    return other.clone().setAll(this);
+                }
+            }
+            MultiLongBitMask target = mutable();
+            for (int i = 0; i < Math.min(numWords, getNumWords()); i++) {
+                target.setWord(i, target.getWord(i) | other.getBits()[i]);
+            }
+            return target;
+        }
+        return this;
+    }
+
+    @Override
+    public BitMask reset(int index) {
+        int word = index >>> 6;
+        if (word >= getNumWords()) {
+            return this;
+        }
+        MultiLongBitMask target = mutable();
+        target.setWord(word, target.getWord(word) & ~(1L << index));
+        return target;
+    }
+
+    @Override
+    public BitMask resetAll(BitMask mask) {
+        if (mask instanceof MultiLongBitMask) {
+            MultiLongBitMask other = (MultiLongBitMask) mask;
+            MultiLongBitMask target = mutable();
+            for (int i = 0; i < Math.min(other.getNumWords(), getNumWords()); i++) {
+                target.setWord(i, target.getWord(i) & ~other.getWord(i));
+            }
+            return target;
+        } else if (mask instanceof LongBitMask) {
+            MultiLongBitMask target = mutable();
+            target.setWord(0, target.getWord(0) & ~((LongBitMask) mask).asLong());
+            return target;
+        } else if (mask instanceof AllSetBitMask || mask instanceof AllSetButLastBitMask) {
+            MultiLongBitMask target = mutable();
+            target.setWord(0, mask instanceof AllSetBitMask ? 0L : target.getWord(0) & 1L);
+            for (int i = 1; i < getNumWords(); i++) {
+                target.setWord(i, 0L);
+            }
+            return target;
+        } else if (mask instanceof EmptyButLastBitMask) {
+            return reset(0);
+        } else if (mask instanceof OpenBitSet) {
+            OpenBitSet other = (OpenBitSet) mask;
+            MultiLongBitMask target = mutable();
+            for (int i = 0; i < Math.min(Math.min(other.getNumWords(), other.getBits().length), getNumWords()); i++) {
+                target.setWord(i, target.getWord(i) & ~other.getBits()[i]);
+            }
+            return target;
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isSet(int index) {
+        int word = index >>> 6;
+        return word < getNumWords() && (getWord(word) & (1L << index)) != 0;
+    }
+
+    @Override
+    public boolean isAllSet() {
+        for (int i = 0; i < getNumWords(); i++) {
+            if (getWord(i) != -1L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (int i = 0; i < getNumWords(); i++) {
+            if (getWord(i) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean intersects(BitMask mask) {
+        if (mask instanceof MultiLongBitMask) {
+            MultiLongBitMask other = (MultiLongBitMask) mask;
+            for (int i = 0; i < Math.min(other.getNumWords(), getNumWords()); i++) {
+                if ((getWord(i) & other.getWord(i)) != 0L) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (mask instanceof LongBitMask) {
+            return (getWord(0) & ((LongBitMask) mask).asLong()) != 0L;
+        }
+        if (mask instanceof AllSetBitMask) {
+            return !isEmpty();
+        }
+        if (mask instanceof AllSetButLastBitMask) {
+            return nextSetBit(1) != -1;
+        }
+        if (mask instanceof EmptyButLastBitMask) {
+            return isSet(0);
+        }
+        if (mask instanceof OpenBitSet) {
+            OpenBitSet other = (OpenBitSet) mask;
+            for (int i = 0; i < Math.min(Math.min(other.getNumWords(), other.getBits().length), getNumWords()); i++) {
+                if ((getWord(i) & other.getBits()[i]) != 0L) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the index of the first set bit starting at the given index, or -1 if there isn't any
+     */
+    public int nextSetBit(int index) {
+        int word = index >>> 6;
+        if (word >= getNumWords()) {
+            return -1;
+        }
+        long bits = getWord(word) & (-1L << index);
+        while (bits == 0L) {
+            if (++word == getNumWords()) {
+                return -1;
+            }
+            bits = getWord(word);
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    @Override
+    public String getInstancingStatement() {
+        StringBuilder sb = new StringBuilder(getClass().getCanonicalName()).append(".interned(");
+        for (int i = 0; i < getNumWords(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(getWord(i)).append("L");
+        }
+        return sb.append(")").toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MultiLongBitMask)) {
+            return false;
+        }
+        MultiLongBitMask other = (MultiLongBitMask) o;
+        for (int i = 0; i < Math.max(getNumWords(), other.getNumWords()); i++) {
+            long word = i < getNumWords() ? getWord(i) : 0L;
+            long otherWord = i < other.getNumWords() ? other.getWord(i) : 0L;
+            if (word != otherWord) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // the same of OpenBitSet, that ignores the trailing empty words, consistently with equals
+        long h = 0;
+        for (int i = getNumWords(); --i >= 0;) {
+            h ^= getWord(i);
+            h = (h << 1) | (h >>> 63);
+        }
+        return (int)((h >> 32) ^ h) + 0x98761234;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < getNumWords(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(getWord(i));
+        }
+        return sb.toString();
+    }
+}
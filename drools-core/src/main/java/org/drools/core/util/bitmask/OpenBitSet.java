@@ -1248,6 +1248,13 @@ public class OpenBitSet implements BitMask {
             return set(0);
         } else if (mask instanceof LongBitMask) {
             this.bits[0] |= ((LongBitMask) mask).asLong();
+        } else if (mask instanceof MultiLongBitMask) {
+            MultiLongBitMask other = (MultiLongBitMask) mask;
+            ensureCapacityWords(other.getNumWords());
+            for (int i = 0; i < other.getNumWords(); i++) {
+                this.bits[i] |= other.getWord(i);
+            }
+            this.wlen = Math.max(this.wlen, other.getNumWords());
         }
         return this;
     }
@@ -1275,6 +1282,11 @@ public class OpenBitSet implements BitMask {
             return reset(0);
         } else if (mask instanceof LongBitMask) {
             this.bits[0] &= (-1L - ((LongBitMask) mask).asLong());
+        } else if (mask instanceof MultiLongBitMask) {
+            MultiLongBitMask other = (MultiLongBitMask) mask;
+            for (int i = 0; i < Math.min(this.bits.length, other.getNumWords()); i++) {
+                this.bits[i] &= ~other.getWord(i);
+            }
         }
         return this;
     }
@@ -1308,6 +1320,9 @@ public class OpenBitSet implements BitMask {
         if (mask instanceof EmptyButLastBitMask) {
             return isSet(0);
         }
+        if (mask instanceof MultiLongBitMask) {
+            return mask.intersects(this);
+        }
         return mask instanceof OpenBitSet ?
                intersects((OpenBitSet)mask) :
                (this.bits[0] & ((LongBitMask)mask).asLong()) != 0;
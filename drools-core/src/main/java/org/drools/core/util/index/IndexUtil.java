@@ -37,6 +37,7 @@ public class IndexUtil {
     // package private for test convenience
     static boolean USE_COMPARISON_INDEX = true;
     static boolean USE_COMPARISON_INDEX_JOIN = true;
+    static boolean USE_PRIMITIVE_KEY_INDEX = true;
 
     public static boolean compositeAllowed(BetaNodeFieldConstraint[] constraints, short betaNodeType, RuleBaseConfiguration config) {
         // 1) If there is 1 or more unification restrictions it cannot be composite
@@ -75,7 +76,7 @@ public class IndexUtil {
 
     private static boolean canHaveRangeIndexForNodeType(short nodeType, RuleBaseConfiguration config) {
         if (USE_COMPARISON_INDEX_JOIN && config.isBetaNodeRangeIndexEnabled()) {
-            return USE_COMPARISON_INDEX && (nodeType == NodeTypeEnums.NotNode || nodeType == NodeTypeEnums.ExistsNode || nodeType == NodeTypeEnums.JoinNode);
+            return USE_COMPARISON_INDEX && (nodeType == NodeTypeEnums.NotNode || nodeType == NodeTypeEnums.ExistsNode || nodeType == NodeTypeEnums.JoinNode || nodeType == NodeTypeEnums.AccumulateNode);
         } else {
             return USE_COMPARISON_INDEX && (nodeType == NodeTypeEnums.NotNode || nodeType == NodeTypeEnums.ExistsNode);
         }
@@ -346,7 +347,7 @@ public class IndexUtil {
             }
 
             if (indexSpec.constraintType == ConstraintType.EQUAL) {
-                return new TupleIndexHashTable( indexSpec.indexes, false );
+                return createEqualityMemory( indexSpec, false );
             }
 
             if (indexSpec.constraintType.isComparison()) {
@@ -365,7 +366,7 @@ public class IndexUtil {
             }
 
             if (indexSpec.constraintType == ConstraintType.EQUAL) {
-                return new TupleIndexHashTable( indexSpec.indexes, true );
+                return createEqualityMemory( indexSpec, true );
             }
 
             if (indexSpec.constraintType.isComparison()) {
@@ -375,6 +376,13 @@ public class IndexUtil {
             return new TupleList();
         }
 
+        private static TupleMemory createEqualityMemory(IndexSpec indexSpec, boolean left) {
+            if (USE_PRIMITIVE_KEY_INDEX && indexSpec.indexes.length == 1 && TupleIndexLongHashTable.isLongIndexable(indexSpec.indexes[0])) {
+                return new TupleIndexLongHashTable( indexSpec.indexes[0], left );
+            }
+            return new TupleIndexHashTable( indexSpec.indexes, left );
+        }
+
         public static ContextEntry[] createContext(BetaNodeFieldConstraint... constraints) {
             ContextEntry[] entries = new ContextEntry[constraints.length];
             for (int i = 0; i < constraints.length; i++) {
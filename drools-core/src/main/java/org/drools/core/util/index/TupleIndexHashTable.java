@@ -68,6 +68,12 @@ public class TupleIndexHashTable extends AbstractHashTable implements TupleMemor
             this.startResult += PRIME * this.startResult + i.getRightExtractor().getIndex();
         }
 
+        if ( index.length > 1 && PackedCompositeIndex.isPackable( index ) ) {
+            this.index = new PackedCompositeIndex( index,
+                                                   this.startResult );
+            return;
+        }
+
         switch ( index.length ) {
             case 0 :
                 throw new IllegalArgumentException( "FieldIndexHashTable cannot use an index[] of length  0" );
@@ -325,7 +331,7 @@ public class TupleIndexHashTable extends AbstractHashTable implements TupleMemor
         memory.remove( tuple );
 
         HashEntry hashEntry = this.index.hashCodeOf( tuple, left );
-        if ( hashEntry.hashCode() == memory.hashCode() ) {
+        if ( matches( memory, hashEntry ) ) {
             // it's the same bucket, so re-use and return
             memory.add( tuple );
             return;
@@ -418,7 +424,10 @@ public class TupleIndexHashTable extends AbstractHashTable implements TupleMemor
     }
 
     private TupleList get(final Tuple tuple, boolean isLeftTuple) {
-        HashEntry hashEntry = this.index.hashCodeOf( tuple, isLeftTuple );
+        HashEntry hashEntry = cachedHashEntryOf( tuple );
+        if ( hashEntry == null ) {
+            hashEntry = this.index.hashCodeOf( tuple, isLeftTuple );
+        }
 
         int index = indexOf( hashEntry.hashCode(), this.table.length );
         TupleList entry = (TupleList) this.table[index];
@@ -433,6 +442,20 @@ public class TupleIndexHashTable extends AbstractHashTable implements TupleMemor
         return null;
     }
 
+    /**
+     * A tuple stored in the memory on the other side of the same node is held by a bucket having the very same
+     * packed key that it would use to probe this memory, so that key can be reused without reading the fields again.
+     */
+    private HashEntry cachedHashEntryOf(final Tuple tuple) {
+        if ( this.index instanceof PackedCompositeIndex ) {
+            TupleList memory = tuple.getMemory();
+            if ( memory instanceof IndexTupleList && (( PackedCompositeIndex ) this.index).sharesKeyWith( (( IndexTupleList ) memory).getIndex() ) ) {
+                return (( IndexTupleList ) memory).getHashEntry();
+            }
+        }
+        return null;
+    }
+
     private boolean matches( TupleList list, HashEntry hashEntry ) {
         return list.hashCode() == hashEntry.hashCode() && hashEntry.equals( (( IndexTupleList ) list).getHashEntry() );
     }
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.drools.core.util.index;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.drools.core.base.ValueType;
+import org.drools.core.reteoo.TupleMemory;
+import org.drools.core.rule.Declaration;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.spi.Tuple;
+import org.drools.core.util.AbstractHashTable.FieldIndex;
+import org.drools.core.util.Entry;
+import org.drools.core.util.FastIterator;
+import org.drools.core.util.Iterator;
+import org.drools.core.util.LinkedList;
+
+/**
+ * A beta memory indexed on a single equality constraint between two integral primitive fields.
+ *
+ * Differently from the TupleIndexHashTable, the keys are read as primitive longs and stored in an
+ * open addressing table with linear probing, so neither inserts nor lookups box the indexed values
+ * or chase the chain of the buckets sharing the same hash.
+ */
+public class TupleIndexLongHashTable implements TupleMemory, Externalizable {
+
+    private static final long serialVersionUID = 510l;
+
+    private static final int DEFAULT_CAPACITY = 32;
+
+    private FieldIndex fieldIndex;
+    private transient InternalReadAccessor rightExtractor;
+    private transient Declaration leftDeclaration;
+    private boolean left;
+
+    private long[] keys;
+    private LongKeyTupleList[] buckets;
+    private int mask;
+
+    // the number of not empty buckets, the TupleList of a bucket is discarded as soon as it becomes empty
+    private int size;
+    private int factSize;
+
+    private transient FullFastIterator fullFastIterator;
+    private transient TupleIndexLongHashTableIterator tupleIterator;
+
+    public TupleIndexLongHashTable() {
+        // constructor for serialisation
+    }
+
+    public TupleIndexLongHashTable( FieldIndex fieldIndex, boolean left ) {
+        this.fieldIndex = fieldIndex;
+        this.left = left;
+        initExtractors();
+        init( DEFAULT_CAPACITY );
+    }
+
+    private void initExtractors() {
+        this.rightExtractor = (InternalReadAccessor) fieldIndex.getRightExtractor();
+        this.leftDeclaration = (Declaration) fieldIndex.getLeftExtractor();
+    }
+
+    public void readExternal(ObjectInput in) throws IOException,
+                                            ClassNotFoundException {
+        fieldIndex = (FieldIndex) in.readObject();
+        left = in.readBoolean();
+        keys = (long[]) in.readObject();
+        buckets = (LongKeyTupleList[]) in.readObject();
+        mask = buckets.length - 1;
+        size = in.readInt();
+        factSize = in.readInt();
+        initExtractors();
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeObject( fieldIndex );
+        out.writeBoolean( left );
+        out.writeObject( keys );
+        out.writeObject( buckets );
+        out.writeInt( size );
+        out.writeInt( factSize );
+    }
+
+    /**
+     * Checks if the given index can be handled by this memory: both sides must be read with a Declaration
+     * and the same integral primitive type, so they can be compared without any coercion.
+     */
+    public static boolean isLongIndexable( FieldIndex fieldIndex ) {
+        if ( fieldIndex.requiresCoercion() || !(fieldIndex.getLeftExtractor() instanceof Declaration) ||
+             !(fieldIndex.getRightExtractor() instanceof InternalReadAccessor) ) {
+            return false;
+        }
+        ValueType valueType = ((InternalReadAccessor) fieldIndex.getRightExtractor()).getValueType();
+        return valueType == ValueType.PINTEGER_TYPE || valueType == ValueType.PLONG_TYPE ||
+               valueType == ValueType.PSHORT_TYPE || valueType == ValueType.PBYTE_TYPE;
+    }
+
+    private void init( int capacity ) {
+        this.keys = new long[capacity];
+        this.buckets = new LongKeyTupleList[capacity];
+        this.mask = capacity - 1;
+        this.size = 0;
+    }
+
+    public FieldIndex getFieldIndex() {
+        return fieldIndex;
+    }
+
+    private long keyOf( Tuple tuple, boolean isLeftTuple ) {
+        return isLeftTuple ?
+               leftDeclaration.getLongValue( null, tuple.get( leftDeclaration ).getObject() ) :
+               rightExtractor.getLongValue( null, tuple.getFactHandle().getObject() );
+    }
+
+    private static int hash( long key ) {
+        int h = (int) ( key ^ ( key >>> 32 ) ) * 0x9E3779B9;
+        return h ^ ( h >>> 16 );
+    }
+
+    /**
+     * Returns the position of the bucket with the given key or, if missing, the negated
+     * (minus one) position where it should be inserted
+     */
+    private int slotOf( long key ) {
+        int slot = hash( key ) & mask;
+        while ( buckets[slot] != null ) {
+            if ( keys[slot] == key ) {
+                return slot;
+            }
+            slot = ( slot + 1 ) & mask;
+        }
+        return ~slot;
+    }
+
+    private LongKeyTupleList get( long key ) {
+        int slot = slotOf( key );
+        return slot >= 0 ? buckets[slot] : null;
+    }
+
+    private LongKeyTupleList getOrCreate( long key ) {
+        int slot = slotOf( key );
+        if ( slot >= 0 ) {
+            return buckets[slot];
+        }
+
+        if ( ( size + 1 ) * 2 > buckets.length ) {
+            resize( buckets.length * 2 );
+            slot = slotOf( key );
+        }
+
+        slot = ~slot;
+        LongKeyTupleList bucket = new LongKeyTupleList( key );
+        keys[slot] = key;
+        buckets[slot] = bucket;
+        size++;
+        return bucket;
+    }
+
+    private void resize( int newCapacity ) {
+        LongKeyTupleList[] oldBuckets = buckets;
+        long[] oldKeys = keys;
+        init( newCapacity );
+        for ( int i = 0; i < oldBuckets.length; i++ ) {
+            if ( oldBuckets[i] != null ) {
+                int slot = ~slotOf( oldKeys[i] );
+                keys[slot] = oldKeys[i];
+                buckets[slot] = oldBuckets[i];
+                size++;
+            }
+        }
+    }
+
+    private void removeBucket( LongKeyTupleList bucket ) {
+        int slot = slotOf( bucket.key );
+        buckets[slot] = null;
+        size--;
+
+        // backward shift deletion: moves back the following entries of the same cluster that would be no longer reachable
+        int next = ( slot + 1 ) & mask;
+        while ( buckets[next] != null ) {
+            int ideal = hash( keys[next] ) & mask;
+            if ( ( ( next - ideal ) & mask ) >= ( ( next - slot ) & mask ) ) {
+                keys[slot] = keys[next];
+                buckets[slot] = buckets[next];
+                buckets[next] = null;
+                slot = next;
+            }
+            next = ( next + 1 ) & mask;
+        }
+    }
+
+    public Tuple getFirst( final Tuple tuple ) {
+        LongKeyTupleList bucket = get( keyOf( tuple, !left ) );
+        return bucket != null ? bucket.getFirst() : null;
+    }
+
+    public void add( final Tuple tuple ) {
+        getOrCreate( keyOf( tuple, left ) ).add( tuple );
+        this.factSize++;
+    }
+
+    public void remove( final Tuple tuple ) {
+        LongKeyTupleList memory = (LongKeyTupleList) tuple.getMemory();
+        memory.remove( tuple );
+        this.factSize--;
+        if ( memory.getFirst() == null ) {
+            removeBucket( memory );
+        }
+        tuple.clear();
+    }
+
+    public void removeAdd( final Tuple tuple ) {
+        LongKeyTupleList memory = (LongKeyTupleList) tuple.getMemory();
+        memory.remove( tuple );
+
+        long key = keyOf( tuple, left );
+        if ( key == memory.key ) {
+            // it's the same bucket, so re-use and return
+            memory.add( tuple );
+            return;
+        }
+
+        this.factSize--;
+        if ( memory.getFirst() == null ) {
+            removeBucket( memory );
+        }
+        add( tuple );
+    }
+
+    public boolean contains( final Tuple tuple ) {
+        return get( keyOf( tuple, left ) ) != null;
+    }
+
+    public boolean isIndexed() {
+        return true;
+    }
+
+    public int size() {
+        return this.factSize;
+    }
+
+    public Iterator<Tuple> iterator() {
+        if ( this.tupleIterator == null ) {
+            this.tupleIterator = new TupleIndexLongHashTableIterator();
+        }
+        this.tupleIterator.reset();
+        return this.tupleIterator;
+    }
+
+    public FastIterator fastIterator() {
+        return LinkedList.fastIterator;
+    }
+
+    public FastIterator fullFastIterator() {
+        if ( this.fullFastIterator == null ) {
+            this.fullFastIterator = new FullFastIterator();
+        }
+        this.fullFastIterator.row = 0;
+        return this.fullFastIterator;
+    }
+
+    public FastIterator fullFastIterator( Tuple tuple ) {
+        if ( this.fullFastIterator == null ) {
+            this.fullFastIterator = new FullFastIterator();
+        }
+        // row always points to the row after the current bucket
+        this.fullFastIterator.row = slotOf( ( (LongKeyTupleList) tuple.getMemory() ).key ) + 1;
+        return this.fullFastIterator;
+    }
+
+    private Tuple firstFrom( int row, FullFastIterator it ) {
+        while ( row < buckets.length ) {
+            LongKeyTupleList bucket = buckets[row++];
+            if ( bucket != null ) {
+                it.row = row;
+                return bucket.getFirst();
+            }
+        }
+        it.row = row;
+        return null;
+    }
+
+    private class FullFastIterator implements FastIterator {
+        private int row;
+
+        public Entry next( Entry object ) {
+            if ( object != null ) {
+                Tuple next = ( (Tuple) object ).getNext();
+                if ( next != null ) {
+                    return next;
+                }
+            }
+            return firstFrom( row, this );
+        }
+
+        public boolean isFullIterator() {
+            return true;
+        }
+    }
+
+    private class TupleIndexLongHashTableIterator implements Iterator<Tuple> {
+        private final FullFastIterator it = new FullFastIterator();
+        private Tuple current;
+
+        private void reset() {
+            it.row = 0;
+            current = null;
+        }
+
+        public Tuple next() {
+            current = (Tuple) it.next( current );
+            return current;
+        }
+    }
+
+    public Tuple[] toArray() {
+        Tuple[] result = new Tuple[this.factSize];
+        int index = 0;
+        for ( LongKeyTupleList bucket : buckets ) {
+            if ( bucket != null ) {
+                for ( Tuple entry = bucket.getFirst(); entry != null; entry = entry.getNext() ) {
+                    result[index++] = entry;
+                }
+            }
+        }
+        return result;
+    }
+
+    public IndexType getIndexType() {
+        return IndexType.EQUAL;
+    }
+
+    public void clear() {
+        init( DEFAULT_CAPACITY );
+        this.factSize = 0;
+        this.fullFastIterator = null;
+        this.tupleIterator = null;
+    }
+
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        Iterator<Tuple> it = iterator();
+        for ( Tuple tuple = it.next(); tuple != null; tuple = it.next() ) {
+            builder.append( tuple ).append( "\n" );
+        }
+        return builder.toString();
+    }
+
+    public static class LongKeyTupleList extends TupleList {
+        private final long key;
+
+        public LongKeyTupleList( long key ) {
+            this.key = key;
+        }
+
+        public long getKey() {
+            return key;
+        }
+    }
+}
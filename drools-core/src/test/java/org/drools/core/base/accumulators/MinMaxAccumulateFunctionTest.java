@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import org.drools.core.base.accumulators.AbstractMinMaxAccumulateFunction.MinMaxData;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MinMaxAccumulateFunctionTest {
+
+    @Test
+    public void testReverseOfTheCurrentMin() {
+        LongMinAccumulateFunction min = new LongMinAccumulateFunction();
+        MinMaxData data = min.createContext();
+        min.init( data );
+        assertNull( min.getResult( data ) );
+
+        min.accumulate( data, 10L );
+        min.accumulate( data, 3L );
+        min.accumulate( data, 3L );
+        min.accumulate( data, 7L );
+        assertEquals( 3L, min.getResult( data ) );
+
+        assertTrue( min.tryReverse( data, 3L ) );
+        assertEquals( 3L, min.getResult( data ) );
+        assertTrue( min.tryReverse( data, 3L ) );
+        assertEquals( 7L, min.getResult( data ) );
+        assertTrue( min.tryReverse( data, 7L ) );
+        assertTrue( min.tryReverse( data, 10L ) );
+        assertNull( min.getResult( data ) );
+    }
+
+    @Test
+    public void testReverseOfTheCurrentMax() {
+        IntegerMaxAccumulateFunction max = new IntegerMaxAccumulateFunction();
+        MinMaxData data = max.createContext();
+        max.init( data );
+
+        max.accumulate( data, 1 );
+        max.accumulate( data, 42 );
+        max.accumulate( data, -5 );
+        assertEquals( 42, max.getResult( data ) );
+
+        max.reverse( data, 42 );
+        assertEquals( 1, max.getResult( data ) );
+        max.reverse( data, 1 );
+        assertEquals( -5, max.getResult( data ) );
+    }
+
+    @Test
+    public void testDoubles() {
+        DoubleMinAccumulateFunction min = new DoubleMinAccumulateFunction();
+        DoubleMaxAccumulateFunction max = new DoubleMaxAccumulateFunction();
+        MinMaxData minData = min.createContext();
+        MinMaxData maxData = max.createContext();
+
+        double[] values = { 2.5, -1.25, 0.0, -7.5, 1e10, -1e-10 };
+        for (double value : values) {
+            min.accumulate( minData, value );
+            max.accumulate( maxData, value );
+        }
+        assertEquals( -7.5, min.getResult( minData ) );
+        assertEquals( 1e10, max.getResult( maxData ) );
+
+        min.reverse( minData, -7.5 );
+        max.reverse( maxData, 1e10 );
+        assertEquals( -1.25, min.getResult( minData ) );
+        assertEquals( 2.5, max.getResult( maxData ) );
+
+        min.reverse( minData, -1.25 );
+        assertEquals( -1e-10, min.getResult( minData ) );
+    }
+
+    @Test
+    public void testSortableLongPreservesTheOrderOfDoubles() {
+        double[] sorted = { Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -3.5, -Double.MIN_VALUE, 0.0, Double.MIN_VALUE, 1.0, 3.5, Double.MAX_VALUE, Double.POSITIVE_INFINITY };
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals( sorted[i], AbstractMinMaxAccumulateFunction.fromSortableLong( AbstractMinMaxAccumulateFunction.toSortableLong( sorted[i] ) ), 0 );
+            if ( i > 0 ) {
+                assertTrue( AbstractMinMaxAccumulateFunction.toSortableLong( sorted[i - 1] ) < AbstractMinMaxAccumulateFunction.toSortableLong( sorted[i] ) );
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.drools.core.RuleBaseConfiguration;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EqualityObjectStoreTest {
+
+    private static final AtomicInteger factCounter = new AtomicInteger(0);
+
+    @Test
+    public void testRemoveDoesNotInvokeHashCodeOrEquals() {
+        ClassAwareObjectStore store = new ClassAwareObjectStore(true, new ReentrantLock());
+        Value value = new Value(1, "a");
+        InternalFactHandle handle = insert(store, value);
+        assertEquals(1, value.hashCodeCalls);
+
+        assertSame(handle, store.getHandleForObject(new Value(1, "a")));
+
+        value.hashCodeCalls = 0;
+        value.equalsCalls = 0;
+        store.removeHandle(handle);
+        assertEquals(0, value.hashCodeCalls);
+        assertEquals(0, value.equalsCalls);
+        assertNull(store.getHandleForObject(new Value(1, "a")));
+    }
+
+    @Test
+    public void testUpdateOfObjectModifiedInPlace() {
+        ClassAwareObjectStore store = new ClassAwareObjectStore(true, new ReentrantLock());
+        Value value = new Value(1, "a");
+        InternalFactHandle handle = insert(store, value);
+
+        value.id = 2;
+        store.updateHandle(handle, value);
+
+        assertNull(store.getHandleForObject(new Value(1, "a")));
+        assertSame(handle, store.getHandleForObject(new Value(2, "a")));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testKeyExtractor() {
+        RuleBaseConfiguration conf = new RuleBaseConfiguration();
+        conf.addEqualityKeyExtractor(Value.class, EqualityKeyExtractor.of(v -> v.id, "id"));
+        ClassAwareObjectStore store = new ClassAwareObjectStore(true, new ReentrantLock(), conf);
+
+        Value value = new Value(1, "a");
+        InternalFactHandle handle = insert(store, value);
+        assertEquals(0, value.hashCodeCalls);
+
+        // only the extracted key is compared
+        Value sameKey = new Value(1, "b");
+        assertSame(handle, store.getHandleForObject(sameKey));
+        assertEquals(0, sameKey.hashCodeCalls);
+        assertEquals(0, sameKey.equalsCalls);
+        assertNull(store.getHandleForObject(new Value(2, "a")));
+
+        value.id = 3;
+        store.updateHandle(handle, value);
+        assertNull(store.getHandleForObject(new Value(1, "a")));
+        assertSame(handle, store.getHandleForObject(new Value(3, "c")));
+
+        store.removeHandle(handle);
+        assertNull(store.getHandleForObject(new Value(3, "c")));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testKeysAreScopedByType() {
+        RuleBaseConfiguration conf = new RuleBaseConfiguration();
+        conf.addEqualityKeyExtractor(Value.class, v -> v.id);
+        conf.addEqualityKeyExtractor(Other.class, o -> o.id);
+        ClassAwareObjectStore store = new ClassAwareObjectStore(true, new ReentrantLock(), conf);
+
+        InternalFactHandle valueHandle = insert(store, new Value(1, "a"));
+        InternalFactHandle otherHandle = insert(store, new Other(1));
+        InternalFactHandle integerHandle = insert(store, 1);
+        assertEquals(3, store.size());
+
+        assertSame(valueHandle, store.getHandleForObject(new Value(1, "b")));
+        assertSame(otherHandle, store.getHandleForObject(new Other(1)));
+        assertSame(integerHandle, store.getHandleForObject(1));
+
+        store.removeHandle(otherHandle);
+        assertNull(store.getHandleForObject(new Other(1)));
+        assertSame(valueHandle, store.getHandleForObject(new Value(1, "b")));
+        assertSame(integerHandle, store.getHandleForObject(1));
+    }
+
+    @Test
+    public void testEqualityKeysAreScopedByType() {
+        RuleBaseConfiguration conf = new RuleBaseConfiguration();
+        conf.addEqualityKeyExtractor(Value.class, v -> v.id);
+        conf.addEqualityKeyExtractor(Other.class, o -> o.id);
+
+        EqualityKey valueKey = newEqualityKey(conf, new Value(1, "a"));
+        EqualityKey otherKey = newEqualityKey(conf, new Other(1));
+        EqualityKey integerKey = newEqualityKey(conf, 1);
+
+        assertTrue(valueKey.equals(conf.getEqualityKeyExtractor(Value.class).getKey(new Value(1, "b"))));
+        assertFalse(valueKey.equals(conf.getEqualityKeyExtractor(Other.class).getKey(new Other(1))));
+        assertFalse(valueKey.equals(1));
+        assertFalse(otherKey.equals(conf.getEqualityKeyExtractor(Value.class).getKey(new Value(1, "a"))));
+        assertFalse(integerKey.equals(conf.getEqualityKeyExtractor(Value.class).getKey(new Value(1, "a"))));
+        assertTrue(integerKey.equals(1));
+    }
+
+    @Test
+    public void testManyFacts() {
+        ClassAwareObjectStore store = new ClassAwareObjectStore(true, new ReentrantLock());
+        InternalFactHandle[] handles = new InternalFactHandle[1000];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = insert(store, new Value(i, "v"));
+        }
+        for (int i = 0; i < handles.length; i++) {
+            assertSame(handles[i], store.getHandleForObject(new Value(i, "v")));
+        }
+        for (int i = 0; i < handles.length; i += 2) {
+            store.removeHandle(handles[i]);
+        }
+        for (int i = 0; i < handles.length; i++) {
+            assertEquals(i % 2 == 0 ? null : handles[i], store.getHandleForObject(new Value(i, "v")));
+        }
+        assertEquals(handles.length / 2, store.size());
+    }
+
+    @Test
+    public void testKeyExtractorIsTakenFromTheKnowledgeBaseOnRead() throws Exception {
+        RuleBaseConfiguration conf = new RuleBaseConfiguration();
+        conf.addEqualityKeyExtractor(Value.class, v -> v.id);
+        ClassAwareObjectStore store = new ClassAwareObjectStore(true, new ReentrantLock(), conf);
+        InternalFactHandle handle = insert(store, new Value(1, "a"));
+
+        ClassAwareObjectStore copy = (ClassAwareObjectStore) writeAndRead(store, KnowledgeBaseFactory.newKnowledgeBase(conf));
+
+        // the facts are still found through the extracted key, also the ones of a class stored after the read
+        assertEquals(handle.getId(), copy.getHandleForObject(new Value(1, "b")).getId());
+        InternalFactHandle other = insert(copy, new Value(2, "a"));
+        assertSame(other, copy.getHandleForObject(new Value(2, "c")));
+        assertEquals(2, copy.size());
+    }
+
+    @Test
+    public void testManyFactsAfterRead() throws Exception {
+        ClassAwareObjectStore store = new ClassAwareObjectStore(true, new ReentrantLock());
+        for (int i = 0; i < 1000; i++) {
+            insert(store, new Value(i, "v"));
+        }
+
+        ClassAwareObjectStore copy = (ClassAwareObjectStore) writeAndRead(store, KnowledgeBaseFactory.newKnowledgeBase());
+
+        for (int i = 0; i < 1000; i++) {
+            InternalFactHandle handle = copy.getHandleForObject(new Value(i, "v"));
+            assertEquals(i, ((Value) handle.getObject()).id);
+            copy.removeHandle(handle);
+        }
+        assertEquals(0, copy.size());
+    }
+
+    @Test
+    public void testEqualityKeyExtractorIsTakenFromTheKnowledgeBaseOnRead() throws Exception {
+        RuleBaseConfiguration conf = new RuleBaseConfiguration();
+        conf.addEqualityKeyExtractor(Value.class, v -> v.id);
+        EqualityKey key = newEqualityKey(conf, new Value(1, "a"));
+
+        EqualityKey copy = (EqualityKey) writeAndRead(key, KnowledgeBaseFactory.newKnowledgeBase(conf));
+
+        assertEquals(key.hashCode(), copy.hashCode());
+        assertTrue(copy.equals(conf.getEqualityKeyExtractor(Value.class).getKey(new Value(1, "b"))));
+        assertFalse(copy.equals(conf.getEqualityKeyExtractor(Value.class).getKey(new Value(2, "a"))));
+    }
+
+    private static Object writeAndRead(Object object, InternalKnowledgeBase kbase) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new DroolsObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (DroolsObjectInputStream in = new DroolsObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            in.setKnowledgeBase(kbase);
+            return in.readObject();
+        }
+    }
+
+    private static InternalFactHandle insert(ClassAwareObjectStore store, Object object) {
+        InternalFactHandle handle = new DefaultFactHandle(factCounter.getAndIncrement(), object);
+        store.addHandle(handle, object);
+        return handle;
+    }
+
+    private static EqualityKey newEqualityKey(RuleBaseConfiguration conf, Object object) {
+        InternalFactHandle handle = new DefaultFactHandle(factCounter.getAndIncrement(), object);
+        return new EqualityKey(handle, EqualityKey.STATED, conf.getEqualityKeyExtractor(object.getClass()));
+    }
+
+    private static class Other {
+        private final int id;
+
+        private Other(int id) {
+            this.id = id;
+        }
+    }
+
+    private static class Value implements Serializable {
+        private int id;
+        private final String description;
+
+        private int hashCodeCalls;
+        private int equalsCalls;
+
+        private Value(int id, String description) {
+            this.id = id;
+            this.description = description;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            equalsCalls++;
+            return o instanceof Value && ((Value) o).id == id && ((Value) o).description.equals(description);
+        }
+
+        @Override
+        public int hashCode() {
+            hashCodeCalls++;
+            return 31 * id + description.hashCode();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.drools.core.common.InternalWorkingMemory;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class SynchronizedPropagationListTest {
+
+    private final InternalWorkingMemory wm = mock( InternalWorkingMemory.class );
+    private final List<String> executed = new ArrayList<>();
+
+    @Test
+    public void testConsecutiveExpirationsAreCoalesced() {
+        SynchronizedPropagationList list = new SynchronizedPropagationList( wm );
+        list.addEntry( new Expiration( "e1" ) );
+        list.addEntry( new Expiration( "e2" ) );
+        list.addEntry( new Expiration( "e3" ) );
+
+        PropagationEntry head = list.takeAll();
+        assertThat( head ).isInstanceOf( ExpirationBatch.class );
+        assertThat( ( (ExpirationBatch) head ).size() ).isEqualTo( 3 );
+        assertThat( head.getNext() ).isNull();
+
+        list.flush( head );
+        assertThat( executed ).containsExactly( "e1", "e2", "e3" );
+    }
+
+    @Test
+    public void testOrderIsPreservedAcrossOtherEntries() {
+        SynchronizedPropagationList list = new SynchronizedPropagationList( wm );
+        list.addEntry( new Expiration( "e1" ) );
+        list.addEntry( new Expiration( "e2" ) );
+        list.addEntry( new Insertion( "i1" ) );
+        list.addEntry( new Expiration( "e3" ) );
+
+        PropagationEntry head = list.takeAll();
+        int entries = 0;
+        for (PropagationEntry entry = head; entry != null; entry = entry.getNext()) {
+            entries++;
+        }
+        assertThat( entries ).isEqualTo( 3 );
+
+        list.flush( head );
+        assertThat( executed ).containsExactly( "e1", "e2", "i1", "e3" );
+    }
+
+    @Test
+    public void testTakenBatchIsNotExtended() {
+        SynchronizedPropagationList list = new SynchronizedPropagationList( wm );
+        list.addEntry( new Expiration( "e1" ) );
+        PropagationEntry taken = list.takeAll();
+        list.addEntry( new Expiration( "e2" ) );
+
+        assertThat( ( (ExpirationBatch) taken ).size() ).isEqualTo( 1 );
+        assertThat( ( (ExpirationBatch) list.takeAll() ).size() ).isEqualTo( 1 );
+    }
+
+    @Test
+    public void testIteratorReturnsTheSingleExpirations() {
+        SynchronizedPropagationList list = new SynchronizedPropagationList( wm );
+        list.addEntry( new Expiration( "e1" ) );
+        list.addEntry( new Expiration( "e2" ) );
+        list.addEntry( new Insertion( "i1" ) );
+        list.addEntry( new Expiration( "e3" ) );
+
+        List<String> iterated = new ArrayList<>();
+        for (Iterator<PropagationEntry> i = list.iterator(); i.hasNext(); ) {
+            iterated.add( i.next().toString() );
+        }
+        assertThat( iterated ).containsExactly( "e1", "e2", "i1", "e3" );
+    }
+
+    @Test
+    public void testDisposeStopsTheBatch() {
+        SynchronizedPropagationList list = new SynchronizedPropagationList( wm );
+        list.addEntry( new Expiration( "e1" ) );
+        list.addEntry( new Expiration( "e2" ) {
+            @Override
+            public void execute( InternalWorkingMemory wm ) {
+                super.execute( wm );
+                list.dispose();
+            }
+        } );
+        list.addEntry( new Expiration( "e3" ) );
+
+        list.flush();
+        assertThat( executed ).containsExactly( "e1", "e2" );
+    }
+
+    @Test
+    public void testLockFreeListCoalescesExpirations() {
+        LockFreePropagationList list = new LockFreePropagationList( wm );
+        list.addEntry( new Expiration( "e1" ) );
+        list.addEntry( new Expiration( "e2" ) );
+        list.addEntry( new Insertion( "i1" ) );
+        list.addEntry( new Expiration( "e3" ) );
+        list.addEntry( new Expiration( "e4" ) );
+        list.addEntry( new Insertion( "i2" ) );
+
+        // the iterator still returns the single expirations, as they have been added
+        List<String> iterated = new ArrayList<>();
+        for (Iterator<PropagationEntry> i = list.iterator(); i.hasNext(); ) {
+            iterated.add( i.next().toString() );
+        }
+        assertThat( iterated ).containsExactly( "e1", "e2", "i1", "e3", "e4", "i2" );
+
+        PropagationEntry head = list.takeAll();
+        List<Integer> sizes = new ArrayList<>();
+        for (PropagationEntry entry = head; entry != null; entry = entry.getNext()) {
+            sizes.add( entry instanceof ExpirationBatch ? ( (ExpirationBatch) entry ).size() : 0 );
+        }
+        assertThat( sizes ).containsExactly( 2, 0, 2, 0 );
+
+        list.flush( head );
+        assertThat( executed ).containsExactly( "e1", "e2", "i1", "e3", "e4", "i2" );
+    }
+
+    @Test(timeout = 10000)
+    public void testLockFreeListResumesOnlyASuspendedConsumer() throws Exception {
+        LockFreePropagationList list = new LockFreePropagationList( wm );
+        list.setFiringUntilHalt( true );
+
+        // no consumer is waiting, so the working memory is neither suspended nor resumed
+        list.addEntry( new Insertion( "i1" ) );
+        list.flush();
+        list.addEntry( new Insertion( "i2" ) );
+        list.flush();
+        verify( wm, never() ).onResume();
+
+        CompletableFuture<PropagationEntry> taken = CompletableFuture.supplyAsync( () -> list.takeAllOrWaitOnRest( () -> true ) );
+        verify( wm, timeout( 5000 ) ).onSuspend();
+        list.addEntry( new Insertion( "i3" ) );
+        list.flush( taken.get() );
+        list.notifyWaitOnRest();
+
+        verify( wm, times( 1 ) ).onSuspend();
+        verify( wm, times( 1 ) ).onResume();
+        assertThat( executed ).containsExactly( "i1", "i2", "i3" );
+    }
+
+    private class Insertion extends PropagationEntry.AbstractPropagationEntry {
+        private final String name;
+
+        Insertion( String name ) {
+            this.name = name;
+        }
+
+        @Override
+        public void execute( InternalWorkingMemory wm ) {
+            executed.add( name );
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private class Expiration extends Insertion {
+        Expiration( String name ) {
+            super( name );
+        }
+
+        @Override
+        public boolean isExpiration() {
+            return true;
+        }
+    }
+}
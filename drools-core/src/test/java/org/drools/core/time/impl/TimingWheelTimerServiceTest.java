@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.drools.core.ClockType;
+import org.drools.core.SessionConfiguration;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.TimerServiceFactory;
+import org.drools.core.time.Trigger;
+import org.drools.core.time.impl.JDKTimerServiceTest.DelayedTrigger;
+import org.drools.core.time.impl.JDKTimerServiceTest.HelloWorldJob;
+import org.drools.core.time.impl.JDKTimerServiceTest.HelloWorldJobContext;
+import org.junit.Test;
+import org.kie.api.runtime.conf.ClockTypeOption;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimingWheelTimerServiceTest {
+
+    @Test
+    public void testTimingWheelClock() throws Exception {
+        SessionConfiguration config = SessionConfiguration.newInstance();
+        config.setProperty( ClockTypeOption.PROPERTY_NAME, "timingwheel" );
+        assertEquals( ClockType.TIMING_WHEEL_CLOCK, config.getClockType() );
+
+        TimerService timeService = TimerServiceFactory.getTimerService( config );
+        assertTrue( timeService instanceof TimingWheelTimerService );
+        timeService.shutdown();
+    }
+
+    @Test
+    public void testSingleExecutionJob() throws Exception {
+        SessionConfiguration config = SessionConfiguration.newInstance();
+        config.setClockType(ClockType.TIMING_WHEEL_CLOCK);
+        TimerService timeService = TimerServiceFactory.getTimerService( config );
+        Trigger trigger = new DelayedTrigger( 100 );
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService);
+        timeService.scheduleJob( new HelloWorldJob(), ctx,  trigger);
+        Thread.sleep( 500 );
+        timeService.shutdown();
+        assertEquals( 1, ctx.getList().size() );
+    }
+
+    @Test
+    public void testRepeatedExecutionJobWithRemove() throws Exception {
+        SessionConfiguration config = SessionConfiguration.newInstance();
+        config.setClockType(ClockType.TIMING_WHEEL_CLOCK);
+        TimerService timeService = TimerServiceFactory.getTimerService( config );
+        Trigger trigger = new DelayedTrigger(  new long[] {100, 100, 100, 100, 100, 100, 100, 100} );
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService);
+        ctx.setLimit( 3 );
+        timeService.scheduleJob( new HelloWorldJob(), ctx,  trigger);
+        Thread.sleep( 1000 );
+        timeService.shutdown();
+        assertEquals( 5, ctx.getList().size() );
+    }
+
+    @Test
+    public void testRemoveJobBeforeFiring() throws Exception {
+        TimerService timeService = new TimingWheelTimerService( 1, 8 );
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService);
+        JobHandle handle = timeService.scheduleJob( new HelloWorldJob(), ctx, new DelayedTrigger( 200 ) );
+        assertTrue( timeService.removeJob( handle ) );
+        assertFalse( timeService.removeJob( handle ) );
+        Thread.sleep( 400 );
+        timeService.shutdown();
+        assertEquals( 0, ctx.getList().size() );
+    }
+
+    @Test
+    public void testEarlierJobScheduledAfterALaterOne() throws Exception {
+        TimerService timeService = new TimingWheelTimerService();
+        HelloWorldJobContext later = new HelloWorldJobContext( "later", timeService);
+        HelloWorldJobContext earlier = new HelloWorldJobContext( "earlier", timeService);
+        timeService.scheduleJob( new HelloWorldJob(), later, new DelayedTrigger( 1000 ) );
+        timeService.scheduleJob( new HelloWorldJob(), earlier, new DelayedTrigger( 50 ) );
+        Thread.sleep( 300 );
+        assertEquals( 1, earlier.getList().size() );
+        assertEquals( 0, later.getList().size() );
+        timeService.shutdown();
+    }
+
+    @Test
+    public void testWheelThreadIsSharedBySessions() throws Exception {
+        TimerService timeService1 = new TimingWheelTimerService();
+        TimerService timeService2 = new TimingWheelTimerService();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        Job job = c -> threads.add( Thread.currentThread() );
+        timeService1.scheduleJob( job, new HelloWorldJobContext( "1", timeService1 ), new DelayedTrigger( 50 ) );
+        timeService2.scheduleJob( job, new HelloWorldJobContext( "2", timeService2 ), new DelayedTrigger( 100 ) );
+        Thread.sleep( 300 );
+        timeService1.shutdown();
+        timeService2.shutdown();
+        assertEquals( 1, threads.size() );
+        assertEquals( "drools-timing-wheel", threads.iterator().next().getName() );
+    }
+
+    @Test
+    public void testJobsCascadingThroughTheWheels() throws Exception {
+        // a tiny wheel, so that most of the jobs start in the outer wheels
+        TimerService timeService = new TimingWheelTimerService( 1, 4 );
+
+        int jobsNr = 2000;
+        AtomicInteger fired = new AtomicInteger();
+        AtomicInteger firedEarly = new AtomicInteger();
+        Job job = c -> {
+            long fireTime = Long.parseLong( (( HelloWorldJobContext ) c).getMessage() );
+            if ( System.currentTimeMillis() < fireTime ) {
+                firedEarly.incrementAndGet();
+            }
+            fired.incrementAndGet();
+        };
+
+        Random random = new Random( 0 );
+        int cancelled = 0;
+        for (int i = 0; i < jobsNr; i++) {
+            boolean cancel = i % 10 == 0;
+            // the jobs to be cancelled are far enough in the future to not be fired in the meanwhile
+            long delay = cancel ? 300 + random.nextInt( 300 ) : random.nextInt( 600 );
+            DelayedTrigger trigger = new DelayedTrigger( delay );
+            HelloWorldJobContext ctx = new HelloWorldJobContext( "" + trigger.hasNextFireTime().getTime(), timeService );
+            JobHandle handle = timeService.scheduleJob( job, ctx, trigger );
+            if ( cancel ) {
+                assertTrue( timeService.removeJob( handle ) );
+                cancelled++;
+            }
+        }
+
+        Thread.sleep( 1000 );
+        timeService.shutdown();
+        assertEquals( jobsNr - cancelled, fired.get() );
+        assertEquals( 0, firedEarly.get() );
+    }
+}
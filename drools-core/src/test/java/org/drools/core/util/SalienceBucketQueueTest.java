@@ -0,0 +1,160 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.drools.core.base.SalienceInteger;
+import org.drools.core.common.AgendaItemImpl;
+import org.drools.core.conflict.PhreakConflictResolver;
+import org.drools.core.definitions.rule.impl.RuleImpl;
+import org.drools.core.reteoo.TerminalNode;
+import org.drools.core.spi.Activation;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SalienceBucketQueueTest {
+
+    @Test
+    public void testSameOrderOfBinaryHeap() {
+        Random random = new Random(0);
+        int[] saliences = { -5, 0, 10 };
+        // few rules, so that many activations share the same load order
+        List<RuleImpl> rules = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            rules.add( createRule( "R" + i, random.nextInt( 200 ) ) );
+        }
+
+        SalienceBucketQueue buckets = new SalienceBucketQueue();
+        BinaryHeapQueue heap = new BinaryHeapQueue( new PhreakConflictResolver() );
+        List<Activation> queued = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            int op = random.nextInt( 10 );
+            if (op < 5) {
+                RuleImpl rule = rules.get( random.nextInt( rules.size() ) );
+                int salience = saliences[random.nextInt( saliences.length )];
+                Activation inBuckets = createActivation( rule, salience );
+                buckets.enqueue( inBuckets );
+                heap.enqueue( createActivation( rule, salience ) );
+                queued.add( inBuckets );
+                assertThat( inBuckets.isQueued() ).isTrue();
+            } else if (op < 8) {
+                Activation fromBuckets = buckets.dequeue();
+                Activation fromHeap = heap.dequeue();
+                if (fromHeap == null) {
+                    assertThat( fromBuckets ).isNull();
+                } else {
+                    // activations with the same salience and load order are equivalent for the heap
+                    assertThat( key( fromBuckets ) ).isEqualTo( key( fromHeap ) );
+                    assertThat( fromBuckets.isQueued() ).isFalse();
+                    queued.remove( fromBuckets );
+                }
+            } else if (!queued.isEmpty()) {
+                Activation removed = queued.remove( random.nextInt( queued.size() ) );
+                buckets.dequeue( removed );
+                assertThat( removed.isQueued() ).isFalse();
+                removeFromHeap( heap, removed );
+            }
+            assertThat( buckets.size() ).isEqualTo( heap.size() );
+        }
+
+        Activation[] inOrder = (Activation[]) buckets.toArray( new Activation[0] );
+        assertThat( inOrder ).hasSize( buckets.size() );
+        for (Activation activation : inOrder) {
+            assertThat( key( buckets.peek() ) ).isEqualTo( key( activation ) );
+            assertThat( buckets.dequeue() ).isSameAs( activation );
+        }
+        assertThat( buckets.isEmpty() ).isTrue();
+        assertThat( buckets.dequeue() ).isNull();
+    }
+
+    @Test
+    public void testSameLoadOrderIsFifo() {
+        RuleImpl r1 = createRule( "R1", 3 );
+        RuleImpl r2 = createRule( "R2", 3 );
+        Activation a1 = createActivation( r1, 0 );
+        Activation a2 = createActivation( r2, 0 );
+        Activation a3 = createActivation( r1, 0 );
+        Activation high = createActivation( createRule( "R3", 1000 ), 1 );
+
+        SalienceBucketQueue queue = new SalienceBucketQueue();
+        queue.enqueue( a1 );
+        queue.enqueue( a2 );
+        queue.enqueue( a3 );
+        queue.enqueue( high );
+
+        queue.dequeue( a2 );
+        assertThat( queue.getAndClear() ).containsExactly( high, a1, a3 );
+        assertThat( queue.isEmpty() ).isTrue();
+    }
+
+    @Test
+    public void testIsConvenientFor() {
+        List<RuleImpl> rules = new ArrayList<>();
+        for (int i = 0; i < SalienceBucketQueue.MIN_CONVENIENT_RULES - 1; i++) {
+            rules.add( createRule( "R" + i, i, i % SalienceBucketQueue.MAX_CONVENIENT_SALIENCES ) );
+        }
+        assertThat( SalienceBucketQueue.isConvenientFor( rules ) ).isFalse();
+
+        rules.add( createRule( "R", rules.size(), 0 ) );
+        assertThat( SalienceBucketQueue.isConvenientFor( rules ) ).isTrue();
+
+        rules.add( createRule( "TooMany", rules.size(), -1 ) );
+        assertThat( SalienceBucketQueue.isConvenientFor( rules ) ).isFalse();
+
+        assertThat( SalienceBucketQueue.isConvenientFor( Collections.emptyList() ) ).isFalse();
+    }
+
+    private static String key( Activation activation ) {
+        return activation.getSalience() + "/" + activation.getRule().getLoadOrder();
+    }
+
+    private static void removeFromHeap( BinaryHeapQueue heap, Activation equivalent ) {
+        for (Activation activation : heap.getAndClear()) {
+            if (equivalent != null && key( activation ).equals( key( equivalent ) )) {
+                equivalent = null;
+            } else {
+                heap.enqueue( activation );
+            }
+        }
+    }
+
+    private static RuleImpl createRule( String name, int loadOrder ) {
+        RuleImpl rule = new RuleImpl( name );
+        rule.setLoadOrder( loadOrder );
+        return rule;
+    }
+
+    private static RuleImpl createRule( String name, int loadOrder, int salience ) {
+        RuleImpl rule = createRule( name, loadOrder );
+        rule.setSalience( new SalienceInteger( salience ) );
+        return rule;
+    }
+
+    private static Activation createActivation( RuleImpl rule, int salience ) {
+        TerminalNode rtn = mock( TerminalNode.class );
+        when( rtn.getRule() ).thenReturn( rule );
+        return new AgendaItemImpl( 0, null, salience, null, rtn, null );
+    }
+}
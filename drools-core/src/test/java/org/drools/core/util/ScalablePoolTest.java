@@ -16,10 +16,20 @@
 
 package org.drools.core.util;
 
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class ScalablePoolTest {
 
@@ -108,6 +118,213 @@ public class ScalablePoolTest {
         check( monitor, 5, 2, 5 );
     }
 
+    @Test
+    public void testBoundedPoolFailingWhenExhausted() {
+        Monitor monitor = new Monitor();
+        ScalablePoolConfiguration configuration = new ScalablePoolConfiguration( 1 )
+                .setMaxSize( 2 )
+                .setExhaustedAction( ScalablePoolConfiguration.ExhaustedAction.FAIL );
+        ScalablePool<PooledResource> pool = new ScalablePool<>( configuration, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+
+        PooledResource resource1 = pool.get();
+        PooledResource resource2 = pool.get();
+        check( monitor, 2, 0, 0 );
+
+        try {
+            pool.get();
+            fail( "The pool should be exhausted" );
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals( 1, pool.getFailedBorrowCount() );
+
+        pool.release( resource1 );
+        assertSame( resource1, pool.get() );
+        check( monitor, 2, 1, 0 );
+
+        assertEquals( 2, pool.getSize() );
+        assertEquals( 2, pool.getBorrowedCount() );
+        assertEquals( 3, pool.getBorrowCount() );
+
+        pool.shutdown();
+        check( monitor, 2, 1, 2 );
+    }
+
+    @Test
+    public void testReleaseOfResourceNotInUse() {
+        Monitor monitor = new Monitor();
+        ScalablePoolConfiguration configuration = new ScalablePoolConfiguration( 0 )
+                .setMaxSize( 1 )
+                .setExhaustedAction( ScalablePoolConfiguration.ExhaustedAction.FAIL );
+        ScalablePool<PooledResource> pool = new ScalablePool<>( configuration, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+
+        // a resource not belonging to the pool is neither reset nor returned
+        pool.release( new PooledResource( monitor ) );
+        check( monitor, 1, 0, 0 );
+
+        PooledResource resource = pool.get();
+        pool.release( resource );
+        check( monitor, 2, 1, 0 );
+
+        // a double release doesn't reset the resource again nor returns its permit twice
+        pool.release( resource );
+        check( monitor, 2, 1, 0 );
+        assertEquals( 0, pool.getBorrowedCount() );
+
+        assertSame( resource, pool.get() );
+        try {
+            pool.get();
+            fail( "The pool should be exhausted" );
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        pool.shutdown();
+        check( monitor, 2, 1, 1 );
+    }
+
+    @Test(timeout = 10000)
+    public void testBoundedPoolBlockingWhenExhausted() throws Exception {
+        Monitor monitor = new Monitor();
+        ScalablePoolConfiguration configuration = new ScalablePoolConfiguration( 0 )
+                .setMaxSize( 1 )
+                .setMaxWaitMillis( 100 );
+        ScalablePool<PooledResource> pool = new ScalablePool<>( configuration, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+
+        PooledResource resource = pool.get();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<PooledResource> timedOut = executor.submit( pool::get );
+            try {
+                timedOut.get();
+                fail( "The request should time out" );
+            } catch (java.util.concurrent.ExecutionException e) {
+                assertTrue( e.getCause() instanceof IllegalStateException );
+            }
+
+            CountDownLatch waiting = new CountDownLatch( 1 );
+            Future<PooledResource> blocked = executor.submit( () -> {
+                waiting.countDown();
+                return pool.get();
+            } );
+            waiting.await();
+            pool.release( resource );
+            assertSame( resource, blocked.get( 5, TimeUnit.SECONDS ) );
+        } finally {
+            executor.shutdownNow();
+        }
+
+        check( monitor, 1, 1, 0 );
+        pool.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void testEvictorDoesNotRetainTheDiscardedPools() throws Exception {
+        Monitor monitor = new Monitor();
+        ScalablePoolConfiguration configuration = new ScalablePoolConfiguration( 1 )
+                .setIdleTimeoutMillis( 20 );
+        ScalablePool<PooledResource> pool = new ScalablePool<>( configuration, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+        WeakReference<ScalablePool<PooledResource>> poolRef = new WeakReference<>( pool );
+        pool = null;
+
+        // the pool hasn't been shut down, but its periodic eviction doesn't keep it alive
+        while ( poolRef.get() != null ) {
+            System.gc();
+            Thread.sleep( 20 );
+        }
+    }
+
+    @Test
+    public void testIdleEviction() throws Exception {
+        Monitor monitor = new Monitor();
+        ScalablePoolConfiguration configuration = new ScalablePoolConfiguration( 1 )
+                .setIdleTimeoutMillis( 50 );
+        ScalablePool<PooledResource> pool = new ScalablePool<>( configuration, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+
+        PooledResource resource1 = pool.get();
+        PooledResource resource2 = pool.get();
+        PooledResource resource3 = pool.get();
+        check( monitor, 3, 0, 0 );
+
+        pool.release( resource1 );
+        pool.release( resource2 );
+        pool.release( resource3 );
+
+        // nothing is idle for long enough yet
+        assertEquals( 0, pool.evictIdleResources() );
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while ( pool.getSize() > 1 && System.currentTimeMillis() < deadline ) {
+            Thread.sleep( 10 );
+        }
+
+        // the pool doesn't shrink below its initial size
+        assertEquals( 1, pool.getSize() );
+        assertEquals( 2, pool.getEvictedCount() );
+        check( monitor, 3, 3, 2 );
+
+        // the most recently used resource is the one kept
+        assertSame( resource3, pool.get() );
+
+        pool.shutdown();
+        check( monitor, 3, 3, 3 );
+    }
+
+    @Test
+    public void testThreadAffinity() throws Exception {
+        Monitor monitor = new Monitor();
+        ScalablePoolConfiguration configuration = new ScalablePoolConfiguration( 2 )
+                .setThreadAffinity( true );
+        ScalablePool<PooledResource> pool = new ScalablePool<>( configuration, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+
+        PooledResource mine = pool.get();
+        PooledResource other = pool.get();
+        pool.release( other );
+        pool.release( mine );
+
+        // the thread gets back the resource it released last
+        assertSame( mine, pool.get() );
+        pool.release( mine );
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PooledResource fromOtherThread = executor.submit( pool::get ).get();
+            assertSame( mine, fromOtherThread );
+
+            // while in use by another thread, the affine resource isn't available and another one is taken
+            PooledResource taken = pool.get();
+            assertSame( other, taken );
+            executor.submit( () -> pool.release( fromOtherThread ) ).get();
+            assertNotSame( taken, pool.get() );
+        } finally {
+            executor.shutdownNow();
+        }
+
+        check( monitor, 2, 4, 0 );
+        pool.shutdown();
+        check( monitor, 2, 4, 2 );
+    }
+
+    @Test
+    public void testAsyncPrewarm() throws Exception {
+        Monitor monitor = new Monitor();
+        ScalablePoolConfiguration configuration = new ScalablePoolConfiguration( 3 )
+                .setAsyncPrewarm( true );
+        ScalablePool<PooledResource> pool = new ScalablePool<>( configuration, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while ( pool.getSize() < 3 && System.currentTimeMillis() < deadline ) {
+            Thread.sleep( 10 );
+        }
+        assertEquals( 3, pool.getIdleCount() );
+
+        pool.get();
+        assertEquals( 3, pool.getCreatedCount() );
+
+        pool.shutdown();
+    }
+
     private void check( Monitor monitor, int expectedNew, int expectedReset, int expectedDispose ) {
         assertEquals(expectedNew, monitor.newCounter);
         assertEquals(expectedReset, monitor.resetCounter);
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SortedLongBagTest {
+
+    @Test
+    public void testAddAndRemove() {
+        SortedLongBag bag = new SortedLongBag();
+        assertTrue( bag.isEmpty() );
+
+        bag.add( 5 );
+        bag.add( -3 );
+        bag.add( 5 );
+        bag.add( 12 );
+        assertEquals( 4, bag.size() );
+        assertEquals( 2, bag.count( 5 ) );
+        assertEquals( -3, bag.first() );
+        assertEquals( 12, bag.last() );
+        assertEquals( "[-3, 5, 5, 12]", bag.toString() );
+
+        assertTrue( bag.remove( 12 ) );
+        assertEquals( 5, bag.last() );
+        assertTrue( bag.remove( 5 ) );
+        assertEquals( 5, bag.last() );
+        assertFalse( bag.remove( 7 ) );
+        assertTrue( bag.remove( 5 ) );
+        assertEquals( -3, bag.last() );
+        assertTrue( bag.remove( -3 ) );
+        assertTrue( bag.isEmpty() );
+    }
+
+    @Test
+    public void testRandomOperations() {
+        SortedLongBag bag = new SortedLongBag();
+        TreeMap<Long, Integer> expected = new TreeMap<>();
+        int size = 0;
+
+        Random random = new Random( 0 );
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextInt( 1000 );
+            if ( random.nextInt( 3 ) > 0 ) {
+                bag.add( value );
+                expected.merge( value, 1, Integer::sum );
+                size++;
+            } else {
+                boolean contained = expected.containsKey( value );
+                assertEquals( contained, bag.remove( value ) );
+                if ( contained ) {
+                    expected.computeIfPresent( value, (k, c) -> c == 1 ? null : c - 1 );
+                    size--;
+                }
+            }
+
+            assertEquals( size, bag.size() );
+            if ( size > 0 ) {
+                assertEquals( expected.firstKey().longValue(), bag.first() );
+                assertEquals( expected.lastKey().longValue(), bag.last() );
+            }
+        }
+
+        for (Long value : expected.keySet()) {
+            assertEquals( expected.get( value ).intValue(), bag.count( value ) );
+        }
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        SortedLongBag bag = new SortedLongBag();
+        for (int i = 0; i < 100; i++) {
+            bag.add( i % 30 );
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( baos )) {
+            out.writeObject( bag );
+        }
+        SortedLongBag copy;
+        try (ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ) )) {
+            copy = (SortedLongBag) in.readObject();
+        }
+
+        assertEquals( bag.toString(), copy.toString() );
+        assertEquals( 100, copy.size() );
+        assertEquals( 4, copy.count( 0 ) );
+        assertEquals( 3, copy.count( 29 ) );
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.drools.core.util.bitmask;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MultiLongBitMaskTest {
+
+  @Test
+  public void testFactory() {
+    Assert.assertTrue(BitMask.Factory.getEmpty(65) instanceof LongBitMask128);
+    Assert.assertTrue(BitMask.Factory.getEmpty(128) instanceof LongBitMask128);
+    Assert.assertTrue(BitMask.Factory.getEmpty(129) instanceof LongBitMask192);
+    Assert.assertTrue(BitMask.Factory.getEmpty(256) instanceof LongBitMask256);
+    Assert.assertTrue(BitMask.Factory.getEmpty(257) instanceof OpenBitSet);
+    Assert.assertTrue(BitMask.Factory.getFull(150).isAllSet());
+  }
+
+  @Test
+  public void testSet() {
+    Assert.assertEquals("1, 0", new LongBitMask128().set(0).toString());
+    Assert.assertEquals("0, 2", new LongBitMask128().set(65).toString());
+    Assert.assertEquals("0, 0, 1", new LongBitMask192().set(128).toString());
+    Assert.assertEquals("0, 0, 0, -9223372036854775808", new LongBitMask256().set(255).toString());
+    Assert.assertEquals("0, 0, 2", new LongBitMask128().set(129).toString());
+  }
+
+  @Test
+  public void testSetAll() {
+    Assert.assertEquals("1, 2",
+        new LongBitMask128(1L, 0L).setAll(new LongBitMask128(0L, 2L)).toString());
+    Assert.assertEquals("3, 0",
+        new LongBitMask128(1L, 0L).setAll(new LongBitMask(2L)).toString());
+    Assert.assertEquals("1, 2, 4",
+        new LongBitMask128(1L, 2L).setAll(new LongBitMask192(0L, 0L, 4L)).toString());
+    Assert.assertEquals("1, 2, 0",
+        new LongBitMask192(1L, 0L, 0L).setAll(new LongBitMask128(0L, 2L)).toString());
+    Assert.assertEquals("1, 2",
+        new LongBitMask128(1L, 0L).setAll(new OpenBitSet(new long[] { 0L, 2L }, 2)).toString());
+    Assert.assertSame(AllSetBitMask.get(),
+        new LongBitMask128().setAll(AllSetBitMask.get()));
+    Assert.assertSame(AllSetButLastBitMask.get(),
+        new LongBitMask128().setAll(AllSetButLastBitMask.get()));
+    Assert.assertEquals("1, 0",
+        new LongBitMask128().setAll(EmptyButLastBitMask.get()).toString());
+    Assert.assertEquals("0, 0",
+        new LongBitMask128().setAll(EmptyBitMask.get()).toString());
+    Assert.assertEquals("1, 2",
+        new LongBitMask(1L).setAll(new LongBitMask128(0L, 2L)).toString());
+  }
+
+  @Test
+  public void testReset() {
+    Assert.assertEquals("0, 0", new LongBitMask128(1L, 0L).reset(0).toString());
+    Assert.assertEquals("0, 0", new LongBitMask128(0L, 2L).reset(65).toString());
+    Assert.assertEquals("0, 2", new LongBitMask128(0L, 2L).reset(300).toString());
+  }
+
+  @Test
+  public void testResetAll() {
+    Assert.assertEquals("1, 0",
+        new LongBitMask128(1L, 2L).resetAll(new LongBitMask128(0L, 2L)).toString());
+    Assert.assertEquals("0, 2",
+        new LongBitMask128(1L, 2L).resetAll(new LongBitMask(1L)).toString());
+    Assert.assertEquals("0, 0",
+        new LongBitMask128(1L, 2L).resetAll(AllSetBitMask.get()).toString());
+    Assert.assertEquals("1, 0",
+        new LongBitMask128(3L, 2L).resetAll(AllSetButLastBitMask.get()).toString());
+    Assert.assertEquals("2, 2",
+        new LongBitMask128(3L, 2L).resetAll(EmptyButLastBitMask.get()).toString());
+    Assert.assertEquals("1, 0, 4",
+        new LongBitMask192(1L, 2L, 4L).resetAll(new LongBitMask128(0L, 2L)).toString());
+  }
+
+  @Test
+  public void testIsSet() {
+    Assert.assertTrue(new LongBitMask192(0L, 0L, 2L).isSet(129));
+    Assert.assertFalse(new LongBitMask192(0L, 0L, 2L).isSet(128));
+    Assert.assertFalse(new LongBitMask192(0L, 0L, 2L).isSet(300));
+  }
+
+  @Test
+  public void testIsAllSetAndIsEmpty() {
+    Assert.assertTrue(new LongBitMask128(-1L, -1L).isAllSet());
+    Assert.assertFalse(new LongBitMask128(-1L, 0L).isAllSet());
+    Assert.assertTrue(new LongBitMask256().isEmpty());
+    Assert.assertFalse(new LongBitMask256(0L, 0L, 0L, 1L).isEmpty());
+  }
+
+  @Test
+  public void testIntersects() {
+    Assert.assertTrue(new LongBitMask128(0L, 2L).intersects(new LongBitMask128(0L, 3L)));
+    Assert.assertFalse(new LongBitMask128(0L, 2L).intersects(new LongBitMask128(2L, 0L)));
+    Assert.assertTrue(new LongBitMask128(0L, 2L).intersects(new LongBitMask192(0L, 2L, 0L)));
+    Assert.assertTrue(new LongBitMask(2L).intersects(new LongBitMask128(2L, 0L)));
+    Assert.assertTrue(new OpenBitSet(new long[] { 0L, 2L }, 2).intersects(new LongBitMask128(0L, 2L)));
+    Assert.assertTrue(new LongBitMask128(0L, 2L).intersects(AllSetBitMask.get()));
+    Assert.assertFalse(new LongBitMask128(1L, 0L).intersects(AllSetButLastBitMask.get()));
+    Assert.assertTrue(AllSetButLastBitMask.get().intersects(new LongBitMask128(0L, 1L)));
+    Assert.assertTrue(new LongBitMask128(1L, 0L).intersects(EmptyButLastBitMask.get()));
+    Assert.assertFalse(new LongBitMask128(1L, 0L).intersects(EmptyBitMask.get()));
+  }
+
+  @Test
+  public void testEquals() {
+    Assert.assertEquals(new LongBitMask128(1L, 2L), new LongBitMask128(1L, 2L));
+    Assert.assertEquals(new LongBitMask128(1L, 2L), new LongBitMask192(1L, 2L, 0L));
+    Assert.assertEquals(new LongBitMask128(1L, 2L).hashCode(), new LongBitMask192(1L, 2L, 0L).hashCode());
+    Assert.assertNotEquals(new LongBitMask128(1L, 2L), new LongBitMask128(1L, 3L));
+  }
+
+  @Test
+  public void testInterned() {
+    LongBitMask128 mask = LongBitMask128.interned(1L, 2L);
+    Assert.assertTrue(mask.isFrozen());
+    Assert.assertSame(mask, LongBitMask128.interned(1L, 2L));
+    Assert.assertSame(mask, MultiLongBitMask.interned(new long[] { 1L, 2L }, 2));
+
+    // a frozen mask is never changed, but a modified copy is returned
+    BitMask modified = mask.set(3);
+    Assert.assertNotSame(mask, modified);
+    Assert.assertEquals("1, 2", mask.toString());
+    Assert.assertEquals("9, 2", modified.toString());
+    Assert.assertFalse(((MultiLongBitMask) modified).isFrozen());
+    Assert.assertSame(modified, modified.set(4));
+    Assert.assertEquals("1, 2", mask.clone().toString());
+  }
+
+  @Test
+  public void testGetInstancingStatement() {
+    Assert.assertEquals(
+        "org.drools.core.util.bitmask.LongBitMask128.interned(1L, 2L)",
+        new LongBitMask128(1L, 2L).getInstancingStatement());
+    Assert.assertEquals(
+        "org.drools.core.util.bitmask.LongBitMask256.interned(1L, 2L, 3L, -1L)",
+        new LongBitMask256(1L, 2L, 3L, -1L).getInstancingStatement());
+  }
+}
@@ -141,4 +141,10 @@ public class CanonicalModelKieProject extends KieModuleKieProject {
     public BuildContext createBuildContext(ResultsImpl results) {
         return new CanonicalModelBuildContext(results);
     }
+
+    @Override
+    public boolean supportsKieBaseSnapshots() {
+        // the constraints and consequences of the executable model are lambdas, that are not serializable
+        return false;
+    }
 }
\ No newline at end of file
@@ -206,10 +206,17 @@ public class ConstraintEvaluator {
         return clonedDeclarations;
     }
 
-    protected Declaration[] getDeclarations() {
+    public Declaration[] getDeclarations() {
         return declarations;
     }
 
+    /**
+     * Returns the declaration of the pattern owning this constraint, whose value is read directly from the evaluated fact
+     */
+    public Declaration getPatternDeclaration() {
+        return innerEvaluator != null ? innerEvaluator.patternDeclaration : null;
+    }
+
     protected Pattern getPattern() {
         return pattern;
     }
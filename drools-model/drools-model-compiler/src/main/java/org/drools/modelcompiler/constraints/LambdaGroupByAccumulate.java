@@ -108,12 +108,28 @@ public class LambdaGroupByAccumulate extends Accumulate {
     public Object accumulate( Object workingMemoryContext, Object context,
                               Tuple match, InternalFactHandle handle, WorkingMemory wm ) {
         GroupByContext groupByContext = ( GroupByContext ) context;
-        TupleList<AccumulateContextEntry> tupleList = groupByContext.getGroup(workingMemoryContext, innerAccumulate,
-                                                                              match, getKey(match, handle, wm), wm);
+        TupleList<AccumulateContextEntry> tupleList = getGroup(workingMemoryContext, groupByContext, match, handle, wm);
 
         return accumulate(workingMemoryContext, match, handle, groupByContext, tupleList, wm);
     }
 
+    @Override
+    public boolean supportsParallelGroupAccumulation() {
+        return true;
+    }
+
+    @Override
+    public TupleList<AccumulateContextEntry> getGroup( Object workingMemoryContext, GroupByContext groupByContext,
+                                                       Tuple match, InternalFactHandle handle, WorkingMemory wm ) {
+        return groupByContext.getGroup(workingMemoryContext, innerAccumulate, match, getKey(match, handle, wm), wm);
+    }
+
+    @Override
+    public Object accumulateInGroup( Object workingMemoryContext, TupleList<AccumulateContextEntry> group,
+                                     Tuple match, InternalFactHandle handle, WorkingMemory wm ) {
+        return innerAccumulate.accumulate(workingMemoryContext, group.getContext(), match, handle, wm);
+    }
+
     @Override
     public Object accumulate(Object workingMemoryContext, Tuple match, InternalFactHandle handle,
                              GroupByContext groupByContext, TupleList<AccumulateContextEntry> tupleList, WorkingMemory wm) {
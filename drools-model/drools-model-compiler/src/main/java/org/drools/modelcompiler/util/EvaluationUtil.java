@@ -32,6 +32,7 @@ import java.util.function.BiPredicate;
 import org.drools.core.base.CoercionUtil;
 import org.drools.core.time.TimeUtils;
 import org.drools.core.util.DateUtils;
+import org.drools.core.util.bitmask.MultiLongBitMask;
 import org.drools.model.BitMask;
 import org.drools.model.bitmask.AllSetBitMask;
 import org.drools.model.bitmask.AllSetButLastBitMask;
@@ -324,7 +325,12 @@ public class EvaluationUtil {
             return org.drools.core.util.bitmask.EmptyButLastBitMask.get();
         }
         if (mask instanceof OpenBitSet ) {
-            return new org.drools.core.util.bitmask.OpenBitSet( ( (OpenBitSet) mask ).getBits(), ( (OpenBitSet) mask ).getNumWords() );
+            long[] bits = ( (OpenBitSet) mask ).getBits();
+            if (bits.length > 1 && bits.length <= MultiLongBitMask.MAX_BITS / 64) {
+                // the masks of the consequences are adapted at each update, so the interned one is reused
+                return MultiLongBitMask.interned( bits, bits.length );
+            }
+            return new org.drools.core.util.bitmask.OpenBitSet( bits, ( (OpenBitSet) mask ).getNumWords() );
         }
         throw new IllegalArgumentException( "Unknown bitmask: " + mask );
     }
@@ -45,7 +45,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
 
 import org.apache.commons.math3.util.Pair;
-import org.drools.core.base.accumulators.IntegerMaxAccumulateFunction;
+import org.drools.core.base.accumulators.NumericMaxAccumulateFunction;
 import org.drools.core.spi.Activation;
 import org.drools.model.functions.accumulate.GroupKey;
 import org.drools.modelcompiler.domain.Adult;
@@ -2965,7 +2965,7 @@ public class AccumulateTest extends BaseModelTest {
         assertEquals(2, accFunction.getAccumulateCount());
     }
 
-    public static class CountingIntegerMaxAccumulateFunction extends IntegerMaxAccumulateFunction {
+    public static class CountingIntegerMaxAccumulateFunction extends NumericMaxAccumulateFunction {
         public static CountingIntegerMaxAccumulateFunction INSTANCE;
 
         private int counter = 0;
@@ -33,6 +33,7 @@ import org.drools.core.base.accumulators.CountAccumulateFunction;
 import org.drools.core.base.accumulators.IntegerMaxAccumulateFunction;
 import org.drools.core.base.accumulators.IntegerSumAccumulateFunction;
 import org.drools.core.common.InternalFactHandle;
+import org.drools.core.phreak.PhreakGroupByNode;
 import org.drools.core.reteoo.RuleTerminalNodeLeftTuple;
 import org.drools.core.rule.Declaration;
 import org.drools.core.spi.Accumulator;
@@ -59,7 +60,9 @@ import org.drools.modelcompiler.util.EvaluationUtil;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.kie.api.KieBase;
+import org.kie.api.KieServices;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.rule.FactHandle;
 import org.kie.api.runtime.rule.Match;
 import org.kie.internal.event.rule.RuleEventListener;
@@ -1969,5 +1972,77 @@ public class GroupByTest {
         assertTrue(results.contains(84));
     }
 
-}
+    @Test
+    public void testParallelGroupBy() {
+        Global<Map> var_results = D.globalOf(Map.class, "defaultpkg", "results");
+
+        Variable<Integer> var_$key = D.declarationOf(Integer.class);
+        Variable<Person> var_$p = D.declarationOf(Person.class);
+        Variable<Integer> var_$age = D.declarationOf(Integer.class);
+        Variable<Integer> var_$sumOfAges = D.declarationOf(Integer.class);
 
+        Rule rule1 = D.rule("R1").build(
+                D.groupBy(
+                        D.pattern(var_$p).bind(var_$age, person -> person.getAge(), D.reactOn("age")),
+                        var_$p, var_$key, person -> person.getAge() % 500,
+                        D.accFunction(org.drools.core.base.accumulators.IntegerSumAccumulateFunction::new, var_$age).as(var_$sumOfAges)),
+                D.on(var_$key, var_results, var_$sumOfAges)
+                        .execute(($key, results, $sumOfAges) -> results.put($key, $sumOfAges))
+        );
+
+        Model model = new ModelImpl().addRule( rule1 ).addGlobal( var_results );
+        KieBase kieBase = KieBaseBuilder.createKieBaseFromModel( model );
+
+        KieSessionConfiguration conf = KieServices.get().newKieSessionConfiguration();
+        conf.setProperty( PhreakGroupByNode.PARALLEL_EVALUATION_PROPERTY_NAME, "true" );
+
+        KieSession serialSession = kieBase.newKieSession();
+        KieSession parallelSession = kieBase.newKieSession( conf, null );
+
+        Map serialResults = new HashMap();
+        Map parallelResults = new HashMap();
+        serialSession.setGlobal( "results", serialResults );
+        parallelSession.setGlobal( "results", parallelResults );
+
+        List<FactHandle> parallelFHs = new ArrayList<>();
+        List<FactHandle> serialFHs = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            serialFHs.add( serialSession.insert( new Person( "P" + i, i ) ) );
+            parallelFHs.add( parallelSession.insert( new Person( "P" + i, i ) ) );
+        }
+        assertEquals( 500, serialSession.fireAllRules() );
+        assertEquals( 500, parallelSession.fireAllRules() );
+        assertEquals( serialResults, parallelResults );
+        assertEquals( 22500 + 499 * 10, parallelResults.get( 499 ) );
+
+        serialResults.clear();
+        parallelResults.clear();
+        for (int i = 0; i < 5000; i += 3) {
+            serialSession.delete( serialFHs.get( i ) );
+            parallelSession.delete( parallelFHs.get( i ) );
+        }
+        serialSession.fireAllRules();
+        parallelSession.fireAllRules();
+        assertEquals( 500, parallelResults.size() );
+        assertEquals( serialResults, parallelResults );
+
+        // the matches accumulated in parallel can be reversed later
+        serialResults.clear();
+        parallelResults.clear();
+        for (int i = 0; i < 5000; i += 2) {
+            serialSession.insert( new Person( "Q" + i, i ) );
+            parallelSession.insert( new Person( "Q" + i, i ) );
+        }
+        for (int i = 1; i < 5000; i += 3) {
+            serialSession.delete( serialFHs.get( i ) );
+            parallelSession.delete( parallelFHs.get( i ) );
+        }
+        serialSession.fireAllRules();
+        parallelSession.fireAllRules();
+        assertEquals( 500, parallelResults.size() );
+        assertEquals( serialResults, parallelResults );
+
+        serialSession.dispose();
+        parallelSession.dispose();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.drools.compiler.builder.impl.BuildCache;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.model.KieModuleModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds a generated project of many DRL files with the KieBuilder, without the build cache, with an empty build
+ * cache, that is the cold build also paying the writing of the cache entries, and with a build cache already filled
+ * by a previous build of the same project, that is the warm build not parsing the DRLs and not compiling the
+ * generated classes.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BuildCacheBenchmark {
+
+    @Param({"disabled", "cold", "warm"})
+    private String buildCache;
+
+    @Param({"30"})
+    private int numberOfFiles;
+
+    @Param({"100"})
+    private int rulesPerFile;
+
+    private Path cacheDir;
+
+    @Setup(Level.Trial)
+    public void setupCache() throws IOException {
+        cacheDir = Files.createTempDirectory("build-cache");
+        if (buildCache.equals("warm")) {
+            build();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearColdCache() throws IOException {
+        if (buildCache.equals("cold")) {
+            deleteCacheEntries();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteCache() throws IOException {
+        deleteCacheEntries();
+        Files.deleteIfExists(cacheDir);
+    }
+
+    private void deleteCacheEntries() throws IOException {
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            files.sorted(Comparator.reverseOrder())
+                 .filter(path -> !path.equals(cacheDir))
+                 .map(Path::toFile)
+                 .forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public KieBuilder build() {
+        KieServices ks = KieServices.get();
+        KieModuleModel kmodule = ks.newKieModuleModel();
+        if (!buildCache.equals("disabled")) {
+            kmodule.setConfigurationProperty(BuildCache.PROPERTY_NAME, cacheDir.toString());
+        }
+        KieFileSystem kfs = ks.newKieFileSystem().writeKModuleXML(kmodule.toXML());
+        for (int i = 0; i < numberOfFiles; i++) {
+            kfs.write("src/main/resources/org/drools/benchmark/p" + i + "/rules.drl", generateRules(i));
+        }
+        KieBuilder kieBuilder = ks.newKieBuilder(kfs).buildAll();
+        if (!kieBuilder.getResults().getMessages().isEmpty()) {
+            throw new IllegalStateException(kieBuilder.getResults().getMessages().toString());
+        }
+        return kieBuilder;
+    }
+
+    private String generateRules(int file) {
+        StringBuilder drl = new StringBuilder();
+        drl.append( "package org.drools.benchmark.p" ).append( file ).append( ";\n" );
+        drl.append( "global java.util.List list;\n" );
+        for (int i = 0; i < rulesPerFile; i++) {
+            drl.append( "rule R" ).append( i ).append( " when\n" )
+               .append( "  $i : Integer( intValue > " ).append( i ).append( " )\n" )
+               .append( "  $s : String( length == " ).append( i % 10 ).append( " )\n" )
+               .append( "then\n" )
+               .append( "  list.add( $s + \"" ).append( i ).append( "\" + $i );\n" )
+               .append( "end\n" );
+        }
+        return drl.toString();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.FactHandleType;
+import org.drools.modelcompiler.domain.Person;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Fills a session with a very large number of facts, each one joined with a single other fact, and reports
+ * through the usedHeapMB counter the heap retained after a full gc with the default and the compact fact handles.
+ * It requires a big heap, e.g. -jvmArgs -Xmx8g
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CompactFactHandleBenchmark {
+
+    @Param({"default", "compact"})
+    private String factHandleType;
+
+    @Param({"10000000"})
+    private int numberOfFacts;
+
+    private KieBase kieBase;
+    private KieSessionConfiguration sessionConfiguration;
+    private KieSession kieSession;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HeapFootprint {
+        public long usedHeapMB;
+    }
+
+    @Setup(Level.Trial)
+    public void setupKieBase() {
+        String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "rule R when\n" +
+                "  $s : String()\n" +
+                "  Person( name == $s )\n" +
+                "then\n" +
+                "end\n";
+        kieBase = new KieHelper().addContent( drl, ResourceType.DRL ).build();
+
+        sessionConfiguration = KieServices.Factory.get().newKieSessionConfiguration();
+        sessionConfiguration.setProperty( FactHandleType.PROPERTY_NAME, factHandleType );
+    }
+
+    @Setup(Level.Iteration)
+    public void setupKieSession() {
+        kieSession = kieBase.newKieSession( sessionConfiguration, null );
+    }
+
+    @TearDown(Level.Iteration)
+    public void disposeKieSession() {
+        kieSession.dispose();
+        kieSession = null;
+    }
+
+    @Benchmark
+    public long insertFacts( HeapFootprint footprint ) {
+        for (int i = 0; i < numberOfFacts; i++) {
+            kieSession.insert( new Person( "P" + ( i % 1000 ), i ) );
+        }
+        kieSession.insert( "P0" );
+        kieSession.fireAllRules();
+        footprint.usedHeapMB = usedHeapAfterGc() / ( 1024 * 1024 );
+        return kieSession.getFactCount();
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
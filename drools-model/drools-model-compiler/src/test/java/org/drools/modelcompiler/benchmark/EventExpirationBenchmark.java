@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.modelcompiler.domain.StockTick;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.conf.EventProcessingOption;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserts millions of short lived events in a realtime session and waits until all of them are expired,
+ * comparing the default timer service with the timing wheel one.
+ * It requires a big heap, e.g. -jvmArgs -Xmx8g
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EventExpirationBenchmark {
+
+    @Param({"realtime", "timingwheel"})
+    private String clockType;
+
+    @Param({"5000000"})
+    private int numberOfEvents;
+
+    @Param({"100"})
+    private int expirationMillis;
+
+    private KieBase kieBase;
+    private KieSessionConfiguration sessionConfiguration;
+    private KieSession kieSession;
+
+    @Setup(Level.Trial)
+    public void setupKieBase() {
+        String drl =
+                "import " + StockTick.class.getCanonicalName() + ";\n" +
+                "declare StockTick @expires( " + expirationMillis + "ms ) end\n" +
+                "rule R when\n" +
+                "  StockTick( company == \"ACME\" )\n" +
+                "then\n" +
+                "end\n";
+        kieBase = new KieHelper().addContent( drl, ResourceType.DRL ).build( EventProcessingOption.STREAM );
+
+        sessionConfiguration = KieServices.Factory.get().newKieSessionConfiguration();
+        sessionConfiguration.setProperty( ClockTypeOption.PROPERTY_NAME, clockType );
+    }
+
+    @Setup(Level.Iteration)
+    public void setupKieSession() {
+        kieSession = kieBase.newKieSession( sessionConfiguration, null );
+    }
+
+    @TearDown(Level.Iteration)
+    public void disposeKieSession() {
+        kieSession.dispose();
+        kieSession = null;
+    }
+
+    @Benchmark
+    public long expireEvents() throws InterruptedException {
+        for (int i = 0; i < numberOfEvents; i++) {
+            kieSession.insert( new StockTick( i % 2 == 0 ? "ACME" : "RHT" ) );
+        }
+        // the expirations are enqueued by the timer thread and applied when the session is evaluated
+        while ( kieSession.getFactCount() > 0 ) {
+            kieSession.fireAllRules();
+            Thread.sleep( 1 );
+        }
+        return numberOfEvents;
+    }
+}
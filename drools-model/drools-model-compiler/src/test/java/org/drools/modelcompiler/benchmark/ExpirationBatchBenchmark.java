@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.PropagationListType;
+import org.drools.modelcompiler.domain.StockTick;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.conf.EventProcessingOption;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.api.time.SessionPseudoClock;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Expires at once a burst of events inserted at the same time, so that all their expirations are queued one after the
+ * other and coalesced in a single ExpirationBatch, with both the synchronized and the lock free propagation lists.
+ * Only the expiration of the events and their retraction from the network are measured.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExpirationBatchBenchmark {
+
+    @Param({"synchronized", "lockfree"})
+    private String propagationList;
+
+    @Param({"100000"})
+    private int numberOfEvents;
+
+    private KieBase kieBase;
+    private KieSessionConfiguration sessionConfiguration;
+    private KieSession kieSession;
+
+    @Setup(Level.Trial)
+    public void setupKieBase() {
+        String drl =
+                "import " + StockTick.class.getCanonicalName() + ";\n" +
+                "declare StockTick @expires( 10s ) end\n" +
+                "rule R when\n" +
+                "  $t1 : StockTick( company == \"ACME\" )\n" +
+                "  $t2 : StockTick( company == \"RHT\", timeFieldAsLong == $t1.timeFieldAsLong )\n" +
+                "then\n" +
+                "end\n";
+        kieBase = new KieHelper().addContent( drl, ResourceType.DRL ).build( EventProcessingOption.STREAM );
+
+        sessionConfiguration = KieServices.Factory.get().newKieSessionConfiguration();
+        sessionConfiguration.setOption( ClockTypeOption.get( "pseudo" ) );
+        sessionConfiguration.setProperty( PropagationListType.PROPERTY_NAME, propagationList );
+    }
+
+    @Setup(Level.Invocation)
+    public void insertEvents() {
+        kieSession = kieBase.newKieSession( sessionConfiguration, null );
+        for (int i = 0; i < numberOfEvents; i++) {
+            kieSession.insert( new StockTick( i % 100 == 0 ? "ACME" : "RHT" ).setTimeField( i % 1000 ) );
+        }
+        kieSession.fireAllRules();
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeKieSession() {
+        kieSession.dispose();
+        kieSession = null;
+    }
+
+    @Benchmark
+    public long expireEvents() {
+        SessionPseudoClock clock = kieSession.getSessionClock();
+        clock.advanceTime( 11, TimeUnit.SECONDS );
+        kieSession.fireAllRules();
+        return kieSession.getFactCount();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2005 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.modelcompiler.domain.Person;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the insertion of a big set of facts done one by one with the bulk insertion through insertAll.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InsertAllBenchmark {
+
+    @Param({"500000"})
+    private int numberOfFacts;
+
+    @Param({"50"})
+    private int numberOfRules;
+
+    private KieBase kieBase;
+    private KieSession kieSession;
+    private List<Object> facts;
+
+    @Setup(Level.Trial)
+    public void setupKieBase() {
+        StringBuilder sb = new StringBuilder();
+        sb.append( "import " ).append( Person.class.getCanonicalName() ).append( ";\n" );
+        for (int i = 0; i < numberOfRules; i++) {
+            sb.append( "rule R" ).append( i ).append( " when\n" )
+              .append( "  $p : Person( age == " ).append( i ).append( " )\n" )
+              .append( "  $s : String( this == $p.name )\n" )
+              .append( "then\n" )
+              .append( "end\n" );
+        }
+        kieBase = new KieHelper().addContent( sb.toString(), ResourceType.DRL ).build();
+
+        facts = new ArrayList<>( numberOfFacts );
+        for (int i = 0; i < numberOfFacts / 2; i++) {
+            facts.add( new Person( "P" + i, i % 100 ) );
+            facts.add( "P" + i );
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupKieSession() {
+        kieSession = kieBase.newKieSession();
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeKieSession() {
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public int insertOneByOne() {
+        for (Object fact : facts) {
+            kieSession.insert( fact );
+        }
+        return kieSession.fireAllRules();
+    }
+
+    @Benchmark
+    public int insertAll() {
+        ((InternalWorkingMemory) kieSession).insertAll( facts );
+        return kieSession.fireAllRules();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.model.Index;
+import org.drools.model.Model;
+import org.drools.model.Variable;
+import org.drools.model.impl.ModelImpl;
+import org.drools.modelcompiler.KiePackagesBuilder;
+import org.drools.modelcompiler.domain.Person;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.runtime.KieSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.drools.model.DSL.declarationOf;
+import static org.drools.model.DSL.on;
+import static org.drools.model.PatternDSL.alphaIndexedBy;
+import static org.drools.model.PatternDSL.pattern;
+import static org.drools.model.PatternDSL.rule;
+
+/**
+ * Adds many rules sharing their first pattern to a KieBase. Without sessions the nodes of all the rules are added
+ * first and their segments and paths are laid out once, while with an existing session each rule is added and
+ * propagated in turn, as it happened for all the rules before.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KieBaseCreationBenchmark {
+
+    @Param({"10000", "50000"})
+    private int numberOfRules;
+
+    @Param({"false", "true"})
+    private boolean existingSession;
+
+    private Model model;
+
+    private InternalKnowledgeBase kBase;
+    private KieSession kieSession;
+
+    @Setup(Level.Trial)
+    public void createModel() {
+        ModelImpl modelImpl = new ModelImpl();
+        for (int i = 0; i < numberOfRules; i++) {
+            int age = i;
+            Variable<Person> markV = declarationOf( Person.class );
+            Variable<Person> olderV = declarationOf( Person.class );
+            modelImpl.addRule( rule( "R" + i )
+                    .build(
+                            pattern(markV)
+                                    .expr("exprA", p -> p.getName().equals( "Mark" ),
+                                          alphaIndexedBy( String.class, Index.ConstraintType.EQUAL, 1, p -> p.getName(), "Mark" )),
+                            pattern(olderV)
+                                    .expr("exprB" + i, p -> p.getAge() > age)
+                                    .expr("exprC" + i, markV, (p1, p2) -> p1.getAge() > p2.getAge() + age),
+                            on(olderV, markV).execute((p1, p2) -> p1.setLikes( p2.getName() ))
+                    ) );
+        }
+        this.model = modelImpl;
+    }
+
+    @Setup(Level.Invocation)
+    public void createKieBase() {
+        kBase = KnowledgeBaseFactory.newKnowledgeBase();
+        if (existingSession) {
+            kieSession = kBase.newKieSession();
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeSession() {
+        if (kieSession != null) {
+            kieSession.dispose();
+            kieSession = null;
+        }
+    }
+
+    @Benchmark
+    public InternalKnowledgeBase addRules() {
+        KieBaseConfiguration conf = kBase.getConfiguration();
+        KiePackagesBuilder builder = new KiePackagesBuilder( conf );
+        builder.addModel( model );
+        kBase.addPackages( builder.build().getKiePackages() );
+        return kBase;
+    }
+}
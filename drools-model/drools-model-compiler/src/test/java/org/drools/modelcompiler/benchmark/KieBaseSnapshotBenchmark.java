@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.compiler.kie.builder.impl.KieBaseSnapshot;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.builder.model.KieModuleModel;
+import org.kie.api.io.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creates the KieBase of a kjar of many DRL rules freshly installed in the repository, as it happens when a JVM
+ * starts, either building it from its resources or reading it from the snapshot written in the kjar at build time.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KieBaseSnapshotBenchmark {
+
+    @Param({"false", "true"})
+    private boolean snapshot;
+
+    @Param({"30"})
+    private int numberOfFiles;
+
+    @Param({"100"})
+    private int rulesPerFile;
+
+    private ReleaseId releaseId;
+    private byte[] kjar;
+
+    @Setup(Level.Trial)
+    public void buildKJar() {
+        KieServices ks = KieServices.get();
+        releaseId = ks.newReleaseId("org.drools.benchmark", "snapshot", "1.0.0");
+        KieModuleModel kmodule = ks.newKieModuleModel();
+        kmodule.setConfigurationProperty(KieBaseSnapshot.PROPERTY_NAME, String.valueOf(snapshot));
+        kmodule.newKieBaseModel("kb").setDefault(true).newKieSessionModel("ks").setDefault(true);
+
+        KieFileSystem kfs = ks.newKieFileSystem().writeKModuleXML(kmodule.toXML());
+        kfs.generateAndWritePomXML(releaseId);
+        for (int i = 0; i < numberOfFiles; i++) {
+            kfs.write("src/main/resources/org/drools/benchmark/p" + i + "/rules.drl", generateRules(i));
+        }
+        KieBuilder kieBuilder = ks.newKieBuilder(kfs).buildAll();
+        if (!kieBuilder.getResults().getMessages().isEmpty()) {
+            throw new IllegalStateException(kieBuilder.getResults().getMessages().toString());
+        }
+        kjar = ((InternalKieModule) kieBuilder.getKieModule()).getBytes();
+    }
+
+    @Setup(Level.Invocation)
+    public void installKJar() {
+        KieServices ks = KieServices.get();
+        Resource resource = ks.getResources().newByteArrayResource(kjar);
+        ks.getRepository().addKieModule(resource);
+    }
+
+    @Benchmark
+    public KieBase createKieBase() {
+        return KieServices.get().newKieContainer(releaseId).getKieBase();
+    }
+
+    private String generateRules(int file) {
+        StringBuilder drl = new StringBuilder();
+        drl.append( "package org.drools.benchmark.p" ).append( file ).append( ";\n" );
+        drl.append( "global java.util.List list;\n" );
+        for (int i = 0; i < rulesPerFile; i++) {
+            drl.append( "rule R" ).append( i ).append( " when\n" )
+               .append( "  $i : Integer( intValue > " ).append( i ).append( " )\n" )
+               .append( "  $s : String( length == " ).append( i % 10 ).append( " )\n" )
+               .append( "then\n" )
+               .append( "  list.add( $s + \"" ).append( i ).append( "\" + $i );\n" )
+               .append( "end\n" );
+        }
+        return drl.toString();
+    }
+}
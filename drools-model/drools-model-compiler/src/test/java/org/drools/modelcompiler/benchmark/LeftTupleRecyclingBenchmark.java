@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.phreak.LeftTuplePool;
+import org.drools.modelcompiler.domain.Person;
+import org.drools.modelcompiler.domain.StockTick;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Streams ticks through a session, each one joined with a set of long lived facts and deleted right after
+ * the firing, with and without the recycling of the deleted left tuples.
+ * The allocation rate is measured running it with the gc profiler (-prof gc), or recorded with the
+ * jfr one (-prof jfr) to inspect the allocations by class in Mission Control.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LeftTupleRecyclingBenchmark {
+
+    @Param({"true", "false"})
+    private boolean recycling;
+
+    @Param({"100"})
+    private int numberOfPersons;
+
+    @Param({"1000"})
+    private int ticksPerInvocation;
+
+    private KieBase kieBase;
+    private KieSession kieSession;
+
+    @Setup(Level.Trial)
+    public void setupKieBase() {
+        String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "import " + StockTick.class.getCanonicalName() + ";\n" +
+                "rule R when\n" +
+                "  $t : StockTick()\n" +
+                "  $p : Person( age < $t.timeFieldAsLong )\n" +
+                "  String( this == $p.name )\n" +
+                "then\n" +
+                "end\n";
+        kieBase = new KieHelper().addContent( drl, ResourceType.DRL ).build();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupKieSession() {
+        KieSessionConfiguration sessionConfiguration = KieServices.Factory.get().newKieSessionConfiguration();
+        sessionConfiguration.setProperty( LeftTuplePool.PROPERTY_NAME, Boolean.toString( recycling ) );
+        kieSession = kieBase.newKieSession( sessionConfiguration, null );
+
+        for (int i = 0; i < numberOfPersons; i++) {
+            kieSession.insert( new Person( "P" + i, i ) );
+        }
+        for (int i = 0; i < numberOfPersons; i += 2) {
+            kieSession.insert( "P" + i );
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void disposeKieSession() {
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public int streamTicks() {
+        int fired = 0;
+        for (int i = 0; i < ticksPerInvocation; i++) {
+            FactHandle fh = kieSession.insert( new StockTick( "ACME" ).setTimeField( i % numberOfPersons ) );
+            fired += kieSession.fireAllRules();
+            kieSession.delete( fh );
+            kieSession.fireAllRules();
+        }
+        return fired;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.compiler.builder.impl.KnowledgeBuilderConfigurationImpl;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.kie.api.io.ResourceType;
+import org.kie.internal.builder.CompositeKnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilderFactory;
+import org.kie.internal.io.ResourceFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Builds many DRL files with a CompositeKnowledgeBuilder, parsing them sequentially (threshold -1) or in parallel,
+ * both in a new KieBase and in an existing one, where the rules are now also built in parallel.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelBuildBenchmark {
+
+    @Param({"-1", "4"})
+    private int parallelParsingThreshold;
+
+    @Param({"false", "true"})
+    private boolean existingKieBase;
+
+    @Param({"200"})
+    private int numberOfFiles;
+
+    @Param({"20"})
+    private int rulesPerFile;
+
+    private String[] drls;
+
+    private InternalKnowledgeBase kBase;
+
+    @Setup(Level.Trial)
+    public void generateRules() {
+        drls = new String[numberOfFiles];
+        for (int i = 0; i < numberOfFiles; i++) {
+            drls[i] = generateRules(i);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createKieBase() {
+        kBase = existingKieBase ? KnowledgeBaseFactory.newKnowledgeBase() : null;
+    }
+
+    @Benchmark
+    public KnowledgeBuilder build() {
+        KnowledgeBuilderConfigurationImpl conf = new KnowledgeBuilderConfigurationImpl();
+        conf.setParallelParsingThreshold(parallelParsingThreshold);
+        KnowledgeBuilder kbuilder = kBase == null ?
+                KnowledgeBuilderFactory.newKnowledgeBuilder(conf) :
+                KnowledgeBuilderFactory.newKnowledgeBuilder(kBase, conf);
+
+        CompositeKnowledgeBuilder composite = kbuilder.batch();
+        for (int i = 0; i < drls.length; i++) {
+            composite.add(ResourceFactory.newByteArrayResource(drls[i].getBytes()).setSourcePath("p" + i + "/rules.drl"), ResourceType.DRL);
+        }
+        composite.build();
+        if (kbuilder.hasErrors()) {
+            throw new IllegalStateException(kbuilder.getErrors().toString());
+        }
+        return kbuilder;
+    }
+
+    private String generateRules(int file) {
+        StringBuilder drl = new StringBuilder();
+        drl.append( "package org.drools.benchmark.p" ).append( file ).append( ";\n" );
+        drl.append( "global java.util.List list;\n" );
+        for (int i = 0; i < rulesPerFile; i++) {
+            drl.append( "rule R" ).append( i ).append( " when\n" )
+               .append( "  $i : Integer( intValue > " ).append( i ).append( " )\n" )
+               .append( "  $s : String( length == " ).append( i % 10 ).append( " )\n" )
+               .append( "then\n" )
+               .append( "  list.add( $s + \"" ).append( i ).append( "\" + $i );\n" )
+               .append( "end\n" );
+        }
+        return drl.toString();
+    }
+}
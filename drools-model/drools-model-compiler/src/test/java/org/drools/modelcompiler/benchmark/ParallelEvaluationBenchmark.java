@@ -0,0 +1,118 @@
+/*
+ * Copyright 2005 JBoss Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.common.CompositeDefaultAgenda;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.conf.MultithreadEvaluationOption;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares, on the same parallel (partitioned) KieBase, the former scheduling firing each partition in its own task
+ * with the one where the workers claim the partitions and steal the ones not claimed yet, both when the work is
+ * uniformly distributed among the rules and when a single rule, and then a single partition, gets most of it.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelEvaluationBenchmark {
+
+    public enum LoadType { UNIFORM, SKEWED }
+
+    @Param({"UNIFORM", "SKEWED"})
+    private LoadType load;
+
+    public enum Scheduler { PER_PARTITION, STEALING }
+
+    @Param({"PER_PARTITION", "STEALING"})
+    private Scheduler scheduler;
+
+    @Param({"64"})
+    private int numberOfRules;
+
+    @Param({"2000"})
+    private int numberOfFacts;
+
+    private KieBase kieBase;
+    private KieSession kieSession;
+
+    @Setup(Level.Trial)
+    public void setupKieBase() {
+        CompositeDefaultAgenda.STEAL_PARTITIONS = scheduler == Scheduler.STEALING;
+        kieBase = new KieHelper().addContent( generateDrl(), ResourceType.DRL ).build( MultithreadEvaluationOption.YES );
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreScheduler() {
+        CompositeDefaultAgenda.STEAL_PARTITIONS = true;
+    }
+
+    @Setup(Level.Invocation)
+    public void setupKieSession() {
+        kieSession = kieBase.newKieSession();
+        for (int i = 0; i < numberOfFacts; i++) {
+            kieSession.insert( i );
+            kieSession.insert( "" + i );
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeKieSession() {
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public int fireAllRules() {
+        return kieSession.fireAllRules();
+    }
+
+    private String generateDrl() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < numberOfRules; i++) {
+            // in the skewed case the first rule matches almost all the integers, while the others only one
+            String intConstraint = load == LoadType.UNIFORM ?
+                    "this % " + numberOfRules + " == " + i :
+                    ( i == 0 ? "this > " + numberOfRules : "this == " + i );
+            sb.append( "rule R" ).append( i ).append( " when\n" )
+              .append( "  $i : Integer( " ).append( intConstraint ).append( " )\n" )
+              .append( "  $s : String( this == \"\" + $i )\n" )
+              .append( "then\n" )
+              .append( "end\n" );
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.modelcompiler.ExecutableModelProject;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Repeatedly modifies a single property of a property reactive type with the given number of properties, while
+ * other rules listen to different ones, either with the executable model or with the java dialect consequences.
+ * The allocation per modify is measured running it with the gc profiler (-prof gc), comparing the types up to 64
+ * properties, whose masks are a single long, with the wider ones.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PropertyReactiveModifyBenchmark {
+
+    @Param({"50", "150"})
+    private int numberOfProperties;
+
+    @Param({"true", "false"})
+    private boolean executableModel;
+
+    @Param({"1000"})
+    private int modifiesPerInvocation;
+
+    private KieBase kieBase;
+    private KieSession kieSession;
+
+    @Setup(Level.Trial)
+    public void setupKieBase() {
+        StringBuilder drl = new StringBuilder();
+        drl.append( "package org.drools.benchmark;\n" );
+        drl.append( "declare Big\n" );
+        for (int i = 0; i < numberOfProperties; i++) {
+            drl.append( "  f" ).append( i ).append( " : int\n" );
+        }
+        drl.append( "end\n" );
+        drl.append(
+                "rule Create when\n" +
+                "  $s : String()\n" +
+                "then\n" +
+                "  delete( $s );\n" +
+                "  insert( new Big() );\n" +
+                "end\n" +
+                "rule Increment when\n" +
+                "  $b : Big( f0 < " + modifiesPerInvocation + " )\n" +
+                "then\n" +
+                "  modify( $b ) { setF0( $b.getF0() + 1 ) };\n" +
+                "end\n" +
+                "rule Done when\n" +
+                "  $b : Big( f0 == " + modifiesPerInvocation + " )\n" +
+                "then\n" +
+                "  delete( $b );\n" +
+                "end\n" );
+        // rules listening to other properties, that are not reevaluated by the modifications
+        for (int i = 1; i < numberOfProperties; i += 10) {
+            drl.append( "rule Watch" ).append( i ).append( " when\n" )
+               .append( "  Big( f" ).append( i ).append( " > 0 )\n" )
+               .append( "then\n" )
+               .append( "end\n" );
+        }
+
+        KieHelper kieHelper = new KieHelper().addContent( drl.toString(), ResourceType.DRL );
+        kieBase = executableModel ? kieHelper.build( ExecutableModelProject.class ) : kieHelper.build();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupKieSession() {
+        kieSession = kieBase.newKieSession();
+    }
+
+    @TearDown(Level.Iteration)
+    public void disposeKieSession() {
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public int modify() {
+        kieSession.insert( "go" );
+        return kieSession.fireAllRules();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.modelcompiler.domain.StockTick;
+import org.kie.api.KieBase;
+import org.kie.api.conf.BetaRangeIndexOption;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Correlates ticks of two companies on their timestamps, comparing the beta memories indexed by range with the
+ * unindexed ones for join, not, exists and accumulate nodes.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RangeIndexBenchmark {
+
+    public enum Correlation {
+        JOIN( "  StockTick( company == \"B\", timeFieldAsLong > $a.timeFieldAsLong )\n" ),
+        NOT( "  not StockTick( company == \"B\", timeFieldAsLong < $a.timeFieldAsLong )\n" ),
+        EXISTS( "  exists StockTick( company == \"B\", timeFieldAsLong <= $a.timeFieldAsLong )\n" ),
+        ACCUMULATE( "  accumulate( StockTick( company == \"B\", timeFieldAsLong >= $a.timeFieldAsLong ); $c : count() )\n" );
+
+        private final String pattern;
+
+        Correlation( String pattern ) {
+            this.pattern = pattern;
+        }
+    }
+
+    @Param({"JOIN", "NOT", "EXISTS", "ACCUMULATE"})
+    private Correlation correlation;
+
+    @Param({"true", "false"})
+    private boolean rangeIndex;
+
+    @Param({"2000"})
+    private int numberOfTicks;
+
+    private KieBase kieBase;
+    private KieSession kieSession;
+    private List<StockTick> ticks;
+
+    @Setup(Level.Trial)
+    public void setupKieBase() {
+        String drl =
+                "import " + StockTick.class.getCanonicalName() + ";\n" +
+                "rule R when\n" +
+                "  $a : StockTick( company == \"A\" )\n" +
+                correlation.pattern +
+                "then\n" +
+                "end\n";
+        kieBase = new KieHelper().addContent( drl, ResourceType.DRL )
+                .build( rangeIndex ? BetaRangeIndexOption.ENABLED : BetaRangeIndexOption.DISABLED );
+
+        Random random = new Random( 0 );
+        ticks = new ArrayList<>( numberOfTicks );
+        for (int i = 0; i < numberOfTicks; i++) {
+            ticks.add( new StockTick( i % 2 == 0 ? "A" : "B" ).setTimeField( random.nextInt( numberOfTicks * 10 ) ) );
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupKieSession() {
+        kieSession = kieBase.newKieSession();
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeKieSession() {
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public int correlate() {
+        for (StockTick tick : ticks) {
+            kieSession.insert( tick );
+        }
+        return kieSession.fireAllRules();
+    }
+}
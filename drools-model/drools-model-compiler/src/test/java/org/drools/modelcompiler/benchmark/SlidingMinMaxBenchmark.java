@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.modelcompiler.domain.StockTick;
+import org.kie.api.KieBase;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Slides a window of a million ticks with increasing time, so that each step retracts the current minimum,
+ * comparing the reversible min and max functions used for long expressions with the generic numeric ones,
+ * which have to accumulate again all the values of the window when the retracted value is the current result.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SlidingMinMaxBenchmark {
+
+    @Param({"min", "minN"})
+    private String minFunction;
+
+    @Param({"1000000"})
+    private int windowSize;
+
+    @Param({"100"})
+    private int slidesPerInvocation;
+
+    private KieBase kieBase;
+    private KieSession kieSession;
+    private Deque<FactHandle> window;
+    private long time;
+
+    @Setup(Level.Trial)
+    public void setupKieBase() {
+        String maxFunction = minFunction.replace( "min", "max" );
+        String drl =
+                "import " + StockTick.class.getCanonicalName() + ";\n" +
+                "rule R when\n" +
+                "  accumulate( StockTick( $t : timeFieldAsLong ), $min : " + minFunction + "( $t ), $max : " + maxFunction + "( $t ) )\n" +
+                "then\n" +
+                "end\n";
+        kieBase = new KieHelper().addContent( drl, ResourceType.DRL ).build();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupKieSession() {
+        kieSession = kieBase.newKieSession();
+        window = new ArrayDeque<>( windowSize );
+        for (time = 0; time < windowSize; time++) {
+            window.add( kieSession.insert( new StockTick( "ACME" ).setTimeField( time ) ) );
+        }
+        kieSession.fireAllRules();
+    }
+
+    @TearDown(Level.Iteration)
+    public void disposeKieSession() {
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public int slide() {
+        int fired = 0;
+        for (int i = 0; i < slidesPerInvocation; i++) {
+            kieSession.delete( window.poll() );
+            window.add( kieSession.insert( new StockTick( "ACME" ).setTimeField( time++ ) ) );
+            fired += kieSession.fireAllRules();
+        }
+        return fired;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.impl.StatelessKnowledgeSessionImpl;
+import org.drools.modelcompiler.domain.Person;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.StatelessKieSession;
+import org.kie.internal.utils.KieHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Executes a small batch of facts on a stateless session, as a request/response service would do, with and without
+ * the lean execution reusing a thread unsafe session per thread.
+ * The allocation per execution is measured running it with the gc profiler (-prof gc).
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatelessExecutionBenchmark {
+
+    @Param({"true", "false"})
+    private boolean lean;
+
+    @Param({"10"})
+    private int factsPerExecution;
+
+    private StatelessKieSession statelessSession;
+
+    private List<Object> facts;
+
+    private List<String> results;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "global java.util.List results;\n" +
+                "rule Adult when\n" +
+                "  $p : Person( age >= 18 )\n" +
+                "then\n" +
+                "  results.add( $p.getName() );\n" +
+                "end\n" +
+                "rule OlderWithSameName when\n" +
+                "  $p1 : Person( $name : name )\n" +
+                "  $p2 : Person( name == $name, age > $p1.age )\n" +
+                "then\n" +
+                "  results.add( $name );\n" +
+                "end\n";
+        KieBase kieBase = new KieHelper().addContent( drl, ResourceType.DRL ).build();
+
+        KieSessionConfiguration sessionConfiguration = KieServices.Factory.get().newKieSessionConfiguration();
+        sessionConfiguration.setProperty( StatelessKnowledgeSessionImpl.LEAN_EXECUTION_PROPERTY_NAME, Boolean.toString( lean ) );
+        statelessSession = kieBase.newStatelessKieSession( sessionConfiguration );
+
+        results = new ArrayList<>();
+        statelessSession.setGlobal( "results", results );
+
+        facts = new ArrayList<>();
+        for (int i = 0; i < factsPerExecution; i++) {
+            facts.add( new Person( "P" + (i % 3), 10 + i ) );
+        }
+    }
+
+    @Benchmark
+    public int execute() {
+        results.clear();
+        statelessSession.execute( facts );
+        return results.size();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.base.ClassFieldAccessorCache;
+import org.drools.core.base.ClassFieldAccessorStore;
+import org.drools.core.base.ClassObjectType;
+import org.drools.core.common.DefaultFactHandle;
+import org.drools.core.reteoo.LeftTupleImpl;
+import org.drools.core.reteoo.RightTupleImpl;
+import org.drools.core.reteoo.TupleMemory;
+import org.drools.core.rule.Declaration;
+import org.drools.core.rule.Pattern;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.spi.Tuple;
+import org.drools.core.util.AbstractHashTable.FieldIndex;
+import org.drools.core.util.index.TupleIndexHashTable;
+import org.drools.core.util.index.TupleIndexLongHashTable;
+import org.drools.modelcompiler.domain.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the open addressing TupleIndexLongHashTable with the chained TupleIndexHashTable used for the other
+ * equality indexes, filling a right memory indexed on an int field, looking up the tuples matching each key and
+ * emptying it again. Run it with -prof gc in order to also compare the memory allocated by the two tables.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TupleIndexLongHashTableBenchmark {
+
+    @Param({"long", "chained"})
+    private String table;
+
+    @Param({"100000"})
+    private int numberOfFacts;
+
+    @Param({"10", "100000"})
+    private int distinctKeys;
+
+    private FieldIndex fieldIndex;
+    private RightTupleImpl[] rightTuples;
+    private Tuple[] leftTuples;
+
+    @Setup(Level.Trial)
+    public void setupTuples() {
+        ClassFieldAccessorStore store = new ClassFieldAccessorStore();
+        store.setClassFieldAccessorCache( new ClassFieldAccessorCache( Thread.currentThread().getContextClassLoader() ) );
+        store.setEagerWire( true );
+        InternalReadAccessor extractor = store.getReader( Person.class, "age" );
+        Declaration declaration = new Declaration( "age", extractor, new Pattern( 0, new ClassObjectType( Person.class ) ) );
+        fieldIndex = new FieldIndex( extractor, declaration );
+
+        rightTuples = new RightTupleImpl[numberOfFacts];
+        for (int i = 0; i < numberOfFacts; i++) {
+            rightTuples[i] = new RightTupleImpl( new DefaultFactHandle( i, new Person( "Person" + i, i % distinctKeys ) ), null );
+        }
+        leftTuples = new Tuple[distinctKeys];
+        for (int i = 0; i < distinctKeys; i++) {
+            leftTuples[i] = new LeftTupleImpl( new DefaultFactHandle( numberOfFacts + i, new Person( "Key" + i, i ) ), null, true );
+        }
+    }
+
+    @Benchmark
+    public long addLookupRemove() {
+        TupleMemory memory = "long".equals( table ) ?
+                new TupleIndexLongHashTable( fieldIndex, false ) :
+                new TupleIndexHashTable( new FieldIndex[] { fieldIndex }, false );
+
+        for (RightTupleImpl rightTuple : rightTuples) {
+            memory.add( rightTuple );
+        }
+
+        long matches = 0;
+        for (Tuple leftTuple : leftTuples) {
+            for (Tuple tuple = memory.getFirst( leftTuple ); tuple != null; tuple = (Tuple) tuple.getNext()) {
+                matches++;
+            }
+        }
+
+        for (RightTupleImpl rightTuple : rightTuples) {
+            memory.remove( rightTuple );
+        }
+        return matches;
+    }
+}
@@ -22,10 +22,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.drools.compiler.builder.impl.BuildCache;
 import org.drools.compiler.builder.impl.KnowledgeBuilderConfigurationImpl;
 import org.drools.compiler.builder.impl.errors.ErrorHandler;
 import org.drools.compiler.builder.impl.errors.FunctionErrorHandler;
@@ -107,6 +109,7 @@ import org.kie.memorycompiler.CompilationResult;
 import org.kie.memorycompiler.JavaCompiler;
 import org.kie.memorycompiler.JavaCompilerFactory;
 import org.kie.memorycompiler.resources.MemoryResourceReader;
+import org.kie.memorycompiler.resources.ResourceStore;
 
 public class JavaDialect
         implements
@@ -415,10 +418,7 @@ public class JavaDialect
                           dumpDir);
         }
 
-        final CompilationResult result = this.compiler.compile(classes,
-                                                               this.src,
-                                                               this.packageStoreWrapper,
-                                                               rootClassLoader);
+        final CompilationResult result = compile(classes);
 
 
         //this will sort out the errors based on what class/file they happened in
@@ -443,6 +443,93 @@ public class JavaDialect
         this.errorHandlers.clear();
     }
 
+    private CompilationResult compile(String[] classes) {
+        BuildCache buildCache = this.pkgConf.getBuildCache();
+        String fingerprint = this.packageRegistry.getBuildCacheFingerprint();
+        if (buildCache == null || fingerprint == null) {
+            return this.compiler.compile(classes,
+                                         this.src,
+                                         this.packageStoreWrapper,
+                                         rootClassLoader);
+        }
+
+        // the classes compiled from a source, including its inner ones, are cached together keyed by the source
+        Map<String, String> cacheKeys = new HashMap<>();
+        List<String> missingClasses = new ArrayList<>();
+        for (String className : classes) {
+            String cacheKey = BuildCache.newHasher("java").add(fingerprint)
+                    .add(this.compiler.getClass().getName()).add(this.configuration.getJavaLanguageLevel())
+                    .add(className).add(this.src.getBytes(className)).hash();
+            Map<String, byte[]> cached = buildCache.getClasses(cacheKey);
+            if (cached != null) {
+                cached.forEach(this.packageStoreWrapper::write);
+            } else {
+                cacheKeys.put(className, cacheKey);
+                missingClasses.add(className);
+            }
+        }
+        if (missingClasses.isEmpty()) {
+            return new CompilationResult(new org.kie.memorycompiler.CompilationProblem[0]);
+        }
+
+        RecordingResourceStore store = new RecordingResourceStore(this.packageStoreWrapper);
+        CompilationResult result = this.compiler.compile(missingClasses.toArray(new String[missingClasses.size()]),
+                                                         this.src,
+                                                         store,
+                                                         rootClassLoader);
+        // the errors are not cached, so neither are the classes compiled together with the ones in error
+        if (result.getErrors().length == 0) {
+            for (Map.Entry<String, Map<String, byte[]>> entry : store.getClassesBySource().entrySet()) {
+                String cacheKey = cacheKeys.get(entry.getKey());
+                if (cacheKey != null) {
+                    buildCache.putClasses(cacheKey, entry.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Records the classes written by the compiler, grouped by the source they have been compiled from
+     */
+    private static class RecordingResourceStore implements ResourceStore {
+
+        private final ResourceStore delegate;
+        private final Map<String, Map<String, byte[]>> classesBySource = new HashMap<>();
+
+        private RecordingResourceStore(ResourceStore delegate) {
+            this.delegate = delegate;
+        }
+
+        Map<String, Map<String, byte[]>> getClassesBySource() {
+            return classesBySource;
+        }
+
+        @Override
+        public void write(String resourceName, byte[] resourceData) {
+            delegate.write(resourceName, resourceData);
+            String className = resourceName.substring(0, resourceName.length() - ".class".length());
+            int innerClassPos = className.indexOf('$', className.lastIndexOf('/') + 1);
+            String sourceName = (innerClassPos < 0 ? className : className.substring(0, innerClassPos)) + ".java";
+            classesBySource.computeIfAbsent(sourceName, k -> new LinkedHashMap<>()).put(resourceName, resourceData);
+        }
+
+        @Override
+        public void write(String resourceName, byte[] resourceData, boolean createFolder) {
+            write(resourceName, resourceData);
+        }
+
+        @Override
+        public byte[] read(String resourceName) {
+            return delegate.read(resourceName);
+        }
+
+        @Override
+        public void remove(String resourceName) {
+            delegate.remove(resourceName);
+        }
+    }
+
     /**
      * @param classes
      * @param dumpDir
@@ -143,6 +143,12 @@ public class DataSourceFactHandle implements InternalFactHandle {
 
     }
 
+    @Override
+    public void setObjectHashCode(int hashCode) {
+        throw new UnsupportedOperationException( "org.drools.core.datasources.CursoredDataSource.DataSourceFactHandle.setObjectHashCode -> TODO" );
+
+    }
+
     @Override
     public boolean isDisconnected() {
         throw new UnsupportedOperationException( "org.drools.core.datasources.CursoredDataSource.DataSourceFactHandle.isDisconnected -> TODO" );
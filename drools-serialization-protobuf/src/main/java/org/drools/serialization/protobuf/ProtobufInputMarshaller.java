@@ -603,8 +603,8 @@ public class ProtobufInputMarshaller {
                 typeConf.enableTMS();
             }
 
-            EqualityKey key = new EqualityKey( handle,
-                                               _key.getStatus() );
+            EqualityKey key = tms.newEqualityKey( handle,
+                                                  _key.getStatus() );
             handle.setEqualityKey( key );
 
             if ( key.getStatus() == EqualityKey.JUSTIFIED ) {
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.drools.core.FactHandleType;
+import org.drools.core.common.CompactFactHandle;
+import org.drools.testcoverage.common.model.Person;
+import org.drools.testcoverage.common.model.Pet;
+import org.drools.testcoverage.common.model.Pet.PetType;
+import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
+import org.drools.testcoverage.common.util.KieBaseUtil;
+import org.drools.testcoverage.common.util.TestParametersUtil;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.rule.FactHandle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class CompactFactHandleTest {
+
+    private final KieBaseTestConfiguration kieBaseTestConfiguration;
+
+    public CompactFactHandleTest(final KieBaseTestConfiguration kieBaseTestConfiguration) {
+        this.kieBaseTestConfiguration = kieBaseTestConfiguration;
+    }
+
+    @Parameterized.Parameters(name = "KieBase type={0}")
+    public static Collection<Object[]> getParameters() {
+        return TestParametersUtil.getKieBaseCloudConfigurations(true);
+    }
+
+    private KieSession newCompactSession(final KieBase kbase) {
+        final KieSessionConfiguration config = KieServices.Factory.get().newKieSessionConfiguration(null);
+        config.setProperty(FactHandleType.PROPERTY_NAME, FactHandleType.COMPACT.getId());
+        return kbase.newKieSession(config, null);
+    }
+
+    @Test
+    public void testJoinModifyAndDeleteWithCompactFactHandles() {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "import " + Pet.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n" +
+                "rule R1 when\n" +
+                "   $pet : Pet()\n" +
+                "   $p : Person( age > $pet.age )\n" +
+                "then\n" +
+                "   list.add( $p.getName() );\n" +
+                "end\n" +
+                "rule R2 when\n" +
+                "   $p : Person()\n" +
+                "   not Pet( age >= $p.age )\n" +
+                "then\n" +
+                "   list.add( \"no pet for \" + $p.getName() );\n" +
+                "end\n";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("compact-handle-test", kieBaseTestConfiguration, drl);
+        final KieSession ksession = newCompactSession(kbase);
+        try {
+            final List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+
+            final Pet pet = new Pet(PetType.CAT, 10);
+            final FactHandle petFH = ksession.insert(pet);
+            final Person mario = new Person("Mario", 20);
+            final FactHandle marioFH = ksession.insert(mario);
+            final Person luca = new Person("Luca", 5);
+            ksession.insert(luca);
+
+            assertThat(marioFH).isInstanceOf(CompactFactHandle.class);
+            assertThat(petFH).isInstanceOf(CompactFactHandle.class);
+
+            assertEquals(2, ksession.fireAllRules());
+            assertThat(list).containsExactlyInAnyOrder("Mario", "no pet for Mario");
+
+            list.clear();
+            pet.setAge(30);
+            ksession.update(petFH, pet);
+            assertEquals(0, ksession.fireAllRules());
+
+            mario.setAge(40);
+            ksession.update(marioFH, mario);
+            assertEquals(2, ksession.fireAllRules());
+            assertThat(list).containsExactlyInAnyOrder("Mario", "no pet for Mario");
+
+            list.clear();
+            ksession.delete(petFH);
+            assertEquals(1, ksession.fireAllRules());
+            assertThat(list).containsExactly("no pet for Luca");
+
+            list.clear();
+            ksession.delete(marioFH);
+            ksession.insert(new Pet(PetType.DOG, 1));
+            assertEquals(1, ksession.fireAllRules());
+            assertThat(list).containsExactly("Luca");
+            assertEquals(2, ksession.getFactCount());
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.util.Set;
 
 import org.drools.ancompiler.CompiledNetwork;
 import org.drools.core.common.BetaConstraints;
+import org.drools.core.reteoo.AccumulateNode;
 import org.drools.core.reteoo.JoinNode;
 import org.drools.core.reteoo.ObjectSink;
 import org.drools.core.reteoo.ObjectSinkPropagator;
@@ -47,6 +48,7 @@ import org.kie.api.KieBase;
 import org.kie.api.builder.KieModule;
 import org.kie.api.conf.BetaRangeIndexOption;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
@@ -425,6 +427,62 @@ public class JoinNodeRangeIndexingTest {
         }
     }
 
+    @Test
+    public void testRangeIndexForAccumulate() {
+        final String drl = "import " + Person.class.getCanonicalName() + ";\n" +
+                           "import " + Pet.class.getCanonicalName() + ";\n" +
+                           "global java.util.Map result;\n" +
+                           "rule R1\n" +
+                           "when\n" +
+                           "   $pet : Pet()\n" +
+                           "   accumulate( Person( age > $pet.age ); $count : count() )\n" +
+                           "then\n" +
+                           "   result.put( $pet.getName(), $count.intValue() );\n" +
+                           "end\n";
+
+        final KieBase kbase = getKieBaseWithRangeIndexOption(drl);
+
+        final ObjectTypeNode otn = KieUtil.getObjectTypeNode(kbase, Person.class);
+        ObjectSinkPropagator objectSinkPropagator = otn.getObjectSinkPropagator();
+        if (this.kieBaseTestConfiguration.useAlphaNetworkCompiler()) {
+            objectSinkPropagator = ((CompiledNetwork) objectSinkPropagator).getOriginalSinkPropagator();
+        }
+        assertThat(objectSinkPropagator.getSinks()).hasSize(1);
+        assertThat(objectSinkPropagator.getSinks()[0]).isInstanceOf(AccumulateNode.class);
+        assertTrue(((AccumulateNode) objectSinkPropagator.getSinks()[0]).getRawConstraints().isIndexed());
+
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            final Map<String, Integer> result = new HashMap<>();
+            ksession.setGlobal("result", result);
+
+            ksession.insert(new Pet("Oliver", 5));
+            ksession.insert(new Pet("Leo", 10));
+
+            ksession.insert(new Person("John", 8));
+            final FactHandle paul = ksession.insert(new Person("Paul", 12));
+            ksession.insert(new Person("George", 3));
+            ksession.fireAllRules();
+            assertEquals(2, (int) result.get("Oliver"));
+            assertEquals(1, (int) result.get("Leo"));
+
+            final Person paulPerson = (Person) ksession.getObject(paul);
+            paulPerson.setAge(4);
+            ksession.update(paul, paulPerson);
+            ksession.fireAllRules();
+            assertEquals(1, (int) result.get("Oliver"));
+            assertEquals(0, (int) result.get("Leo"));
+
+            ksession.delete(paul);
+            ksession.insert(new Person("Ringo", 20));
+            ksession.fireAllRules();
+            assertEquals(2, (int) result.get("Oliver"));
+            assertEquals(1, (int) result.get("Leo"));
+        } finally {
+            ksession.dispose();
+        }
+    }
+
     @Test
     public void testBoxed() {
         final String drl = "import " + Person.class.getCanonicalName() + ";\n" +
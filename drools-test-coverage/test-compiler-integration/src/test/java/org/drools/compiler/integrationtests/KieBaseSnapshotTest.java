@@ -0,0 +1,145 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.compiler.kie.builder.impl.KieBaseSnapshot;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.junit.Test;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.builder.model.KieModuleModel;
+import org.kie.api.definition.type.FactType;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.conf.ShareAlphaNodesOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KieBaseSnapshotTest {
+
+    private static final String DRL =
+            "package org.drools.snapshot\n" +
+            "global java.util.List list\n" +
+            "declare Person\n" +
+            "  name : String\n" +
+            "  age : int\n" +
+            "end\n" +
+            "rule Adult when\n" +
+            "  Person( age >= 18, $name : name )\n" +
+            "  not String( this == $name )\n" +
+            "then\n" +
+            "  list.add( $name );\n" +
+            "end\n";
+
+    @Test
+    public void testLoadKieBaseFromSnapshot() throws Exception {
+        final KieServices ks = KieServices.Factory.get();
+        final ReleaseId releaseId = ks.newReleaseId("org.kie", "test-snapshot", "1.0.0");
+
+        final KieModuleModel kmodule = ks.newKieModuleModel();
+        kmodule.setConfigurationProperty(KieBaseSnapshot.PROPERTY_NAME, "true");
+        kmodule.newKieBaseModel("kb").setDefault(true).newKieSessionModel("ks").setDefault(true);
+
+        final KieFileSystem kfs = ks.newKieFileSystem()
+                .writeKModuleXML(kmodule.toXML())
+                .write("src/main/resources/org/drools/snapshot/rules.drl", DRL);
+        kfs.generateAndWritePomXML(releaseId);
+
+        final KieBuilder kieBuilder = ks.newKieBuilder(kfs).buildAll();
+        assertThat(kieBuilder.getResults().getMessages()).isEmpty();
+
+        final String snapshotPath = KieBaseSnapshot.getSnapshotPath(releaseId, "kb");
+        final InternalKieModule builtModule = (InternalKieModule) kieBuilder.getKieModule();
+        assertThat(builtModule.isAvailable(snapshotPath)).isTrue();
+
+        // reinstalls the kjar, so that its KieBase can only be created from the snapshot or by building its resources
+        ks.getRepository().addKieModule(ks.getResources().newByteArrayResource(builtModule.getBytes()));
+        final InternalKieModule kieModule = (InternalKieModule) ks.getRepository().getKieModule(releaseId);
+        assertThat(kieModule).isNotSameAs(builtModule);
+
+        final KieContainer kieContainer = ks.newKieContainer(releaseId);
+        final KieSession ksession = kieContainer.newKieSession();
+        assertThat(kieModule.getKnowledgeBuilderForKieBase("kb")).isNull();
+
+        final List<String> list = new ArrayList<>();
+        ksession.setGlobal("list", list);
+
+        final FactType personType = ksession.getKieBase().getFactType("org.drools.snapshot", "Person");
+        for (Object[] data : Arrays.asList(new Object[] {"Mario", 40}, new Object[] {"Sofia", 12}, new Object[] {"Luca", 35})) {
+            final Object person = personType.newInstance();
+            personType.set(person, "name", data[0]);
+            personType.set(person, "age", data[1]);
+            ksession.insert(person);
+        }
+        ksession.insert("Luca");
+
+        assertThat(ksession.fireAllRules()).isEqualTo(1);
+        assertThat(list).containsExactly("Mario");
+        ksession.dispose();
+
+        // a snapshot written against different dependencies or with a different configuration is ignored
+        final byte[] snapshot = kieModule.getBytes(snapshotPath);
+        final String fingerprint = KieBaseSnapshot.getFingerprint(kieModule);
+        final String confFingerprint = KieBaseSnapshot.getConfigurationFingerprint(((InternalKnowledgeBase) kieContainer.getKieBase()).getConfiguration());
+        assertThat(KieBaseSnapshot.read(snapshot, fingerprint, confFingerprint, kieContainer.getClassLoader())).isNotNull();
+        assertThat(KieBaseSnapshot.read(snapshot, fingerprint + "0", confFingerprint, kieContainer.getClassLoader())).isNull();
+        assertThat(KieBaseSnapshot.read(snapshot, fingerprint, confFingerprint + "0", kieContainer.getClassLoader())).isNull();
+    }
+
+    @Test
+    public void testSnapshotIgnoredWhenTheConfigurationChanges() throws Exception {
+        final KieServices ks = KieServices.Factory.get();
+        final ReleaseId releaseId = ks.newReleaseId("org.kie", "test-snapshot-conf", "1.0.0");
+
+        final KieModuleModel kmodule = ks.newKieModuleModel();
+        kmodule.setConfigurationProperty(KieBaseSnapshot.PROPERTY_NAME, "true");
+        kmodule.newKieBaseModel("kb").setDefault(true).newKieSessionModel("ks").setDefault(true);
+
+        final KieFileSystem kfs = ks.newKieFileSystem()
+                .writeKModuleXML(kmodule.toXML())
+                .write("src/main/resources/org/drools/snapshot/rules.drl", DRL);
+        kfs.generateAndWritePomXML(releaseId);
+        final KieBuilder kieBuilder = ks.newKieBuilder(kfs).buildAll();
+        assertThat(kieBuilder.getResults().getMessages()).isEmpty();
+
+        ks.getRepository().addKieModule(ks.getResources().newByteArrayResource(((InternalKieModule) kieBuilder.getKieModule()).getBytes()));
+        final InternalKieModule kieModule = (InternalKieModule) ks.getRepository().getKieModule(releaseId);
+
+        // an option set as system property after the kjar has been built makes the KieBase be built from its resources
+        System.setProperty(ShareAlphaNodesOption.PROPERTY_NAME, "false");
+        try {
+            final KieContainer kieContainer = ks.newKieContainer(releaseId);
+            final InternalKnowledgeBase kieBase = (InternalKnowledgeBase) kieContainer.getKieBase();
+            assertThat(kieModule.getKnowledgeBuilderForKieBase("kb")).isNotNull();
+            assertThat(kieBase.getConfiguration().isShareAlphaNodes()).isFalse();
+        } finally {
+            System.clearProperty(ShareAlphaNodesOption.PROPERTY_NAME);
+        }
+    }
+
+    @Test
+    public void testIgnoreUnknownSnapshot() {
+        assertThat(KieBaseSnapshot.read(new byte[] {0, 1, 2, 3, 4, 5, 6, 7}, "", "", getClass().getClassLoader())).isNull();
+    }
+}
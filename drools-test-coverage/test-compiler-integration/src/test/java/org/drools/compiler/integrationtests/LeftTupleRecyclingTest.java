@@ -0,0 +1,210 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.phreak.LeftTuplePool;
+import org.drools.testcoverage.common.model.Person;
+import org.drools.testcoverage.common.model.Pet;
+import org.drools.testcoverage.common.model.Pet.PetType;
+import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
+import org.drools.testcoverage.common.util.KieBaseUtil;
+import org.drools.testcoverage.common.util.KieUtil;
+import org.drools.testcoverage.common.util.TestParametersUtil;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieModule;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.conf.MultithreadEvaluationOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class LeftTupleRecyclingTest {
+
+    private final KieBaseTestConfiguration kieBaseTestConfiguration;
+
+    public LeftTupleRecyclingTest(final KieBaseTestConfiguration kieBaseTestConfiguration) {
+        this.kieBaseTestConfiguration = kieBaseTestConfiguration;
+    }
+
+    @Parameterized.Parameters(name = "KieBase type={0}")
+    public static Collection<Object[]> getParameters() {
+        return TestParametersUtil.getKieBaseCloudConfigurations(true);
+    }
+
+    private KieSession newRecyclingSession(final KieBase kbase) {
+        final KieSessionConfiguration config = KieServices.Factory.get().newKieSessionConfiguration(null);
+        config.setProperty(LeftTuplePool.PROPERTY_NAME, "true");
+        return kbase.newKieSession(config, null);
+    }
+
+    @Test
+    public void testJoinChurnWithRecycledTuples() {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "import " + Pet.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n" +
+                "rule R when\n" +
+                "   $pet : Pet()\n" +
+                "   $p : Person( age > $pet.age )\n" +
+                "   $s : String( this == $p.name )\n" +
+                "then\n" +
+                "   list.add( $s + \":\" + $p.getAge() );\n" +
+                "end\n";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("left-tuple-recycling-test", kieBaseTestConfiguration, drl);
+        final KieSession ksession = newRecyclingSession(kbase);
+        try {
+            final List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+
+            ksession.insert(new Pet(PetType.CAT, 10));
+            ksession.insert("Mario");
+
+            for (int i = 0; i < 100; i++) {
+                final FactHandle marioFH = ksession.insert(new Person("Mario", 20 + i));
+                // no String matches Luca, so its join tuple never has a child and can be recycled
+                final FactHandle lucaFH = ksession.insert(new Person("Luca", 20 + i));
+                assertEquals(1, ksession.fireAllRules());
+                assertThat(list).containsExactly("Mario:" + (20 + i));
+                list.clear();
+
+                ksession.delete(marioFH);
+                ksession.delete(lucaFH);
+                assertEquals(0, ksession.fireAllRules());
+            }
+
+            final LeftTuplePool tuplePool = ((InternalWorkingMemory) ksession).getLeftTuplePool();
+            assertThat(tuplePool).isNotNull();
+            assertThat(tuplePool.getRecycledCount()).isPositive();
+            assertThat(tuplePool.getReusedCount()).isPositive();
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testAccumulateResultIsNotRecycled() {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "import " + Pet.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n" +
+                "rule R when\n" +
+                "   $p : Person()\n" +
+                "   $c : Number( intValue > 0 ) from accumulate( Pet( age < $p.age ), count() )\n" +
+                "   $s : String( this == $p.name )\n" +
+                "then\n" +
+                "   list.add( $s + \":\" + $c );\n" +
+                "end\n";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("left-tuple-recycling-test", kieBaseTestConfiguration, drl);
+        final KieSession ksession = newRecyclingSession(kbase);
+        try {
+            final List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+
+            ksession.insert(new Person("Mario", 20));
+            ksession.insert("Mario");
+
+            for (int i = 0; i < 10; i++) {
+                // the accumulate node propagates again the same result tuple deleted when the count dropped to 0
+                final FactHandle petFH = ksession.insert(new Pet(PetType.DOG, i));
+                assertEquals(1, ksession.fireAllRules());
+                assertThat(list).containsExactly("Mario:1");
+                list.clear();
+
+                ksession.delete(petFH);
+                assertEquals(0, ksession.fireAllRules());
+            }
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testRecyclingIsDisabledByDefault() {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "rule R when\n" +
+                "   $p : Person()\n" +
+                "   String( this == $p.name )\n" +
+                "then\n" +
+                "end\n";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("left-tuple-recycling-test", kieBaseTestConfiguration, drl);
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            assertThat(((InternalWorkingMemory) ksession).getLeftTuplePool()).isNull();
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test(timeout = 40000L)
+    public void testRecyclingIsIgnoredWithParallelEvaluation() {
+        final StringBuilder drl = new StringBuilder();
+        drl.append("global java.util.List list;\n");
+        for (int i = 0; i < 10; i++) {
+            drl.append("rule R" + i + " when\n" +
+                       "   $i : Integer( intValue == " + i + " )\n" +
+                       "   String( toString == $i.toString )\n" +
+                       "then\n" +
+                       "   list.add( $i );\n" +
+                       "end\n");
+        }
+
+        final KieModule kieModule = KieUtil.getKieModuleFromDrls("left-tuple-recycling-test", kieBaseTestConfiguration, drl.toString());
+        final KieBase kbase = KieBaseUtil.newKieBaseFromKieModuleWithAdditionalOptions(kieModule, kieBaseTestConfiguration, MultithreadEvaluationOption.YES);
+        final KieSession ksession = newRecyclingSession(kbase);
+        try {
+            assertThat(((InternalWorkingMemory) ksession).getAgenda().isParallelAgenda()).isTrue();
+            // the partitions would share the same pool from different threads
+            assertThat(((InternalWorkingMemory) ksession).getLeftTuplePool()).isNull();
+
+            final List<Integer> list = Collections.synchronizedList(new ArrayList<>());
+            ksession.setGlobal("list", list);
+
+            for (int round = 0; round < 10; round++) {
+                final List<FactHandle> handles = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    handles.add(ksession.insert(i));
+                    handles.add(ksession.insert("" + i));
+                }
+                assertEquals(10, ksession.fireAllRules());
+                assertEquals(10, list.size());
+                list.clear();
+
+                handles.forEach(ksession::delete);
+                assertEquals(0, ksession.fireAllRules());
+            }
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
@@ -518,6 +518,73 @@ public class AddRemoveRulesTest {
         assertEquals(Collections.singletonList("ok"), list);
     }
 
+    @Test
+    public void testBulkAddAfterSessionDisposed() {
+        // many rules added without sessions have their segments laid out at once, also when sharing segments of
+        // prototypes created by an already disposed session
+        final String rules1 = "package org.drools.test; \n" +
+                "global java.util.List list; \n" +
+                "rule R1 when \n" +
+                "   Integer( this > 0 ) \n" +
+                "   $s : String( this == \"a\" ) \n" +
+                "then \n" +
+                "   list.add( \"R1\" ); \n" +
+                "end \n" +
+                "rule R2 when \n" +
+                "   Integer( this > 0 ) \n" +
+                "   $s : String( this == \"b\" ) \n" +
+                "then \n" +
+                "   list.add( \"R2\" ); \n" +
+                "end \n";
+        final String rules2 = "package org.drools.test; \n" +
+                "global java.util.List list; \n" +
+                "rule R3 when \n" +
+                "   Integer( this > 0 ) \n" +
+                "   $s : String( this == \"a\" ) \n" +
+                "   Long( ) \n" +
+                "then \n" +
+                "   list.add( \"R3\" ); \n" +
+                "end \n" +
+                "rule R4 when \n" +
+                "   Integer( this > 0 ) \n" +
+                "   Long( ) \n" +
+                "then \n" +
+                "   list.add( \"R4\" ); \n" +
+                "end \n" +
+                "rule R5 when \n" +
+                "   Integer( this > 0 ) \n" +
+                "   $s : String( this == \"b\" ) \n" +
+                "   not Long( this > 1 ) \n" +
+                "then \n" +
+                "   list.add( \"R5\" ); \n" +
+                "end \n";
+
+        base.addPackages( TestUtil.createKnowledgeBuilder(null, rules1).getKnowledgePackages() );
+
+        KieSession session = base.newKieSession();
+        List<String> list = new ArrayList<>();
+        session.setGlobal("list", list);
+        session.insert(1);
+        session.insert("a");
+        session.insert("b");
+        session.fireAllRules();
+        assertThat(list).containsExactlyInAnyOrder("R1", "R2");
+        session.dispose();
+
+        base.addPackages( TestUtil.createKnowledgeBuilder(null, rules2).getKnowledgePackages() );
+
+        session = base.newKieSession();
+        list = new ArrayList<>();
+        session.setGlobal("list", list);
+        session.insert(1);
+        session.insert("a");
+        session.insert("b");
+        session.insert(1L);
+        session.fireAllRules();
+        assertThat(list).containsExactlyInAnyOrder("R1", "R2", "R3", "R4", "R5");
+        session.dispose();
+    }
+
     @Test
     public void testRemoveWithDuplicatedCondition() {
         final String packageName = "test_same_condition_pk" ;
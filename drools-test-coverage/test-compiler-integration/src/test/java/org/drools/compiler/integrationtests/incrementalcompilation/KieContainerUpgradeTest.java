@@ -0,0 +1,205 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests.incrementalcompilation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.drools.compiler.kie.builder.impl.KieContainerImpl;
+import org.drools.compiler.kie.builder.impl.KieContainerUpgrade;
+import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
+import org.drools.testcoverage.common.util.KieUtil;
+import org.drools.testcoverage.common.util.TestParametersUtil;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.api.KieServices;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.ReleaseId;
+import org.kie.api.builder.Results;
+import org.kie.api.definition.type.FactType;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Parameterized.class)
+public class KieContainerUpgradeTest {
+
+    private final KieBaseTestConfiguration kieBaseTestConfiguration;
+
+    public KieContainerUpgradeTest(final KieBaseTestConfiguration kieBaseTestConfiguration) {
+        this.kieBaseTestConfiguration = kieBaseTestConfiguration;
+    }
+
+    @Parameterized.Parameters(name = "KieBase type={0}")
+    public static Collection<Object[]> getParameters() {
+        return TestParametersUtil.getKieBaseCloudConfigurations(true);
+    }
+
+    private static final String DRL_HEADER =
+            "package org.drools.upgrade\n" +
+            "global java.util.List list\n" +
+            "declare Person\n" +
+            "  name : String\n" +
+            "  age : int\n" +
+            "end\n" +
+            "rule R1 when\n" +
+            "  Person( age > 18, $name : name )\n" +
+            "  String( this == \"check\" )\n" +
+            "then\n" +
+            "  list.add( \"R1 \" + $name );\n" +
+            "end\n";
+
+    private static final String DRL_RULE_2 =
+            "rule R2 when\n" +
+            "  Person( age > 30, $name : name )\n" +
+            "then\n" +
+            "  list.add( \"R2 \" + $name );\n" +
+            "end\n";
+
+    @Test
+    public void testMigrateSessionAfterUpgrade() throws Exception {
+        final KieServices ks = KieServices.Factory.get();
+
+        final ReleaseId releaseId1 = ks.newReleaseId("org.kie", "test-upgrade", "1.0.0");
+        KieUtil.getKieModuleFromDrls(releaseId1, kieBaseTestConfiguration, DRL_HEADER);
+        final KieContainer kieContainer = ks.newKieContainer(releaseId1);
+
+        final List<String> list = new ArrayList<>();
+        final KieSession ksession = kieContainer.newKieSession();
+        ksession.setGlobal("list", list);
+        ksession.insert(newPerson(ksession, "Mario", 40));
+        ksession.insert("check");
+        assertThat(ksession.fireAllRules()).isEqualTo(1);
+        assertThat(list).containsExactly("R1 Mario");
+
+        final ReleaseId releaseId2 = ks.newReleaseId("org.kie", "test-upgrade", "1.1.0");
+        KieUtil.getKieModuleFromDrls(releaseId2, kieBaseTestConfiguration, DRL_HEADER + DRL_RULE_2);
+
+        final KieContainerUpgrade upgrade = ((KieContainerImpl) kieContainer).upgradeToVersion(releaseId2, Runnable::run);
+        final Results results = upgrade.getResults().get();
+        assertThat(results.getMessages(Message.Level.ERROR)).isEmpty();
+        assertThat(upgrade.isSwitched()).isTrue();
+        assertThat(upgrade.getPendingSessions()).isEqualTo(1);
+        assertThat(kieContainer.getReleaseId()).isEqualTo(releaseId2);
+
+        // the session keeps using the old KieBase until it is migrated
+        assertThat(kieContainer.getKieBase()).isNotSameAs(ksession.getKieBase());
+
+        final KieSession migrated = upgrade.migrate(ksession);
+        assertThat(migrated).isNotSameAs(ksession);
+        assertThat(migrated.getKieBase()).isSameAs(kieContainer.getKieBase());
+        assertThat(migrated.getGlobal("list")).isSameAs(list);
+        assertThat(migrated.getFactCount()).isEqualTo(2);
+
+        // R1 already fired in the old session, while the added R2 fires for the migrated facts
+        assertThat(list).containsExactly("R1 Mario", "R2 Mario");
+
+        final Class<?> personClass = migrated.getKieBase().getFactType("org.drools.upgrade", "Person").getFactClass();
+        assertThat(migrated.getObjects(personClass::isInstance)).hasSize(1);
+
+        assertThat(upgrade.getMigratedSessions()).isEqualTo(1);
+        assertThat(upgrade.getPendingSessions()).isZero();
+        assertThat(upgrade.getMigratedFacts()).isEqualTo(2);
+        assertThat(upgrade.getDroppedFacts()).isZero();
+        assertThat(upgrade.migrate(migrated)).isSameAs(migrated);
+
+        list.clear();
+        migrated.insert(newPerson(migrated, "Luca", 35));
+        assertThat(migrated.fireAllRules()).isEqualTo(2);
+        assertThat(list).containsExactlyInAnyOrder("R1 Luca", "R2 Luca");
+        migrated.dispose();
+    }
+
+    private static final String DRL_LOGICAL =
+            "package org.drools.upgrade\n" +
+            "global java.util.List list\n" +
+            "declare Person\n" +
+            "  name : String\n" +
+            "  age : int\n" +
+            "end\n" +
+            "declare Adult\n" +
+            "  name : String\n" +
+            "end\n" +
+            "rule Derive when\n" +
+            "  Person( age > 18, $name : name )\n" +
+            "then\n" +
+            "  insertLogical( new Adult( $name ) );\n" +
+            "end\n";
+
+    private static final String DRL_LOGICAL_RULE_2 =
+            "rule R2 when\n" +
+            "  Adult( $name : name )\n" +
+            "then\n" +
+            "  list.add( \"R2 \" + $name );\n" +
+            "end\n";
+
+    @Test
+    public void testMigrateLogicallyInsertedFacts() throws Exception {
+        final KieServices ks = KieServices.Factory.get();
+
+        final ReleaseId releaseId1 = ks.newReleaseId("org.kie", "test-upgrade-logical", "1.0.0");
+        KieUtil.getKieModuleFromDrls(releaseId1, kieBaseTestConfiguration, DRL_LOGICAL);
+        final KieContainer kieContainer = ks.newKieContainer(releaseId1);
+
+        final List<String> list = new ArrayList<>();
+        final KieSession ksession = kieContainer.newKieSession();
+        ksession.setGlobal("list", list);
+        final Object mario = newPerson(ksession, "Mario", 40);
+        ksession.insert(mario);
+        ksession.insert(newPerson(ksession, "Sofia", 12));
+        assertThat(ksession.fireAllRules()).isEqualTo(1);
+        assertThat(ksession.getFactCount()).isEqualTo(3);
+
+        final ReleaseId releaseId2 = ks.newReleaseId("org.kie", "test-upgrade-logical", "1.1.0");
+        KieUtil.getKieModuleFromDrls(releaseId2, kieBaseTestConfiguration, DRL_LOGICAL + DRL_LOGICAL_RULE_2);
+
+        final KieContainerUpgrade upgrade = ((KieContainerImpl) kieContainer).upgradeToVersion(releaseId2, Runnable::run);
+        assertThat(upgrade.getResults().get().getMessages(Message.Level.ERROR)).isEmpty();
+
+        final KieSession migrated = upgrade.migrate(ksession);
+        assertThat(upgrade.getMigratedFacts()).isEqualTo(2);
+
+        // the logically inserted Adult is derived again by the unchanged rule that justified it in the old session
+        final Class<?> adultClass = migrated.getKieBase().getFactType("org.drools.upgrade", "Adult").getFactClass();
+        assertThat(migrated.getObjects(adultClass::isInstance)).hasSize(1);
+        assertThat(migrated.getFactCount()).isEqualTo(3);
+        assertThat(list).containsExactly("R2 Mario");
+
+        // and it is still maintained by the truth maintenance system of the new session
+        final Class<?> personClass = migrated.getKieBase().getFactType("org.drools.upgrade", "Person").getFactClass();
+        final Object migratedMario = migrated.getObjects(o -> personClass.isInstance(o) && "Mario".equals(getName(migrated, o))).iterator().next();
+        migrated.delete(migrated.getFactHandle(migratedMario));
+        migrated.fireAllRules();
+        assertThat(migrated.getObjects(adultClass::isInstance)).isEmpty();
+        migrated.dispose();
+    }
+
+    private static Object getName(final KieSession ksession, final Object person) {
+        return ksession.getKieBase().getFactType("org.drools.upgrade", "Person").get(person, "name");
+    }
+
+    private static Object newPerson(final KieSession ksession, final String name, final int age) throws Exception {
+        final FactType personType = ksession.getKieBase().getFactType("org.drools.upgrade", "Person");
+        final Object person = personType.newInstance();
+        personType.set(person, "name", name);
+        personType.set(person, "age", age);
+        return person;
+    }
+}
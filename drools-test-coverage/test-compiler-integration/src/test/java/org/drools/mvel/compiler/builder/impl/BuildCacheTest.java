@@ -0,0 +1,169 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.mvel.compiler.builder.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.drools.compiler.builder.impl.BuildCache;
+import org.drools.compiler.compiler.DrlParser;
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.drools.mvel.DrlDumper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieBuilder;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.builder.conf.LanguageLevelOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BuildCacheTest {
+
+    private static final String DRL =
+            "package org.drools.test;\n" +
+            "global java.util.List list;\n" +
+            "declare Item\n" +
+            "  value : int\n" +
+            "end\n" +
+            "function int twice(int x) {\n" +
+            "  return x * 2;\n" +
+            "}\n" +
+            "rule Init when\n" +
+            "then\n" +
+            "  insert( new Item( 21 ) );\n" +
+            "end\n" +
+            "rule Collect when\n" +
+            "  Item( $v : value )\n" +
+            "then\n" +
+            "  list.add( twice( $v ) %s );\n" +
+            "end\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testUnchangedResourcesAreNotParsedAndCompiledAgain() {
+        File cacheDir = temporaryFolder.getRoot();
+        BuildCache buildCache = BuildCache.get(cacheDir);
+
+        assertThat(buildAndFire(cacheDir, String.format(DRL, ""))).containsExactly(42);
+        long misses = buildCache.getMisses();
+        assertThat(misses).isPositive();
+        assertThat(buildCache.getHits()).isZero();
+        assertThat(new File(cacheDir, "descr")).isDirectory();
+        assertThat(new File(cacheDir, "classes")).isDirectory();
+
+        // both the parsed DRL and all the generated classes are found in the cache
+        assertThat(buildAndFire(cacheDir, String.format(DRL, ""))).containsExactly(42);
+        assertThat(buildCache.getMisses()).isEqualTo(misses);
+        assertThat(buildCache.getHits()).isPositive();
+
+        // a changed consequence is parsed and compiled again
+        assertThat(buildAndFire(cacheDir, String.format(DRL, "+ 1"))).containsExactly(43);
+        assertThat(buildCache.getMisses()).isGreaterThan(misses);
+    }
+
+    @Test
+    public void testUnreadableEntriesAreIgnored() throws Exception {
+        File cacheDir = temporaryFolder.getRoot();
+        assertThat(buildAndFire(cacheDir, String.format(DRL, ""))).containsExactly(42);
+
+        for (File kindDir : cacheDir.listFiles()) {
+            for (File prefixDir : kindDir.listFiles()) {
+                for (File entry : prefixDir.listFiles()) {
+                    Files.write(entry.toPath(), new byte[] { 1, 2, 3 });
+                }
+            }
+        }
+
+        assertThat(buildAndFire(cacheDir, String.format(DRL, ""))).containsExactly(42);
+    }
+
+    @Test
+    public void testCachedPackageDescrKeepsAllTheDescrs() throws Exception {
+        String drl =
+                "package org.drools.test;\n" +
+                "import java.util.List;\n" +
+                "global java.util.List list;\n" +
+                "declare Item\n" +
+                "  value : int @key\n" +
+                "end\n" +
+                "query byValue(int $v) Item( value == $v ) end\n" +
+                "rule R salience 10 when\n" +
+                "  $i : Item( $v : value > 1 || value < -1 )\n" +
+                "  not( Item( value == $v + 1 ) and exists Item() )\n" +
+                "  forall( Item( value > 0 ) )\n" +
+                "  $l : List() from collect( Item() )\n" +
+                "  $s : Number() from accumulate( Item( $x : value ), sum( $x ) )\n" +
+                "  Item() from list\n" +
+                "  eval( $v > 0 )\n" +
+                "  byValue( 1; )\n" +
+                "then\n" +
+                "  list.add( $v );\n" +
+                "end\n";
+        PackageDescr packageDescr = new DrlParser(LanguageLevelOption.DRL6).parse(null, drl);
+
+        BuildCache buildCache = BuildCache.get(temporaryFolder.getRoot());
+        buildCache.putPackageDescr("0123", packageDescr);
+        PackageDescr cached = buildCache.getPackageDescr("0123", null);
+
+        assertThat(cached).isNotNull();
+        assertThat(new DrlDumper().dump(cached)).isEqualTo(new DrlDumper().dump(packageDescr));
+    }
+
+    @Test
+    public void testPackageDescrEntriesOfOtherClassesAreIgnored() throws Exception {
+        BuildCache buildCache = BuildCache.get(temporaryFolder.getRoot());
+        buildCache.putPackageDescr("0123", new PackageDescr("org.drools.test"));
+
+        File entry = new File(temporaryFolder.getRoot(), "descr/01/0123");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new Date());
+        }
+        Files.write(entry.toPath(), bytes.toByteArray());
+
+        assertThat(buildCache.getPackageDescr("0123", null)).isNull();
+        assertThat(entry).doesNotExist();
+    }
+
+    private List<Integer> buildAndFire(File cacheDir, String drl) {
+        KieServices ks = KieServices.Factory.get();
+        KieFileSystem kfs = ks.newKieFileSystem()
+                              .write("src/main/resources/org/drools/test/rules.drl", drl)
+                              .writeKModuleXML(ks.newKieModuleModel()
+                                                 .setConfigurationProperty(BuildCache.PROPERTY_NAME, cacheDir.getAbsolutePath())
+                                                 .toXML());
+        KieBuilder kieBuilder = ks.newKieBuilder(kfs).buildAll();
+        assertThat(kieBuilder.getResults().getMessages()).isEmpty();
+
+        KieSession ksession = ks.newKieContainer(kieBuilder.getKieModule().getReleaseId()).newKieSession();
+        List<Integer> list = new ArrayList<>();
+        ksession.setGlobal("list", list);
+        ksession.fireAllRules();
+        ksession.dispose();
+        return list;
+    }
+}
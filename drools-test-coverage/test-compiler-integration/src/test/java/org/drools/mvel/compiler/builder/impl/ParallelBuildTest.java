@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.mvel.compiler.builder.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.drools.compiler.builder.impl.KnowledgeBuilderConfigurationImpl;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.junit.Test;
+import org.kie.api.definition.KiePackage;
+import org.kie.api.definition.rule.Rule;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.builder.CompositeKnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilderConfiguration;
+import org.kie.internal.builder.KnowledgeBuilderError;
+import org.kie.internal.builder.KnowledgeBuilderFactory;
+import org.kie.internal.builder.conf.ParallelRulesBuildThresholdOption;
+import org.kie.internal.io.ResourceFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelBuildTest {
+
+    private static final int PACKAGES = 6;
+    private static final int RULES_PER_PACKAGE = 12;
+
+    @Test
+    public void testParallelParsingGivesTheSameResults() {
+        // -1 always parses the resources sequentially, while 0 parses in parallel any batch of more than one resource
+        KnowledgeBuilder sequential = buildBatch(-1);
+        KnowledgeBuilder parallel = buildBatch(0);
+
+        assertThat(getErrors(sequential)).isNotEmpty();
+        assertThat(getErrors(parallel)).containsExactlyElementsOf(getErrors(sequential));
+        assertThat(getRules(parallel.getKnowledgePackages())).isEqualTo(getRules(sequential.getKnowledgePackages()));
+    }
+
+    @Test
+    public void testParallelRulesBuildOnExistingKieBase() {
+        KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
+        kbuilder.add(ResourceFactory.newByteArrayResource(generateRules(0, 1).getBytes()), ResourceType.DRL);
+        assertThat(kbuilder.hasErrors()).isFalse();
+        InternalKnowledgeBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        kbase.addPackages(kbuilder.getKnowledgePackages());
+
+        // the rules added to the existing KieBase are more than the threshold, so they are built in parallel
+        KnowledgeBuilderConfiguration conf = KnowledgeBuilderFactory.newKnowledgeBuilderConfiguration();
+        conf.setProperty(ParallelRulesBuildThresholdOption.PROPERTY_NAME, "0");
+        KnowledgeBuilder incremental = KnowledgeBuilderFactory.newKnowledgeBuilder(kbase, conf);
+        incremental.add(ResourceFactory.newByteArrayResource(generateRules(0, RULES_PER_PACKAGE).getBytes()), ResourceType.DRL);
+        incremental.add(ResourceFactory.newByteArrayResource(generateRules(1, RULES_PER_PACKAGE).getBytes()), ResourceType.DRL);
+        assertThat(incremental.hasErrors()).as(incremental.getErrors().toString()).isFalse();
+        kbase.addPackages(incremental.getKnowledgePackages());
+
+        assertThat(getRules(kbase.getKiePackages())).hasSize(2 * RULES_PER_PACKAGE);
+
+        KieSession ksession = kbase.newKieSession();
+        List<String> list = new ArrayList<>();
+        ksession.setGlobal("list", list);
+        ksession.insert(5);
+        // R0..R4 of both packages match an Integer greater than their index
+        assertThat(ksession.fireAllRules()).isEqualTo(10);
+        assertThat(list).hasSize(10);
+        ksession.dispose();
+    }
+
+    private KnowledgeBuilder buildBatch(int parallelParsingThreshold) {
+        KnowledgeBuilderConfiguration conf = KnowledgeBuilderFactory.newKnowledgeBuilderConfiguration();
+        conf.setProperty(KnowledgeBuilderConfigurationImpl.PARALLEL_PARSING_THRESHOLD_PROPERTY, String.valueOf(parallelParsingThreshold));
+        KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder(conf);
+
+        CompositeKnowledgeBuilder batch = kbuilder.batch();
+        for (int i = 0; i < PACKAGES; i++) {
+            batch.add(ResourceFactory.newByteArrayResource(generateRules(i, RULES_PER_PACKAGE).getBytes()).setSourcePath("p" + i + ".drl"), ResourceType.DRL);
+        }
+        // a resource that cannot be parsed and one with a rule that cannot be compiled
+        batch.add(ResourceFactory.newByteArrayResource("package org.drools.p6;\nrule Broken when\n  Integer( \nthen\nend\n".getBytes()).setSourcePath("p6.drl"), ResourceType.DRL);
+        batch.add(ResourceFactory.newByteArrayResource("package org.drools.p7;\nrule Invalid when\nthen\n  undefined.run();\nend\n".getBytes()).setSourcePath("p7.drl"), ResourceType.DRL);
+        batch.build();
+        return kbuilder;
+    }
+
+    private static List<String> getErrors(KnowledgeBuilder kbuilder) {
+        List<String> errors = new ArrayList<>();
+        for (KnowledgeBuilderError error : kbuilder.getErrors()) {
+            errors.add((error.getResource() != null ? error.getResource().getSourcePath() : null) + ": " + error.getMessage());
+        }
+        return errors;
+    }
+
+    private static Set<String> getRules(Iterable<? extends KiePackage> kpackages) {
+        Set<String> rules = new TreeSet<>();
+        for (KiePackage kpackage : kpackages) {
+            for (Rule rule : kpackage.getRules()) {
+                rules.add(kpackage.getName() + "." + rule.getName());
+            }
+        }
+        return rules;
+    }
+
+    private static String generateRules(int pkg, int rulesCount) {
+        StringBuilder drl = new StringBuilder();
+        drl.append("package org.drools.p").append(pkg).append(";\n");
+        drl.append("global java.util.List list;\n");
+        for (int i = 0; i < rulesCount; i++) {
+            drl.append("rule R").append(i).append(" when\n")
+               .append("  $i : Integer( intValue > ").append(i).append(" )\n")
+               .append("then\n")
+               .append("  list.add( \"p").append(pkg).append(".R").append(i).append(":\" + $i );\n")
+               .append("end\n");
+        }
+        return drl.toString();
+    }
+}
@@ -20,8 +20,10 @@ import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.phreak.LockFreePropagationList;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.phreak.SynchronizedPropagationList;
@@ -32,8 +34,20 @@ public class PropagationListTest {
 
     @Test @Ignore
     public void test() {
-        final int OBJECT_NR = 1000000;
-        final int THREAD_NR = 8;
+        runContention(() -> new SynchronizedPropagationList(null), 1000000, 8, 10);
+    }
+
+    @Test @Ignore
+    public void testLockFree() {
+        runContention(() -> new LockFreePropagationList(null), 1000000, 8, 10);
+    }
+
+    @Test(timeout = 20000L)
+    public void testLockFreeKeepsInsertionOrderOfEachProducer() {
+        runContention(() -> new LockFreePropagationList(null), 10000, 4, 3);
+    }
+
+    private void runContention(final Supplier<PropagationList> propagationListSupplier, final int OBJECT_NR, final int THREAD_NR, final int RUNS) {
 
         final ExecutorService executor = Executors.newFixedThreadPool(THREAD_NR, r -> {
             final Thread t = new Thread(r);
@@ -41,12 +55,12 @@ public class PropagationListTest {
             return t;
         });
         try {
-            final long[] results = new long[10];
+            final long[] results = new long[RUNS];
 
             for (int counter = 0; counter < results.length;) {
 
                 final Checker checker = new Checker(THREAD_NR);
-                final PropagationList propagationList = new SynchronizedPropagationList(null);
+                final PropagationList propagationList = propagationListSupplier.get();
                 final CompletionService<Boolean> ecs = new ExecutorCompletionService<Boolean>(executor);
 
                 final long start = System.nanoTime();
@@ -81,6 +95,7 @@ public class PropagationListTest {
                 }
 
                 propagationList.flush();
+                checker.checkAll(OBJECT_NR);
 
                 results[counter++] = System.nanoTime() - start;
 
@@ -162,5 +177,13 @@ public class PropagationListTest {
                 throw new RuntimeException("ERROR for thread " + entry.i + " expected " + counters[entry.i] + " but was " + entry.j);
             }
         }
+
+        public void checkAll(final int expected) {
+            for (int i = 0; i < counters.length; i++) {
+                if (counters[i] != expected) {
+                    throw new RuntimeException("ERROR for thread " + i + " expected " + expected + " entries but was " + counters[i]);
+                }
+            }
+        }
     }
 }
@@ -19,7 +19,9 @@ package org.drools.mvel.integrationtests;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.drools.core.PropagationListType;
 import org.drools.mvel.compiler.Cheese;
 import org.drools.mvel.compiler.Person;
 import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
@@ -29,8 +31,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.kie.api.KieBase;
+import org.kie.api.KieServices;
 import org.kie.api.io.ResourceType;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.rule.EntryPoint;
 import org.kie.api.runtime.rule.FactHandle;
 import org.kie.internal.utils.KieHelper;
@@ -162,4 +166,46 @@ public class FireUntilHaltTest {
         assertFalse("Thread should have died!", alive);
         assertEquals(1, list.size());
     }
+
+    @Test(timeout = 60000L)
+    public void testDisposeOnFireUntilHaltWithLockFreePropagationList() throws Exception {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "global java.util.List list;" +
+                "rule R when\n" +
+                "    Person( age >= 18 )\n" +
+                "then\n" +
+                "    list.add(\"adult\");" +
+                "end";
+
+        KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, drl);
+        final KieSessionConfiguration conf = KieServices.get().newKieSessionConfiguration();
+        conf.setProperty(PropagationListType.PROPERTY_NAME, PropagationListType.LOCK_FREE.getId());
+
+        // the dispose, not adding any propagation, must wake up the thread waiting for new ones either before or after it parks
+        for (int i = 0; i < 20; i++) {
+            final KieSession ksession = kbase.newKieSession(conf, null);
+            final List<String> list = new CopyOnWriteArrayList<>();
+            ksession.setGlobal("list", list);
+
+            final Thread t1 = new Thread(ksession::fireUntilHalt);
+            t1.start();
+
+            ksession.insert(new Person("me", 18));
+            while (list.isEmpty()) {
+                Thread.sleep(1L);
+            }
+            if (i % 2 == 0) {
+                Thread.sleep(100L);
+            }
+
+            ksession.dispose();
+            t1.join(5000);
+            final boolean alive = t1.isAlive();
+            if (alive) {
+                t1.interrupt();
+            }
+            assertFalse("Thread should have died!", alive);
+        }
+    }
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2022. Red Hat, Inc. and/or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.mvel.integrationtests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.mvel.compiler.Person;
+import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
+import org.drools.testcoverage.common.util.KieBaseUtil;
+import org.drools.testcoverage.common.util.TestParametersUtil;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.api.KieBase;
+import org.kie.api.event.rule.DefaultRuleRuntimeEventListener;
+import org.kie.api.event.rule.ObjectInsertedEvent;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.command.CommandFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(Parameterized.class)
+public class InsertAllTest {
+
+    private final KieBaseTestConfiguration kieBaseTestConfiguration;
+
+    public InsertAllTest(final KieBaseTestConfiguration kieBaseTestConfiguration) {
+        this.kieBaseTestConfiguration = kieBaseTestConfiguration;
+    }
+
+    @Parameterized.Parameters(name = "KieBase type={0}")
+    public static Collection<Object[]> getParameters() {
+        return TestParametersUtil.getKieBaseCloudConfigurations(true);
+    }
+
+    @Test
+    public void testInsertAllMixedTypes() {
+        String str =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "global java.util.List list\n" +
+                "rule R1 when\n" +
+                "  $p : Person(age > 30)\n" +
+                "  $s : String(this == $p.name)\n" +
+                "then\n" +
+                "  list.add($s);\n" +
+                "end\n";
+
+        KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, str);
+        KieSession ksession = kbase.newKieSession();
+        List<String> list = new ArrayList<>();
+        ksession.setGlobal( "list", list );
+
+        List<Object> facts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            facts.add( new Person( "P" + i, i ) );
+            facts.add( "P" + i );
+        }
+
+        List<FactHandle> handles = ((InternalWorkingMemory) ksession).insertAll( facts );
+
+        assertEquals( facts.size(), handles.size() );
+        for (int i = 0; i < facts.size(); i++) {
+            assertSame( facts.get( i ), ksession.getObject( handles.get( i ) ) );
+        }
+        assertEquals( facts.size(), ksession.getFactCount() );
+        assertEquals( 69, ksession.fireAllRules() );
+        assertEquals( 69, list.size() );
+    }
+
+    @Test
+    public void testInsertAllReturnsExistingHandles() {
+        String str =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "rule R1 when\n" +
+                "  $p : Person()\n" +
+                "then\n" +
+                "end\n";
+
+        KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, str);
+        KieSession ksession = kbase.newKieSession();
+
+        Person mario = new Person( "Mario", 40 );
+        FactHandle fh = ksession.insert( mario );
+
+        List<FactHandle> handles = ((InternalWorkingMemory) ksession).insertAll( Arrays.asList( mario, null, mario ) );
+
+        assertSame( fh, handles.get( 0 ) );
+        assertNull( handles.get( 1 ) );
+        assertSame( fh, handles.get( 2 ) );
+        assertEquals( 1, ksession.getFactCount() );
+        assertEquals( 1, ksession.fireAllRules() );
+    }
+
+    @Test
+    public void testInsertAllInEntryPoint() {
+        String str =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "rule R1 when\n" +
+                "  $p : Person(age > 30) from entry-point ep\n" +
+                "then\n" +
+                "end\n";
+
+        KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, str);
+        KieSession ksession = kbase.newKieSession();
+
+        WorkingMemoryEntryPoint ep = (WorkingMemoryEntryPoint) ksession.getEntryPoint( "ep" );
+        ep.insertAll( Arrays.asList( new Person( "Mario", 40 ), new Person( "Mark", 30 ), new Person( "Edson", 35 ) ) );
+
+        assertEquals( 3, ep.getFactCount() );
+        assertEquals( 2, ksession.fireAllRules() );
+    }
+
+    @Test
+    public void testInsertAllPreservesOrderWithSingleInserts() {
+        String str =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "rule R1 when\n" +
+                "  Integer()\n" +
+                "then\n" +
+                "  insertLogical(\"logical\");\n" +
+                "end\n";
+
+        KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, str);
+        KieSession ksession = kbase.newKieSession();
+
+        // the logical insertion enables the TMS for the Strings, that are then inserted one by one
+        ksession.insert( 1 );
+        assertEquals( 1, ksession.fireAllRules() );
+
+        List<Object> inserted = new ArrayList<>();
+        ksession.addEventListener( new DefaultRuleRuntimeEventListener() {
+            @Override
+            public void objectInserted( ObjectInsertedEvent event ) {
+                inserted.add( event.getObject() );
+            }
+        } );
+
+        Person mario = new Person( "Mario", 40 );
+        Person mark = new Person( "Mark", 30 );
+        ((InternalWorkingMemory) ksession).insertAll( Arrays.asList( mario, "stated", mark ) );
+
+        assertEquals( Arrays.asList( mario, "stated", mark ), inserted );
+    }
+
+    @Test
+    public void testInsertAllPreservesOrderOfInterleavedTypes() {
+        String str =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "global java.util.List list\n" +
+                "rule R1 when\n" +
+                "  $o : Object(this instanceof Person || this instanceof String)\n" +
+                "then\n" +
+                "  list.add($o);\n" +
+                "end\n";
+
+        KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, str);
+
+        Person mario = new Person( "Mario", 40 );
+        Person mark = new Person( "Mark", 30 );
+        List<Object> facts = Arrays.asList( mario, "A", mark, "B" );
+
+        // the same facts inserted one by one give the expected order
+        KieSession expectedSession = kbase.newKieSession();
+        List<Object> expected = new ArrayList<>();
+        expectedSession.setGlobal( "list", expected );
+        facts.forEach( expectedSession::insert );
+        expectedSession.fireAllRules();
+        expectedSession.dispose();
+
+        KieSession ksession = kbase.newKieSession();
+        List<Object> fired = new ArrayList<>();
+        ksession.setGlobal( "list", fired );
+        List<Object> inserted = new ArrayList<>();
+        ksession.addEventListener( new DefaultRuleRuntimeEventListener() {
+            @Override
+            public void objectInserted( ObjectInsertedEvent event ) {
+                inserted.add( event.getObject() );
+            }
+        } );
+
+        ((InternalWorkingMemory) ksession).insertAll( facts );
+        assertEquals( facts, inserted );
+
+        assertEquals( 4, ksession.fireAllRules() );
+        assertEquals( expected, fired );
+    }
+
+    @Test
+    public void testInsertElementsCommandInsertsOneByOne() {
+        String str =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "rule R1 when\n" +
+                "  $p : Person(age > 30)\n" +
+                "then\n" +
+                "end\n";
+
+        KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, str);
+        KieSession ksession = kbase.newKieSession();
+
+        List<Object> inserted = new ArrayList<>();
+        ksession.addEventListener( new DefaultRuleRuntimeEventListener() {
+            @Override
+            public void objectInserted( ObjectInsertedEvent event ) {
+                inserted.add( event.getObject() );
+            }
+        } );
+
+        List<Object> facts = Arrays.asList( new Person( "Mario", 40 ), "Mark", new Person( "Edson", 35 ) );
+        Collection<FactHandle> handles = (Collection<FactHandle>) ksession.execute( CommandFactory.newInsertElements( facts ) );
+
+        assertEquals( 3, handles.size() );
+        assertEquals( facts, inserted );
+        assertEquals( 2, ksession.fireAllRules() );
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.mvel.integrationtests.session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.drools.core.impl.KnowledgeBaseImpl;
+import org.drools.core.impl.ReferenceDataSessionPool;
+import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
+import org.drools.testcoverage.common.util.KieBaseUtil;
+import org.drools.testcoverage.common.util.TestParametersUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Parameterized.class)
+public class ReferenceDataSessionPoolTest {
+
+    private final KieBaseTestConfiguration kieBaseTestConfiguration;
+
+    private final List<Object> referenceList = new ArrayList<>();
+
+    private ReferenceDataSessionPool pool;
+
+    public ReferenceDataSessionPoolTest(final KieBaseTestConfiguration kieBaseTestConfiguration) {
+        this.kieBaseTestConfiguration = kieBaseTestConfiguration;
+    }
+
+    @Parameterized.Parameters(name = "KieBase type={0}")
+    public static Collection<Object[]> getParameters() {
+        return TestParametersUtil.getKieBaseCloudConfigurations(true);
+    }
+
+    @Before
+    public void createPool() {
+        String drl =
+                "global java.util.List list\n" +
+                "rule Length when\n" +
+                "  $s: String()\n" +
+                "  $i: Integer( intValue == $s.length() )\n" +
+                "then\n" +
+                "  list.add($s + \":\" + $i);\n" +
+                "end\n" +
+                "rule NoRequest when\n" +
+                "  not String()\n" +
+                "then\n" +
+                "  list.add(\"empty\");\n" +
+                "end\n";
+        KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, drl);
+
+        // a pool of a single session, so that it is always given back
+        pool = ((KnowledgeBaseImpl) kbase).newReferenceDataSessionPool( 1, ksession -> {
+            ksession.setGlobal( "list", referenceList );
+            for (int i = 1; i <= 5; i++) {
+                ksession.insert( i );
+            }
+        } );
+    }
+
+    @After
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSessionsStartFromTheReferenceData() {
+        assertThat(referenceList).containsExactly("empty");
+
+        KieSession ksession = pool.newKieSession();
+        assertThat(ksession.getFactCount()).isEqualTo(5);
+        assertThat(ksession.getGlobal("list")).isSameAs(referenceList);
+
+        List<Object> list = new ArrayList<>();
+        ksession.setGlobal("list", list);
+        ksession.insert("abc");
+        ksession.insert("abcdefg");
+        ksession.fireAllRules();
+        assertThat(list).containsExactly("abc:3");
+        ksession.dispose();
+
+        KieSession ksession2 = pool.newKieSession();
+        assertThat(ksession2).isSameAs(ksession);
+        assertThat(ksession2.getFactCount()).isEqualTo(5);
+        assertThat(ksession2.getGlobal("list")).isSameAs(referenceList);
+
+        List<Object> list2 = new ArrayList<>();
+        ksession2.setGlobal("list", list2);
+        ksession2.insert("ab");
+        ksession2.fireAllRules();
+        // the NoRequest match revived by the rollback has been already fired by the initialization
+        assertThat(list2).containsExactly("ab:2");
+        assertThat(referenceList).containsExactly("empty");
+        ksession2.dispose();
+    }
+
+    @Test
+    public void testMutatedGlobalIsNotRolledBack() {
+        KieSession ksession = pool.newKieSession();
+        // the request doesn't set its own list, so the consequence mutates the one of the initializer
+        ksession.insert("abc");
+        ksession.fireAllRules();
+        assertThat(referenceList).containsExactly("empty", "abc:3");
+        ksession.dispose();
+
+        KieSession ksession2 = pool.newKieSession();
+        assertThat(ksession2).isSameAs(ksession);
+        assertThat(ksession2.getFactCount()).isEqualTo(5);
+        // the global is restored by reference, but its content is the one left by the previous request
+        assertThat(ksession2.getGlobal("list")).isSameAs(referenceList);
+        assertThat(referenceList).containsExactly("empty", "abc:3");
+
+        List<Object> list = new ArrayList<>();
+        ksession2.setGlobal("list", list);
+        ksession2.insert("ab");
+        ksession2.fireAllRules();
+        assertThat(list).containsExactly("ab:2");
+        assertThat(referenceList).containsExactly("empty", "abc:3");
+        ksession2.dispose();
+    }
+
+    @Test
+    public void testSessionTouchingTheReferenceDataIsRebuilt() {
+        KieSession ksession = pool.newKieSession();
+        ksession.delete(ksession.getFactHandle(3));
+        assertThat(ksession.getFactCount()).isEqualTo(4);
+        ksession.dispose();
+
+        KieSession ksession2 = pool.newKieSession();
+        assertThat(ksession2.getFactCount()).isEqualTo(5);
+
+        List<Object> list = new ArrayList<>();
+        ksession2.setGlobal("list", list);
+        ksession2.insert("abc");
+        ksession2.fireAllRules();
+        assertThat(list).containsExactly("abc:3");
+        ksession2.dispose();
+
+        // the initializer has been run again
+        assertThat(referenceList).containsExactly("empty", "empty");
+    }
+}
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.drools.core.command.runtime.BatchExecutionCommandImpl;
+import org.drools.core.impl.StatelessKnowledgeSessionImpl;
 import org.drools.mvel.compiler.Cheese;
 import org.drools.mvel.compiler.Cheesery;
 import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
@@ -34,6 +35,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.kie.api.KieBase;
+import org.kie.api.KieServices;
 import org.kie.api.builder.KieModule;
 import org.kie.api.command.Command;
 import org.kie.api.command.ExecutableCommand;
@@ -41,6 +43,7 @@ import org.kie.api.conf.SequentialOption;
 import org.kie.api.io.Resource;
 import org.kie.api.runtime.Channel;
 import org.kie.api.runtime.ExecutionResults;
+import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.StatelessKieSession;
 import org.kie.internal.command.CommandFactory;
 import org.kie.internal.io.ResourceFactory;
@@ -290,6 +293,74 @@ public class StatelessSessionTest {
         assertNull(ksession.getChannels().get("x"));
     }
 
+    @Test
+    public void testLeanExecution() throws Exception {
+        String str = "";
+        str += "package org.kie \n";
+        str += "import org.drools.mvel.compiler.Cheese \n";
+        str += "global java.util.List list \n";
+        str += "rule rule1 \n";
+        str += "  when \n";
+        str += "    $c : Cheese() \n";
+        str += "    String( this == $c.type ) \n";
+        str += "  then \n";
+        str += "    list.add( $c.getType() ); \n";
+        str += "end\n";
+        str += "rule rule2 \n";
+        str += "  when \n";
+        str += "    not Cheese() \n";
+        str += "  then \n";
+        str += "    list.add( \"none\" ); \n";
+        str += "end\n";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, str);
+        final KieSessionConfiguration conf = KieServices.Factory.get().newKieSessionConfiguration();
+        conf.setProperty(StatelessKnowledgeSessionImpl.LEAN_EXECUTION_PROPERTY_NAME, "true");
+        final StatelessKnowledgeSessionImpl session = (StatelessKnowledgeSessionImpl) kbase.newStatelessKieSession(conf);
+        session.setGlobal("list", list);
+
+        session.execute(Arrays.asList(new Cheese("stilton", 5), "stilton", "brie"));
+        assertEquals(Arrays.asList("stilton"), list);
+
+        // the same session is reused, without anything left by the previous execution
+        list.clear();
+        session.execute(Arrays.asList(new Cheese("brie", 5)));
+        assertEquals(Arrays.asList(), list);
+        session.execute(Arrays.asList("stilton"));
+        assertEquals(Arrays.asList("none"), list);
+        assertEquals(1, session.getWorkingMemoryCreatec());
+        assertEquals(0, kbase.getKieSessions().size());
+
+        // the reused session is discarded after a change of the kbase
+        list.clear();
+        kbase.removeRule("org.kie", "rule2");
+        session.execute(Arrays.asList("stilton"));
+        assertEquals(Arrays.asList(), list);
+        assertEquals(2, session.getWorkingMemoryCreatec());
+
+        // the idle session isn't bound to the thread that used it
+        final Thread thread = new Thread(() -> session.execute(Arrays.asList(new Cheese("brie", 5), "brie")));
+        thread.start();
+        thread.join();
+        assertEquals(Arrays.asList("brie"), list);
+        assertEquals(2, session.getWorkingMemoryCreatec());
+
+        // a change of the kbase happening during an execution discards the session as well
+        session.execute((ExecutableCommand<Void>) context -> {
+            kbase.removeRule("org.kie", "rule1");
+            return null;
+        });
+        assertEquals(2, session.getWorkingMemoryCreatec());
+        list.clear();
+        session.execute(Arrays.asList(new Cheese("brie", 5), "brie"));
+        assertEquals(Arrays.asList(), list);
+        assertEquals(3, session.getWorkingMemoryCreatec());
+
+        session.disposeLeanSessions();
+        session.execute(Arrays.asList("stilton"));
+        assertEquals(4, session.getWorkingMemoryCreatec());
+    }
+
     private StatelessKieSession getSession2(final String fileName) throws Exception {
         return getSession2( ResourceFactory.newClassPathResource( fileName, getClass() ) );
     }
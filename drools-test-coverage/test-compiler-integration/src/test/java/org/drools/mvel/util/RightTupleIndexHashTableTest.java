@@ -33,6 +33,7 @@ import org.drools.core.spi.Tuple;
 import org.drools.core.test.model.Cheese;
 import org.drools.core.util.AbstractHashTable;
 import org.drools.core.util.AbstractHashTable.FieldIndex;
+import org.drools.core.util.AbstractHashTable.PackedCompositeIndex;
 import org.drools.core.util.Entry;
 import org.drools.core.util.index.TupleIndexHashTable;
 import org.drools.core.util.index.TupleList;
@@ -42,6 +43,7 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class RightTupleIndexHashTableTest {
 
@@ -609,4 +611,57 @@ public class RightTupleIndexHashTableTest {
         assertNull( map.getFirst( new LeftTupleImpl( stiltonHandle, null, true ) ) );
     }
 
+    @Test
+    public void testPackedCompositeIndex() throws Exception {
+        final Pattern pattern = new Pattern( 0,
+                                             new ClassObjectType( Cheese.class ) );
+
+        final InternalReadAccessor priceExtractor = store.getReader( Cheese.class,
+                                                                     "price" );
+        final InternalReadAccessor charTypeExtractor = store.getReader( Cheese.class,
+                                                                        "charType" );
+
+        final FieldIndex[] fieldIndexes = new FieldIndex[]{
+                new FieldIndex( priceExtractor, new Declaration( "priceOfCheese", priceExtractor, pattern ) ),
+                new FieldIndex( charTypeExtractor, new Declaration( "charTypeOfCheese", charTypeExtractor, pattern ) )
+        };
+
+        final TupleIndexHashTable rightMemory = new TupleIndexHashTable( fieldIndexes, false );
+        final TupleIndexHashTable leftMemory = new TupleIndexHashTable( fieldIndexes, true );
+        assertTrue( rightMemory.getIndex() instanceof PackedCompositeIndex );
+
+        final RightTuple stilton = new RightTupleImpl( new DefaultFactHandle( 1, newCheese( "stilton", 10, 'a' ) ), null );
+        final RightTuple brie = new RightTupleImpl( new DefaultFactHandle( 2, newCheese( "brie", 10, 'b' ) ), null );
+        rightMemory.add( stilton );
+        rightMemory.add( brie );
+
+        assertEquals( 2,
+                      rightMemory.size() );
+        assertSame( stilton,
+                    rightMemory.getFirst( new LeftTupleImpl( new DefaultFactHandle( 3, newCheese( "any", 10, 'a' ) ), null, true ) ) );
+        assertSame( brie,
+                    rightMemory.getFirst( new LeftTupleImpl( new DefaultFactHandle( 4, newCheese( "any", 10, 'b' ) ), null, true ) ) );
+        assertNull( rightMemory.getFirst( new LeftTupleImpl( new DefaultFactHandle( 5, newCheese( "any", 11, 'a' ) ), null, true ) ) );
+
+        // a right tuple stored in the right memory probes the left one with the key of its bucket
+        final LeftTupleImpl leftTuple = new LeftTupleImpl( new DefaultFactHandle( 6, newCheese( "any", 10, 'b' ) ), null, true );
+        leftMemory.add( leftTuple );
+        assertSame( leftTuple,
+                    leftMemory.getFirst( brie ) );
+        assertNull( leftMemory.getFirst( stilton ) );
+
+        // once moved to the right bucket the updated key is used
+        ((Cheese) stilton.getFactHandle().getObject()).setCharType( 'b' );
+        rightMemory.removeAdd( stilton );
+        assertSame( stilton,
+                    brie.getNext() );
+        assertSame( leftTuple,
+                    leftMemory.getFirst( stilton ) );
+    }
+
+    private static Cheese newCheese( String type, int price, char charType ) {
+        final Cheese cheese = new Cheese( type, price );
+        cheese.setCharType( charType );
+        return cheese;
+    }
 }
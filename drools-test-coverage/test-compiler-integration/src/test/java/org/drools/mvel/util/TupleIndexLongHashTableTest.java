@@ -0,0 +1,173 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.mvel.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.core.base.ClassFieldAccessorCache;
+import org.drools.core.base.ClassFieldAccessorStore;
+import org.drools.core.base.ClassObjectType;
+import org.drools.core.common.DefaultFactHandle;
+import org.drools.core.common.DroolsObjectOutputStream;
+import org.drools.core.reteoo.LeftTupleImpl;
+import org.drools.core.reteoo.RightTuple;
+import org.drools.core.reteoo.RightTupleImpl;
+import org.drools.core.rule.Declaration;
+import org.drools.core.rule.Pattern;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.spi.Tuple;
+import org.drools.core.test.model.Cheese;
+import org.drools.core.util.AbstractHashTable.FieldIndex;
+import org.drools.core.util.FastIterator;
+import org.drools.core.util.index.TupleIndexLongHashTable;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TupleIndexLongHashTableTest {
+
+    ClassFieldAccessorStore store = new ClassFieldAccessorStore();
+
+    @Before
+    public void setUp() throws Exception {
+        store.setClassFieldAccessorCache( new ClassFieldAccessorCache( Thread.currentThread().getContextClassLoader() ) );
+        store.setEagerWire( true );
+    }
+
+    private FieldIndex createPriceIndex() {
+        final InternalReadAccessor extractor = store.getReader( Cheese.class, "price" );
+        final Pattern pattern = new Pattern( 0, new ClassObjectType( Cheese.class ) );
+        final Declaration declaration = new Declaration( "priceOfCheese", extractor, pattern );
+        return new FieldIndex( extractor, declaration );
+    }
+
+    private static Tuple leftTupleFor( int id, Cheese cheese ) {
+        return new LeftTupleImpl( new DefaultFactHandle( id, cheese ), null, true );
+    }
+
+    @Test
+    public void testIsLongIndexable() {
+        assertTrue( TupleIndexLongHashTable.isLongIndexable( createPriceIndex() ) );
+
+        final InternalReadAccessor extractor = store.getReader( Cheese.class, "type" );
+        final Declaration declaration = new Declaration( "typeOfCheese", extractor, new Pattern( 0, new ClassObjectType( Cheese.class ) ) );
+        assertFalse( TupleIndexLongHashTable.isLongIndexable( new FieldIndex( extractor, declaration ) ) );
+    }
+
+    @Test
+    public void testAddGetRemove() {
+        final TupleIndexLongHashTable map = new TupleIndexLongHashTable( createPriceIndex(), false );
+        assertEquals( 0, map.size() );
+        assertNull( map.getFirst( leftTupleFor( 0, new Cheese( "cheddar", 10 ) ) ) );
+
+        RightTuple stilton1 = new RightTupleImpl( new DefaultFactHandle( 1, new Cheese( "stilton", 35 ) ), null );
+        RightTuple stilton2 = new RightTupleImpl( new DefaultFactHandle( 2, new Cheese( "stilton", 35 ) ), null );
+        RightTuple brie = new RightTupleImpl( new DefaultFactHandle( 3, new Cheese( "brie", 10 ) ), null );
+        map.add( stilton1 );
+        map.add( stilton2 );
+        map.add( brie );
+        assertEquals( 3, map.size() );
+
+        Tuple first = map.getFirst( leftTupleFor( 4, new Cheese( "any", 35 ) ) );
+        assertSame( stilton1, first );
+        assertSame( stilton2, first.getNext() );
+        assertNull( first.getNext().getNext() );
+
+        assertSame( brie, map.getFirst( leftTupleFor( 5, new Cheese( "any", 10 ) ) ) );
+
+        map.remove( brie );
+        assertEquals( 2, map.size() );
+        assertNull( map.getFirst( leftTupleFor( 6, new Cheese( "any", 10 ) ) ) );
+        assertSame( stilton1, map.getFirst( leftTupleFor( 7, new Cheese( "any", 35 ) ) ) );
+    }
+
+    @Test
+    public void testRemoveAddMovesToTheNewKey() {
+        final TupleIndexLongHashTable map = new TupleIndexLongHashTable( createPriceIndex(), false );
+
+        Cheese cheese = new Cheese( "stilton", 35 );
+        RightTuple tuple = new RightTupleImpl( new DefaultFactHandle( 1, cheese ), null );
+        map.add( tuple );
+
+        cheese.setPrice( 40 );
+        map.removeAdd( tuple );
+
+        assertEquals( 1, map.size() );
+        assertNull( map.getFirst( leftTupleFor( 2, new Cheese( "any", 35 ) ) ) );
+        assertSame( tuple, map.getFirst( leftTupleFor( 3, new Cheese( "any", 40 ) ) ) );
+    }
+
+    @Test
+    public void testResizeAndRemoveKeepAllKeysReachable() {
+        final TupleIndexLongHashTable map = new TupleIndexLongHashTable( createPriceIndex(), false );
+
+        int nr = 1000;
+        List<RightTuple> tuples = new ArrayList<>();
+        for ( int i = 0; i < nr; i++ ) {
+            RightTuple tuple = new RightTupleImpl( new DefaultFactHandle( i, new Cheese( "cheese" + i, i * 64 ) ), null );
+            tuples.add( tuple );
+            map.add( tuple );
+        }
+        assertEquals( nr, map.size() );
+        assertEquals( nr, countWithFullIterator( map ) );
+
+        // removing every other key shifts back the colliding entries that follow
+        for ( int i = 0; i < nr; i += 2 ) {
+            map.remove( tuples.get( i ) );
+        }
+        assertEquals( nr / 2, map.size() );
+        assertEquals( nr / 2, countWithFullIterator( map ) );
+
+        for ( int i = 0; i < nr; i++ ) {
+            Tuple found = map.getFirst( leftTupleFor( nr + i, new Cheese( "any", i * 64 ) ) );
+            if ( i % 2 == 0 ) {
+                assertNull( found );
+            } else {
+                assertSame( tuples.get( i ), found );
+            }
+        }
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        final TupleIndexLongHashTable map = new TupleIndexLongHashTable( createPriceIndex(), false );
+
+        // like the other beta memories its index extractors are bound to the kbase when read back, so only check it can be written
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try ( ObjectOutputStream out = new DroolsObjectOutputStream( bytes ) ) {
+            out.writeObject( map );
+        }
+        assertTrue( bytes.size() > 0 );
+    }
+
+    private static int countWithFullIterator( TupleIndexLongHashTable map ) {
+        int count = 0;
+        FastIterator it = map.fullFastIterator();
+        for ( Tuple tuple = (Tuple) it.next( null ); tuple != null; tuple = (Tuple) it.next( tuple ) ) {
+            count++;
+        }
+        return count;
+    }
+}
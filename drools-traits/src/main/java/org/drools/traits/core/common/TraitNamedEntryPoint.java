@@ -61,7 +61,7 @@ public class TraitNamedEntryPoint extends NamedEntryPoint {
         this.handleFactory = this.wm.getFactHandleFactory();
         this.pctxFactory = kBase.getConfiguration().getComponentFactory().getPropagationContextFactory();
         boolean isEqualityBehaviour = RuleBaseConfiguration.AssertBehaviour.EQUALITY.equals(this.kBase.getConfiguration().getAssertBehaviour());
-        this.objectStore = new ClassAwareObjectStore(isEqualityBehaviour, this.lock);
+        this.objectStore = new ClassAwareObjectStore(isEqualityBehaviour, this.lock, this.kBase.getConfiguration());
         this.traitHelper = componentFactory.createTraitHelper(wm, this);
     }
 